@@ -0,0 +1,42 @@
+package co.edu.udistrital.mdp.back.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.util.List;
+
+/**
+ * Caché de segundo nivel de Hibernate para los datos de referencia (servicios,
+ * universidades, universidades cercanas y sitios de interés) y sus consultas.
+ *
+ * La caché se activa en application.properties con RegionesCacheFactory como
+ * fábrica de regiones, y sus regiones y límites están en caffeine.conf. Aquí se
+ * publican los aciertos, fallos, escrituras y desalojos de cada región como
+ * métricas cache.* del actuator; los contadores propios de Hibernate salen en
+ * hibernate.second.level.cache.* y hibernate.cache.query.*.
+ */
+@Configuration
+public class CacheConfig {
+
+    // Deben coincidir con las regiones declaradas en caffeine.conf
+    private static final List<String> REGIONES = List.of("servicio", "universidad", "universidad-cerca",
+            "sitio-interes", "default-query-results-region", "default-update-timestamps-region");
+
+    @Bean
+    public MeterBinder metricasCacheHibernate(EntityManagerFactory entityManagerFactory) {
+        return registro -> {
+            if (!(entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache()
+                    .getRegionFactory() instanceof JCacheRegionFactory regionFactory)) {
+                return;
+            }
+            CacheManager cacheManager = regionFactory.getCacheManager();
+            REGIONES.forEach(region -> JCacheMetrics.monitor(registro, cacheManager.getCache(region)));
+        };
+    }
+}
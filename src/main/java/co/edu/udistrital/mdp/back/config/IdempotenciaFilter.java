@@ -0,0 +1,207 @@
+package co.edu.udistrital.mdp.back.config;
+
+import co.edu.udistrital.mdp.back.exceptions.ApiError;
+import co.edu.udistrital.mdp.back.services.IdempotenciaService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+
+/**
+ * Soporte del encabezado Idempotency-Key en las rutas que crean un solo recurso
+ * (POST sobre la colección, ver RUTAS_CREACION).
+ *
+ * El filtro lee el cuerpo completo en memoria y guarda la respuesta, así que no
+ * se aplica a rutas masivas o en flujo como /viviendas/importacion, que deben
+ * seguir leyendo su cuerpo por partes. Sin el encabezado, o fuera de esas
+ * rutas, la solicitud pasa sin costo adicional. Con él, la primera
+ * solicitud se ejecuta normalmente y, si termina con éxito (2xx), su respuesta
+ * queda guardada; los reintentos con la misma clave y el mismo cuerpo reciben
+ * esa respuesta (con el encabezado Idempotent-Replayed) sin volver a ejecutar
+ * el controlador. Un reintento mientras la primera sigue en curso recibe 409 y
+ * uno con otro cuerpo recibe 422. Si la primera falla, la clave se libera.
+ */
+@Component
+public class IdempotenciaFilter extends OncePerRequestFilter {
+
+    public static final String ENCABEZADO = "Idempotency-Key";
+    public static final String ENCABEZADO_REPETIDA = "Idempotent-Replayed";
+    static final int MAX_LONGITUD_CLAVE = 255;
+
+    // Rutas (sin el context-path) donde un POST crea un único recurso
+    static final Set<String> RUTAS_CREACION = Set.of(
+            "/transacciones", "/reservas", "/estancias", "/contratos", "/estudiantes", "/propietarios",
+            "/viviendas", "/comentarios", "/servicios", "/notificaciones", "/preferenciasEstudiante",
+            "/universidades", "/sitios-interes");
+
+    private final IdempotenciaService idempotenciaService;
+    private final ObjectMapper objectMapper;
+
+    public IdempotenciaFilter(IdempotenciaService idempotenciaService, ObjectMapper objectMapper) {
+        this.idempotenciaService = idempotenciaService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || request.getHeader(ENCABEZADO) == null
+                || !RUTAS_CREACION.contains(rutaSinContexto(request));
+    }
+
+    private static String rutaSinContexto(HttpServletRequest request) {
+        String ruta = request.getRequestURI().substring(request.getContextPath().length());
+        return ruta.length() > 1 && ruta.endsWith("/") ? ruta.substring(0, ruta.length() - 1) : ruta;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String clave = request.getHeader(ENCABEZADO).trim();
+        if (clave.isEmpty() || clave.length() > MAX_LONGITUD_CLAVE) {
+            escribirError(response, HttpStatus.BAD_REQUEST,
+                    "El encabezado " + ENCABEZADO + " debe tener entre 1 y " + MAX_LONGITUD_CLAVE + " caracteres.");
+            return;
+        }
+        String ruta = request.getRequestURI();
+        byte[] cuerpo = request.getInputStream().readAllBytes();
+        IdempotenciaService.Reserva reserva = idempotenciaService.reservar(clave, ruta, huella(cuerpo));
+
+        switch (reserva.tipo()) {
+            case REPETIDA -> repetir(response, reserva.respuesta());
+            case EN_CURSO -> escribirError(response, HttpStatus.CONFLICT,
+                    "Ya hay una solicitud en curso con esta " + ENCABEZADO + ".");
+            case CUERPO_DISTINTO -> escribirError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "La " + ENCABEZADO + " ya se usó con un cuerpo de solicitud distinto.");
+            case NUEVA -> ejecutar(request, response, chain, clave, ruta, cuerpo);
+        }
+    }
+
+    private void ejecutar(HttpServletRequest request, HttpServletResponse response, FilterChain chain, String clave,
+            String ruta, byte[] cuerpo) throws ServletException, IOException {
+        ContentCachingResponseWrapper respuesta = new ContentCachingResponseWrapper(response);
+        boolean guardada = false;
+        try {
+            chain.doFilter(new CuerpoLeido(request, cuerpo), respuesta);
+            if (HttpStatus.valueOf(respuesta.getStatus()).is2xxSuccessful()) {
+                idempotenciaService.guardar(clave, ruta, respuesta.getStatus(), respuesta.getContentType(),
+                        respuesta.getContentAsByteArray());
+                guardada = true;
+            }
+        } finally {
+            if (!guardada) {
+                idempotenciaService.liberar(clave, ruta);
+            }
+            respuesta.copyBodyToResponse();
+        }
+    }
+
+    private static void repetir(HttpServletResponse response, IdempotenciaService.Respuesta guardada)
+            throws IOException {
+        response.setStatus(guardada.estadoHttp());
+        if (guardada.tipoContenido() != null) {
+            response.setContentType(guardada.tipoContenido());
+        }
+        response.setHeader(ENCABEZADO_REPETIDA, "true");
+        if (guardada.cuerpo() != null) {
+            response.setContentLength(guardada.cuerpo().length);
+            response.getOutputStream().write(guardada.cuerpo());
+        }
+    }
+
+    private void escribirError(HttpServletResponse response, HttpStatus estado, String mensaje) throws IOException {
+        ApiError error = new ApiError(estado);
+        error.setMessage(mensaje);
+        response.setStatus(estado.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    static String huella(byte[] cuerpo) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(cuerpo));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * Solicitud cuyo cuerpo ya se leyó para calcular la huella y se entrega de
+     * nuevo al controlador
+     */
+    private static final class CuerpoLeido extends HttpServletRequestWrapper {
+
+        private final byte[] cuerpo;
+
+        CuerpoLeido(HttpServletRequest request, byte[] cuerpo) {
+            super(request);
+            this.cuerpo = cuerpo;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream entrada = new ByteArrayInputStream(cuerpo);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return entrada.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return entrada.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return entrada.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // El cuerpo ya está en memoria: todo está disponible desde el principio
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String codificacion = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    codificacion == null ? StandardCharsets.UTF_8 : Charset.forName(codificacion)));
+        }
+    }
+}
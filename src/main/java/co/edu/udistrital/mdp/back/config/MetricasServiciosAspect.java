@@ -0,0 +1,51 @@
+package co.edu.udistrital.mdp.back.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mide cada método público de los beans del paquete services con el timer
+ * 'servicio.invocaciones' (etiquetas class, method y exception), con
+ * histograma de percentiles para poder consultar p95/p99 por método.
+ *
+ * Las llamadas internas de un servicio a sí mismo no pasan por el proxy y no
+ * se miden por separado. Las consultas de los repositorios las mide Spring
+ * Boot en 'spring.data.repository.invocations' y las estadísticas de
+ * Hibernate salen en 'hibernate.*' (ver application.properties).
+ */
+@Aspect
+@Component
+public class MetricasServiciosAspect {
+
+    static final String METRICA = "servicio.invocaciones";
+
+    private final MeterRegistry registro;
+
+    public MetricasServiciosAspect(MeterRegistry registro) {
+        this.registro = registro;
+    }
+
+    @Around("within(co.edu.udistrital.mdp.back.services..*) && execution(public * *(..))")
+    public Object medir(ProceedingJoinPoint punto) throws Throwable {
+        Timer.Sample muestra = Timer.start(registro);
+        String excepcion = "none";
+        try {
+            return punto.proceed();
+        } catch (Throwable e) {
+            excepcion = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            muestra.stop(Timer.builder(METRICA)
+                    .description("Duración de los métodos públicos de los servicios")
+                    .tag("class", punto.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", punto.getSignature().getName())
+                    .tag("exception", excepcion)
+                    .publishPercentileHistogram()
+                    .register(registro));
+        }
+    }
+}
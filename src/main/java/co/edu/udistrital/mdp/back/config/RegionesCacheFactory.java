@@ -0,0 +1,28 @@
+package co.edu.udistrital.mdp.back.config;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Fábrica de regiones JCache que toma la configuración de caffeine.conf y le da
+ * a cada SessionFactory su propio CacheManager.
+ *
+ * Caffeine reutiliza el CacheManager de una misma URI, así que dos contextos de
+ * Spring en la misma JVM (por ejemplo en las pruebas, cada una con su base de
+ * datos) compartirían las entradas. El fragmento aleatorio separa los
+ * CacheManager sin cambiar el archivo que se lee; Hibernate cierra el suyo al
+ * cerrar la SessionFactory.
+ */
+public class RegionesCacheFactory extends JCacheRegionFactory {
+
+    static final String CONFIGURACION = "classpath:caffeine.conf";
+
+    @Override
+    protected URI getUri(SessionFactoryOptions settings, Map<String, Object> properties) {
+        return URI.create(CONFIGURACION + "#" + UUID.randomUUID());
+    }
+}
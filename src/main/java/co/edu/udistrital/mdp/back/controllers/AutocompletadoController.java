@@ -0,0 +1,35 @@
+package co.edu.udistrital.mdp.back.controllers;
+
+import co.edu.udistrital.mdp.back.dto.SugerenciaDTO;
+import co.edu.udistrital.mdp.back.exceptions.IllegalOperationException;
+import co.edu.udistrital.mdp.back.services.AutocompletadoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/autocomplete")
+public class AutocompletadoController {
+
+    @Autowired
+    private AutocompletadoService autocompletadoService;
+
+    /**
+     * GET /autocomplete?q=&tipo=CIUDAD|BARRIO|UNIVERSIDAD&limit=
+     * Ciudades, barrios y universidades que empiezan por 'q', de la más a la
+     * menos popular
+     */
+    @GetMapping
+    @ResponseStatus(code = HttpStatus.OK)
+    public List<SugerenciaDTO> sugerir(@RequestParam(value = "q", required = false) String q,
+            @RequestParam(value = "tipo", required = false) String tipo,
+            @RequestParam(value = "limit", required = false) Integer limit) throws IllegalOperationException {
+        try {
+            return autocompletadoService.sugerir(q, tipo, limit);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new IllegalOperationException(e.getMessage());
+        }
+    }
+}
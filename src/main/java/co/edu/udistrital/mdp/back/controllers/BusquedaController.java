@@ -0,0 +1,39 @@
+package co.edu.udistrital.mdp.back.controllers;
+
+import co.edu.udistrital.mdp.back.dto.PaginaDTO;
+import co.edu.udistrital.mdp.back.dto.ResultadoBusquedaTextoDTO;
+import co.edu.udistrital.mdp.back.exceptions.IllegalOperationException;
+import co.edu.udistrital.mdp.back.services.BusquedaTextoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.function.Function;
+
+@RestController
+@RequestMapping("/busqueda")
+public class BusquedaController {
+
+    @Autowired
+    private BusquedaTextoService busquedaTextoService;
+
+    /**
+     * GET /busqueda?q=&tipo=VIVIENDA|COMENTARIO&page=&limit=
+     * Búsqueda por palabras clave en descripciones de viviendas y comentarios,
+     * ordenada por relevancia
+     */
+    @GetMapping
+    @ResponseStatus(code = HttpStatus.OK)
+    public PaginaDTO<ResultadoBusquedaTextoDTO> buscar(@RequestParam(value = "q", required = false) String q,
+            @RequestParam(value = "tipo", required = false) String tipo,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "limit", required = false) Integer limit) throws IllegalOperationException {
+        try {
+            Slice<ResultadoBusquedaTextoDTO> pagina = busquedaTextoService.buscar(q, tipo, page, limit);
+            return PaginaDTO.de(pagina, Function.identity(), r -> String.valueOf(pagina.getNumber() + 1));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new IllegalOperationException(e.getMessage());
+        }
+    }
+}
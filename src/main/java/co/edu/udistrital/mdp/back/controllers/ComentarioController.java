@@ -1,12 +1,16 @@
 package co.edu.udistrital.mdp.back.controllers;
 
+import co.edu.udistrital.mdp.back.dto.CalificacionResumenDTO;
 import co.edu.udistrital.mdp.back.dto.ComentarioDTO;
+import co.edu.udistrital.mdp.back.dto.PaginaDTO;
 import co.edu.udistrital.mdp.back.entities.ComentarioEntity;
 import co.edu.udistrital.mdp.back.exceptions.EntityNotFoundException;
+import co.edu.udistrital.mdp.back.exceptions.IllegalOperationException;
+import co.edu.udistrital.mdp.back.services.CalificacionResumenService;
 import co.edu.udistrital.mdp.back.services.ComentarioService;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import co.edu.udistrital.mdp.back.mappers.ComentarioMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
@@ -26,18 +30,25 @@ public class ComentarioController {
     private ComentarioService comentarioService;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private CalificacionResumenService calificacionResumenService;
+
+    @Autowired
+    private ComentarioMapper comentarioMapper;
 
     /**
-     * GET /comentarios
-     * Obtiene todos los comentarios
+     * GET /comentarios?after={cursor}&limit={n}
+     * Obtiene una página de comentarios, los más recientes primero
      */
     @GetMapping
     @ResponseStatus(code = HttpStatus.OK)
-    public List<ComentarioDTO> findAll() {
-        List<ComentarioEntity> comentarios = comentarioService.obtenerTodosLosComentarios();
-        return modelMapper.map(comentarios, new TypeToken<List<ComentarioDTO>>() {
-        }.getType());
+    public PaginaDTO<ComentarioDTO> findAll(@RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit) throws IllegalOperationException {
+        try {
+            Slice<ComentarioEntity> pagina = comentarioService.obtenerComentariosPaginados(after, limit);
+            return PaginaDTO.de(pagina, comentarioMapper::toDTO, ComentarioService::cursorDe);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalOperationException(e.getMessage());
+        }
     }
 
     /**
@@ -49,7 +60,7 @@ public class ComentarioController {
     public ComentarioDTO findOne(@PathVariable("id") Long id) throws EntityNotFoundException {
         try {
             ComentarioEntity comentario = comentarioService.obtenerComentarioPorId(id);
-            return modelMapper.map(comentario, ComentarioDTO.class);
+            return comentarioMapper.toDTO(comentario);
         } catch (IllegalArgumentException e) {
             throw new EntityNotFoundException(MSG_COMENTARIO_NO_ENCONTRADO + id);
         }
@@ -63,8 +74,7 @@ public class ComentarioController {
     @ResponseStatus(code = HttpStatus.OK)
     public List<ComentarioDTO> findByVivienda(@PathVariable("viviendaId") Long viviendaId) {
         List<ComentarioEntity> comentarios = comentarioService.obtenerComentariosPorVivienda(viviendaId);
-        return modelMapper.map(comentarios, new TypeToken<List<ComentarioDTO>>() {
-        }.getType());
+        return comentarioMapper.toDTOList(comentarios);
     }
 
     /**
@@ -76,8 +86,7 @@ public class ComentarioController {
     public List<ComentarioDTO> findByEstudiante(@PathVariable("estudianteId") Long estudianteId) {
         // Considera manejar EntityNotFoundException si el estudiante no existe
         List<ComentarioEntity> comentarios = comentarioService.obtenerComentariosPorEstudiante(estudianteId);
-        return modelMapper.map(comentarios, new TypeToken<List<ComentarioDTO>>() {
-        }.getType());
+        return comentarioMapper.toDTOList(comentarios);
     }
 
     /**
@@ -90,6 +99,26 @@ public class ComentarioController {
         return comentarioService.obtenerPromedioCalificacion(viviendaId);
     }
 
+    /**
+     * GET /comentarios/vivienda/{viviendaId}/resumen
+     * Obtiene cantidad, promedio e histograma de calificaciones de una vivienda
+     */
+    @GetMapping(value = "/vivienda/{viviendaId}/resumen")
+    @ResponseStatus(code = HttpStatus.OK)
+    public CalificacionResumenDTO getResumenCalificaciones(@PathVariable("viviendaId") Long viviendaId) {
+        return new CalificacionResumenDTO(calificacionResumenService.obtenerResumen(viviendaId));
+    }
+
+    /**
+     * POST /comentarios/resumenes/reconstruir
+     * Recalcula desde cero los resúmenes de calificación de todas las viviendas
+     */
+    @PostMapping(value = "/resumenes/reconstruir")
+    @ResponseStatus(code = HttpStatus.OK)
+    public int reconstruirResumenes() {
+        return calificacionResumenService.reconstruirResumenes();
+    }
+
     /**
      * POST /comentarios
      * Crea un nuevo comentario
@@ -97,9 +126,9 @@ public class ComentarioController {
     @PostMapping
     @ResponseStatus(code = HttpStatus.CREATED)
     public ComentarioDTO create(@RequestBody ComentarioDTO dto) {
-        ComentarioEntity comentarioEntity = modelMapper.map(dto, ComentarioEntity.class);
+        ComentarioEntity comentarioEntity = comentarioMapper.toEntity(dto);
         ComentarioEntity nuevoComentario = comentarioService.crearComentario(comentarioEntity);
-        return modelMapper.map(nuevoComentario, ComentarioDTO.class);
+        return comentarioMapper.toDTO(nuevoComentario);
     }
 
     /**
@@ -113,10 +142,10 @@ public class ComentarioController {
             @RequestParam("usuarioId") Long usuarioId,
             @RequestBody ComentarioDTO dto) throws EntityNotFoundException {
         try {
-            ComentarioEntity comentarioEntity = modelMapper.map(dto, ComentarioEntity.class);
+            ComentarioEntity comentarioEntity = comentarioMapper.toEntity(dto);
             ComentarioEntity comentarioActualizado = comentarioService.actualizarComentario(id, usuarioId,
                     comentarioEntity);
-            return modelMapper.map(comentarioActualizado, ComentarioDTO.class);
+            return comentarioMapper.toDTO(comentarioActualizado);
         } catch (IllegalArgumentException e) {
             throw new EntityNotFoundException(MSG_COMENTARIO_NO_ENCONTRADO + id);
         }
@@ -134,7 +163,7 @@ public class ComentarioController {
             @RequestParam("contenido") String nuevoContenido) throws EntityNotFoundException {
         try {
             ComentarioEntity comentario = comentarioService.actualizarContenido(id, usuarioId, nuevoContenido);
-            return modelMapper.map(comentario, ComentarioDTO.class);
+            return comentarioMapper.toDTO(comentario);
         } catch (IllegalArgumentException e) {
             throw new EntityNotFoundException(MSG_COMENTARIO_NO_ENCONTRADO + id);
         }
@@ -152,7 +181,7 @@ public class ComentarioController {
             @RequestParam("calificacion") Integer nuevaCalificacion) throws EntityNotFoundException {
         try {
             ComentarioEntity comentario = comentarioService.actualizarCalificacion(id, usuarioId, nuevaCalificacion);
-            return modelMapper.map(comentario, ComentarioDTO.class);
+            return comentarioMapper.toDTO(comentario);
         } catch (IllegalArgumentException e) {
             throw new EntityNotFoundException(MSG_COMENTARIO_NO_ENCONTRADO + id);
         }
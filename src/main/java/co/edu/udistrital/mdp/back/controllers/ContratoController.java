@@ -1,15 +1,17 @@
 package co.edu.udistrital.mdp.back.controllers;
 
 import co.edu.udistrital.mdp.back.dto.ContratoDTO;
+import co.edu.udistrital.mdp.back.dto.PaginaDTO;
 import co.edu.udistrital.mdp.back.entities.ContratoEntity;
 import co.edu.udistrital.mdp.back.services.ContratoService;
 import co.edu.udistrital.mdp.back.exceptions.EntityNotFoundException;
-import org.modelmapper.ModelMapper;
+import co.edu.udistrital.mdp.back.exceptions.IllegalOperationException;
+import co.edu.udistrital.mdp.back.mappers.ContratoMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 
 @RestController
 @RequestMapping("/contratos")
@@ -19,18 +21,21 @@ public class ContratoController {
     private ContratoService contratoService;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private ContratoMapper contratoMapper;
 
     // 🔹 Constante para evitar repetir el mismo mensaje
     private static final String MSG_CONTRATO_NO_ENCONTRADO = "Contrato no encontrado con id: ";
 
     @GetMapping
     @ResponseStatus(code = HttpStatus.OK)
-    public List<ContratoDTO> findAll() {
-        List<ContratoEntity> contratos = contratoService.obtenerTodos();
-        return contratos.stream()
-                .map(c -> modelMapper.map(c, ContratoDTO.class))
-                .toList();
+    public PaginaDTO<ContratoDTO> findAll(@RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit) throws IllegalOperationException {
+        try {
+            Slice<ContratoEntity> pagina = contratoService.obtenerPaginados(after, limit);
+            return PaginaDTO.de(pagina, contratoMapper::toDTO, ContratoService::cursorDe);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalOperationException(e.getMessage());
+        }
     }
 
     @GetMapping("/{id}")
@@ -38,7 +43,7 @@ public class ContratoController {
     public ContratoDTO findOne(@PathVariable("id") Long id) throws EntityNotFoundException {
         try {
             ContratoEntity c = contratoService.obtenerPorId(id);
-            return modelMapper.map(c, ContratoDTO.class);
+            return contratoMapper.toDTO(c);
         } catch (IllegalArgumentException e) {
             throw new EntityNotFoundException(MSG_CONTRATO_NO_ENCONTRADO + id);
         }
@@ -47,18 +52,18 @@ public class ContratoController {
     @PostMapping
     @ResponseStatus(code = HttpStatus.CREATED)
     public ContratoDTO create(@RequestBody ContratoDTO dto) {
-        ContratoEntity entidad = modelMapper.map(dto, ContratoEntity.class);
+        ContratoEntity entidad = contratoMapper.toEntity(dto);
         ContratoEntity creado = contratoService.crearContrato(entidad);
-        return modelMapper.map(creado, ContratoDTO.class);
+        return contratoMapper.toDTO(creado);
     }
 
     @PutMapping("/{id}")
     @ResponseStatus(code = HttpStatus.OK)
     public ContratoDTO update(@PathVariable("id") Long id, @RequestBody ContratoDTO dto) throws EntityNotFoundException {
         try {
-            ContratoEntity entidad = modelMapper.map(dto, ContratoEntity.class);
+            ContratoEntity entidad = contratoMapper.toEntity(dto);
             ContratoEntity actualizado = contratoService.actualizar(id, entidad);
-            return modelMapper.map(actualizado, ContratoDTO.class);
+            return contratoMapper.toDTO(actualizado);
         } catch (IllegalArgumentException e) {
             throw new EntityNotFoundException(MSG_CONTRATO_NO_ENCONTRADO + id);
         }
@@ -1,15 +1,19 @@
 package co.edu.udistrital.mdp.back.controllers;
 
 import co.edu.udistrital.mdp.back.dto.EstanciaDTO;
+import co.edu.udistrital.mdp.back.dto.PaginaDTO;
+import co.edu.udistrital.mdp.back.dto.SaldoEstanciaDTO;
 import co.edu.udistrital.mdp.back.entities.EstanciaEntity;
 import co.edu.udistrital.mdp.back.services.EstanciaService;
+import co.edu.udistrital.mdp.back.services.SaldoEstanciaService;
 import co.edu.udistrital.mdp.back.exceptions.EntityNotFoundException;
-import org.modelmapper.ModelMapper;
+import co.edu.udistrital.mdp.back.exceptions.IllegalOperationException;
+import co.edu.udistrital.mdp.back.mappers.EstanciaMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 
 @RestController
 @RequestMapping("/estancias")
@@ -19,18 +23,24 @@ public class EstanciaController {
     private EstanciaService estanciaService;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private EstanciaMapper estanciaMapper;
+
+    @Autowired
+    private SaldoEstanciaService saldoEstanciaService;
 
     // 🔹 Constante para mensaje reutilizable
     private static final String MSG_ESTANCIA_NO_ENCONTRADA = "Estancia no encontrada con id: ";
 
     @GetMapping
     @ResponseStatus(code = HttpStatus.OK)
-    public List<EstanciaDTO> findAll() {
-        List<EstanciaEntity> list = estanciaService.obtenerTodas();
-        return list.stream()
-                .map(e -> modelMapper.map(e, EstanciaDTO.class))
-                .toList(); 
+    public PaginaDTO<EstanciaDTO> findAll(@RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit) throws IllegalOperationException {
+        try {
+            Slice<EstanciaEntity> pagina = estanciaService.obtenerPaginadas(after, limit);
+            return PaginaDTO.de(pagina, estanciaMapper::toDTO, EstanciaService::cursorDe);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalOperationException(e.getMessage());
+        }
     }
 
     @GetMapping("/{id}")
@@ -38,7 +48,21 @@ public class EstanciaController {
     public EstanciaDTO findOne(@PathVariable("id") Long id) throws EntityNotFoundException {
         try {
             EstanciaEntity e = estanciaService.obtenerPorId(id);
-            return modelMapper.map(e, EstanciaDTO.class);
+            return estanciaMapper.toDTO(e);
+        } catch (IllegalArgumentException ex) {
+            throw new EntityNotFoundException(MSG_ESTANCIA_NO_ENCONTRADA + id);
+        }
+    }
+
+    /**
+     * GET /estancias/{id}/saldo
+     * Totales pagados, pendientes y reembolsados, último pago y saldo del contrato
+     */
+    @GetMapping("/{id}/saldo")
+    @ResponseStatus(code = HttpStatus.OK)
+    public SaldoEstanciaDTO saldo(@PathVariable("id") Long id) throws EntityNotFoundException {
+        try {
+            return saldoEstanciaService.obtenerSaldo(id);
         } catch (IllegalArgumentException ex) {
             throw new EntityNotFoundException(MSG_ESTANCIA_NO_ENCONTRADA + id);
         }
@@ -47,18 +71,18 @@ public class EstanciaController {
     @PostMapping
     @ResponseStatus(code = HttpStatus.CREATED)
     public EstanciaDTO create(@RequestBody EstanciaDTO dto) {
-        EstanciaEntity entidad = modelMapper.map(dto, EstanciaEntity.class);
+        EstanciaEntity entidad = estanciaMapper.toEntity(dto);
         EstanciaEntity creado = estanciaService.crearEstancia(entidad);
-        return modelMapper.map(creado, EstanciaDTO.class);
+        return estanciaMapper.toDTO(creado);
     }
 
     @PutMapping("/{id}")
     @ResponseStatus(code = HttpStatus.OK)
     public EstanciaDTO update(@PathVariable("id") Long id, @RequestBody EstanciaDTO dto) throws EntityNotFoundException {
         try {
-            EstanciaEntity entidad = modelMapper.map(dto, EstanciaEntity.class);
+            EstanciaEntity entidad = estanciaMapper.toEntity(dto);
             EstanciaEntity actualizado = estanciaService.actualizar(id, entidad);
-            return modelMapper.map(actualizado, EstanciaDTO.class);
+            return estanciaMapper.toDTO(actualizado);
         } catch (IllegalArgumentException ex) {
             throw new EntityNotFoundException(MSG_ESTANCIA_NO_ENCONTRADA + id);
         }
@@ -2,13 +2,14 @@ package co.edu.udistrital.mdp.back.controllers;
 
 import co.edu.udistrital.mdp.back.dto.EstudianteDTO;
 import co.edu.udistrital.mdp.back.dto.EstudianteDetailDTO;
+import co.edu.udistrital.mdp.back.dto.RecomendacionDTO;
 import co.edu.udistrital.mdp.back.entities.EstudianteEntity;
 import co.edu.udistrital.mdp.back.exceptions.EntityNotFoundException;
 import co.edu.udistrital.mdp.back.exceptions.IllegalOperationException;
 import co.edu.udistrital.mdp.back.services.EstudianteService;
+import co.edu.udistrital.mdp.back.services.RecomendacionService;
+import co.edu.udistrital.mdp.back.mappers.EstudianteMapper;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
@@ -24,15 +25,17 @@ public class EstudianteController {
     private EstudianteService estudianteService;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private EstudianteMapper estudianteMapper;
+
+    @Autowired
+    private RecomendacionService recomendacionService;
 
     /** GET /estudiantes */
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
     public List<EstudianteDTO> findAll() {
         List<EstudianteEntity> list = estudianteService.listarTodos();
-        return modelMapper.map(list, new TypeToken<List<EstudianteDTO>>() {
-        }.getType());
+        return estudianteMapper.toDTOList(list);
     }
 
     /** GET /estudiantes/{id} */
@@ -41,7 +44,22 @@ public class EstudianteController {
     public EstudianteDetailDTO findOne(@PathVariable Long id) throws EntityNotFoundException {
         try {
             EstudianteEntity entity = estudianteService.obtenerPorId(id);
-            return modelMapper.map(entity, EstudianteDetailDTO.class);
+            return estudianteMapper.toDetailDTO(entity);
+        } catch (IllegalArgumentException e) {
+            throw new EntityNotFoundException(e.getMessage());
+        }
+    }
+
+    /**
+     * GET /estudiantes/{id}/recomendaciones?limite={k}
+     * Viviendas disponibles más afines a las preferencias del estudiante
+     */
+    @GetMapping("/{id}/recomendaciones")
+    @ResponseStatus(HttpStatus.OK)
+    public List<RecomendacionDTO> recomendaciones(@PathVariable Long id,
+            @RequestParam(value = "limite", required = false) Integer limite) throws EntityNotFoundException {
+        try {
+            return recomendacionService.recomendar(id, limite);
         } catch (IllegalArgumentException e) {
             throw new EntityNotFoundException(e.getMessage());
         }
@@ -51,10 +69,10 @@ public class EstudianteController {
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public EstudianteDTO create(@RequestBody EstudianteDTO dto) throws IllegalOperationException {
-        EstudianteEntity entity = modelMapper.map(dto, EstudianteEntity.class);
+        EstudianteEntity entity = estudianteMapper.toEntity(dto);
         try {
             EstudianteEntity created = estudianteService.crear(entity);
-            return modelMapper.map(created, EstudianteDTO.class);
+            return estudianteMapper.toDTO(created);
         } catch (IllegalArgumentException e) {
             throw new IllegalOperationException(e.getMessage());
         }
@@ -66,9 +84,9 @@ public class EstudianteController {
     public EstudianteDTO update(@PathVariable Long id, @RequestBody EstudianteDTO dto)
             throws EntityNotFoundException {
         try {
-            EstudianteEntity entity = modelMapper.map(dto, EstudianteEntity.class);
+            EstudianteEntity entity = estudianteMapper.toEntity(dto);
             EstudianteEntity updated = estudianteService.actualizar(id, entity);
-            return modelMapper.map(updated, EstudianteDTO.class);
+            return estudianteMapper.toDTO(updated);
         } catch (IllegalArgumentException e) {
             throw new EntityNotFoundException(e.getMessage());
         }
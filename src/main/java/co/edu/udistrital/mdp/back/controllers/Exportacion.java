@@ -0,0 +1,73 @@
+package co.edu.udistrital.mdp.back.controllers;
+
+import co.edu.udistrital.mdp.back.exceptions.IllegalOperationException;
+import co.edu.udistrital.mdp.back.services.ExportacionService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Respuesta común de los endpoints de exportación: valida los parámetros antes
+ * de empezar a responder y luego escribe las filas directamente en la
+ * respuesta, comprimidas con gzip si se pidió.
+ */
+final class Exportacion {
+
+    /**
+     * Escribe la exportación completa en 'salida' con el formato indicado
+     */
+    @FunctionalInterface
+    interface Escritura {
+        void escribir(ExportacionService.Formato formato, OutputStream salida) throws IOException;
+    }
+
+    private Exportacion() {
+    }
+
+    static ResponseEntity<StreamingResponseBody> responder(String nombre, String formato, boolean gzip,
+            LocalDate desde, LocalDate hasta, Escritura escritura) throws IllegalOperationException {
+        ExportacionService.Formato elegido = formato(formato);
+        try {
+            ExportacionService.validarRango(desde, hasta);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalOperationException(e.getMessage());
+        }
+        String archivo = nombre + (elegido == ExportacionService.Formato.CSV ? ".csv" : ".ndjson");
+        MediaType tipo = elegido == ExportacionService.Formato.CSV ? new MediaType("text", "csv")
+                : MediaType.APPLICATION_NDJSON;
+        if (gzip) {
+            archivo += ".gz";
+            tipo = new MediaType("application", "gzip");
+        }
+        StreamingResponseBody cuerpo = salida -> {
+            if (gzip) {
+                GZIPOutputStream comprimida = new GZIPOutputStream(salida, 8192);
+                escritura.escribir(elegido, comprimida);
+                comprimida.finish();
+            } else {
+                escritura.escribir(elegido, salida);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(tipo)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(archivo).build().toString())
+                .body(cuerpo);
+    }
+
+    private static ExportacionService.Formato formato(String formato) throws IllegalOperationException {
+        return switch (formato.trim().toLowerCase()) {
+            case "csv" -> ExportacionService.Formato.CSV;
+            case "ndjson", "jsonl" -> ExportacionService.Formato.JSON_LINES;
+            default -> throw new IllegalOperationException(
+                    "Formato de exportación inválido: " + formato + ". Valores permitidos: csv, ndjson");
+        };
+    }
+}
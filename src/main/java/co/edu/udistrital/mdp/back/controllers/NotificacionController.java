@@ -1,19 +1,29 @@
 package co.edu.udistrital.mdp.back.controllers;
 
+import co.edu.udistrital.mdp.back.dto.DifusionDTO;
 import co.edu.udistrital.mdp.back.dto.NotificacionDTO;
 import co.edu.udistrital.mdp.back.dto.NotificacionDetailDTO;
+import co.edu.udistrital.mdp.back.dto.OperacionMasivaDTO;
+import co.edu.udistrital.mdp.back.dto.PaginaDTO;
+import co.edu.udistrital.mdp.back.dto.ProgresoDifusionDTO;
 import co.edu.udistrital.mdp.back.entities.NotificacionEntity;
 import co.edu.udistrital.mdp.back.exceptions.EntityNotFoundException;
+import co.edu.udistrital.mdp.back.exceptions.IllegalOperationException;
+import co.edu.udistrital.mdp.back.services.DifusionNotificacionService;
 import co.edu.udistrital.mdp.back.services.NotificacionService;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import co.edu.udistrital.mdp.back.mappers.NotificacionMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -29,21 +39,96 @@ public class NotificacionController {
     private NotificacionService notificacionService;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private DifusionNotificacionService difusionService;
+
+    @Autowired
+    private NotificacionMapper notificacionMapper;
 
     @GetMapping
     @ResponseStatus(code = HttpStatus.OK)
-    public List<NotificacionDTO> findAll() {
-
-        log.warn("findAll() requiere implementación en NotificacionService.");
-        return List.of();
+    public PaginaDTO<NotificacionDTO> findAll(@RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit) throws IllegalOperationException {
+        try {
+            Slice<NotificacionEntity> pagina = notificacionService.obtenerNotificacionesPaginadas(after, limit);
+            return PaginaDTO.de(pagina, notificacionMapper::toDTO, NotificacionService::cursorDe);
+        } catch (IllegalArgumentException e) {
+            log.warn("Cursor inválido en findAll(): {}", after);
+            throw new IllegalOperationException(e.getMessage());
+        }
     }
 
     @GetMapping("/estudiante/{estudianteId}")
     @ResponseStatus(code = HttpStatus.OK)
     public List<NotificacionDTO> findByEstudiante(@PathVariable("estudianteId") Long estudianteId) {
         List<NotificacionEntity> notifs = notificacionService.obtenerNotificacionesPorEstudiante(estudianteId);
-        return modelMapper.map(notifs, new TypeToken<List<NotificacionDTO>>() {}.getType());
+        return notificacionMapper.toDTOList(notifs);
+    }
+
+    /**
+     * GET /notificaciones/estudiante/{estudianteId}/no-leidas/count
+     * Número de notificaciones no leídas del estudiante (contador de la insignia)
+     */
+    @GetMapping("/estudiante/{estudianteId}/no-leidas/count")
+    @ResponseStatus(code = HttpStatus.OK)
+    public long countNoLeidas(@PathVariable("estudianteId") Long estudianteId) {
+        return notificacionService.contarNoLeidas(estudianteId);
+    }
+
+    /**
+     * PATCH /notificaciones/estudiante/{estudianteId}/marcarLeidas?ids=1,2,3
+     * PATCH /notificaciones/estudiante/{estudianteId}/marcarLeidas?hasta=2024-05-01T00:00:00
+     * Marca en bloque como leídas las notificaciones indicadas o, sin 'ids', todas
+     * las enviadas hasta 'hasta' (por defecto, hasta ahora)
+     */
+    @PatchMapping("/estudiante/{estudianteId}/marcarLeidas")
+    @ResponseStatus(code = HttpStatus.OK)
+    public OperacionMasivaDTO marcarLeidas(@PathVariable("estudianteId") Long estudianteId,
+            @RequestParam(value = "ids", required = false) List<Long> ids,
+            @RequestParam(value = "hasta", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta) throws EntityNotFoundException {
+        try {
+            int marcadas = notificacionService.marcarLeidas(estudianteId, ids, hasta);
+            return new OperacionMasivaDTO(marcadas, notificacionService.contarNoLeidas(estudianteId));
+        } catch (IllegalArgumentException e) {
+            throw new EntityNotFoundException(e.getMessage());
+        }
+    }
+
+    /**
+     * DELETE /notificaciones/estudiante/{estudianteId}?ids=1,2,3
+     * DELETE /notificaciones/estudiante/{estudianteId}?hasta=2024-05-01T00:00:00
+     * Elimina en bloque las notificaciones indicadas o, sin 'ids', todas las
+     * enviadas hasta 'hasta' (por defecto, hasta ahora)
+     */
+    @DeleteMapping("/estudiante/{estudianteId}")
+    @ResponseStatus(code = HttpStatus.OK)
+    public OperacionMasivaDTO deleteByEstudiante(@PathVariable("estudianteId") Long estudianteId,
+            @RequestParam(value = "ids", required = false) List<Long> ids,
+            @RequestParam(value = "hasta", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta) throws EntityNotFoundException {
+        try {
+            int eliminadas = notificacionService.eliminarNotificaciones(estudianteId, ids, hasta);
+            return new OperacionMasivaDTO(eliminadas, notificacionService.contarNoLeidas(estudianteId));
+        } catch (IllegalArgumentException e) {
+            throw new EntityNotFoundException(e.getMessage());
+        }
+    }
+
+    /**
+     * GET /notificaciones/estudiante/{estudianteId}/stream
+     * Stream (text/event-stream) con las notificaciones nuevas del estudiante, en
+     * lugar de consultar el listado completo cada pocos segundos. Los navegadores
+     * envían el encabezado Last-Event-ID al reconectarse.
+     */
+    @GetMapping(value = "/estudiante/{estudianteId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@PathVariable("estudianteId") Long estudianteId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long ultimoEventoId)
+            throws EntityNotFoundException {
+        try {
+            return notificacionService.suscribir(estudianteId, ultimoEventoId);
+        } catch (IllegalArgumentException e) {
+            throw new EntityNotFoundException(e.getMessage());
+        }
     }
 
     @GetMapping(value = "/{id}")
@@ -51,7 +136,7 @@ public class NotificacionController {
     public NotificacionDetailDTO findOne(@PathVariable("id") Long id) throws EntityNotFoundException {
         try {
             NotificacionEntity notif = notificacionService.obtenerNotificacionPorId(id);
-            return modelMapper.map(notif, NotificacionDetailDTO.class);
+            return notificacionMapper.toDetailDTO(notif);
         } catch (IllegalArgumentException e) {
             throw new EntityNotFoundException(MSG_NOTIFICACION_NO_ENCONTRADA + id);
         }
@@ -60,9 +145,38 @@ public class NotificacionController {
     @PostMapping
     @ResponseStatus(code = HttpStatus.CREATED)
     public NotificacionDTO create(@RequestBody NotificacionDTO dto) {
-        NotificacionEntity notifEntity = modelMapper.map(dto, NotificacionEntity.class);
+        NotificacionEntity notifEntity = notificacionMapper.toEntity(dto);
         NotificacionEntity nuevaNotif = notificacionService.enviarNotificacion(notifEntity);
-        return modelMapper.map(nuevaNotif, NotificacionDTO.class);
+        return notificacionMapper.toDTO(nuevaNotif);
+    }
+
+    /**
+     * POST /notificaciones/difusiones
+     * Envía el mismo mensaje a toda una universidad, una ciudad o una lista de
+     * estudiantes. Responde de inmediato (202) con el id para seguir el progreso.
+     */
+    @PostMapping("/difusiones")
+    @ResponseStatus(code = HttpStatus.ACCEPTED)
+    public ProgresoDifusionDTO difundir(@RequestBody DifusionDTO dto) throws IllegalOperationException {
+        try {
+            return difusionService.iniciar(dto);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalOperationException(e.getMessage());
+        }
+    }
+
+    /**
+     * GET /notificaciones/difusiones/{id}
+     * Progreso de una difusión
+     */
+    @GetMapping("/difusiones/{id}")
+    @ResponseStatus(code = HttpStatus.OK)
+    public ProgresoDifusionDTO progresoDifusion(@PathVariable("id") String id) throws EntityNotFoundException {
+        try {
+            return difusionService.obtenerProgreso(id);
+        } catch (IllegalArgumentException e) {
+            throw new EntityNotFoundException(e.getMessage());
+        }
     }
 
     @PatchMapping(value = "/{id}/marcarLeida")
@@ -70,13 +184,13 @@ public class NotificacionController {
     public NotificacionDTO marcarComoLeida(@PathVariable("id") Long id) throws EntityNotFoundException {
         try {
             NotificacionEntity notifActualizada = notificacionService.marcarComoLeida(id);
-            return modelMapper.map(notifActualizada, NotificacionDTO.class);
+            return notificacionMapper.toDTO(notifActualizada);
         } catch (IllegalArgumentException e) {
             throw new EntityNotFoundException(MSG_NOTIFICACION_NO_ENCONTRADA + id);
         } catch (IllegalStateException e) {
             log.info("Intento de marcar como leída notificación {} que ya lo estaba.", id);
             NotificacionEntity notifActual = notificacionService.obtenerNotificacionPorId(id);
-            return modelMapper.map(notifActual, NotificacionDTO.class);
+            return notificacionMapper.toDTO(notifActual);
         }
     }
 
@@ -5,7 +5,7 @@ import co.edu.udistrital.mdp.back.dto.PreferenciaEstudianteDetailDTO;
 import co.edu.udistrital.mdp.back.entities.PreferenciaEstudianteEntity;
 import co.edu.udistrital.mdp.back.exceptions.EntityNotFoundException;
 import co.edu.udistrital.mdp.back.services.PreferenciaEstudianteService;
-import org.modelmapper.ModelMapper;
+import co.edu.udistrital.mdp.back.mappers.PreferenciaEstudianteMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
@@ -30,7 +30,7 @@ public class PreferenciaEstudianteController {
     private PreferenciaEstudianteService preferenciaService;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private PreferenciaEstudianteMapper preferenciaEstudianteMapper;
 
     @GetMapping
     @ResponseStatus(code = HttpStatus.OK)
@@ -44,7 +44,7 @@ public class PreferenciaEstudianteController {
     public PreferenciaEstudianteDetailDTO findOne(@PathVariable("id") Long id) throws EntityNotFoundException {
         try {
             PreferenciaEstudianteEntity pref = preferenciaService.obtenerPreferenciasPorId(id);
-            return modelMapper.map(pref, PreferenciaEstudianteDetailDTO.class);
+            return preferenciaEstudianteMapper.toDetailDTO(pref);
         } catch (IllegalArgumentException e) {
             throw new EntityNotFoundException(MSG_PREFERENCIA_NO_ENCONTRADA_ID + id);
         }
@@ -55,7 +55,7 @@ public class PreferenciaEstudianteController {
     public PreferenciaEstudianteDetailDTO findByEstudianteId(@PathVariable("estudianteId") Long estudianteId) throws EntityNotFoundException {
         try {
             PreferenciaEstudianteEntity pref = preferenciaService.obtenerPreferenciasPorEstudianteId(estudianteId);
-            return modelMapper.map(pref, PreferenciaEstudianteDetailDTO.class);
+            return preferenciaEstudianteMapper.toDetailDTO(pref);
         } catch (IllegalArgumentException e) {
             throw new EntityNotFoundException(MSG_PREFERENCIAS_NO_ENCONTRADAS_EST + estudianteId);
         }
@@ -64,18 +64,18 @@ public class PreferenciaEstudianteController {
     @PostMapping
     @ResponseStatus(code = HttpStatus.CREATED)
     public PreferenciaEstudianteDTO create(@RequestBody PreferenciaEstudianteDTO dto) {
-        PreferenciaEstudianteEntity prefEntity = modelMapper.map(dto, PreferenciaEstudianteEntity.class);
+        PreferenciaEstudianteEntity prefEntity = preferenciaEstudianteMapper.toEntity(dto);
         PreferenciaEstudianteEntity nuevaPref = preferenciaService.crearPreferencias(prefEntity);
-        return modelMapper.map(nuevaPref, PreferenciaEstudianteDTO.class);
+        return preferenciaEstudianteMapper.toDTO(nuevaPref);
     }
 
     @PutMapping(value = "/{id}")
     @ResponseStatus(code = HttpStatus.OK)
     public PreferenciaEstudianteDTO update(@PathVariable("id") Long id, @RequestBody PreferenciaEstudianteDTO dto) throws EntityNotFoundException {
         try {
-            PreferenciaEstudianteEntity prefEntity = modelMapper.map(dto, PreferenciaEstudianteEntity.class);
+            PreferenciaEstudianteEntity prefEntity = preferenciaEstudianteMapper.toEntity(dto);
             PreferenciaEstudianteEntity prefActualizada = preferenciaService.actualizarPreferencias(id, prefEntity);
-            return modelMapper.map(prefActualizada, PreferenciaEstudianteDTO.class);
+            return preferenciaEstudianteMapper.toDTO(prefActualizada);
         } catch (IllegalArgumentException e) {
             throw new EntityNotFoundException(MSG_PREFERENCIA_NO_ENCONTRADA_ID + id);
         } catch (IllegalStateException e) {
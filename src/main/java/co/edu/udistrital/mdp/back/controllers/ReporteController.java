@@ -0,0 +1,63 @@
+package co.edu.udistrital.mdp.back.controllers;
+
+import co.edu.udistrital.mdp.back.exceptions.IllegalOperationException;
+import co.edu.udistrital.mdp.back.services.ReporteIngresosService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/reportes")
+public class ReporteController {
+
+    @Autowired
+    private ReporteIngresosService reporteIngresosService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Ingresos mensuales por propietario y ciudad como un arreglo JSON que se
+     * escribe a medida que la consulta devuelve filas
+     */
+    @GetMapping("/ingresos")
+    public ResponseEntity<StreamingResponseBody> ingresos(
+            @RequestParam(value = "propietarioId", required = false) Long propietarioId,
+            @RequestParam(value = "ciudad", required = false) String ciudad,
+            @RequestParam(value = "desde", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(value = "hasta", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta)
+            throws IllegalOperationException {
+        ReporteIngresosService.Filtro filtro;
+        try {
+            filtro = new ReporteIngresosService.Filtro(propietarioId, ciudad, desde, hasta);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalOperationException(e.getMessage());
+        }
+        StreamingResponseBody cuerpo = salida -> {
+            try (JsonGenerator generador = objectMapper.getFactory().createGenerator(salida)) {
+                generador.writeStartArray();
+                reporteIngresosService.recorrerIngresos(filtro, fila -> {
+                    try {
+                        generador.writeObject(fila);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generador.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(cuerpo);
+    }
+}
@@ -1,18 +1,25 @@
 package co.edu.udistrital.mdp.back.controllers;
 
+import co.edu.udistrital.mdp.back.dto.DisponibilidadDTO;
 import co.edu.udistrital.mdp.back.dto.ReservaDTO;
 import co.edu.udistrital.mdp.back.dto.ReservaDetailDTO;
+import co.edu.udistrital.mdp.back.dto.PaginaDTO;
 import co.edu.udistrital.mdp.back.entities.ReservaEntity;
 import co.edu.udistrital.mdp.back.exceptions.EntityNotFoundException;
 import co.edu.udistrital.mdp.back.exceptions.IllegalOperationException;
+import co.edu.udistrital.mdp.back.services.ExportacionService;
 import co.edu.udistrital.mdp.back.services.ReservaService;
+import co.edu.udistrital.mdp.back.mappers.ReservaMapper;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Slf4j
@@ -24,15 +31,54 @@ public class ReservaController {
     private ReservaService reservaService;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private ReservaMapper reservaMapper;
 
-    /** GET /reservas */
+    @Autowired
+    private ExportacionService exportacionService;
+
+    /** GET /reservas?after={cursor}&limit={n} */
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public List<ReservaDTO> findAll() {
-        List<ReservaEntity> list = reservaService.getAllReservas();
-        return modelMapper.map(list, new TypeToken<List<ReservaDTO>>() {
-        }.getType());
+    public PaginaDTO<ReservaDTO> findAll(@RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit) throws IllegalOperationException {
+        try {
+            Slice<ReservaEntity> pagina = reservaService.getReservasPaginadas(after, limit);
+            return PaginaDTO.de(pagina, reservaMapper::toDTO, ReservaService::cursorDe);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalOperationException(e.getMessage());
+        }
+    }
+
+    /**
+     * GET /reservas/exportacion?formato=csv|ndjson&desde=...&hasta=...&gzip=true
+     * Descarga las reservas que inician en el rango, escritas a medida que se leen
+     */
+    @GetMapping("/exportacion")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam(value = "formato", defaultValue = "csv") String formato,
+            @RequestParam(value = "desde", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(value = "hasta", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip) throws IllegalOperationException {
+        return Exportacion.responder("reservas", formato, gzip, desde, hasta,
+                (elegido, salida) -> exportacionService.exportarReservas(desde, hasta, elegido, salida));
+    }
+
+    /**
+     * GET /reservas/vivienda/{viviendaId}/disponibilidad?fechaInicio=...&fechaFin=...
+     * Indica si la vivienda no tiene reservas pendientes o confirmadas en el rango
+     */
+    @GetMapping("/vivienda/{viviendaId}/disponibilidad")
+    @ResponseStatus(HttpStatus.OK)
+    public DisponibilidadDTO disponibilidad(@PathVariable Long viviendaId,
+            @RequestParam("fechaInicio") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaInicio,
+            @RequestParam("fechaFin") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaFin)
+            throws IllegalOperationException {
+        try {
+            boolean libre = reservaService.isRangoLibre(viviendaId, fechaInicio, fechaFin);
+            return new DisponibilidadDTO(viviendaId, fechaInicio, fechaFin, libre);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalOperationException(e.getMessage());
+        }
     }
 
     /** GET /reservas/{id} */
@@ -41,7 +87,7 @@ public class ReservaController {
     public ReservaDetailDTO findOne(@PathVariable Long id) throws EntityNotFoundException {
         try {
             ReservaEntity entity = reservaService.getReserva(id);
-            return modelMapper.map(entity, ReservaDetailDTO.class);
+            return reservaMapper.toDetailDTO(entity);
         } catch (IllegalArgumentException e) {
             throw new EntityNotFoundException(e.getMessage());
         }
@@ -52,9 +98,9 @@ public class ReservaController {
     @ResponseStatus(HttpStatus.CREATED)
     public ReservaDTO create(@RequestBody ReservaDTO dto) throws IllegalOperationException {
         try {
-            ReservaEntity entity = modelMapper.map(dto, ReservaEntity.class);
+            ReservaEntity entity = reservaMapper.toEntity(dto);
             ReservaEntity created = reservaService.createReserva(entity);
-            return modelMapper.map(created, ReservaDTO.class);
+            return reservaMapper.toDTO(created);
         } catch (IllegalArgumentException e) {
             throw new IllegalOperationException(e.getMessage());
         }
@@ -64,13 +110,21 @@ public class ReservaController {
     @PutMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
     public ReservaDTO update(@PathVariable Long id, @RequestBody ReservaDTO dto)
-            throws EntityNotFoundException {
+            throws EntityNotFoundException, IllegalOperationException {
+        ReservaEntity entity;
+        try {
+            entity = reservaMapper.toEntity(dto);
+        } catch (IllegalArgumentException e) {
+            // Estado de reserva inválido: la reserva existe, el cambio no se puede aplicar
+            throw new IllegalOperationException(e.getMessage());
+        }
         try {
-            ReservaEntity entity = modelMapper.map(dto, ReservaEntity.class);
             ReservaEntity updated = reservaService.updateReserva(id, entity);
-            return modelMapper.map(updated, ReservaDTO.class);
+            return reservaMapper.toDTO(updated);
         } catch (IllegalArgumentException e) {
             throw new EntityNotFoundException(e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new IllegalOperationException(e.getMessage());
         }
     }
 
@@ -91,8 +145,7 @@ public class ReservaController {
     @ResponseStatus(HttpStatus.OK)
     public List<ReservaDTO> findActivas() {
         List<ReservaEntity> list = reservaService.getReservasActivasHoy();
-        return modelMapper.map(list, new TypeToken<List<ReservaDTO>>() {
-        }.getType());
+        return reservaMapper.toDTOList(list);
     }
 
     /** GET /reservas/pendientes */
@@ -100,7 +153,6 @@ public class ReservaController {
     @ResponseStatus(HttpStatus.OK)
     public List<ReservaDTO> findPendientes() {
         List<ReservaEntity> list = reservaService.getReservasPendientes();
-        return modelMapper.map(list, new TypeToken<List<ReservaDTO>>() {
-        }.getType());
+        return reservaMapper.toDTOList(list);
     }
 }
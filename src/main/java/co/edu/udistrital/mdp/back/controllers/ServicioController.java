@@ -6,8 +6,7 @@ import co.edu.udistrital.mdp.back.entities.ServicioEntity;
 import co.edu.udistrital.mdp.back.entities.ServicioEntity.CategoriaServicio;
 import co.edu.udistrital.mdp.back.exceptions.EntityNotFoundException;
 import co.edu.udistrital.mdp.back.services.ServicioService;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import co.edu.udistrital.mdp.back.mappers.ServicioMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
@@ -28,7 +27,7 @@ public class ServicioController {
     private ServicioService servicioService;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private ServicioMapper servicioMapper;
 
     /**
      * GET /servicios
@@ -38,8 +37,7 @@ public class ServicioController {
     @ResponseStatus(code = HttpStatus.OK)
     public List<ServicioDTO> findAll() {
         List<ServicioEntity> servicios = servicioService.obtenerTodosLosServicios();
-        return modelMapper.map(servicios, new TypeToken<List<ServicioDTO>>() {
-        }.getType());
+        return servicioMapper.toDTOList(servicios);
     }
 
     /**
@@ -51,7 +49,7 @@ public class ServicioController {
     public ServicioDetailDTO findOne(@PathVariable("id") Long id) throws EntityNotFoundException {
         try {
             ServicioEntity servicio = servicioService.obtenerServicioPorId(id);
-            return modelMapper.map(servicio, ServicioDetailDTO.class);
+            return servicioMapper.toDetailDTO(servicio);
         } catch (IllegalArgumentException e) {
             throw new EntityNotFoundException(SERVICIO_NOT_FOUND_MSG + id);
         }
@@ -66,7 +64,7 @@ public class ServicioController {
     public ServicioDTO findByNombre(@PathVariable("nombre") String nombre) throws EntityNotFoundException {
         try {
             ServicioEntity servicio = servicioService.obtenerServicioPorNombre(nombre);
-            return modelMapper.map(servicio, ServicioDTO.class);
+            return servicioMapper.toDTO(servicio);
         } catch (IllegalArgumentException e) {
             throw new EntityNotFoundException("Servicio no encontrado con nombre: " + nombre);
         }
@@ -82,8 +80,7 @@ public class ServicioController {
         try {
             CategoriaServicio cat = CategoriaServicio.valueOf(categoria.toUpperCase());
             List<ServicioEntity> servicios = servicioService.obtenerServiciosPorCategoria(cat);
-            return modelMapper.map(servicios, new TypeToken<List<ServicioDTO>>() {
-            }.getType());
+            return servicioMapper.toDTOList(servicios);
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Categoría no válida: " + categoria +
                     ". Categorías válidas: BASICO, CONECTIVIDAD, MOBILIARIO, SEGURIDAD, RECREACION, ADICIONAL");
@@ -97,9 +94,9 @@ public class ServicioController {
     @PostMapping
     @ResponseStatus(code = HttpStatus.CREATED)
     public ServicioDTO create(@RequestBody ServicioDTO dto) {
-        ServicioEntity servicioEntity = modelMapper.map(dto, ServicioEntity.class);
+        ServicioEntity servicioEntity = servicioMapper.toEntity(dto);
         ServicioEntity nuevoServicio = servicioService.crearServicio(servicioEntity);
-        return modelMapper.map(nuevoServicio, ServicioDTO.class);
+        return servicioMapper.toDTO(nuevoServicio);
     }
 
     /**
@@ -111,9 +108,9 @@ public class ServicioController {
     public ServicioDTO update(@PathVariable("id") Long id, @RequestBody ServicioDTO dto)
             throws EntityNotFoundException {
         try {
-            ServicioEntity servicioEntity = modelMapper.map(dto, ServicioEntity.class);
+            ServicioEntity servicioEntity = servicioMapper.toEntity(dto);
             ServicioEntity servicioActualizado = servicioService.actualizarServicio(id, servicioEntity);
-            return modelMapper.map(servicioActualizado, ServicioDTO.class);
+            return servicioMapper.toDTO(servicioActualizado);
         } catch (IllegalArgumentException e) {
             throw new EntityNotFoundException(SERVICIO_NOT_FOUND_MSG + id);
         }
@@ -130,7 +127,7 @@ public class ServicioController {
             @RequestBody String nuevaDescripcion) throws EntityNotFoundException {
         try {
             ServicioEntity servicio = servicioService.actualizarDescripcion(id, nuevaDescripcion);
-            return modelMapper.map(servicio, ServicioDTO.class);
+            return servicioMapper.toDTO(servicio);
         } catch (IllegalArgumentException e) {
             throw new EntityNotFoundException(SERVICIO_NOT_FOUND_MSG + id);
         }
@@ -147,7 +144,7 @@ public class ServicioController {
             @RequestBody String nuevoIcono) throws EntityNotFoundException {
         try {
             ServicioEntity servicio = servicioService.actualizarIcono(id, nuevoIcono);
-            return modelMapper.map(servicio, ServicioDTO.class);
+            return servicioMapper.toDTO(servicio);
         } catch (IllegalArgumentException e) {
             throw new EntityNotFoundException(SERVICIO_NOT_FOUND_MSG + id);
         }
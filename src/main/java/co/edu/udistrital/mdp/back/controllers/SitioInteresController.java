@@ -2,10 +2,11 @@ package co.edu.udistrital.mdp.back.controllers;
 
 import co.edu.udistrital.mdp.back.dto.SitioInteresDTO;
 import co.edu.udistrital.mdp.back.entities.SitioInteresEntity;
+import co.edu.udistrital.mdp.back.exceptions.EntityNotFoundException;
+import co.edu.udistrital.mdp.back.exceptions.IllegalOperationException;
 import co.edu.udistrital.mdp.back.services.SitioInteresService;
+import co.edu.udistrital.mdp.back.mappers.SitioInteresMapper;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
@@ -21,15 +22,14 @@ public class SitioInteresController {
     private SitioInteresService sitioService;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private SitioInteresMapper sitioInteresMapper;
 
     /** GET /sitios-interes */
     @GetMapping
     @ResponseStatus(code = HttpStatus.OK)
     public List<SitioInteresDTO> findAll() {
         List<SitioInteresEntity> sitios = sitioService.getAllSitios();
-        return modelMapper.map(sitios, new TypeToken<List<SitioInteresDTO>>() {
-        }.getType());
+        return sitioInteresMapper.toDTOList(sitios);
     }
 
     /** GET /sitios-interes/{id} */
@@ -37,25 +37,51 @@ public class SitioInteresController {
     @ResponseStatus(code = HttpStatus.OK)
     public SitioInteresDTO findOne(@PathVariable("id") Long id) {
         SitioInteresEntity sitio = sitioService.getSitioInteres(id);
-        return modelMapper.map(sitio, SitioInteresDTO.class);
+        return sitioInteresMapper.toDTO(sitio);
     }
 
     /** POST /sitios-interes */
     @PostMapping
     @ResponseStatus(code = HttpStatus.CREATED)
     public SitioInteresDTO create(@RequestBody SitioInteresDTO dto) {
-        SitioInteresEntity entity = modelMapper.map(dto, SitioInteresEntity.class);
+        SitioInteresEntity entity = sitioInteresMapper.toEntity(dto);
         SitioInteresEntity created = sitioService.createSitioInteres(entity);
-        return modelMapper.map(created, SitioInteresDTO.class);
+        return sitioInteresMapper.toDTO(created);
     }
 
     /** PUT /sitios-interes/{id} — actualización completa */
     @PutMapping("/{id}")
     @ResponseStatus(code = HttpStatus.OK)
     public SitioInteresDTO update(@PathVariable("id") Long id, @RequestBody SitioInteresDTO dto) {
-        SitioInteresEntity entity = modelMapper.map(dto, SitioInteresEntity.class);
+        SitioInteresEntity entity = sitioInteresMapper.toEntity(dto);
         SitioInteresEntity updated = sitioService.updateSitioInteres(id, entity);
-        return modelMapper.map(updated, SitioInteresDTO.class);
+        return sitioInteresMapper.toDTO(updated);
+    }
+
+    /** POST /sitios-interes/{id}/viviendas/{viviendaId} — asocia una vivienda al sitio */
+    @PostMapping("/{id}/viviendas/{viviendaId}")
+    @ResponseStatus(code = HttpStatus.OK)
+    public SitioInteresDTO asociarVivienda(@PathVariable("id") Long id, @PathVariable("viviendaId") Long viviendaId)
+            throws EntityNotFoundException, IllegalOperationException {
+        try {
+            return sitioInteresMapper.toDTO(sitioService.asociarVivienda(id, viviendaId));
+        } catch (IllegalArgumentException e) {
+            throw new EntityNotFoundException(e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new IllegalOperationException(e.getMessage());
+        }
+    }
+
+    /** DELETE /sitios-interes/{id}/viviendas/{viviendaId} — desasocia una vivienda del sitio */
+    @DeleteMapping("/{id}/viviendas/{viviendaId}")
+    @ResponseStatus(code = HttpStatus.NO_CONTENT)
+    public void desasociarVivienda(@PathVariable("id") Long id, @PathVariable("viviendaId") Long viviendaId)
+            throws EntityNotFoundException {
+        try {
+            sitioService.desasociarVivienda(id, viviendaId);
+        } catch (IllegalArgumentException e) {
+            throw new EntityNotFoundException(e.getMessage());
+        }
     }
 
     /** DELETE /sitios-interes/{id} */
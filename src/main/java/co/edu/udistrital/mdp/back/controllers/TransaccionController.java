@@ -2,16 +2,22 @@ package co.edu.udistrital.mdp.back.controllers;
 
 import co.edu.udistrital.mdp.back.dto.TransaccionDTO;
 import co.edu.udistrital.mdp.back.dto.TransaccionDetailDTO;
+import co.edu.udistrital.mdp.back.dto.PaginaDTO;
 import co.edu.udistrital.mdp.back.entities.TransaccionEntity;
 import co.edu.udistrital.mdp.back.exceptions.EntityNotFoundException;
+import co.edu.udistrital.mdp.back.exceptions.IllegalOperationException;
+import co.edu.udistrital.mdp.back.services.ExportacionService;
 import co.edu.udistrital.mdp.back.services.TransaccionService;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import co.edu.udistrital.mdp.back.mappers.TransaccionMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.logging.Level; // Importar Level
 import java.util.logging.Logger;
@@ -28,20 +34,43 @@ public class TransaccionController {
     private TransaccionService transaccionService;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private TransaccionMapper transaccionMapper;
+
+    @Autowired
+    private ExportacionService exportacionService;
 
     @GetMapping
     @ResponseStatus(code = HttpStatus.OK)
-    public List<TransaccionDTO> findAll() {
-        LOGGER.log(Level.INFO, "findAll() requiere implementación en TransaccionService.");
-        return List.of(); // Devuelve vacío mientras no exista en servicio.
+    public PaginaDTO<TransaccionDTO> findAll(@RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit) throws IllegalOperationException {
+        try {
+            Slice<TransaccionEntity> pagina = transaccionService.obtenerTransaccionesPaginadas(after, limit);
+            return PaginaDTO.de(pagina, transaccionMapper::toDTO, TransaccionService::cursorDe);
+        } catch (IllegalArgumentException e) {
+            LOGGER.log(Level.WARNING, "Cursor inválido en findAll(): {0}", after);
+            throw new IllegalOperationException(e.getMessage());
+        }
+    }
+
+    /**
+     * GET /transacciones/exportacion?formato=csv|ndjson&desde=...&hasta=...&gzip=true
+     * Descarga todas las transacciones del rango sin armar la lista en memoria
+     */
+    @GetMapping("/exportacion")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam(value = "formato", defaultValue = "csv") String formato,
+            @RequestParam(value = "desde", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(value = "hasta", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip) throws IllegalOperationException {
+        return Exportacion.responder("transacciones", formato, gzip, desde, hasta,
+                (elegido, salida) -> exportacionService.exportarTransacciones(desde, hasta, elegido, salida));
     }
 
     @GetMapping("/estancia/{estanciaId}")
     @ResponseStatus(code = HttpStatus.OK)
     public List<TransaccionDTO> findByEstancia(@PathVariable("estanciaId") Long estanciaId) {
         List<TransaccionEntity> trans = transaccionService.obtenerTransaccionesPorEstancia(estanciaId);
-        return modelMapper.map(trans, new TypeToken<List<TransaccionDTO>>() {}.getType());
+        return transaccionMapper.toDTOList(trans);
     }
 
     @GetMapping(value = "/{id}")
@@ -49,7 +78,7 @@ public class TransaccionController {
     public TransaccionDetailDTO findOne(@PathVariable("id") Long id) throws EntityNotFoundException {
         try {
             TransaccionEntity tran = transaccionService.obtenerTransaccionPorId(id);
-            return modelMapper.map(tran, TransaccionDetailDTO.class);
+            return transaccionMapper.toDetailDTO(tran);
         } catch (IllegalArgumentException e) {
             // Usamos la constante
             throw new EntityNotFoundException(MSG_TRANSACCION_NO_ENCONTRADA + id);
@@ -59,17 +88,18 @@ public class TransaccionController {
     @PostMapping
     @ResponseStatus(code = HttpStatus.CREATED)
     public TransaccionDTO create(@RequestBody TransaccionDTO dto) {
-        TransaccionEntity tranEntity = modelMapper.map(dto, TransaccionEntity.class);
+        TransaccionEntity tranEntity = transaccionMapper.toEntity(dto);
         TransaccionEntity nuevaTran = transaccionService.crearTransaccion(tranEntity);
-        return modelMapper.map(nuevaTran, TransaccionDTO.class);
+        return transaccionMapper.toDTO(nuevaTran);
     }
 
     @PutMapping(value = "/{id}/actualizarEstado")
     @ResponseStatus(code = HttpStatus.OK)
-    public TransaccionDTO updateEstado(@PathVariable("id") Long id, @RequestParam("estado") String nuevoEstado) throws EntityNotFoundException {
+    public TransaccionDTO updateEstado(@PathVariable("id") Long id, @RequestParam("estado") String nuevoEstado)
+            throws EntityNotFoundException, IllegalOperationException {
         try {
             TransaccionEntity tranActualizada = transaccionService.actualizarEstadoTransaccion(id, nuevoEstado);
-            return modelMapper.map(tranActualizada, TransaccionDTO.class);
+            return transaccionMapper.toDTO(tranActualizada);
         } catch (IllegalArgumentException e) {
             if (e.getMessage().contains("no encontrada")) {
                 // Usamos la constante
@@ -77,12 +107,15 @@ public class TransaccionController {
             } else {
                 throw new IllegalArgumentException("Estado proporcionado inválido: " + nuevoEstado);
             }
+        } catch (IllegalStateException e) {
+            throw new IllegalOperationException(e.getMessage());
         }
     }
 
     @PutMapping(value = "/{id}")
     @ResponseStatus(code = HttpStatus.OK)
-    public TransaccionDTO update(@PathVariable("id") Long id, @RequestBody TransaccionDTO dto) throws EntityNotFoundException {
+    public TransaccionDTO update(@PathVariable("id") Long id, @RequestBody TransaccionDTO dto)
+            throws EntityNotFoundException, IllegalOperationException {
         // Usamos la constante del logger
         LOGGER.log(
             Level.INFO,
@@ -1,11 +1,13 @@
 package co.edu.udistrital.mdp.back.controllers;
 
 import co.edu.udistrital.mdp.back.dto.UniversidadCercaDTO;
+import co.edu.udistrital.mdp.back.dto.ViviendaCercanaDTO;
 import co.edu.udistrital.mdp.back.entities.UniversidadCercaEntity;
 import co.edu.udistrital.mdp.back.services.UniversidadCercaService;
+import co.edu.udistrital.mdp.back.services.ViviendaCercanaService;
 import co.edu.udistrital.mdp.back.exceptions.EntityNotFoundException;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import co.edu.udistrital.mdp.back.exceptions.IllegalOperationException;
+import co.edu.udistrital.mdp.back.mappers.UniversidadCercaMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
@@ -20,7 +22,10 @@ public class UniversidadCercaController {
     private UniversidadCercaService universidadService;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private UniversidadCercaMapper universidadCercaMapper;
+
+    @Autowired
+    private ViviendaCercanaService viviendaCercanaService;
 
     // 🔹 Constante para el mensaje reutilizable
     private static final String MSG_UNIVERSIDAD_NO_ENCONTRADA = "UniversidadCerca no encontrada con id: ";
@@ -29,7 +34,7 @@ public class UniversidadCercaController {
     @ResponseStatus(code = HttpStatus.OK)
     public List<UniversidadCercaDTO> findAll() {
         List<UniversidadCercaEntity> list = universidadService.listarTodas();
-        return modelMapper.map(list, new TypeToken<List<UniversidadCercaDTO>>() {}.getType());
+        return universidadCercaMapper.toDTOList(list, universidadService.viviendaIdsPorUniversidad());
     }
 
     @GetMapping("/{id}")
@@ -37,18 +42,37 @@ public class UniversidadCercaController {
     public UniversidadCercaDTO findOne(@PathVariable("id") Long id) throws EntityNotFoundException {
         try {
             UniversidadCercaEntity u = universidadService.obtenerPorId(id);
-            return modelMapper.map(u, UniversidadCercaDTO.class);
+            return universidadCercaMapper.toDTO(u);
+        } catch (IllegalArgumentException ex) {
+            throw new EntityNotFoundException(MSG_UNIVERSIDAD_NO_ENCONTRADA + id);
+        }
+    }
+
+    /**
+     * GET /universidades/{id}/viviendas/cercanas?radioKm={r}&k={k}
+     * Viviendas disponibles más cercanas a la universidad
+     */
+    @GetMapping("/{id}/viviendas/cercanas")
+    @ResponseStatus(code = HttpStatus.OK)
+    public List<ViviendaCercanaDTO> viviendasCercanas(@PathVariable("id") Long id,
+            @RequestParam(value = "radioKm", required = false) Double radioKm,
+            @RequestParam(value = "k", required = false) Integer k)
+            throws EntityNotFoundException, IllegalOperationException {
+        try {
+            return viviendaCercanaService.cercanasAUniversidad(id, radioKm, k);
         } catch (IllegalArgumentException ex) {
             throw new EntityNotFoundException(MSG_UNIVERSIDAD_NO_ENCONTRADA + id);
+        } catch (IllegalStateException ex) {
+            throw new IllegalOperationException(ex.getMessage());
         }
     }
 
     @PostMapping
     @ResponseStatus(code = HttpStatus.CREATED)
     public UniversidadCercaDTO create(@RequestBody UniversidadCercaDTO dto) {
-        UniversidadCercaEntity entidad = modelMapper.map(dto, UniversidadCercaEntity.class);
+        UniversidadCercaEntity entidad = universidadCercaMapper.toEntity(dto);
         UniversidadCercaEntity creado = universidadService.crearUniversidad(entidad);
-        return modelMapper.map(creado, UniversidadCercaDTO.class);
+        return universidadCercaMapper.toDTO(creado);
     }
 
     @PutMapping("/{id}")
@@ -56,9 +80,9 @@ public class UniversidadCercaController {
     public UniversidadCercaDTO update(@PathVariable("id") Long id, @RequestBody UniversidadCercaDTO dto)
             throws EntityNotFoundException {
         try {
-            UniversidadCercaEntity entidad = modelMapper.map(dto, UniversidadCercaEntity.class);
+            UniversidadCercaEntity entidad = universidadCercaMapper.toEntity(dto);
             UniversidadCercaEntity actualizado = universidadService.actualizar(id, entidad);
-            return modelMapper.map(actualizado, UniversidadCercaDTO.class);
+            return universidadCercaMapper.toDTO(actualizado);
         } catch (IllegalArgumentException ex) {
             throw new EntityNotFoundException(MSG_UNIVERSIDAD_NO_ENCONTRADA + id);
         }
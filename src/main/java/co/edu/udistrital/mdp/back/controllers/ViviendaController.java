@@ -2,15 +2,22 @@ package co.edu.udistrital.mdp.back.controllers;
 
 import co.edu.udistrital.mdp.back.dto.ViviendaDTO;
 import co.edu.udistrital.mdp.back.dto.ViviendaDetailDTO;
+import co.edu.udistrital.mdp.back.dto.BusquedaViviendaDTO;
+import co.edu.udistrital.mdp.back.dto.PaginaDTO;
+import co.edu.udistrital.mdp.back.dto.ResultadoImportacionDTO;
 import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
 import co.edu.udistrital.mdp.back.exceptions.EntityNotFoundException;
+import co.edu.udistrital.mdp.back.exceptions.IllegalOperationException;
+import co.edu.udistrital.mdp.back.services.CalificacionResumenService;
+import co.edu.udistrital.mdp.back.services.ImportacionViviendaService;
 import co.edu.udistrital.mdp.back.services.ViviendaService;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import co.edu.udistrital.mdp.back.mappers.ViviendaMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -27,26 +34,58 @@ public class ViviendaController {
     private ViviendaService viviendaService;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private CalificacionResumenService calificacionResumenService;
+
+    @Autowired
+    private ImportacionViviendaService importacionViviendaService;
+
+    @Autowired
+    private ViviendaMapper viviendaMapper;
 
     /**
-     * GET /viviendas
-     * Obtiene todas las viviendas
+     * GET /viviendas?after={cursor}&limit={n}
+     * Obtiene una página de viviendas paginada por cursor
      */
     @GetMapping
     @ResponseStatus(code = HttpStatus.OK)
-    public List<ViviendaDTO> findAll() {
-        List<ViviendaEntity> viviendas = viviendaService.obtenerTodasLasViviendas();
-        return modelMapper.map(viviendas, new TypeToken<List<ViviendaDTO>>() {
-        }.getType());
+    public PaginaDTO<ViviendaDTO> findAll(@RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit) throws IllegalOperationException {
+        try {
+            Slice<ViviendaEntity> pagina = viviendaService.obtenerViviendasPaginadas(after, limit);
+            return PaginaDTO.de(pagina, viviendaMapper::toDTO, ViviendaService::cursorDe);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalOperationException(e.getMessage());
+        }
+    }
+
+    /**
+     * GET /viviendas/search?ciudad=&barrio=&precioMin=&precioMax=&tipo=&minHabitaciones=
+     *     &minBanos=&areaMin=&areaMax=&disponible=&minSitiosCaminables=&servicios=1,2
+     *     &orden=PRECIO_ASC&page=&limit=
+     * Búsqueda multi-criterio de viviendas resuelta en una sola consulta
+     */
+    @GetMapping(value = "/search")
+    @ResponseStatus(code = HttpStatus.OK)
+    public PaginaDTO<ViviendaDTO> search(@ModelAttribute BusquedaViviendaDTO criterios,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "limit", required = false) Integer limit) throws IllegalOperationException {
+        try {
+            Slice<ViviendaEntity> pagina = viviendaService.buscarViviendas(criterios, page, limit);
+            return PaginaDTO.de(pagina, viviendaMapper::toDTO,
+                    v -> String.valueOf(pagina.getNumber() + 1));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalOperationException(e.getMessage());
+        }
     }
 
     @GetMapping(value = "/{id}")
     @ResponseStatus(code = HttpStatus.OK)
     public ViviendaDetailDTO findOne(@PathVariable("id") Long id) throws EntityNotFoundException {
         try {
-            ViviendaEntity vivienda = viviendaService.obtenerViviendaPorId(id);
-            return modelMapper.map(vivienda, ViviendaDetailDTO.class);
+            ViviendaEntity vivienda = viviendaService.obtenerDetalleVivienda(id);
+            ViviendaDetailDTO detalle = viviendaMapper.toDetailDTO(vivienda);
+            detalle.setCalicacionPromedio(calificacionResumenService.obtenerPromedio(id));
+            return detalle;
         } catch (IllegalArgumentException e) {
             throw new EntityNotFoundException(VIVIENDA_NOT_FOUND_MSG + id);
         }
@@ -60,8 +99,7 @@ public class ViviendaController {
     @ResponseStatus(code = HttpStatus.OK)
     public List<ViviendaDTO> findByCiudadDisponible(@PathVariable("ciudad") String ciudad) {
         List<ViviendaEntity> viviendas = viviendaService.obtenerViviendasDisponiblesPorCiudad(ciudad);
-        return modelMapper.map(viviendas, new TypeToken<List<ViviendaDTO>>() {
-        }.getType());
+        return viviendaMapper.toDTOList(viviendas);
     }
 
     /**
@@ -71,9 +109,40 @@ public class ViviendaController {
     @PostMapping
     @ResponseStatus(code = HttpStatus.CREATED)
     public ViviendaDTO create(@RequestBody ViviendaDTO dto) {
-        ViviendaEntity viviendaEntity = modelMapper.map(dto, ViviendaEntity.class);
+        ViviendaEntity viviendaEntity = viviendaMapper.toEntity(dto);
         ViviendaEntity nuevaVivienda = viviendaService.crearVivienda(viviendaEntity);
-        return modelMapper.map(nuevaVivienda, ViviendaDTO.class);
+        return viviendaMapper.toDTO(nuevaVivienda);
+    }
+
+    /**
+     * POST /viviendas/importacion (Content-Type: text/csv)
+     * Importa viviendas en bloque desde un CSV cuya primera línea es la cabecera
+     * con los nombres de los campos de ViviendaDTO. Las filas inválidas se
+     * reportan en la respuesta sin detener la importación.
+     */
+    @PostMapping(value = "/importacion", consumes = "text/csv")
+    @ResponseStatus(code = HttpStatus.OK)
+    public ResultadoImportacionDTO importarCsv(InputStream cuerpo) throws IllegalOperationException {
+        return importar(cuerpo, ImportacionViviendaService.Formato.CSV);
+    }
+
+    /**
+     * POST /viviendas/importacion (Content-Type: application/x-ndjson)
+     * Importa viviendas en bloque desde JSON por líneas: un ViviendaDTO por línea
+     */
+    @PostMapping(value = "/importacion", consumes = "application/x-ndjson")
+    @ResponseStatus(code = HttpStatus.OK)
+    public ResultadoImportacionDTO importarJsonLines(InputStream cuerpo) throws IllegalOperationException {
+        return importar(cuerpo, ImportacionViviendaService.Formato.JSON_LINES);
+    }
+
+    private ResultadoImportacionDTO importar(InputStream cuerpo, ImportacionViviendaService.Formato formato)
+            throws IllegalOperationException {
+        try {
+            return importacionViviendaService.importar(cuerpo, formato);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalOperationException(e.getMessage());
+        }
     }
 
     /**
@@ -85,9 +154,9 @@ public class ViviendaController {
     public ViviendaDTO update(@PathVariable("id") Long id, @RequestBody ViviendaDTO dto)
             throws EntityNotFoundException {
         try {
-            ViviendaEntity viviendaEntity = modelMapper.map(dto, ViviendaEntity.class);
+            ViviendaEntity viviendaEntity = viviendaMapper.toEntity(dto);
             ViviendaEntity viviendaActualizada = viviendaService.actualizarVivienda(id, viviendaEntity);
-            return modelMapper.map(viviendaActualizada, ViviendaDTO.class);
+            return viviendaMapper.toDTO(viviendaActualizada);
         } catch (IllegalArgumentException e) {
             throw new EntityNotFoundException(VIVIENDA_NOT_FOUND_MSG + id);
         }
@@ -109,7 +178,7 @@ public class ViviendaController {
             } else {
                 vivienda = viviendaService.marcarComoNoDisponible(id);
             }
-            return modelMapper.map(vivienda, ViviendaDTO.class);
+            return viviendaMapper.toDTO(vivienda);
         } catch (IllegalArgumentException e) {
             throw new EntityNotFoundException(VIVIENDA_NOT_FOUND_MSG + id);
         }
@@ -5,9 +5,9 @@ import co.edu.udistrital.mdp.back.entities.MultimediaEntity;
 import co.edu.udistrital.mdp.back.services.ViviendaMultimediaService;
 import co.edu.udistrital.mdp.back.exceptions.EntityNotFoundException;
 import co.edu.udistrital.mdp.back.exceptions.IllegalOperationException;
+import co.edu.udistrital.mdp.back.mappers.MultimediaMapper;
 
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
@@ -20,30 +20,28 @@ import java.util.List;
 public class ViviendaMultimediaController {
 
     private final ViviendaMultimediaService viviendaMultimediaService;
-    private final ModelMapper modelMapper;
+    private final MultimediaMapper multimediaMapper;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public MultimediaDTO createMultimedia(@PathVariable("viviendaId") Long viviendaId, @RequestBody MultimediaDTO multimediaDTO) throws EntityNotFoundException {
-        MultimediaEntity multimediaEntity = modelMapper.map(multimediaDTO, MultimediaEntity.class);
+        MultimediaEntity multimediaEntity = multimediaMapper.toEntity(multimediaDTO);
         MultimediaEntity savedMultimedia = viviendaMultimediaService.addMultimedia(viviendaId, multimediaEntity.getId());
-        return modelMapper.map(savedMultimedia, MultimediaDTO.class);
+        return multimediaMapper.toDTO(savedMultimedia);
     }
 
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
     public List<MultimediaDTO> getMultimedia(@PathVariable("viviendaId") Long viviendaId) throws EntityNotFoundException {
         List<MultimediaEntity> multimediaList = viviendaMultimediaService.getMultimedia(viviendaId);
-        return multimediaList.stream()
-                .map(multimedia -> modelMapper.map(multimedia, MultimediaDTO.class))
-                .toList();
+        return multimediaMapper.toDTOList(multimediaList);
     }
 
     @GetMapping("/{multimediaId}")
     @ResponseStatus(HttpStatus.OK)
     public MultimediaDTO getMultimediaItem(@PathVariable("viviendaId") Long viviendaId, @PathVariable("multimediaId") Long multimediaId) throws EntityNotFoundException, IllegalOperationException {
         MultimediaEntity multimedia = viviendaMultimediaService.getMultimediaItem(viviendaId, multimediaId);
-        return modelMapper.map(multimedia, MultimediaDTO.class);
+        return multimediaMapper.toDTO(multimedia);
     }
 
     @DeleteMapping("/{multimediaId}")
@@ -0,0 +1,38 @@
+package co.edu.udistrital.mdp.back.dto;
+
+import lombok.Data;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criterios de búsqueda de viviendas. Todos los campos son opcionales; los que
+ * llegan en null no filtran.
+ */
+@Data
+public class BusquedaViviendaDTO {
+    private String ciudad;
+    private String barrio;
+    private BigDecimal precioMin;
+    private BigDecimal precioMax;
+    private String tipo;
+    private Integer minHabitaciones;
+    private Integer minBanos;
+    private Double areaMin;
+    private Double areaMax;
+    private Boolean disponible;
+    // Mínimo de sitios de interés a pie (caminabilidad precalculada)
+    private Integer minSitiosCaminables;
+    // La vivienda debe tener TODOS estos servicios
+    private List<Long> servicios = new ArrayList<>();
+    private OrdenVivienda orden;
+
+    public enum OrdenVivienda {
+        PRECIO_ASC,
+        PRECIO_DESC,
+        AREA_ASC,
+        AREA_DESC,
+        CALIFICACION_DESC,
+        CAMINABILIDAD_DESC
+    }
+}
@@ -0,0 +1,26 @@
+package co.edu.udistrital.mdp.back.dto;
+
+import co.edu.udistrital.mdp.back.entities.CalificacionResumenEntity;
+import lombok.Data;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+public class CalificacionResumenDTO {
+    private Long viviendaId;
+    private long cantidad;
+    private double promedio;
+    // Estrellas (1 a 5) -> número de comentarios con esa calificación
+    private Map<Integer, Long> histograma = new LinkedHashMap<>();
+
+    public CalificacionResumenDTO(CalificacionResumenEntity resumen) {
+        this.viviendaId = resumen.getViviendaId();
+        this.cantidad = resumen.getCantidad();
+        this.promedio = resumen.getPromedio();
+        histograma.put(1, resumen.getEstrellas1());
+        histograma.put(2, resumen.getEstrellas2());
+        histograma.put(3, resumen.getEstrellas3());
+        histograma.put(4, resumen.getEstrellas4());
+        histograma.put(5, resumen.getEstrellas5());
+    }
+}
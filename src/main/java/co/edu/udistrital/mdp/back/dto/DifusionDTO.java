@@ -0,0 +1,18 @@
+package co.edu.udistrital.mdp.back.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Solicitud de difusión: un mismo mensaje para todos los estudiantes de una
+ * universidad, de una ciudad (los que tienen una estancia activa allí) o de una
+ * lista de ids. Se debe indicar exactamente uno de los tres criterios.
+ */
+@Data
+public class DifusionDTO {
+    private String mensaje;
+    private String universidad;
+    private String ciudad;
+    private List<Long> estudianteIds;
+}
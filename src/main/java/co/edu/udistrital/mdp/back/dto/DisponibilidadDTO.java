@@ -0,0 +1,20 @@
+package co.edu.udistrital.mdp.back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Respuesta a "¿está libre esta vivienda en este rango de fechas?"
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DisponibilidadDTO {
+    private Long viviendaId;
+    private LocalDate fechaInicio;
+    private LocalDate fechaFin;
+    private boolean libre;
+}
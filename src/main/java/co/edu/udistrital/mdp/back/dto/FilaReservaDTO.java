@@ -0,0 +1,23 @@
+package co.edu.udistrital.mdp.back.dto;
+
+import co.edu.udistrital.mdp.back.entities.ReservaEntity.EstadoReserva;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Una reserva tal como se exporta (CSV o JSON por líneas), sin asociaciones
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilaReservaDTO {
+    private Long id;
+    private LocalDate fechaInicio;
+    private LocalDate fechaFin;
+    private EstadoReserva estado;
+    private Long estudianteId;
+    private Long viviendaId;
+}
@@ -0,0 +1,24 @@
+package co.edu.udistrital.mdp.back.dto;
+
+import co.edu.udistrital.mdp.back.entities.TransaccionEntity.EstadoTransaccion;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Una transacción tal como se exporta (CSV o JSON por líneas), sin asociaciones
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilaTransaccionDTO {
+    private Long id;
+    private LocalDateTime fechaTransaccion;
+    private BigDecimal monto;
+    private String metodoPago;
+    private EstadoTransaccion estado;
+    private Long estanciaId;
+}
@@ -0,0 +1,24 @@
+package co.edu.udistrital.mdp.back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Una fila del reporte de ingresos: lo recaudado por transacciones completadas
+ * de un propietario en una ciudad durante un mes
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngresoMensualDTO {
+    private Long propietarioId;
+    private String propietario;
+    private String ciudad;
+    private Integer anio;
+    private Integer mes;
+    private BigDecimal total;
+    private Long transacciones;
+}
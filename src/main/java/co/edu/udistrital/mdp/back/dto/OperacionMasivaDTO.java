@@ -0,0 +1,17 @@
+package co.edu.udistrital.mdp.back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de marcar como leídas o eliminar notificaciones en bloque:
+ * cuántas se afectaron y cuántas no leídas le quedan al estudiante
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OperacionMasivaDTO {
+    private int afectadas;
+    private long noLeidas;
+}
@@ -0,0 +1,33 @@
+package co.edu.udistrital.mdp.back.dto;
+
+import lombok.Data;
+import org.springframework.data.domain.Slice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados paginada por cursor.
+ * 'siguiente' es el token que se envía para pedir la página siguiente (parámetro
+ * 'after' en los listados, 'page' en las búsquedas); es null cuando no hay más
+ * elementos.
+ */
+@Data
+public class PaginaDTO<T> {
+
+    private List<T> elementos = new ArrayList<>();
+    private String siguiente;
+    private boolean haySiguiente;
+
+    public static <E, T> PaginaDTO<T> de(Slice<E> slice, Function<E, T> mapeo, Function<E, String> cursor) {
+        PaginaDTO<T> pagina = new PaginaDTO<>();
+        List<E> contenido = slice.getContent();
+        pagina.setElementos(contenido.stream().map(mapeo).toList());
+        pagina.setHaySiguiente(slice.hasNext());
+        if (slice.hasNext() && !contenido.isEmpty()) {
+            pagina.setSiguiente(cursor.apply(contenido.get(contenido.size() - 1)));
+        }
+        return pagina;
+    }
+}
@@ -0,0 +1,28 @@
+package co.edu.udistrital.mdp.back.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Avance de una difusión de notificaciones. 'total' es 0 mientras se
+ * seleccionan los destinatarios; 'enviadas' crece lote a lote.
+ */
+@Data
+public class ProgresoDifusionDTO {
+
+    private String id;
+    private Estado estado;
+    private long total;
+    private long enviadas;
+    private String error;
+    private LocalDateTime inicio;
+    private LocalDateTime fin;
+
+    public enum Estado {
+        PENDIENTE,
+        EN_CURSO,
+        COMPLETADA,
+        FALLIDA
+    }
+}
@@ -0,0 +1,25 @@
+package co.edu.udistrital.mdp.back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Vivienda recomendada a un estudiante con su puntaje de afinidad (0 a 100)
+ * con las preferencias guardadas
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecomendacionDTO {
+    private Long viviendaId;
+    private String direccion;
+    private String ciudad;
+    private String barrio;
+    private String tipo;
+    private BigDecimal precioMensual;
+    private boolean aceptaMascotas;
+    private double puntaje;
+}
@@ -23,7 +23,7 @@ public class ReservaDTO {
             this.id = entity.getId();
             this.fechaInicio = entity.getFechaInicio();
             this.fechaFin = entity.getFechaFin();
-            this.estado = entity.getEstado();
+            this.estado = entity.getEstado() == null ? null : entity.getEstado().name();
         }
     }
 }
@@ -0,0 +1,20 @@
+package co.edu.udistrital.mdp.back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Vivienda o comentario encontrado por la búsqueda de texto, con su puntaje de
+ * relevancia; 'viviendaId' es la vivienda descrita o comentada
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoBusquedaTextoDTO {
+    private String tipo;
+    private Long id;
+    private Long viviendaId;
+    private String texto;
+    private double puntaje;
+}
@@ -0,0 +1,33 @@
+package co.edu.udistrital.mdp.back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de una importación masiva de viviendas.
+ * 'errores' trae el detalle de las primeras filas rechazadas (hasta el máximo
+ * configurado); 'rechazadas' las cuenta todas.
+ */
+@Data
+public class ResultadoImportacionDTO {
+
+    private long importadas;
+    private long rechazadas;
+    private List<ErrorFila> errores = new ArrayList<>();
+
+    /**
+     * Fila rechazada: número de línea en el archivo (la cabecera del CSV es la 1)
+     * y motivo
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ErrorFila {
+        private long fila;
+        private String mensaje;
+    }
+}
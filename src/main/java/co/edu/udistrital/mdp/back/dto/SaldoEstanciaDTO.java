@@ -0,0 +1,21 @@
+package co.edu.udistrital.mdp.back.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Saldo de pagos de una estancia. 'montoContrato' y 'saldoPendiente' (monto del
+ * contrato menos lo pagado) son null si la estancia aún no tiene contrato.
+ */
+@Data
+public class SaldoEstanciaDTO {
+    private Long estanciaId;
+    private BigDecimal totalCompletado;
+    private BigDecimal totalPendiente;
+    private BigDecimal totalReembolsado;
+    private LocalDateTime ultimoPago;
+    private BigDecimal montoContrato;
+    private BigDecimal saldoPendiente;
+}
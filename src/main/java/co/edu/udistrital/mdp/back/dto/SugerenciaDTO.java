@@ -0,0 +1,18 @@
+package co.edu.udistrital.mdp.back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Nombre sugerido al escribir en un buscador: su categoría (CIUDAD, BARRIO o
+ * UNIVERSIDAD) y su popularidad
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SugerenciaDTO {
+    private String texto;
+    private String categoria;
+    private int peso;
+}
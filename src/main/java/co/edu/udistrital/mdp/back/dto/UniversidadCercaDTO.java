@@ -9,5 +9,7 @@ public class UniversidadCercaDTO {
     private Long id;
     private String nombre;
     private String ciudad;
+    private Double latitud;
+    private Double longitud;
     private List<Long> viviendaIds = new ArrayList<>();
 }
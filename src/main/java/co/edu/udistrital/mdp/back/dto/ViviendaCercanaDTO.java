@@ -0,0 +1,25 @@
+package co.edu.udistrital.mdp.back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Vivienda disponible cercana a un punto, con su distancia en kilómetros
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ViviendaCercanaDTO {
+    private Long viviendaId;
+    private String direccion;
+    private String ciudad;
+    private String barrio;
+    private String tipo;
+    private BigDecimal precioMensual;
+    private Double latitud;
+    private Double longitud;
+    private double distanciaKm;
+}
@@ -14,6 +14,11 @@ public class ViviendaDTO {
     private int numeroBanos;
     private Double areaMetrosCuadrados;
     private Boolean disponible;
+    private Boolean aceptaMascotas;
+    private Double latitud;
+    private Double longitud;
+    private Integer sitiosCaminables;
+    private Integer puntajeCaminabilidad;
     private String tipo;
     private Long propietarioId;
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package co.edu.udistrital.mdp.back.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Resumen de calificaciones de una vivienda, mantenido de forma incremental
+ * por ComentarioService: cantidad de comentarios, suma de estrellas e
+ * histograma de 1 a 5 estrellas. Permite leer el promedio sin recorrer los
+ * comentarios.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Table(name = "calificacion_resumen")
+public class CalificacionResumenEntity extends BaseEntity {
+
+    // Se guarda solo el id para que el resumen no participe en el ciclo de vida de la vivienda
+    @Column(name = "vivienda_id", nullable = false, unique = true)
+    private Long viviendaId;
+
+    private long cantidad;
+
+    private long suma;
+
+    private long estrellas1;
+
+    private long estrellas2;
+
+    private long estrellas3;
+
+    private long estrellas4;
+
+    private long estrellas5;
+
+    public double getPromedio() {
+        return cantidad == 0 ? 0.0 : (double) suma / cantidad;
+    }
+
+    /**
+     * Deja el resumen en cero para volver a acumularlo
+     */
+    public void reiniciar() {
+        cantidad = 0;
+        suma = 0;
+        estrellas1 = 0;
+        estrellas2 = 0;
+        estrellas3 = 0;
+        estrellas4 = 0;
+        estrellas5 = 0;
+    }
+
+    /**
+     * Suma (delta > 0) o resta (delta < 0) 'delta' comentarios con la calificación dada
+     */
+    public void aplicar(int calificacion, long delta) {
+        cantidad += delta;
+        suma += calificacion * delta;
+        switch (calificacion) {
+            case 1 -> estrellas1 += delta;
+            case 2 -> estrellas2 += delta;
+            case 3 -> estrellas3 += delta;
+            case 4 -> estrellas4 += delta;
+            case 5 -> estrellas5 += delta;
+            default -> throw new IllegalArgumentException("Calificación fuera de rango: " + calificacion);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package co.edu.udistrital.mdp.back.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+/**
+ * Respuesta guardada para un encabezado Idempotency-Key en una ruta de
+ * creación. Mientras la primera solicitud está en curso 'estadoHttp' es null
+ * y 'reservadaEn' indica desde cuándo; al terminar con éxito se guardan el
+ * estado, el tipo de contenido y el cuerpo, que se devuelven tal cual a los
+ * reintentos hasta 'expira'.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Table(name = "clave_idempotencia", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_clave_idempotencia_ruta", columnNames = { "clave", "ruta" })
+}, indexes = {
+        @Index(name = "idx_clave_idempotencia_expira", columnList = "expira")
+})
+public class ClaveIdempotenciaEntity extends BaseEntity {
+
+    @Column(nullable = false)
+    private String clave;
+
+    @Column(nullable = false)
+    private String ruta;
+
+    // SHA-256 del cuerpo de la solicitud: un reintento debe enviar el mismo cuerpo
+    @Column(nullable = false, length = 64)
+    private String huella;
+
+    @Column(name = "estado_http")
+    private Integer estadoHttp;
+
+    @Column(name = "tipo_contenido")
+    private String tipoContenido;
+
+    @Lob
+    private byte[] cuerpo;
+
+    @Column(name = "reservada_en", nullable = false)
+    private LocalDateTime reservadaEn;
+
+    @Column(nullable = false)
+    private LocalDateTime expira;
+}
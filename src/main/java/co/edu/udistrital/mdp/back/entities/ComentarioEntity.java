@@ -1,5 +1,6 @@
 package co.edu.udistrital.mdp.back.entities;
 
+import co.edu.udistrital.mdp.back.indices.ComentarioIndicesListener;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -13,6 +14,8 @@ import uk.co.jemos.podam.common.PodamExclude;
 @Data
 @EqualsAndHashCode(callSuper = true)
 @Entity
+@Table(indexes = @Index(name = "idx_comentario_fecha_id", columnList = "fecha_creacion, id"))
+@EntityListeners(ComentarioIndicesListener.class)
 public class ComentarioEntity extends BaseEntity {
 
     @Column(nullable = false, length = 2000)
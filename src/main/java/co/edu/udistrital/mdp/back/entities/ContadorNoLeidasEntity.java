@@ -0,0 +1,30 @@
+package co.edu.udistrital.mdp.back.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Número de notificaciones no leídas de un estudiante, mantenido por
+ * NotificacionService en la misma transacción que cada envío, lectura o
+ * eliminación. Permite mostrar el contador sin recorrer las notificaciones.
+ *
+ * Quien lo cambie debe bloquear antes la fila del estudiante (ver
+ * ContadorNoLeidasService).
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Table(name = "contador_no_leidas")
+public class ContadorNoLeidasEntity extends BaseEntity {
+
+    // Se guarda solo el id para que el contador no participe en el ciclo de vida del estudiante
+    @Column(name = "estudiante_id", nullable = false, unique = true)
+    private Long estudianteId;
+
+    private long cantidad;
+
+    // Crece con cada cambio: la copia en memoria descarta valores más viejos que el que ya tiene
+    @Version
+    private long version;
+}
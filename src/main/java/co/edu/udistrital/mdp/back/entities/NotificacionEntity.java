@@ -8,7 +8,10 @@ import java.time.LocalDateTime;
 @Data
 @EqualsAndHashCode(callSuper = true)
 @Entity
-@Table(name = "notificaciones")
+@Table(name = "notificaciones", indexes = {
+        @Index(name = "idx_notificacion_fecha_id", columnList = "fecha_envio, id"),
+        @Index(name = "idx_notificacion_estudiante_id", columnList = "estudiante_id, id")
+})
 public class NotificacionEntity extends BaseEntity {
 
     @Column(nullable = false, length = 500)
@@ -1,4 +1,5 @@
 package co.edu.udistrital.mdp.back.entities; 
+import co.edu.udistrital.mdp.back.indices.PreferenciaIndicesListener;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -8,6 +9,7 @@ import lombok.EqualsAndHashCode;
  */
 @Entity
 @Table(name = "preferencias_estudiante")
+@EntityListeners(PreferenciaIndicesListener.class)
 @Data
 @EqualsAndHashCode(callSuper = true)
 public class PreferenciaEstudianteEntity extends BaseEntity {
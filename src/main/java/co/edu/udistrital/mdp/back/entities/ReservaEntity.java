@@ -5,6 +5,9 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import uk.co.jemos.podam.common.PodamExclude;
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * Entidad que representa una reserva realizada por un estudiante
@@ -13,7 +16,11 @@ import java.time.LocalDate;
 @Data
 @EqualsAndHashCode(callSuper = true)
 @Entity
-@Table(name = "reserva")
+@Table(name = "reserva", indexes = {
+        @Index(name = "idx_reserva_inicio_id", columnList = "fecha_inicio, id"),
+        @Index(name = "idx_reserva_estado_inicio", columnList = "estado, fecha_inicio"),
+        @Index(name = "idx_reserva_vivienda_estado", columnList = "vivienda_id, estado, fecha_inicio")
+})
 public class ReservaEntity extends BaseEntity {
 
     @Column(nullable = false)
@@ -22,8 +29,9 @@ public class ReservaEntity extends BaseEntity {
     @Column(nullable = false)
     private LocalDate fechaFin;
 
-    @Column(nullable = false)
-    private String estado; // Ej: Pendiente, Confirmada, Cancelada
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EstadoReserva estado;
 
     /** Estudiante que realiza la reserva */
     @PodamExclude
@@ -36,4 +44,43 @@ public class ReservaEntity extends BaseEntity {
     @ManyToOne
     @JoinColumn(name = "vivienda_id", nullable = false)
     private ViviendaEntity vivienda;
+
+    /**
+     * Estados de una reserva y transiciones permitidas:
+     * PENDIENTE -> CONFIRMADA | CANCELADA, CONFIRMADA -> FINALIZADA | CANCELADA.
+     * CANCELADA y FINALIZADA son finales.
+     */
+    public enum EstadoReserva {
+        PENDIENTE,
+        CONFIRMADA,
+        CANCELADA,
+        FINALIZADA;
+
+        /** Estados que ocupan la vivienda (cuentan para los solapamientos) */
+        public static final Set<EstadoReserva> ACTIVOS = EnumSet.of(PENDIENTE, CONFIRMADA);
+
+        public boolean isActiva() {
+            return ACTIVOS.contains(this);
+        }
+
+        public boolean puedeCambiarA(EstadoReserva destino) {
+            return switch (this) {
+                case PENDIENTE -> destino == CONFIRMADA || destino == CANCELADA;
+                case CONFIRMADA -> destino == FINALIZADA || destino == CANCELADA;
+                case CANCELADA, FINALIZADA -> false;
+            };
+        }
+
+        /**
+         * Convierte el texto recibido (sin importar mayúsculas ni espacios) al estado
+         */
+        public static EstadoReserva desde(String valor) {
+            try {
+                return valueOf(valor.trim().toUpperCase());
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IllegalArgumentException("Estado de reserva inválido: " + valor
+                        + ". Valores permitidos: " + Arrays.toString(values()));
+            }
+        }
+    }
 }
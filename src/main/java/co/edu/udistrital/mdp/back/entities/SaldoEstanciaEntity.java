@@ -0,0 +1,47 @@
+package co.edu.udistrital.mdp.back.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Resumen de pagos de una estancia, mantenido por TransaccionService en la
+ * misma transacción que cada pago creado o cambio de estado. Permite consultar
+ * el saldo sin recorrer ni sumar las transacciones.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Table(name = "saldo_estancia")
+public class SaldoEstanciaEntity extends BaseEntity {
+
+    // Se guarda solo el id para que el saldo no participe en el ciclo de vida de la estancia
+    @Column(name = "estancia_id", nullable = false, unique = true)
+    private Long estanciaId;
+
+    @Column(name = "total_completado", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalCompletado = BigDecimal.ZERO;
+
+    @Column(name = "total_pendiente", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalPendiente = BigDecimal.ZERO;
+
+    @Column(name = "total_reembolsado", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalReembolsado = BigDecimal.ZERO;
+
+    // Fecha de la transacción completada más reciente
+    @Column(name = "ultimo_pago")
+    private LocalDateTime ultimoPago;
+
+    /**
+     * Deja el saldo en cero para volver a acumularlo
+     */
+    public void reiniciar() {
+        totalCompletado = BigDecimal.ZERO;
+        totalPendiente = BigDecimal.ZERO;
+        totalReembolsado = BigDecimal.ZERO;
+        ultimoPago = null;
+    }
+}
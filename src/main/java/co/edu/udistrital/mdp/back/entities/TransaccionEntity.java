@@ -4,12 +4,16 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 
 /**
  * Modela una transacción financiera, como el pago de un alquiler.
  */
 @Entity
-@Table(name = "transacciones")
+@Table(name = "transacciones", indexes = {
+        @Index(name = "idx_transaccion_fecha_id", columnList = "fecha_transaccion, id"),
+        @Index(name = "idx_transaccion_estado", columnList = "estado")
+})
 @Data
 @EqualsAndHashCode(callSuper = true)
 public class TransaccionEntity extends BaseEntity {
@@ -26,12 +30,45 @@ public class TransaccionEntity extends BaseEntity {
     @Column(name = "metodo_pago", nullable = false, length = 50)
     private String metodoPago;
 
-    // Estado actual de la transacción (ej: "Completada", "Pendiente", "Fallida").
+    // Estado actual de la transacción.
+    @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 30)
-    private String estado;
+    private EstadoTransaccion estado;
     
     // Estancia a la que corresponde este pago.
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "estancia_id", nullable = false)
     private EstanciaEntity estancia;
-}
\ No newline at end of file
+
+    /**
+     * Estados de una transacción y transiciones permitidas:
+     * PENDIENTE -> COMPLETADA | FALLIDA, COMPLETADA -> REEMBOLSADA.
+     * FALLIDA y REEMBOLSADA son finales.
+     */
+    public enum EstadoTransaccion {
+        PENDIENTE,
+        COMPLETADA,
+        FALLIDA,
+        REEMBOLSADA;
+
+        public boolean puedeCambiarA(EstadoTransaccion destino) {
+            return switch (this) {
+                case PENDIENTE -> destino == COMPLETADA || destino == FALLIDA;
+                case COMPLETADA -> destino == REEMBOLSADA;
+                case FALLIDA, REEMBOLSADA -> false;
+            };
+        }
+
+        /**
+         * Convierte el texto recibido (sin importar mayúsculas ni espacios) al estado
+         */
+        public static EstadoTransaccion desde(String valor) {
+            try {
+                return valueOf(valor.trim().toUpperCase());
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IllegalArgumentException("Estado de transacción inválido: " + valor
+                        + ". Valores permitidos: " + Arrays.toString(values()));
+            }
+        }
+    }
+}
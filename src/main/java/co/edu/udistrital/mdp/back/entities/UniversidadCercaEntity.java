@@ -1,6 +1,9 @@
 package co.edu.udistrital.mdp.back.entities;
 
+import co.edu.udistrital.mdp.back.indices.UniversidadIndicesListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import java.util.ArrayList;
@@ -9,7 +12,10 @@ import java.util.List;
 @Data
 @EqualsAndHashCode(callSuper = true)
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "universidad-cerca")
 @Table(name = "universidad_cerca")
+@EntityListeners(UniversidadIndicesListener.class)
 public class UniversidadCercaEntity extends BaseEntity {
 
     @Column(nullable = false, unique = true, length = 150)
@@ -18,6 +24,11 @@ public class UniversidadCercaEntity extends BaseEntity {
     @Column(length = 120)
     private String ciudad;
 
+    // Ubicación del campus en grados decimales (WGS84); opcional
+    private Double latitud;
+
+    private Double longitud;
+
     @OneToMany(mappedBy = "universidadCerca", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ViviendaEntity> viviendas = new ArrayList<>();
 
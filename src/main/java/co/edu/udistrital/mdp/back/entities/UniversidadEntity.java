@@ -1,6 +1,9 @@
 package co.edu.udistrital.mdp.back.entities;
 
+import co.edu.udistrital.mdp.back.indices.UniversidadIndicesListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import java.time.LocalDate;
@@ -8,7 +11,10 @@ import java.time.LocalDate;
 @Data
 @EqualsAndHashCode(callSuper = true)
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "universidad")
 @Table(name = "universidades")
+@EntityListeners(UniversidadIndicesListener.class)
 public class UniversidadEntity extends BaseEntity {
 
     @Column(nullable = false, unique = true, length = 200)
@@ -1,5 +1,6 @@
 package co.edu.udistrital.mdp.back.entities;
 
+import co.edu.udistrital.mdp.back.indices.ViviendaIndicesListener;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -14,8 +15,32 @@ import java.util.List;
 @Data
 @EqualsAndHashCode(callSuper = true)
 @Entity
+@EntityListeners(ViviendaIndicesListener.class)
+@NamedEntityGraph(name = ViviendaEntity.GRAFO_DETALLE, attributeNodes = {
+        @NamedAttributeNode("propietario"),
+        @NamedAttributeNode("universidadCerca"),
+        @NamedAttributeNode("servicios")
+})
+@NamedEntityGraph(name = ViviendaEntity.GRAFO_COMENTARIOS, attributeNodes = @NamedAttributeNode(value = "comentarios", subgraph = "comentario"),
+        subgraphs = @NamedSubgraph(name = "comentario", attributeNodes = @NamedAttributeNode("autor")))
+@Table(indexes = {
+        @Index(name = "idx_vivienda_ciudad_disp_precio", columnList = "ciudad, disponible, precio_mensual"),
+        @Index(name = "idx_vivienda_ciudad_barrio", columnList = "ciudad, barrio"),
+        @Index(name = "idx_vivienda_tipo_precio", columnList = "tipo, precio_mensual"),
+        @Index(name = "idx_vivienda_disp_area", columnList = "disponible, area_metros_cuadrados"),
+        @Index(name = "idx_vivienda_lat_lon", columnList = "latitud, longitud"),
+        @Index(name = "idx_vivienda_disp_caminabilidad", columnList = "disponible, puntaje_caminabilidad")
+})
 public class ViviendaEntity extends BaseEntity {
 
+    /**
+     * Grafo del detalle: asociaciones a uno y servicios en una sola consulta.
+     * Comentarios va en un grafo aparte porque Hibernate no permite traer dos
+     * colecciones List (bags) con JOIN FETCH en la misma consulta.
+     */
+    public static final String GRAFO_DETALLE = "Vivienda.detalle";
+    public static final String GRAFO_COMENTARIOS = "Vivienda.comentarios";
+
     @Column(nullable = false)
     private String direccion;
 
@@ -39,13 +64,31 @@ public class ViviendaEntity extends BaseEntity {
     @Column(nullable = false)
     private boolean disponible = true;
 
+    @Column(name = "acepta_mascotas", nullable = false)
+    private boolean aceptaMascotas = false;
+
     @Enumerated(EnumType.STRING)
     private TipoVivienda tipo;
 
+    // Ubicación en grados decimales (WGS84); opcional
+    private Double latitud;
+
+    private Double longitud;
+
+    // Caminabilidad precalculada por CaminabilidadService: sitios de interés a pie
+    // dentro del límite y su puntaje ponderado. Solo la escriben sus UPDATE
+    // masivos; guardar la vivienda no la sobrescribe.
+    @Column(name = "sitios_caminables", nullable = false, updatable = false)
+    private int sitiosCaminables;
+
+    @Column(name = "puntaje_caminabilidad", nullable = false, updatable = false)
+    private int puntajeCaminabilidad;
+
     // Relación con Servicios (una vivienda tiene múltiples servicios)
     @PodamExclude
     @ManyToMany
-    @JoinTable(name = "vivienda_servicio", joinColumns = @JoinColumn(name = "vivienda_id"), inverseJoinColumns = @JoinColumn(name = "servicio_id"))
+    @JoinTable(name = "vivienda_servicio", joinColumns = @JoinColumn(name = "vivienda_id"), inverseJoinColumns = @JoinColumn(name = "servicio_id"),
+            indexes = @Index(name = "idx_vivienda_servicio_servicio", columnList = "servicio_id, vivienda_id"))
     private List<ServicioEntity> servicios = new ArrayList<>();
 
     // Relación con Comentarios (una vivienda puede tener múltiples comentarios)
@@ -0,0 +1,227 @@
+package co.edu.udistrital.mdp.back.indices;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Árbol de intervalos cerrados [inicio, fin] sobre un AVL ordenado por
+ * (inicio, id).
+ *
+ * Cada nodo guarda el fin máximo de su subárbol, así la búsqueda descarta ramas
+ * completas que terminan antes del rango consultado. Insertar y eliminar son
+ * O(log n); saber si algún intervalo se solapa con un rango es O(log n) y
+ * listar los k solapamientos es O(log n + k).
+ *
+ * No es seguro para hilos: quien lo comparta debe sincronizar el acceso.
+ *
+ * @param <V> dato asociado a cada intervalo
+ */
+public class ArbolIntervalos<V> {
+
+    private static final class Nodo<V> {
+        final long id;
+        final long inicio;
+        final long fin;
+        final V valor;
+        long maxFin;
+        int altura = 1;
+        Nodo<V> izquierdo;
+        Nodo<V> derecho;
+
+        Nodo(long id, long inicio, long fin, V valor) {
+            this.id = id;
+            this.inicio = inicio;
+            this.fin = fin;
+            this.valor = valor;
+            this.maxFin = fin;
+        }
+    }
+
+    private Nodo<V> raiz;
+
+    // id -> inicio, para poder eliminar solo con el id
+    private final Map<Long, Long> inicios = new HashMap<>();
+
+    public int tamano() {
+        return inicios.size();
+    }
+
+    public boolean contiene(long id) {
+        return inicios.containsKey(id);
+    }
+
+    /**
+     * Inserta el intervalo [inicio, fin] con el id dado. Si el id ya existía se
+     * reemplaza.
+     */
+    public void insertar(long id, long inicio, long fin, V valor) {
+        if (inicio > fin) {
+            throw new IllegalArgumentException("El inicio del intervalo no puede ser posterior al fin");
+        }
+        eliminar(id);
+        raiz = insertar(raiz, new Nodo<>(id, inicio, fin, valor));
+        inicios.put(id, inicio);
+    }
+
+    /**
+     * Elimina el intervalo con el id dado. Retorna false si no existía.
+     */
+    public boolean eliminar(long id) {
+        Long inicio = inicios.remove(id);
+        if (inicio == null) {
+            return false;
+        }
+        raiz = eliminar(raiz, inicio, id);
+        return true;
+    }
+
+    /**
+     * Indica si algún intervalo se solapa con [inicio, fin]
+     */
+    public boolean haySolapamiento(long inicio, long fin) {
+        return haySolapamiento(inicio, fin, v -> true);
+    }
+
+    /**
+     * Indica si algún intervalo que cumpla el filtro se solapa con [inicio, fin]
+     */
+    public boolean haySolapamiento(long inicio, long fin, Predicate<V> filtro) {
+        return buscar(raiz, inicio, fin, filtro, null);
+    }
+
+    /**
+     * Valores de todos los intervalos que se solapan con [inicio, fin], en orden de
+     * inicio
+     */
+    public List<V> solapamientos(long inicio, long fin) {
+        List<V> resultado = new ArrayList<>();
+        buscar(raiz, inicio, fin, v -> true, resultado);
+        return resultado;
+    }
+
+    /**
+     * Recorre solo las ramas que pueden contener solapamientos. Si 'resultado' es
+     * null se detiene en el primero que cumpla el filtro.
+     */
+    private boolean buscar(Nodo<V> nodo, long inicio, long fin, Predicate<V> filtro, List<V> resultado) {
+        if (nodo == null || nodo.maxFin < inicio) {
+            return false;
+        }
+        if (buscar(nodo.izquierdo, inicio, fin, filtro, resultado) && resultado == null) {
+            return true;
+        }
+        if (nodo.inicio > fin) {
+            // todo el subárbol derecho empieza después del rango
+            return false;
+        }
+        boolean encontrado = false;
+        if (nodo.fin >= inicio && filtro.test(nodo.valor)) {
+            if (resultado == null) {
+                return true;
+            }
+            resultado.add(nodo.valor);
+            encontrado = true;
+        }
+        return buscar(nodo.derecho, inicio, fin, filtro, resultado) || encontrado;
+    }
+
+    private static int comparar(long inicio, long id, Nodo<?> nodo) {
+        int c = Long.compare(inicio, nodo.inicio);
+        return c != 0 ? c : Long.compare(id, nodo.id);
+    }
+
+    private Nodo<V> insertar(Nodo<V> nodo, Nodo<V> nuevo) {
+        if (nodo == null) {
+            return nuevo;
+        }
+        if (comparar(nuevo.inicio, nuevo.id, nodo) < 0) {
+            nodo.izquierdo = insertar(nodo.izquierdo, nuevo);
+        } else {
+            nodo.derecho = insertar(nodo.derecho, nuevo);
+        }
+        return balancear(nodo);
+    }
+
+    private Nodo<V> eliminar(Nodo<V> nodo, long inicio, long id) {
+        if (nodo == null) {
+            return null;
+        }
+        int c = comparar(inicio, id, nodo);
+        if (c < 0) {
+            nodo.izquierdo = eliminar(nodo.izquierdo, inicio, id);
+        } else if (c > 0) {
+            nodo.derecho = eliminar(nodo.derecho, inicio, id);
+        } else {
+            if (nodo.izquierdo == null) {
+                return nodo.derecho;
+            }
+            if (nodo.derecho == null) {
+                return nodo.izquierdo;
+            }
+            Nodo<V> sucesor = nodo.derecho;
+            while (sucesor.izquierdo != null) {
+                sucesor = sucesor.izquierdo;
+            }
+            Nodo<V> reemplazo = new Nodo<>(sucesor.id, sucesor.inicio, sucesor.fin, sucesor.valor);
+            reemplazo.izquierdo = nodo.izquierdo;
+            reemplazo.derecho = eliminar(nodo.derecho, sucesor.inicio, sucesor.id);
+            nodo = reemplazo;
+        }
+        return balancear(nodo);
+    }
+
+    private static int altura(Nodo<?> nodo) {
+        return nodo == null ? 0 : nodo.altura;
+    }
+
+    private static void actualizar(Nodo<?> nodo) {
+        nodo.altura = 1 + Math.max(altura(nodo.izquierdo), altura(nodo.derecho));
+        long max = nodo.fin;
+        if (nodo.izquierdo != null) {
+            max = Math.max(max, nodo.izquierdo.maxFin);
+        }
+        if (nodo.derecho != null) {
+            max = Math.max(max, nodo.derecho.maxFin);
+        }
+        nodo.maxFin = max;
+    }
+
+    private Nodo<V> balancear(Nodo<V> nodo) {
+        actualizar(nodo);
+        int factor = altura(nodo.izquierdo) - altura(nodo.derecho);
+        if (factor > 1) {
+            if (altura(nodo.izquierdo.izquierdo) < altura(nodo.izquierdo.derecho)) {
+                nodo.izquierdo = rotarIzquierda(nodo.izquierdo);
+            }
+            return rotarDerecha(nodo);
+        }
+        if (factor < -1) {
+            if (altura(nodo.derecho.derecho) < altura(nodo.derecho.izquierdo)) {
+                nodo.derecho = rotarDerecha(nodo.derecho);
+            }
+            return rotarIzquierda(nodo);
+        }
+        return nodo;
+    }
+
+    private Nodo<V> rotarDerecha(Nodo<V> nodo) {
+        Nodo<V> nuevaRaiz = nodo.izquierdo;
+        nodo.izquierdo = nuevaRaiz.derecho;
+        nuevaRaiz.derecho = nodo;
+        actualizar(nodo);
+        actualizar(nuevaRaiz);
+        return nuevaRaiz;
+    }
+
+    private Nodo<V> rotarIzquierda(Nodo<V> nodo) {
+        Nodo<V> nuevaRaiz = nodo.derecho;
+        nodo.derecho = nuevaRaiz.izquierdo;
+        nuevaRaiz.izquierdo = nodo;
+        actualizar(nodo);
+        actualizar(nuevaRaiz);
+        return nuevaRaiz;
+    }
+}
@@ -0,0 +1,42 @@
+package co.edu.udistrital.mdp.back.indices;
+
+import co.edu.udistrital.mdp.back.entities.ComentarioEntity;
+import co.edu.udistrital.mdp.back.services.SincronizacionTransaccion;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Lleva al índice de texto cada comentario creado, editado o eliminado (también
+ * los que se borran en cascada con su vivienda), cuando la transacción
+ * confirma; los de una misma transacción se aplican en un solo lote. En
+ * contextos sin el índice (pruebas de repositorio) no hace nada.
+ */
+public class ComentarioIndicesListener {
+
+    private final ObjectProvider<IndiceTexto> indiceTexto;
+
+    public ComentarioIndicesListener(ObjectProvider<IndiceTexto> indiceTexto) {
+        this.indiceTexto = indiceTexto;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void guardado(ComentarioEntity comentario) {
+        IndiceTexto indice = indiceTexto.getIfAvailable();
+        if (indice != null) {
+            IndiceTexto.Cambio cambio = new IndiceTexto.Cambio.Registrar(IndiceTexto.Documento.de(comentario));
+            SincronizacionTransaccion.despuesDelCommitAgrupado(indice, cambio, indice::aplicar);
+        }
+    }
+
+    @PostRemove
+    void eliminado(ComentarioEntity comentario) {
+        IndiceTexto indice = indiceTexto.getIfAvailable();
+        if (indice != null) {
+            SincronizacionTransaccion.despuesDelCommitAgrupado(indice,
+                    new IndiceTexto.Cambio.RetirarComentario(comentario.getId()), indice::aplicar);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package co.edu.udistrital.mdp.back.indices;
+
+/**
+ * Validación de coordenadas geográficas (grados decimales, WGS84) y distancia
+ * entre dos puntos sobre la esfera terrestre.
+ */
+public final class Coordenadas {
+
+    static final double RADIO_TIERRA_KM = 6371.0088;
+    // Longitud de un grado de meridiano
+    public static final double KM_POR_GRADO = Math.toRadians(1) * RADIO_TIERRA_KM;
+
+    private Coordenadas() {
+    }
+
+    /**
+     * Latitud y longitud son opcionales pero van juntas: ambas nulas o ambas
+     * dentro de rango
+     */
+    public static void validar(Double latitud, Double longitud) {
+        if (latitud == null && longitud == null) {
+            return;
+        }
+        if (latitud == null || longitud == null) {
+            throw new IllegalArgumentException("La latitud y la longitud deben indicarse juntas");
+        }
+        if (!(latitud >= -90 && latitud <= 90)) {
+            throw new IllegalArgumentException("La latitud debe estar entre -90 y 90 grados");
+        }
+        if (!(longitud >= -180 && longitud <= 180)) {
+            throw new IllegalArgumentException("La longitud debe estar entre -180 y 180 grados");
+        }
+    }
+
+    /**
+     * Distancia del círculo máximo (fórmula del haversine) en kilómetros
+     */
+    public static double distanciaKm(double latitud1, double longitud1, double latitud2, double longitud2) {
+        double dLat = Math.toRadians(latitud2 - latitud1);
+        double dLon = Math.toRadians(longitud2 - longitud1);
+        double a = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(Math.toRadians(latitud1)) * Math.cos(Math.toRadians(latitud2)) * Math.pow(Math.sin(dLon / 2), 2);
+        return 2 * RADIO_TIERRA_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,328 @@
+package co.edu.udistrital.mdp.back.indices;
+
+import co.edu.udistrital.mdp.back.entities.UniversidadCercaEntity;
+import co.edu.udistrital.mdp.back.entities.UniversidadEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice en memoria para autocompletar nombres de ciudades, barrios y
+ * universidades: un trie sobre el texto normalizado (sin tildes ni mayúsculas)
+ * en el que cada nombre cuelga también del inicio de cada una de sus palabras,
+ * así que "nacional" sugiere "Universidad Nacional".
+ *
+ * Cada nombre tiene un peso de popularidad: cuántas viviendas están en esa
+ * ciudad o barrio, o cuántas universidades lo usan. Cada nodo guarda el peso
+ * máximo de su subárbol, y las N sugerencias más populares para un prefijo se
+ * obtienen recorriendo primero los subárboles de mayor peso, sin visitar los
+ * demás. Las escrituras toman el candado exclusivo y las consultas el
+ * compartido.
+ *
+ * Lo carga AutocompletadoService al arrancar la aplicación y lo mantienen al
+ * día ViviendaIndicesListener y UniversidadIndicesListener.
+ */
+@Component
+public class IndiceAutocompletado {
+
+    public enum Categoria {
+        CIUDAD,
+        BARRIO,
+        UNIVERSIDAD
+    }
+
+    /**
+     * Nombre que aporta un registro al índice
+     */
+    public record Entrada(Categoria categoria, String texto) {
+    }
+
+    /**
+     * Nombres que aporta un registro ('origen', p. ej. "vivienda:12"); al volver a
+     * registrarlo reemplazan a los que aportaba antes
+     */
+    public record Aporte(String origen, List<Entrada> entradas) {
+
+        public static Aporte de(ViviendaEntity vivienda) {
+            return vivienda(vivienda.getId(), vivienda.getCiudad(), vivienda.getBarrio());
+        }
+
+        public static Aporte de(UniversidadCercaEntity universidad) {
+            return universidadCerca(universidad.getId(), universidad.getNombre());
+        }
+
+        public static Aporte de(UniversidadEntity universidad) {
+            return universidad(universidad.getId(), universidad.getNombre());
+        }
+
+        public static Aporte vivienda(Long id, String ciudad, String barrio) {
+            return new Aporte("vivienda:" + id, List.of(new Entrada(Categoria.CIUDAD, ciudad),
+                    new Entrada(Categoria.BARRIO, barrio)));
+        }
+
+        public static Aporte universidadCerca(Long id, String nombre) {
+            return new Aporte("universidad-cerca:" + id, List.of(new Entrada(Categoria.UNIVERSIDAD, nombre)));
+        }
+
+        public static Aporte universidad(Long id, String nombre) {
+            return new Aporte("universidad:" + id, List.of(new Entrada(Categoria.UNIVERSIDAD, nombre)));
+        }
+    }
+
+    /**
+     * Nombre sugerido con su peso de popularidad
+     */
+    public record Sugerencia(Categoria categoria, String texto, int peso) {
+    }
+
+    private static final class Nodo {
+        final Nodo padre;
+        final char letra;
+        final String clave;
+        final Map<Character, Nodo> hijos = new HashMap<>(4);
+        final Map<String, Termino> terminos = new HashMap<>(2);
+        int pesoMaximo;
+
+        Nodo(Nodo padre, char letra, String clave) {
+            this.padre = padre;
+            this.letra = letra;
+            this.clave = clave;
+        }
+    }
+
+    private static final class Termino {
+        final Categoria categoria;
+        final String clave;
+        final String texto;
+        final List<Nodo> nodos = new ArrayList<>(2);
+        int peso;
+
+        Termino(Categoria categoria, String clave, String texto) {
+            this.categoria = categoria;
+            this.clave = clave;
+            this.texto = texto;
+        }
+    }
+
+    // Pendiente del recorrido: un término por emitir o un nodo por expandir
+    private record Pendiente(int peso, String clave, Nodo nodo, Termino termino) {
+    }
+
+    private static final Comparator<Pendiente> MAS_POPULAR_PRIMERO = Comparator
+            .comparingInt(Pendiente::peso).reversed()
+            .thenComparing(Pendiente::clave);
+
+    private final ReadWriteLock candado = new ReentrantReadWriteLock();
+    private Nodo raiz = new Nodo(null, '\0', "");
+    // Términos por categoría y texto normalizado, y entradas aportadas por cada origen
+    private final Map<String, Termino> terminos = new HashMap<>();
+    private final Map<String, List<Entrada>> aportes = new HashMap<>();
+    private volatile boolean cargado;
+
+    public boolean estaCargado() {
+        return cargado;
+    }
+
+    /**
+     * Cantidad de nombres distintos en el índice
+     */
+    public int tamano() {
+        candado.readLock().lock();
+        try {
+            return terminos.size();
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reemplaza el contenido del índice con los aportes dados y lo marca como
+     * cargado
+     */
+    public void cargar(Collection<Aporte> todos) {
+        candado.writeLock().lock();
+        try {
+            raiz = new Nodo(null, '\0', "");
+            terminos.clear();
+            aportes.clear();
+            todos.forEach(this::aplicar);
+            cargado = true;
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Agrega o reemplaza los nombres que aporta un registro
+     */
+    public void registrar(Aporte aporte) {
+        candado.writeLock().lock();
+        try {
+            aplicar(aporte);
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita los nombres que aportaba un registro eliminado
+     */
+    public void retirar(String origen) {
+        candado.writeLock().lock();
+        try {
+            List<Entrada> anteriores = aportes.remove(origen);
+            if (anteriores != null) {
+                anteriores.forEach(e -> sumar(e, -1));
+            }
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Las 'limite' sugerencias más populares que empiezan (en cualquiera de sus
+     * palabras) por 'prefijo'; 'categoria' null incluye las tres
+     */
+    public List<Sugerencia> sugerir(String prefijo, Categoria categoria, int limite) {
+        String clave = Normalizador.normalizar(prefijo);
+        if (clave.isEmpty()) {
+            return List.of();
+        }
+        candado.readLock().lock();
+        try {
+            Nodo nodo = raiz;
+            for (int i = 0; i < clave.length() && nodo != null; i++) {
+                nodo = nodo.hijos.get(clave.charAt(i));
+            }
+            if (nodo == null) {
+                return List.of();
+            }
+            // Un término cuelga de varios nodos (uno por palabra): se emite una sola vez
+            Set<Termino> emitidos = new HashSet<>();
+            List<Sugerencia> sugerencias = new ArrayList<>(limite);
+            PriorityQueue<Pendiente> pendientes = new PriorityQueue<>(MAS_POPULAR_PRIMERO);
+            pendientes.add(new Pendiente(nodo.pesoMaximo, nodo.clave, nodo, null));
+            while (!pendientes.isEmpty() && sugerencias.size() < limite) {
+                Pendiente siguiente = pendientes.poll();
+                Termino termino = siguiente.termino();
+                if (termino != null) {
+                    if (emitidos.add(termino)) {
+                        sugerencias.add(new Sugerencia(termino.categoria, termino.texto, termino.peso));
+                    }
+                    continue;
+                }
+                for (Termino t : siguiente.nodo().terminos.values()) {
+                    if (categoria == null || t.categoria == categoria) {
+                        pendientes.add(new Pendiente(t.peso, t.clave, null, t));
+                    }
+                }
+                for (Nodo hijo : siguiente.nodo().hijos.values()) {
+                    pendientes.add(new Pendiente(hijo.pesoMaximo, hijo.clave, hijo, null));
+                }
+            }
+            return sugerencias;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    private void aplicar(Aporte aporte) {
+        List<Entrada> nuevas = aporte.entradas().stream()
+                .filter(e -> !Normalizador.normalizar(e.texto()).isEmpty())
+                .toList();
+        List<Entrada> anteriores = aportes.put(aporte.origen(), nuevas);
+        if (anteriores != null) {
+            anteriores.forEach(e -> sumar(e, -1));
+        }
+        nuevas.forEach(e -> sumar(e, 1));
+    }
+
+    private void sumar(Entrada entrada, int delta) {
+        String clave = Normalizador.normalizar(entrada.texto());
+        String id = entrada.categoria().name() + ":" + clave;
+        Termino termino = terminos.get(id);
+        if (termino == null) {
+            if (delta < 0) {
+                return;
+            }
+            termino = new Termino(entrada.categoria(), clave, Normalizador.colapsarEspacios(entrada.texto()));
+            terminos.put(id, termino);
+            for (String sufijo : iniciosDePalabra(clave)) {
+                Nodo nodo = nodo(sufijo);
+                nodo.terminos.put(id, termino);
+                termino.nodos.add(nodo);
+            }
+        }
+        termino.peso += delta;
+        if (termino.peso <= 0) {
+            terminos.remove(id);
+            for (Nodo nodo : termino.nodos) {
+                nodo.terminos.remove(id);
+                recalcular(nodo);
+            }
+        } else if (delta > 0) {
+            for (Nodo inicio : termino.nodos) {
+                for (Nodo nodo = inicio; nodo != null && nodo.pesoMaximo < termino.peso; nodo = nodo.padre) {
+                    nodo.pesoMaximo = termino.peso;
+                }
+            }
+        } else {
+            termino.nodos.forEach(this::recalcular);
+        }
+    }
+
+    /**
+     * Recalcula el peso máximo desde el nodo hasta la raíz y poda los nodos que
+     * quedaron vacíos
+     */
+    private void recalcular(Nodo desde) {
+        for (Nodo nodo = desde; nodo != null; nodo = nodo.padre) {
+            int maximo = 0;
+            for (Termino t : nodo.terminos.values()) {
+                maximo = Math.max(maximo, t.peso);
+            }
+            for (Nodo hijo : nodo.hijos.values()) {
+                maximo = Math.max(maximo, hijo.pesoMaximo);
+            }
+            nodo.pesoMaximo = maximo;
+            if (maximo == 0 && nodo.padre != null && nodo.terminos.isEmpty() && nodo.hijos.isEmpty()) {
+                nodo.padre.hijos.remove(nodo.letra);
+            }
+        }
+    }
+
+    private Nodo nodo(String clave) {
+        Nodo nodo = raiz;
+        for (int i = 0; i < clave.length(); i++) {
+            Nodo padre = nodo;
+            int fin = i + 1;
+            nodo = padre.hijos.computeIfAbsent(clave.charAt(i), c -> new Nodo(padre, c, clave.substring(0, fin)));
+        }
+        return nodo;
+    }
+
+    /**
+     * El texto desde el inicio de cada palabra: "universidad de los andes",
+     * "de los andes", "los andes", "andes"
+     */
+    static Set<String> iniciosDePalabra(String clave) {
+        Set<String> inicios = new LinkedHashSet<>();
+        inicios.add(clave);
+        for (int i = clave.indexOf(' '); i >= 0; i = clave.indexOf(' ', i + 1)) {
+            inicios.add(clave.substring(i + 1));
+        }
+        return inicios;
+    }
+}
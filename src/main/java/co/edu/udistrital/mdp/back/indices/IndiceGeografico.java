@@ -0,0 +1,174 @@
+package co.edu.udistrital.mdp.back.indices;
+
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity.TipoVivienda;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice espacial en memoria de las viviendas disponibles con ubicación: una
+ * rejilla de celdas de CELDA_GRADOS grados (unos 1,1 km) indexada por fila y
+ * columna.
+ *
+ * Las k más cercanas a un punto se buscan recorriendo anillos de celdas desde
+ * la del punto hacia afuera; la búsqueda termina cuando el anillo siguiente ya
+ * queda más lejos que el radio o que la k-ésima encontrada, así que solo se
+ * miden las viviendas de las celdas vecinas y nunca se recorre la tabla. Lo
+ * carga ViviendaCercanaService al arrancar la aplicación y lo mantiene al día
+ * ViviendaIndicesListener.
+ */
+@Component
+public class IndiceGeografico {
+
+    static final double CELDA_GRADOS = 0.01;
+    // Margen por la diferencia entre la distancia sobre el paralelo y la del círculo máximo
+    private static final double HOLGURA = 0.99;
+
+    /**
+     * Vivienda disponible con ubicación y los datos que se muestran en la
+     * respuesta
+     */
+    public record Ubicacion(Long viviendaId, double latitud, double longitud, String direccion, String ciudad,
+            String barrio, TipoVivienda tipo, long precio) {
+
+        public static Ubicacion de(ViviendaEntity vivienda) {
+            return new Ubicacion(vivienda.getId(), vivienda.getLatitud(), vivienda.getLongitud(),
+                    vivienda.getDireccion(), vivienda.getCiudad(), vivienda.getBarrio(), vivienda.getTipo(),
+                    vivienda.getPrecioMensual().longValue());
+        }
+    }
+
+    /**
+     * Ubicación con su distancia al punto consultado
+     */
+    public record Cercana(Ubicacion ubicacion, double distanciaKm) {
+    }
+
+    private static final Comparator<Cercana> DE_CERCA_A_LEJOS = Comparator.comparingDouble(Cercana::distanciaKm)
+            .thenComparing(c -> c.ubicacion().viviendaId());
+
+    private final Map<Long, Map<Long, Ubicacion>> celdas = new ConcurrentHashMap<>();
+    private final Map<Long, Ubicacion> porId = new ConcurrentHashMap<>();
+    private volatile boolean cargado;
+
+    public boolean estaCargado() {
+        return cargado;
+    }
+
+    public int tamano() {
+        return porId.size();
+    }
+
+    /**
+     * Reemplaza el contenido del índice con las ubicaciones dadas y lo marca como
+     * cargado
+     */
+    public synchronized void cargar(Collection<Ubicacion> ubicaciones) {
+        celdas.clear();
+        porId.clear();
+        ubicaciones.forEach(this::registrar);
+        cargado = true;
+    }
+
+    /**
+     * Agrega o reubica una vivienda
+     */
+    public synchronized void registrar(Ubicacion ubicacion) {
+        retirar(ubicacion.viviendaId());
+        celdas.computeIfAbsent(celda(fila(ubicacion.latitud()), columna(ubicacion.longitud())),
+                c -> new ConcurrentHashMap<>()).put(ubicacion.viviendaId(), ubicacion);
+        porId.put(ubicacion.viviendaId(), ubicacion);
+    }
+
+    /**
+     * Quita una vivienda del índice (al ocuparla, quitarle la ubicación o
+     * eliminarla)
+     */
+    public synchronized void retirar(Long viviendaId) {
+        Ubicacion anterior = porId.remove(viviendaId);
+        if (anterior == null) {
+            return;
+        }
+        long celda = celda(fila(anterior.latitud()), columna(anterior.longitud()));
+        Map<Long, Ubicacion> enCelda = celdas.get(celda);
+        if (enCelda != null) {
+            enCelda.remove(viviendaId);
+            if (enCelda.isEmpty()) {
+                celdas.remove(celda);
+            }
+        }
+    }
+
+    /**
+     * Las 'k' viviendas más cercanas al punto dentro de 'radioKm', de la más
+     * cercana a la más lejana
+     */
+    public List<Cercana> cercanas(double latitud, double longitud, double radioKm, int k) {
+        // Lado más corto de una celda en la zona consultada: el ancho se reduce con la latitud
+        double latitudExtrema = Math.min(89.9, Math.abs(latitud) + radioKm / Coordenadas.KM_POR_GRADO + CELDA_GRADOS);
+        double ladoKm = CELDA_GRADOS * Coordenadas.KM_POR_GRADO * Math.cos(Math.toRadians(latitudExtrema)) * HOLGURA;
+        int maxAnillo = (int) Math.ceil(radioKm / ladoKm) + 1;
+
+        PriorityQueue<Cercana> mejores = new PriorityQueue<>(k + 1, DE_CERCA_A_LEJOS.reversed());
+        int fila = fila(latitud);
+        int columna = columna(longitud);
+        for (int anillo = 0; anillo <= maxAnillo; anillo++) {
+            // Todo punto del anillo está al menos a (anillo - 1) celdas completas del punto
+            double minimoKm = (anillo - 1) * ladoKm;
+            if (minimoKm > radioKm || (mejores.size() == k && minimoKm > mejores.peek().distanciaKm())) {
+                break;
+            }
+            for (int df = -anillo; df <= anillo; df++) {
+                boolean borde = Math.abs(df) == anillo;
+                for (int dc = -anillo; dc <= anillo; dc += borde ? 1 : 2 * anillo) {
+                    Map<Long, Ubicacion> enCelda = celdas.get(celda(fila + df, columna + dc));
+                    if (enCelda != null) {
+                        medir(enCelda.values(), latitud, longitud, radioKm, k, mejores);
+                    }
+                    if (anillo == 0) {
+                        break;
+                    }
+                }
+            }
+        }
+        List<Cercana> resultado = new ArrayList<>(mejores);
+        resultado.sort(DE_CERCA_A_LEJOS);
+        return resultado;
+    }
+
+    private static void medir(Collection<Ubicacion> ubicaciones, double latitud, double longitud, double radioKm,
+            int k, PriorityQueue<Cercana> mejores) {
+        for (Ubicacion ubicacion : ubicaciones) {
+            double distancia = Coordenadas.distanciaKm(latitud, longitud, ubicacion.latitud(), ubicacion.longitud());
+            if (distancia > radioKm) {
+                continue;
+            }
+            Cercana cercana = new Cercana(ubicacion, distancia);
+            if (mejores.size() < k) {
+                mejores.add(cercana);
+            } else if (DE_CERCA_A_LEJOS.compare(cercana, mejores.peek()) < 0) {
+                mejores.poll();
+                mejores.add(cercana);
+            }
+        }
+    }
+
+    static int fila(double latitud) {
+        return (int) Math.floor((latitud + 90) / CELDA_GRADOS);
+    }
+
+    static int columna(double longitud) {
+        return (int) Math.floor((longitud + 180) / CELDA_GRADOS);
+    }
+
+    private static long celda(int fila, int columna) {
+        return ((long) fila << 32) | (columna & 0xFFFFFFFFL);
+    }
+}
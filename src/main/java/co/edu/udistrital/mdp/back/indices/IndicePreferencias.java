@@ -0,0 +1,139 @@
+package co.edu.udistrital.mdp.back.indices;
+
+import co.edu.udistrital.mdp.back.entities.PreferenciaEstudianteEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity.TipoVivienda;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Índice invertido de las preferencias guardadas: de la combinación (tipo,
+ * zona, mascotas) a las preferencias que la piden, ordenadas por presupuesto.
+ *
+ * Para una vivienda se consultan a lo sumo 12 combinaciones (su tipo o
+ * cualquiera; su barrio, su ciudad o cualquier zona; sin mascotas y, si las
+ * acepta, con mascotas) y en cada una solo los presupuestos que alcanzan su
+ * precio, así que el costo depende de cuántas preferencias coinciden y no de
+ * cuántos estudiantes hay. Lo carga AlertaViviendaService al arrancar la
+ * aplicación y lo mantiene al día PreferenciaIndicesListener.
+ */
+@Component
+public class IndicePreferencias {
+
+    /**
+     * Combinación pedida por una preferencia; tipo null y zona "" significan
+     * "cualquiera"
+     */
+    record Clave(TipoVivienda tipo, String zona, boolean mascotas) {
+    }
+
+    /**
+     * Preferencia tal como la usa el índice; la zona va normalizada y sin
+     * presupuesto 'precioMaximo' es Long.MAX_VALUE
+     */
+    public record Preferencia(Long preferenciaId, Long estudianteId, TipoVivienda tipo, String zona,
+            long precioMaximo, boolean mascotas) {
+
+        public static Preferencia de(Long preferenciaId, Long estudianteId, String tipoVivienda, String zona,
+                Integer precioMaximo, Boolean mascotas) {
+            return new Preferencia(preferenciaId, estudianteId, Normalizador.tipoVivienda(tipoVivienda),
+                    Normalizador.normalizar(zona),
+                    precioMaximo == null || precioMaximo <= 0 ? Long.MAX_VALUE : precioMaximo,
+                    Boolean.TRUE.equals(mascotas));
+        }
+
+        public static Preferencia de(PreferenciaEstudianteEntity entidad) {
+            return de(entidad.getId(), entidad.getEstudiante().getId(), entidad.getTipoVivienda(),
+                    entidad.getZonaPreferida(), entidad.getPrecioMaximo(), entidad.getAceptaMascotas());
+        }
+
+        Clave clave() {
+            return new Clave(tipo, zona, mascotas);
+        }
+    }
+
+    // Por combinación: presupuesto -> (id de preferencia -> id de estudiante)
+    private final Map<Clave, NavigableMap<Long, Map<Long, Long>>> porClave = new HashMap<>();
+    private final Map<Long, Preferencia> porId = new HashMap<>();
+    private volatile boolean cargado;
+
+    public boolean estaCargado() {
+        return cargado;
+    }
+
+    public synchronized int tamano() {
+        return porId.size();
+    }
+
+    /**
+     * Reemplaza el contenido del índice con las preferencias dadas y lo marca
+     * como cargado
+     */
+    public synchronized void cargar(Collection<Preferencia> preferencias) {
+        porClave.clear();
+        porId.clear();
+        preferencias.forEach(this::registrar);
+        cargado = true;
+    }
+
+    /**
+     * Agrega o reubica una preferencia
+     */
+    public synchronized void registrar(Preferencia preferencia) {
+        retirar(preferencia.preferenciaId());
+        porClave.computeIfAbsent(preferencia.clave(), c -> new TreeMap<>())
+                .computeIfAbsent(preferencia.precioMaximo(), p -> new HashMap<>())
+                .put(preferencia.preferenciaId(), preferencia.estudianteId());
+        porId.put(preferencia.preferenciaId(), preferencia);
+    }
+
+    /**
+     * Quita una preferencia del índice
+     */
+    public synchronized void retirar(Long preferenciaId) {
+        Preferencia anterior = porId.remove(preferenciaId);
+        if (anterior == null) {
+            return;
+        }
+        NavigableMap<Long, Map<Long, Long>> porPrecio = porClave.get(anterior.clave());
+        Map<Long, Long> conPrecio = porPrecio.get(anterior.precioMaximo());
+        conPrecio.remove(preferenciaId);
+        if (conPrecio.isEmpty()) {
+            porPrecio.remove(anterior.precioMaximo());
+            if (porPrecio.isEmpty()) {
+                porClave.remove(anterior.clave());
+            }
+        }
+    }
+
+    /**
+     * Ids de los estudiantes con alguna preferencia que la vivienda cumple:
+     * mismo tipo o cualquiera, zona igual a su barrio o ciudad o cualquiera,
+     * mascotas solo si las acepta y precio dentro del presupuesto
+     */
+    public synchronized Set<Long> estudiantesInteresados(IndiceViviendas.Candidata vivienda) {
+        Set<Long> estudiantes = new LinkedHashSet<>();
+        Set<TipoVivienda> tipos = new LinkedHashSet<>(Arrays.asList(null, vivienda.tipo()));
+        Set<String> zonas = new LinkedHashSet<>(Arrays.asList("", vivienda.barrioClave(), vivienda.ciudadClave()));
+        boolean[] mascotas = vivienda.aceptaMascotas() ? new boolean[] { false, true } : new boolean[] { false };
+        for (TipoVivienda tipo : tipos) {
+            for (String zona : zonas) {
+                for (boolean conMascotas : mascotas) {
+                    NavigableMap<Long, Map<Long, Long>> porPrecio = porClave.get(new Clave(tipo, zona, conMascotas));
+                    if (porPrecio != null) {
+                        porPrecio.tailMap(vivienda.precio(), true).values()
+                                .forEach(conPrecio -> estudiantes.addAll(conPrecio.values()));
+                    }
+                }
+            }
+        }
+        return estudiantes;
+    }
+}
@@ -0,0 +1,114 @@
+package co.edu.udistrital.mdp.back.indices;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice en memoria de las reservas activas (pendientes o confirmadas): un
+ * árbol de intervalos de fechas por vivienda.
+ *
+ * Lo carga ReservaService al arrancar la aplicación y lo mantiene al día en cada
+ * creación, actualización y eliminación. Mientras no esté cargado, quien lo
+ * consulte debe resolver contra la base de datos.
+ *
+ * La carga y las escrituras se serializan en el monitor del índice, así un
+ * registro no se cruza con una recarga; además toman el del árbol de la
+ * vivienda, que es el único que toman las consultas.
+ */
+@Component
+public class IndiceReservas {
+
+    /**
+     * Datos de una reserva que necesita el índice
+     */
+    public record Intervalo(Long reservaId, Long viviendaId, Long estudianteId, LocalDate inicio, LocalDate fin) {
+    }
+
+    private final Map<Long, ArbolIntervalos<Intervalo>> porVivienda = new ConcurrentHashMap<>();
+    private final Map<Long, Long> viviendaDeReserva = new ConcurrentHashMap<>();
+    private volatile boolean cargado;
+
+    public boolean estaCargado() {
+        return cargado;
+    }
+
+    /**
+     * Reemplaza el contenido del índice con las reservas dadas y lo marca como
+     * cargado
+     */
+    public synchronized void cargar(Collection<Intervalo> reservas) {
+        porVivienda.clear();
+        viviendaDeReserva.clear();
+        reservas.forEach(this::registrar);
+        cargado = true;
+    }
+
+    /**
+     * Agrega o reubica una reserva activa
+     */
+    public synchronized void registrar(Intervalo reserva) {
+        retirar(reserva.reservaId());
+        ArbolIntervalos<Intervalo> arbol = porVivienda.computeIfAbsent(reserva.viviendaId(), id -> new ArbolIntervalos<>());
+        synchronized (arbol) {
+            arbol.insertar(reserva.reservaId(), reserva.inicio().toEpochDay(), reserva.fin().toEpochDay(), reserva);
+        }
+        viviendaDeReserva.put(reserva.reservaId(), reserva.viviendaId());
+    }
+
+    /**
+     * Quita una reserva del índice (por ejemplo, al cancelarla o eliminarla)
+     */
+    public synchronized void retirar(Long reservaId) {
+        Long viviendaId = viviendaDeReserva.remove(reservaId);
+        if (viviendaId == null) {
+            return;
+        }
+        ArbolIntervalos<Intervalo> arbol = porVivienda.get(viviendaId);
+        if (arbol != null) {
+            synchronized (arbol) {
+                arbol.eliminar(reservaId);
+            }
+        }
+    }
+
+    /**
+     * Indica si la vivienda no tiene reservas activas que se crucen con el rango
+     */
+    public boolean estaLibre(Long viviendaId, LocalDate inicio, LocalDate fin) {
+        ArbolIntervalos<Intervalo> arbol = porVivienda.get(viviendaId);
+        if (arbol == null) {
+            return true;
+        }
+        synchronized (arbol) {
+            return !arbol.haySolapamiento(inicio.toEpochDay(), fin.toEpochDay());
+        }
+    }
+
+    /**
+     * Indica si el estudiante ya tiene una reserva activa en la vivienda que se
+     * cruce con el rango
+     */
+    public boolean existeReservaActiva(Long estudianteId, Long viviendaId, LocalDate inicio, LocalDate fin) {
+        return existeOtraReservaActiva(null, estudianteId, viviendaId, inicio, fin);
+    }
+
+    /**
+     * Como existeReservaActiva, pero sin contar la reserva 'reservaId' (la que se
+     * está modificando)
+     */
+    public boolean existeOtraReservaActiva(Long reservaId, Long estudianteId, Long viviendaId, LocalDate inicio,
+            LocalDate fin) {
+        ArbolIntervalos<Intervalo> arbol = porVivienda.get(viviendaId);
+        if (arbol == null) {
+            return false;
+        }
+        synchronized (arbol) {
+            return arbol.haySolapamiento(inicio.toEpochDay(), fin.toEpochDay(),
+                    otra -> otra.estudianteId().equals(estudianteId) && !otra.reservaId().equals(reservaId));
+        }
+    }
+}
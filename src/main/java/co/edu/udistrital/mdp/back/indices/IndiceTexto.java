@@ -0,0 +1,309 @@
+package co.edu.udistrital.mdp.back.indices;
+
+import co.edu.udistrital.mdp.back.entities.ComentarioEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.StopFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.es.SpanishAnalyzer;
+import org.apache.lucene.analysis.es.SpanishLightStemFilter;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.util.QueryBuilder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Índice de texto completo (Lucene, en memoria) de las descripciones de
+ * viviendas y del contenido de los comentarios.
+ *
+ * El texto se analiza en español: minúsculas, sin palabras vacías, sin tildes
+ * y reducido a su raíz ("habitaciones" y "habitación" coinciden), y las
+ * búsquedas devuelven los documentos que contienen todos los términos,
+ * ordenados por relevancia (BM25). Lo carga BusquedaTextoService al arrancar
+ * la aplicación y lo mantienen al día ViviendaIndicesListener y
+ * ComentarioIndicesListener, que le pasan juntos los cambios de cada
+ * transacción confirmada: el lector se reabre una vez por lote y no por cada
+ * documento, y los cambios quedan visibles para la siguiente búsqueda.
+ */
+@Component
+public class IndiceTexto {
+
+    private static final String CLAVE = "clave";
+    private static final String TIPO = "tipo";
+    private static final String ID = "id";
+    private static final String VIVIENDA = "vivienda";
+    private static final String TEXTO = "texto";
+
+    public enum Tipo {
+        VIVIENDA,
+        COMENTARIO
+    }
+
+    /**
+     * Texto indexable de una vivienda (su descripción) o de un comentario (su
+     * contenido); 'viviendaId' es la vivienda a la que pertenece
+     */
+    public record Documento(Tipo tipo, Long id, Long viviendaId, String texto) {
+
+        public static Documento de(ViviendaEntity vivienda) {
+            return new Documento(Tipo.VIVIENDA, vivienda.getId(), vivienda.getId(), vivienda.getDescripcion());
+        }
+
+        public static Documento de(ComentarioEntity comentario) {
+            return new Documento(Tipo.COMENTARIO, comentario.getId(), comentario.getVivienda().getId(),
+                    comentario.getContenido());
+        }
+    }
+
+    /**
+     * Cambio pendiente sobre el índice: agregar o reemplazar un documento, quitar
+     * un comentario o quitar una vivienda junto con sus comentarios
+     */
+    public sealed interface Cambio {
+
+        record Registrar(Documento documento) implements Cambio {
+        }
+
+        record RetirarComentario(Long comentarioId) implements Cambio {
+        }
+
+        record RetirarVivienda(Long viviendaId) implements Cambio {
+        }
+    }
+
+    /**
+     * Documento encontrado con su puntaje de relevancia
+     */
+    public record Resultado(Tipo tipo, Long id, Long viviendaId, String texto, float puntaje) {
+    }
+
+    /**
+     * Resultados de una página y si quedan más después de ella
+     */
+    public record Pagina(List<Resultado> resultados, boolean haySiguiente) {
+    }
+
+    private final Analyzer analizador = new AnalizadorEspanol();
+    private final ByteBuffersDirectory directorio = new ByteBuffersDirectory();
+    private final IndexWriter escritor;
+    private final SearcherManager buscadores;
+    private volatile boolean cargado;
+
+    public IndiceTexto() {
+        try {
+            escritor = new IndexWriter(directorio, new IndexWriterConfig(analizador));
+            buscadores = new SearcherManager(escritor, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public boolean estaCargado() {
+        return cargado;
+    }
+
+    public int tamano() {
+        try {
+            IndexSearcher buscador = buscadores.acquire();
+            try {
+                return buscador.getIndexReader().numDocs();
+            } finally {
+                buscadores.release(buscador);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reemplaza el contenido del índice con los documentos dados y lo marca como
+     * cargado
+     */
+    public synchronized void cargar(Collection<Documento> documentos) {
+        try {
+            escritor.deleteAll();
+            for (Documento documento : documentos) {
+                if (tieneTexto(documento)) {
+                    escritor.addDocument(aLucene(documento));
+                }
+            }
+            escritor.commit();
+            buscadores.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        cargado = true;
+    }
+
+    /**
+     * Agrega o reemplaza un documento; si quedó sin texto lo quita
+     */
+    public void registrar(Documento documento) {
+        aplicar(List.of(new Cambio.Registrar(documento)));
+    }
+
+    /**
+     * Quita un comentario del índice
+     */
+    public void retirarComentario(Long comentarioId) {
+        aplicar(List.of(new Cambio.RetirarComentario(comentarioId)));
+    }
+
+    /**
+     * Quita una vivienda eliminada junto con sus comentarios
+     */
+    public void retirarVivienda(Long viviendaId) {
+        aplicar(List.of(new Cambio.RetirarVivienda(viviendaId)));
+    }
+
+    /**
+     * Aplica los cambios en orden y reabre el lector una sola vez al final
+     */
+    public synchronized void aplicar(List<? extends Cambio> cambios) {
+        if (cambios.isEmpty()) {
+            return;
+        }
+        try {
+            for (Cambio cambio : cambios) {
+                switch (cambio) {
+                    case Cambio.Registrar r -> escribir(r.documento());
+                    case Cambio.RetirarComentario c ->
+                        escritor.deleteDocuments(new Term(CLAVE, clave(Tipo.COMENTARIO, c.comentarioId())));
+                    case Cambio.RetirarVivienda v ->
+                        escritor.deleteDocuments(new Term(VIVIENDA, v.viviendaId().toString()));
+                }
+            }
+            buscadores.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void escribir(Documento documento) throws IOException {
+        Term clave = new Term(CLAVE, clave(documento.tipo(), documento.id()));
+        if (tieneTexto(documento)) {
+            escritor.updateDocument(clave, aLucene(documento));
+        } else {
+            escritor.deleteDocuments(clave);
+        }
+    }
+
+    /**
+     * Página de los documentos que contienen todos los términos de 'texto', del
+     * más al menos relevante; 'tipo' null busca en viviendas y comentarios
+     */
+    public Pagina buscar(String texto, Tipo tipo, int pagina, int limite) {
+        Query terminos = new QueryBuilder(analizador).createBooleanQuery(TEXTO, texto, BooleanClause.Occur.MUST);
+        if (terminos == null) {
+            // Solo palabras vacías o signos: nada que buscar
+            return new Pagina(List.of(), false);
+        }
+        Query consulta = terminos;
+        if (tipo != null) {
+            consulta = new BooleanQuery.Builder()
+                    .add(terminos, BooleanClause.Occur.MUST)
+                    .add(new TermQuery(new Term(TIPO, tipo.name())), BooleanClause.Occur.FILTER)
+                    .build();
+        }
+        int desde = pagina * limite;
+        try {
+            IndexSearcher buscador = buscadores.acquire();
+            try {
+                // Uno más que la página para saber si hay siguiente
+                TopDocs encontrados = buscador.search(consulta, desde + limite + 1);
+                StoredFields campos = buscador.storedFields();
+                List<Resultado> resultados = new ArrayList<>();
+                int hasta = Math.min(encontrados.scoreDocs.length, desde + limite);
+                for (int i = desde; i < hasta; i++) {
+                    ScoreDoc encontrado = encontrados.scoreDocs[i];
+                    resultados.add(aResultado(campos.document(encontrado.doc), encontrado.score));
+                }
+                return new Pagina(resultados, encontrados.scoreDocs.length > desde + limite);
+            } finally {
+                buscadores.release(buscador);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    void cerrar() throws IOException {
+        buscadores.close();
+        escritor.close();
+        directorio.close();
+    }
+
+    private static boolean tieneTexto(Documento documento) {
+        return documento.texto() != null && !documento.texto().isBlank();
+    }
+
+    private static String clave(Tipo tipo, Long id) {
+        return tipo.name() + ":" + id;
+    }
+
+    private static Document aLucene(Documento documento) {
+        Document d = new Document();
+        d.add(new StringField(CLAVE, clave(documento.tipo(), documento.id()), Field.Store.NO));
+        d.add(new StringField(TIPO, documento.tipo().name(), Field.Store.YES));
+        d.add(new StoredField(ID, documento.id()));
+        d.add(new StringField(VIVIENDA, documento.viviendaId().toString(), Field.Store.YES));
+        d.add(new TextField(TEXTO, documento.texto(), Field.Store.YES));
+        return d;
+    }
+
+    private static Resultado aResultado(Document d, float puntaje) {
+        return new Resultado(Tipo.valueOf(d.get(TIPO)), d.getField(ID).numericValue().longValue(),
+                Long.valueOf(d.get(VIVIENDA)), d.get(TEXTO), puntaje);
+    }
+
+    /**
+     * Análisis en español: las palabras vacías se quitan antes de borrar las
+     * tildes (la lista de Lucene las incluye) y la raíz se calcula sobre el
+     * texto ya sin tildes, igual al indexar que al buscar
+     */
+    static final class AnalizadorEspanol extends Analyzer {
+
+        @Override
+        protected TokenStreamComponents createComponents(String campo) {
+            Tokenizer fuente = new StandardTokenizer();
+            TokenStream resultado = new LowerCaseFilter(fuente);
+            resultado = new StopFilter(resultado, SpanishAnalyzer.getDefaultStopSet());
+            resultado = new ASCIIFoldingFilter(resultado);
+            resultado = new SpanishLightStemFilter(resultado);
+            return new TokenStreamComponents(fuente, resultado);
+        }
+
+        @Override
+        protected TokenStream normalize(String campo, TokenStream entrada) {
+            return new ASCIIFoldingFilter(new LowerCaseFilter(entrada));
+        }
+    }
+}
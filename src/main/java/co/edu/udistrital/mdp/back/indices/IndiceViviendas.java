@@ -0,0 +1,138 @@
+package co.edu.udistrital.mdp.back.indices;
+
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity.TipoVivienda;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * Índice en memoria de las viviendas disponibles, agrupadas por tipo y por
+ * banda de precio (ANCHO_BANDA pesos por banda).
+ *
+ * Una consulta "tipo T con precio hasta P" recorre solo las bandas de T por
+ * debajo de P, sin tocar la base de datos. Lo carga RecomendacionService al
+ * arrancar la aplicación y lo mantiene al día ViviendaIndicesListener con cada
+ * vivienda creada, modificada o eliminada. Mientras no esté cargado, quien lo
+ * consulte debe resolver contra la base de datos.
+ */
+@Component
+public class IndiceViviendas {
+
+    static final long ANCHO_BANDA = 200_000;
+
+    /**
+     * Datos de una vivienda disponible que necesitan las recomendaciones. Los
+     * textos 'ciudadClave' y 'barrioClave' van normalizados para comparar.
+     */
+    public record Candidata(Long viviendaId, TipoVivienda tipo, long precio, String ciudad, String barrio,
+            boolean aceptaMascotas, String direccion, String ciudadClave, String barrioClave) {
+
+        public static Candidata de(ViviendaEntity vivienda) {
+            return new Candidata(vivienda.getId(), vivienda.getTipo(), vivienda.getPrecioMensual().longValue(),
+                    vivienda.getCiudad(), vivienda.getBarrio(), vivienda.isAceptaMascotas(), vivienda.getDireccion(),
+                    Normalizador.normalizar(vivienda.getCiudad()), Normalizador.normalizar(vivienda.getBarrio()));
+        }
+    }
+
+    private final Map<TipoVivienda, NavigableMap<Long, Map<Long, Candidata>>> porTipo = new EnumMap<>(
+            TipoVivienda.class);
+    // Viviendas sin tipo: solo aparecen en consultas que no filtran por tipo
+    private final NavigableMap<Long, Map<Long, Candidata>> sinTipo = new ConcurrentSkipListMap<>();
+    private final Map<Long, Candidata> porId = new ConcurrentHashMap<>();
+    private volatile boolean cargado;
+
+    public IndiceViviendas() {
+        for (TipoVivienda tipo : TipoVivienda.values()) {
+            porTipo.put(tipo, new ConcurrentSkipListMap<>());
+        }
+    }
+
+    public boolean estaCargado() {
+        return cargado;
+    }
+
+    public int tamano() {
+        return porId.size();
+    }
+
+    /**
+     * Reemplaza el contenido del índice con las candidatas dadas y lo marca como
+     * cargado
+     */
+    public synchronized void cargar(Collection<Candidata> candidatas) {
+        porTipo.values().forEach(Map::clear);
+        sinTipo.clear();
+        porId.clear();
+        candidatas.forEach(this::registrar);
+        cargado = true;
+    }
+
+    /**
+     * Agrega o reubica una vivienda disponible
+     */
+    public synchronized void registrar(Candidata candidata) {
+        retirar(candidata.viviendaId());
+        bandas(candidata.tipo())
+                .computeIfAbsent(banda(candidata.precio()), b -> new ConcurrentHashMap<>())
+                .put(candidata.viviendaId(), candidata);
+        porId.put(candidata.viviendaId(), candidata);
+    }
+
+    /**
+     * Quita una vivienda del índice (al ocuparla, marcarla no disponible o
+     * eliminarla)
+     */
+    public synchronized void retirar(Long viviendaId) {
+        Candidata anterior = porId.remove(viviendaId);
+        if (anterior == null) {
+            return;
+        }
+        NavigableMap<Long, Map<Long, Candidata>> bandas = bandas(anterior.tipo());
+        Map<Long, Candidata> enBanda = bandas.get(banda(anterior.precio()));
+        if (enBanda != null) {
+            enBanda.remove(viviendaId);
+            if (enBanda.isEmpty()) {
+                bandas.remove(banda(anterior.precio()));
+            }
+        }
+    }
+
+    /**
+     * Entrega a 'visitante' cada candidata del tipo dado (null para todos) con
+     * precio menor o igual a 'precioMaximo'
+     */
+    public void recorrer(TipoVivienda tipo, long precioMaximo, Consumer<Candidata> visitante) {
+        if (tipo != null) {
+            recorrer(porTipo.get(tipo), precioMaximo, visitante);
+            return;
+        }
+        porTipo.values().forEach(bandas -> recorrer(bandas, precioMaximo, visitante));
+        recorrer(sinTipo, precioMaximo, visitante);
+    }
+
+    private static void recorrer(NavigableMap<Long, Map<Long, Candidata>> bandas, long precioMaximo,
+            Consumer<Candidata> visitante) {
+        for (Map<Long, Candidata> enBanda : bandas.headMap(banda(precioMaximo), true).values()) {
+            for (Candidata candidata : enBanda.values()) {
+                if (candidata.precio() <= precioMaximo) {
+                    visitante.accept(candidata);
+                }
+            }
+        }
+    }
+
+    private NavigableMap<Long, Map<Long, Candidata>> bandas(TipoVivienda tipo) {
+        return tipo == null ? sinTipo : porTipo.get(tipo);
+    }
+
+    static long banda(long precio) {
+        return Math.floorDiv(precio, ANCHO_BANDA);
+    }
+}
@@ -0,0 +1,53 @@
+package co.edu.udistrital.mdp.back.indices;
+
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity.TipoVivienda;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Forma canónica de los textos que se comparan en los índices en memoria: sin
+ * tildes, en minúsculas y con los espacios colapsados, para que "Chapinero",
+ * " chapinero " y "CHAPINERÓ" sean la misma clave.
+ */
+public final class Normalizador {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+
+    private Normalizador() {
+    }
+
+    /**
+     * Texto normalizado; null o en blanco se vuelve ""
+     */
+    public static String normalizar(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return "";
+        }
+        String sinTildes = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACIOS.matcher(sinTildes.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Texto tal como se escribió, sin espacios sobrantes; null se vuelve ""
+     */
+    public static String colapsarEspacios(String texto) {
+        return texto == null ? "" : ESPACIOS.matcher(texto.trim()).replaceAll(" ");
+    }
+
+    /**
+     * Tipo de vivienda escrito libremente ("Apartamento", " habitación") como
+     * enum, o null si no corresponde a ninguno
+     */
+    public static TipoVivienda tipoVivienda(String texto) {
+        String clave = normalizar(texto).toUpperCase(Locale.ROOT);
+        for (TipoVivienda tipo : TipoVivienda.values()) {
+            if (tipo.name().equals(clave)) {
+                return tipo;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,41 @@
+package co.edu.udistrital.mdp.back.indices;
+
+import co.edu.udistrital.mdp.back.entities.PreferenciaEstudianteEntity;
+import co.edu.udistrital.mdp.back.services.SincronizacionTransaccion;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Lleva al índice de preferencias cada preferencia creada, modificada o
+ * eliminada, cuando la transacción confirma. En contextos sin el índice
+ * (pruebas de repositorio) no hace nada.
+ */
+public class PreferenciaIndicesListener {
+
+    private final ObjectProvider<IndicePreferencias> indicePreferencias;
+
+    public PreferenciaIndicesListener(ObjectProvider<IndicePreferencias> indicePreferencias) {
+        this.indicePreferencias = indicePreferencias;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void guardada(PreferenciaEstudianteEntity preferencia) {
+        IndicePreferencias indice = indicePreferencias.getIfAvailable();
+        if (indice != null) {
+            IndicePreferencias.Preferencia registrada = IndicePreferencias.Preferencia.de(preferencia);
+            SincronizacionTransaccion.despuesDelCommit(() -> indice.registrar(registrada));
+        }
+    }
+
+    @PostRemove
+    void eliminada(PreferenciaEstudianteEntity preferencia) {
+        IndicePreferencias indice = indicePreferencias.getIfAvailable();
+        if (indice != null) {
+            Long id = preferencia.getId();
+            SincronizacionTransaccion.despuesDelCommit(() -> indice.retirar(id));
+        }
+    }
+}
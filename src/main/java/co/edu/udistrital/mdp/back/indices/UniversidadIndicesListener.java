@@ -0,0 +1,50 @@
+package co.edu.udistrital.mdp.back.indices;
+
+import co.edu.udistrital.mdp.back.entities.UniversidadCercaEntity;
+import co.edu.udistrital.mdp.back.entities.UniversidadEntity;
+import co.edu.udistrital.mdp.back.services.SincronizacionTransaccion;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Lleva al índice de autocompletado el nombre de cada universidad (UniversidadEntity
+ * y UniversidadCercaEntity) creada, renombrada o eliminada, cuando la
+ * transacción confirma. En contextos sin el índice (pruebas de repositorio) no
+ * hace nada.
+ */
+public class UniversidadIndicesListener {
+
+    private final ObjectProvider<IndiceAutocompletado> indiceAutocompletado;
+
+    public UniversidadIndicesListener(ObjectProvider<IndiceAutocompletado> indiceAutocompletado) {
+        this.indiceAutocompletado = indiceAutocompletado;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void guardada(Object universidad) {
+        IndiceAutocompletado indice = indiceAutocompletado.getIfAvailable();
+        if (indice != null) {
+            IndiceAutocompletado.Aporte aporte = aporte(universidad);
+            SincronizacionTransaccion.despuesDelCommit(() -> indice.registrar(aporte));
+        }
+    }
+
+    @PostRemove
+    void eliminada(Object universidad) {
+        IndiceAutocompletado indice = indiceAutocompletado.getIfAvailable();
+        if (indice != null) {
+            String origen = aporte(universidad).origen();
+            SincronizacionTransaccion.despuesDelCommit(() -> indice.retirar(origen));
+        }
+    }
+
+    private static IndiceAutocompletado.Aporte aporte(Object universidad) {
+        if (universidad instanceof UniversidadCercaEntity cerca) {
+            return IndiceAutocompletado.Aporte.de(cerca);
+        }
+        return IndiceAutocompletado.Aporte.de((UniversidadEntity) universidad);
+    }
+}
@@ -0,0 +1,93 @@
+package co.edu.udistrital.mdp.back.indices;
+
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import co.edu.udistrital.mdp.back.services.SincronizacionTransaccion;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Lleva a los índices en memoria cada cambio de una vivienda, cuando la
+ * transacción confirma.
+ *
+ * Es un listener de la entidad y no una llamada desde ViviendaService porque la
+ * disponibilidad también cambia en EstanciaService (al ocupar o liberar una
+ * vivienda, sin pasar por save) y en la importación masiva. Hibernate lo crea a
+ * través del contenedor de beans de Spring; en contextos sin los índices
+ * (pruebas de repositorio) no hace nada.
+ */
+public class ViviendaIndicesListener {
+
+    private final ObjectProvider<IndiceViviendas> indiceViviendas;
+    private final ObjectProvider<IndiceGeografico> indiceGeografico;
+    private final ObjectProvider<IndiceTexto> indiceTexto;
+    private final ObjectProvider<IndiceAutocompletado> indiceAutocompletado;
+
+    public ViviendaIndicesListener(ObjectProvider<IndiceViviendas> indiceViviendas,
+            ObjectProvider<IndiceGeografico> indiceGeografico, ObjectProvider<IndiceTexto> indiceTexto,
+            ObjectProvider<IndiceAutocompletado> indiceAutocompletado) {
+        this.indiceViviendas = indiceViviendas;
+        this.indiceGeografico = indiceGeografico;
+        this.indiceTexto = indiceTexto;
+        this.indiceAutocompletado = indiceAutocompletado;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void guardada(ViviendaEntity vivienda) {
+        Long id = vivienda.getId();
+        boolean disponible = vivienda.isDisponible() && vivienda.getPrecioMensual() != null;
+        IndiceViviendas indice = indiceViviendas.getIfAvailable();
+        if (indice != null) {
+            if (disponible) {
+                IndiceViviendas.Candidata candidata = IndiceViviendas.Candidata.de(vivienda);
+                SincronizacionTransaccion.despuesDelCommit(() -> indice.registrar(candidata));
+            } else {
+                SincronizacionTransaccion.despuesDelCommit(() -> indice.retirar(id));
+            }
+        }
+        IndiceGeografico geografico = indiceGeografico.getIfAvailable();
+        if (geografico != null) {
+            if (disponible && vivienda.getLatitud() != null && vivienda.getLongitud() != null) {
+                IndiceGeografico.Ubicacion ubicacion = IndiceGeografico.Ubicacion.de(vivienda);
+                SincronizacionTransaccion.despuesDelCommit(() -> geografico.registrar(ubicacion));
+            } else {
+                SincronizacionTransaccion.despuesDelCommit(() -> geografico.retirar(id));
+            }
+        }
+        IndiceTexto texto = indiceTexto.getIfAvailable();
+        if (texto != null) {
+            IndiceTexto.Cambio cambio = new IndiceTexto.Cambio.Registrar(IndiceTexto.Documento.de(vivienda));
+            SincronizacionTransaccion.despuesDelCommitAgrupado(texto, cambio, texto::aplicar);
+        }
+        IndiceAutocompletado autocompletado = indiceAutocompletado.getIfAvailable();
+        if (autocompletado != null) {
+            IndiceAutocompletado.Aporte aporte = IndiceAutocompletado.Aporte.de(vivienda);
+            SincronizacionTransaccion.despuesDelCommit(() -> autocompletado.registrar(aporte));
+        }
+    }
+
+    @PostRemove
+    void eliminada(ViviendaEntity vivienda) {
+        Long id = vivienda.getId();
+        IndiceViviendas indice = indiceViviendas.getIfAvailable();
+        if (indice != null) {
+            SincronizacionTransaccion.despuesDelCommit(() -> indice.retirar(id));
+        }
+        IndiceGeografico geografico = indiceGeografico.getIfAvailable();
+        if (geografico != null) {
+            SincronizacionTransaccion.despuesDelCommit(() -> geografico.retirar(id));
+        }
+        IndiceTexto texto = indiceTexto.getIfAvailable();
+        if (texto != null) {
+            SincronizacionTransaccion.despuesDelCommitAgrupado(texto, new IndiceTexto.Cambio.RetirarVivienda(id),
+                    texto::aplicar);
+        }
+        IndiceAutocompletado autocompletado = indiceAutocompletado.getIfAvailable();
+        if (autocompletado != null) {
+            String origen = IndiceAutocompletado.Aporte.de(vivienda).origen();
+            SincronizacionTransaccion.despuesDelCommit(() -> autocompletado.retirar(origen));
+        }
+    }
+}
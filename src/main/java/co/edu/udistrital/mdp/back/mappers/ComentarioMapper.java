@@ -0,0 +1,59 @@
+package co.edu.udistrital.mdp.back.mappers;
+
+import co.edu.udistrital.mdp.back.dto.ComentarioDTO;
+import co.edu.udistrital.mdp.back.entities.ComentarioEntity;
+import co.edu.udistrital.mdp.back.entities.EstudianteEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class ComentarioMapper {
+
+    public ComentarioDTO toDTO(ComentarioEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        ComentarioDTO dto = new ComentarioDTO();
+        dto.setId(entity.getId());
+        dto.setContenido(entity.getContenido());
+        dto.setCalificacion(entity.getCalificacion());
+        dto.setFechaCreacion(entity.getFechaCreacion());
+        dto.setFechaModificacion(entity.getFechaModificacion());
+        dto.setViviendaId(entity.getVivienda() == null ? null : entity.getVivienda().getId());
+        dto.setAutorId(entity.getAutor() == null ? null : entity.getAutor().getId());
+        return dto;
+    }
+
+    public List<ComentarioDTO> toDTOList(List<ComentarioEntity> entities) {
+        return entities.stream().map(this::toDTO).toList();
+    }
+
+    /**
+     * La vivienda y el autor quedan como referencias con solo el id; el servicio
+     * se encarga de validar que existan.
+     */
+    public ComentarioEntity toEntity(ComentarioDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        ComentarioEntity entity = new ComentarioEntity();
+        entity.setId(dto.getId());
+        entity.setContenido(dto.getContenido());
+        entity.setCalificacion(dto.getCalificacion());
+        entity.setFechaCreacion(dto.getFechaCreacion());
+        entity.setFechaModificacion(dto.getFechaModificacion());
+        if (dto.getViviendaId() != null) {
+            ViviendaEntity vivienda = new ViviendaEntity();
+            vivienda.setId(dto.getViviendaId());
+            entity.setVivienda(vivienda);
+        }
+        if (dto.getAutorId() != null) {
+            EstudianteEntity autor = new EstudianteEntity();
+            autor.setId(dto.getAutorId());
+            entity.setAutor(autor);
+        }
+        return entity;
+    }
+}
@@ -0,0 +1,48 @@
+package co.edu.udistrital.mdp.back.mappers;
+
+import co.edu.udistrital.mdp.back.dto.ContratoDTO;
+import co.edu.udistrital.mdp.back.entities.ContratoEntity;
+import co.edu.udistrital.mdp.back.entities.EstanciaEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class ContratoMapper {
+
+    public ContratoDTO toDTO(ContratoEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        ContratoDTO dto = new ContratoDTO();
+        dto.setId(entity.getId());
+        dto.setCodigo(entity.getCodigo());
+        dto.setFechaInicio(entity.getFechaInicio());
+        dto.setFechaFin(entity.getFechaFin());
+        dto.setMontoTotal(entity.getMontoTotal());
+        dto.setEstanciaId(entity.getEstancia() == null ? null : entity.getEstancia().getId());
+        return dto;
+    }
+
+    public List<ContratoDTO> toDTOList(List<ContratoEntity> entities) {
+        return entities.stream().map(this::toDTO).toList();
+    }
+
+    public ContratoEntity toEntity(ContratoDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        ContratoEntity entity = new ContratoEntity();
+        entity.setId(dto.getId());
+        entity.setCodigo(dto.getCodigo());
+        entity.setFechaInicio(dto.getFechaInicio());
+        entity.setFechaFin(dto.getFechaFin());
+        entity.setMontoTotal(dto.getMontoTotal());
+        if (dto.getEstanciaId() != null) {
+            EstanciaEntity estancia = new EstanciaEntity();
+            estancia.setId(dto.getEstanciaId());
+            entity.setEstancia(estancia);
+        }
+        return entity;
+    }
+}
@@ -0,0 +1,69 @@
+package co.edu.udistrital.mdp.back.mappers;
+
+import co.edu.udistrital.mdp.back.dto.EstanciaDTO;
+import co.edu.udistrital.mdp.back.entities.ContratoEntity;
+import co.edu.udistrital.mdp.back.entities.EstanciaEntity;
+import co.edu.udistrital.mdp.back.entities.EstudianteEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class EstanciaMapper {
+
+    public EstanciaDTO toDTO(EstanciaEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        EstanciaDTO dto = new EstanciaDTO();
+        dto.setId(entity.getId());
+        dto.setEstudianteArrendadorId(
+                entity.getEstudianteArrendador() == null ? null : entity.getEstudianteArrendador().getId());
+        dto.setViviendaArrendadaId(
+                entity.getViviendaArrendada() == null ? null : entity.getViviendaArrendada().getId());
+        dto.setEstado(entity.getEstado() == null ? null : entity.getEstado().name());
+        dto.setFechaInicio(entity.getFechaInicio());
+        dto.setFechaFin(entity.getFechaFin());
+        dto.setTiempoEstancia(entity.getTiempoEstancia());
+        dto.setContratoId(entity.getContrato() == null ? null : entity.getContrato().getId());
+        return dto;
+    }
+
+    public List<EstanciaDTO> toDTOList(List<EstanciaEntity> entities) {
+        return entities.stream().map(this::toDTO).toList();
+    }
+
+    /**
+     * Si el DTO no trae estado se conserva el valor por defecto de la entidad (ACTIVA)
+     */
+    public EstanciaEntity toEntity(EstanciaDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        EstanciaEntity entity = new EstanciaEntity();
+        entity.setId(dto.getId());
+        if (dto.getEstado() != null) {
+            entity.setEstado(EstanciaEntity.EstadoEstancia.valueOf(dto.getEstado().trim().toUpperCase()));
+        }
+        entity.setFechaInicio(dto.getFechaInicio());
+        entity.setFechaFin(dto.getFechaFin());
+        entity.setTiempoEstancia(dto.getTiempoEstancia());
+        if (dto.getEstudianteArrendadorId() != null) {
+            EstudianteEntity estudiante = new EstudianteEntity();
+            estudiante.setId(dto.getEstudianteArrendadorId());
+            entity.setEstudianteArrendador(estudiante);
+        }
+        if (dto.getViviendaArrendadaId() != null) {
+            ViviendaEntity vivienda = new ViviendaEntity();
+            vivienda.setId(dto.getViviendaArrendadaId());
+            entity.setViviendaArrendada(vivienda);
+        }
+        if (dto.getContratoId() != null) {
+            ContratoEntity contrato = new ContratoEntity();
+            contrato.setId(dto.getContratoId());
+            entity.setContrato(contrato);
+        }
+        return entity;
+    }
+}
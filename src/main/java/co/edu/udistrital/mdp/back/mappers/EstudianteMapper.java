@@ -0,0 +1,55 @@
+package co.edu.udistrital.mdp.back.mappers;
+
+import co.edu.udistrital.mdp.back.dto.EstudianteDTO;
+import co.edu.udistrital.mdp.back.dto.EstudianteDetailDTO;
+import co.edu.udistrital.mdp.back.entities.EstudianteEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class EstudianteMapper {
+
+    public EstudianteDTO toDTO(EstudianteEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        EstudianteDTO dto = new EstudianteDTO();
+        copiar(entity, dto);
+        return dto;
+    }
+
+    public EstudianteDetailDTO toDetailDTO(EstudianteEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        EstudianteDetailDTO dto = new EstudianteDetailDTO();
+        copiar(entity, dto);
+        return dto;
+    }
+
+    public List<EstudianteDTO> toDTOList(List<EstudianteEntity> entities) {
+        return entities.stream().map(this::toDTO).toList();
+    }
+
+    public EstudianteEntity toEntity(EstudianteDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        EstudianteEntity entity = new EstudianteEntity();
+        entity.setId(dto.getId());
+        entity.setNombre(dto.getNombre());
+        entity.setCorreo(dto.getCorreo());
+        entity.setTelefono(dto.getTelefono());
+        entity.setUniversidad(dto.getUniversidad());
+        return entity;
+    }
+
+    private void copiar(EstudianteEntity entity, EstudianteDTO dto) {
+        dto.setId(entity.getId());
+        dto.setNombre(entity.getNombre());
+        dto.setCorreo(entity.getCorreo());
+        dto.setTelefono(entity.getTelefono());
+        dto.setUniversidad(entity.getUniversidad());
+    }
+}
@@ -0,0 +1,47 @@
+package co.edu.udistrital.mdp.back.mappers;
+
+import co.edu.udistrital.mdp.back.dto.MultimediaDTO;
+import co.edu.udistrital.mdp.back.entities.MultimediaEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class MultimediaMapper {
+
+    public MultimediaDTO toDTO(MultimediaEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        MultimediaDTO dto = new MultimediaDTO();
+        dto.setId(entity.getId());
+        dto.setTitulo(entity.getTitulo());
+        dto.setDescripcion(entity.getDescripcion());
+        dto.setTipoArchivo(entity.getTipoArchivo());
+        dto.setUrlArchivo(entity.getUrlArchivo());
+        dto.setOrdenVisualizacion(entity.getOrdenVisualizacion());
+        dto.setEsPortada(entity.getEsPortada());
+        dto.setFechaSubida(entity.getFechaSubida());
+        return dto;
+    }
+
+    public List<MultimediaDTO> toDTOList(List<MultimediaEntity> entities) {
+        return entities.stream().map(this::toDTO).toList();
+    }
+
+    public MultimediaEntity toEntity(MultimediaDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        MultimediaEntity entity = new MultimediaEntity();
+        entity.setId(dto.getId());
+        entity.setTitulo(dto.getTitulo());
+        entity.setDescripcion(dto.getDescripcion());
+        entity.setTipoArchivo(dto.getTipoArchivo());
+        entity.setUrlArchivo(dto.getUrlArchivo());
+        entity.setOrdenVisualizacion(dto.getOrdenVisualizacion());
+        entity.setEsPortada(dto.getEsPortada());
+        entity.setFechaSubida(dto.getFechaSubida());
+        return entity;
+    }
+}
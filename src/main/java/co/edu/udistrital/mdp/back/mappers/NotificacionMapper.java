@@ -0,0 +1,59 @@
+package co.edu.udistrital.mdp.back.mappers;
+
+import co.edu.udistrital.mdp.back.dto.NotificacionDTO;
+import co.edu.udistrital.mdp.back.dto.NotificacionDetailDTO;
+import co.edu.udistrital.mdp.back.entities.NotificacionEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class NotificacionMapper {
+
+    private final EstudianteMapper estudianteMapper;
+
+    public NotificacionDTO toDTO(NotificacionEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        NotificacionDTO dto = new NotificacionDTO();
+        copiar(entity, dto);
+        return dto;
+    }
+
+    public NotificacionDetailDTO toDetailDTO(NotificacionEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        NotificacionDetailDTO dto = new NotificacionDetailDTO();
+        copiar(entity, dto);
+        return dto;
+    }
+
+    public List<NotificacionDTO> toDTOList(List<NotificacionEntity> entities) {
+        return entities.stream().map(this::toDTO).toList();
+    }
+
+    public NotificacionEntity toEntity(NotificacionDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        NotificacionEntity entity = new NotificacionEntity();
+        entity.setId(dto.getId());
+        entity.setMensaje(dto.getMensaje());
+        entity.setLeida(dto.getLeida());
+        entity.setFechaEnvio(dto.getFechaEnvio());
+        entity.setEstudiante(estudianteMapper.toEntity(dto.getEstudiante()));
+        return entity;
+    }
+
+    private void copiar(NotificacionEntity entity, NotificacionDTO dto) {
+        dto.setId(entity.getId());
+        dto.setMensaje(entity.getMensaje());
+        dto.setLeida(entity.getLeida());
+        dto.setFechaEnvio(entity.getFechaEnvio());
+        dto.setEstudiante(estudianteMapper.toDTO(entity.getEstudiante()));
+    }
+}
@@ -0,0 +1,61 @@
+package co.edu.udistrital.mdp.back.mappers;
+
+import co.edu.udistrital.mdp.back.dto.PreferenciaEstudianteDTO;
+import co.edu.udistrital.mdp.back.dto.PreferenciaEstudianteDetailDTO;
+import co.edu.udistrital.mdp.back.entities.PreferenciaEstudianteEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class PreferenciaEstudianteMapper {
+
+    private final EstudianteMapper estudianteMapper;
+
+    public PreferenciaEstudianteDTO toDTO(PreferenciaEstudianteEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        PreferenciaEstudianteDTO dto = new PreferenciaEstudianteDTO();
+        copiar(entity, dto);
+        return dto;
+    }
+
+    public PreferenciaEstudianteDetailDTO toDetailDTO(PreferenciaEstudianteEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        PreferenciaEstudianteDetailDTO dto = new PreferenciaEstudianteDetailDTO();
+        copiar(entity, dto);
+        return dto;
+    }
+
+    public List<PreferenciaEstudianteDTO> toDTOList(List<PreferenciaEstudianteEntity> entities) {
+        return entities.stream().map(this::toDTO).toList();
+    }
+
+    public PreferenciaEstudianteEntity toEntity(PreferenciaEstudianteDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        PreferenciaEstudianteEntity entity = new PreferenciaEstudianteEntity();
+        entity.setId(dto.getId());
+        entity.setPrecioMaximo(dto.getPrecioMaximo());
+        entity.setZonaPreferida(dto.getZonaPreferida());
+        entity.setAceptaMascotas(dto.getAceptaMascotas());
+        entity.setTipoVivienda(dto.getTipoVivienda());
+        entity.setEstudiante(estudianteMapper.toEntity(dto.getEstudiante()));
+        return entity;
+    }
+
+    private void copiar(PreferenciaEstudianteEntity entity, PreferenciaEstudianteDTO dto) {
+        dto.setId(entity.getId());
+        dto.setPrecioMaximo(entity.getPrecioMaximo());
+        dto.setZonaPreferida(entity.getZonaPreferida());
+        dto.setAceptaMascotas(entity.getAceptaMascotas());
+        dto.setTipoVivienda(entity.getTipoVivienda());
+        dto.setEstudiante(estudianteMapper.toDTO(entity.getEstudiante()));
+    }
+}
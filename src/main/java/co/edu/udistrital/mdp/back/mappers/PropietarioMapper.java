@@ -0,0 +1,47 @@
+package co.edu.udistrital.mdp.back.mappers;
+
+import co.edu.udistrital.mdp.back.dto.PropietarioDTO;
+import co.edu.udistrital.mdp.back.entities.PropietarioEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class PropietarioMapper {
+
+    public PropietarioDTO toDTO(PropietarioEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        PropietarioDTO dto = new PropietarioDTO();
+        dto.setId(entity.getId());
+        dto.setNombre(entity.getNombre());
+        dto.setApellido(entity.getApellido());
+        dto.setDocumento(entity.getDocumento());
+        dto.setTipoDocumento(entity.getTipoDocumento());
+        dto.setTelefono(entity.getTelefono());
+        dto.setEmail(entity.getEmail());
+        dto.setFechaRegistro(entity.getFechaRegistro());
+        return dto;
+    }
+
+    public List<PropietarioDTO> toDTOList(List<PropietarioEntity> entities) {
+        return entities.stream().map(this::toDTO).toList();
+    }
+
+    public PropietarioEntity toEntity(PropietarioDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        PropietarioEntity entity = new PropietarioEntity();
+        entity.setId(dto.getId());
+        entity.setNombre(dto.getNombre());
+        entity.setApellido(dto.getApellido());
+        entity.setDocumento(dto.getDocumento());
+        entity.setTipoDocumento(dto.getTipoDocumento());
+        entity.setTelefono(dto.getTelefono());
+        entity.setEmail(dto.getEmail());
+        entity.setFechaRegistro(dto.getFechaRegistro());
+        return entity;
+    }
+}
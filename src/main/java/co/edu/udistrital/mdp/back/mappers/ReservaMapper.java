@@ -0,0 +1,50 @@
+package co.edu.udistrital.mdp.back.mappers;
+
+import co.edu.udistrital.mdp.back.dto.ReservaDTO;
+import co.edu.udistrital.mdp.back.dto.ReservaDetailDTO;
+import co.edu.udistrital.mdp.back.entities.ReservaEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class ReservaMapper {
+
+    public ReservaDTO toDTO(ReservaEntity entity) {
+        return entity == null ? null : new ReservaDTO(entity);
+    }
+
+    public ReservaDetailDTO toDetailDTO(ReservaEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        ReservaDetailDTO dto = new ReservaDetailDTO();
+        dto.setId(entity.getId());
+        dto.setFechaInicio(entity.getFechaInicio());
+        dto.setFechaFin(entity.getFechaFin());
+        dto.setEstado(entity.getEstado() == null ? null : entity.getEstado().name());
+        return dto;
+    }
+
+    public List<ReservaDTO> toDTOList(List<ReservaEntity> entities) {
+        return entities.stream().map(this::toDTO).toList();
+    }
+
+    /**
+     * Si el DTO no trae estado queda null: al crear el servicio asume PENDIENTE y
+     * al actualizar conserva el actual
+     */
+    public ReservaEntity toEntity(ReservaDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        ReservaEntity entity = new ReservaEntity();
+        entity.setId(dto.getId());
+        entity.setFechaInicio(dto.getFechaInicio());
+        entity.setFechaFin(dto.getFechaFin());
+        if (dto.getEstado() != null) {
+            entity.setEstado(ReservaEntity.EstadoReserva.desde(dto.getEstado()));
+        }
+        return entity;
+    }
+}
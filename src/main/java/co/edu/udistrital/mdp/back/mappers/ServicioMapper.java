@@ -0,0 +1,55 @@
+package co.edu.udistrital.mdp.back.mappers;
+
+import co.edu.udistrital.mdp.back.dto.ServicioDTO;
+import co.edu.udistrital.mdp.back.dto.ServicioDetailDTO;
+import co.edu.udistrital.mdp.back.entities.ServicioEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class ServicioMapper {
+
+    public ServicioDTO toDTO(ServicioEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        ServicioDTO dto = new ServicioDTO();
+        copiar(entity, dto);
+        return dto;
+    }
+
+    /**
+     * El detalle incluye cuántas viviendas ofrecen el servicio (inicializa la colección)
+     */
+    public ServicioDetailDTO toDetailDTO(ServicioEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        ServicioDetailDTO dto = new ServicioDetailDTO();
+        copiar(entity, dto);
+        dto.setCantidadViviendasAsociadas(entity.getViviendas() == null ? 0 : entity.getViviendas().size());
+        return dto;
+    }
+
+    public List<ServicioDTO> toDTOList(List<ServicioEntity> entities) {
+        return entities.stream().map(this::toDTO).toList();
+    }
+
+    public ServicioEntity toEntity(ServicioDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        ServicioEntity entity = new ServicioEntity();
+        entity.setNombre(dto.getNombre());
+        entity.setDescripcion(dto.getDescripcion());
+        entity.setIcono(dto.getIcono());
+        return entity;
+    }
+
+    private void copiar(ServicioEntity entity, ServicioDTO dto) {
+        dto.setNombre(entity.getNombre());
+        dto.setDescripcion(entity.getDescripcion());
+        dto.setIcono(entity.getIcono());
+    }
+}
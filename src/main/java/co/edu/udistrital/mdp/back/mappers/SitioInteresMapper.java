@@ -0,0 +1,78 @@
+package co.edu.udistrital.mdp.back.mappers;
+
+import co.edu.udistrital.mdp.back.dto.SitioInteresDTO;
+import co.edu.udistrital.mdp.back.dto.SitioInteresDetailDTO;
+import co.edu.udistrital.mdp.back.entities.SitioInteresEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * El DTO expone 'tiempoCaminata' e 'imagenUrl', que en la entidad se llaman
+ * 'tiempoCaminando' (minutos) y 'foto'.
+ */
+@Component
+public class SitioInteresMapper {
+
+    private static final Pattern FORMATO_MINUTOS = Pattern.compile("(\\d{1,4})(?:\\s*min)?",
+            Pattern.CASE_INSENSITIVE);
+
+    public SitioInteresDTO toDTO(SitioInteresEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        SitioInteresDTO dto = new SitioInteresDTO();
+        copiar(entity, dto);
+        return dto;
+    }
+
+    public SitioInteresDetailDTO toDetailDTO(SitioInteresEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        SitioInteresDetailDTO dto = new SitioInteresDetailDTO();
+        copiar(entity, dto);
+        return dto;
+    }
+
+    public List<SitioInteresDTO> toDTOList(List<SitioInteresEntity> entities) {
+        return entities.stream().map(this::toDTO).toList();
+    }
+
+    public SitioInteresEntity toEntity(SitioInteresDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        SitioInteresEntity entity = new SitioInteresEntity();
+        entity.setId(dto.getId());
+        entity.setNombre(dto.getNombre());
+        entity.setDescripcion(dto.getDescripcion());
+        entity.setUbicacion(dto.getUbicacion());
+        entity.setFoto(dto.getImagenUrl());
+        entity.setTiempoCaminando(minutos(dto.getTiempoCaminata()));
+        return entity;
+    }
+
+    private void copiar(SitioInteresEntity entity, SitioInteresDTO dto) {
+        dto.setId(entity.getId());
+        dto.setNombre(entity.getNombre());
+        dto.setDescripcion(entity.getDescripcion());
+        dto.setUbicacion(entity.getUbicacion());
+        dto.setImagenUrl(entity.getFoto());
+        dto.setTiempoCaminata(entity.getTiempoCaminando() == null ? null : entity.getTiempoCaminando().toString());
+    }
+
+    // Acepta "15" o "15 min"; cualquier otro texto se rechaza
+    private static Integer minutos(String tiempo) {
+        if (tiempo == null || tiempo.isBlank()) {
+            return null;
+        }
+        Matcher m = FORMATO_MINUTOS.matcher(tiempo.trim());
+        if (!m.matches()) {
+            throw new IllegalArgumentException("Tiempo caminando inválido: '" + tiempo + "' (se espera '15' o '15 min')");
+        }
+        return Integer.valueOf(m.group(1));
+    }
+}
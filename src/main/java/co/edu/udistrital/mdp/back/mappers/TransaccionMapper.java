@@ -0,0 +1,63 @@
+package co.edu.udistrital.mdp.back.mappers;
+
+import co.edu.udistrital.mdp.back.dto.TransaccionDTO;
+import co.edu.udistrital.mdp.back.dto.TransaccionDetailDTO;
+import co.edu.udistrital.mdp.back.entities.TransaccionEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class TransaccionMapper {
+
+    private final EstanciaMapper estanciaMapper;
+
+    public TransaccionDTO toDTO(TransaccionEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        TransaccionDTO dto = new TransaccionDTO();
+        copiar(entity, dto);
+        return dto;
+    }
+
+    public TransaccionDetailDTO toDetailDTO(TransaccionEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        TransaccionDetailDTO dto = new TransaccionDetailDTO();
+        copiar(entity, dto);
+        return dto;
+    }
+
+    public List<TransaccionDTO> toDTOList(List<TransaccionEntity> entities) {
+        return entities.stream().map(this::toDTO).toList();
+    }
+
+    public TransaccionEntity toEntity(TransaccionDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        TransaccionEntity entity = new TransaccionEntity();
+        entity.setId(dto.getId());
+        entity.setMonto(dto.getMonto());
+        entity.setFechaTransaccion(dto.getFechaTransaccion());
+        entity.setMetodoPago(dto.getMetodoPago());
+        if (dto.getEstado() != null) {
+            entity.setEstado(TransaccionEntity.EstadoTransaccion.desde(dto.getEstado()));
+        }
+        entity.setEstancia(estanciaMapper.toEntity(dto.getEstancia()));
+        return entity;
+    }
+
+    private void copiar(TransaccionEntity entity, TransaccionDTO dto) {
+        dto.setId(entity.getId());
+        dto.setMonto(entity.getMonto());
+        dto.setFechaTransaccion(entity.getFechaTransaccion());
+        dto.setMetodoPago(entity.getMetodoPago());
+        dto.setEstado(entity.getEstado() == null ? null : entity.getEstado().name());
+        dto.setEstancia(estanciaMapper.toDTO(entity.getEstancia()));
+    }
+}
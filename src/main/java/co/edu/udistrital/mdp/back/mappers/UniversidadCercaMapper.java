@@ -0,0 +1,60 @@
+package co.edu.udistrital.mdp.back.mappers;
+
+import co.edu.udistrital.mdp.back.dto.UniversidadCercaDTO;
+import co.edu.udistrital.mdp.back.entities.BaseEntity;
+import co.edu.udistrital.mdp.back.entities.UniversidadCercaEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class UniversidadCercaMapper {
+
+    public UniversidadCercaDTO toDTO(UniversidadCercaEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        return toDTO(entity, entity.getViviendas() == null ? null
+                : entity.getViviendas().stream().map(BaseEntity::getId).toList());
+    }
+
+    /**
+     * Para listas: los ids de viviendas de todas las universidades llegan ya
+     * agrupados de una sola consulta, sin recorrer cada colección
+     */
+    public List<UniversidadCercaDTO> toDTOList(List<UniversidadCercaEntity> entities,
+            Map<Long, List<Long>> viviendaIds) {
+        return entities.stream().map(e -> toDTO(e, viviendaIds.getOrDefault(e.getId(), List.of()))).toList();
+    }
+
+    private UniversidadCercaDTO toDTO(UniversidadCercaEntity entity, List<Long> viviendaIds) {
+        UniversidadCercaDTO dto = new UniversidadCercaDTO();
+        dto.setId(entity.getId());
+        dto.setNombre(entity.getNombre());
+        dto.setCiudad(entity.getCiudad());
+        dto.setLatitud(entity.getLatitud());
+        dto.setLongitud(entity.getLongitud());
+        if (viviendaIds != null) {
+            dto.setViviendaIds(new ArrayList<>(viviendaIds));
+        }
+        return dto;
+    }
+
+    /**
+     * Las viviendas se asocian por sus propios endpoints; 'viviendaIds' se ignora
+     */
+    public UniversidadCercaEntity toEntity(UniversidadCercaDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        UniversidadCercaEntity entity = new UniversidadCercaEntity();
+        entity.setId(dto.getId());
+        entity.setNombre(dto.getNombre());
+        entity.setCiudad(dto.getCiudad());
+        entity.setLatitud(dto.getLatitud());
+        entity.setLongitud(dto.getLongitud());
+        return entity;
+    }
+}
@@ -0,0 +1,62 @@
+package co.edu.udistrital.mdp.back.mappers;
+
+import co.edu.udistrital.mdp.back.dto.UniversidadDTO;
+import co.edu.udistrital.mdp.back.entities.UniversidadEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class UniversidadMapper {
+
+    public UniversidadDTO toDTO(UniversidadEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        UniversidadDTO dto = new UniversidadDTO();
+        dto.setId(entity.getId());
+        dto.setNombre(entity.getNombre());
+        dto.setDireccion(entity.getDireccion());
+        dto.setCiudad(entity.getCiudad());
+        dto.setBarrio(entity.getBarrio());
+        dto.setTelefono(entity.getTelefono());
+        dto.setEmail(entity.getEmail());
+        dto.setRector(entity.getRector());
+        dto.setFechaFundacion(entity.getFechaFundacion());
+        dto.setTipoInstitucion(entity.getTipoInstitucion() == null ? null : entity.getTipoInstitucion().name());
+        dto.setDescripcion(entity.getDescripcion());
+        dto.setUrlLogo(entity.getUrlLogo());
+        dto.setLatitud(entity.getLatitud());
+        dto.setLongitud(entity.getLongitud());
+        return dto;
+    }
+
+    public List<UniversidadDTO> toDTOList(List<UniversidadEntity> entities) {
+        return entities.stream().map(this::toDTO).toList();
+    }
+
+    public UniversidadEntity toEntity(UniversidadDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        UniversidadEntity entity = new UniversidadEntity();
+        entity.setId(dto.getId());
+        entity.setNombre(dto.getNombre());
+        entity.setDireccion(dto.getDireccion());
+        entity.setCiudad(dto.getCiudad());
+        entity.setBarrio(dto.getBarrio());
+        entity.setTelefono(dto.getTelefono());
+        entity.setEmail(dto.getEmail());
+        entity.setRector(dto.getRector());
+        entity.setFechaFundacion(dto.getFechaFundacion());
+        if (dto.getTipoInstitucion() != null) {
+            entity.setTipoInstitucion(
+                    UniversidadEntity.TipoInstitucion.valueOf(dto.getTipoInstitucion().trim().toUpperCase()));
+        }
+        entity.setDescripcion(dto.getDescripcion());
+        entity.setUrlLogo(dto.getUrlLogo());
+        entity.setLatitud(dto.getLatitud());
+        entity.setLongitud(dto.getLongitud());
+        return entity;
+    }
+}
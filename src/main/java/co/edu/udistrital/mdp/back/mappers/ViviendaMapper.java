@@ -0,0 +1,108 @@
+package co.edu.udistrital.mdp.back.mappers;
+
+import co.edu.udistrital.mdp.back.dto.ViviendaDTO;
+import co.edu.udistrital.mdp.back.dto.ViviendaDetailDTO;
+import co.edu.udistrital.mdp.back.entities.PropietarioEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class ViviendaMapper {
+
+    private final PropietarioMapper propietarioMapper;
+    private final ServicioMapper servicioMapper;
+    private final ComentarioMapper comentarioMapper;
+
+    /**
+     * DTO de listado: solo columnas propias y el id del propietario, sin tocar
+     * ninguna colección perezosa
+     */
+    public ViviendaDTO toDTO(ViviendaEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        ViviendaDTO dto = new ViviendaDTO();
+        copiar(entity, dto);
+        return dto;
+    }
+
+    /**
+     * DTO de detalle: incluye propietario, servicios y comentarios. El promedio de
+     * calificación lo completa el controlador desde el resumen de calificaciones.
+     */
+    public ViviendaDetailDTO toDetailDTO(ViviendaEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        ViviendaDetailDTO dto = new ViviendaDetailDTO();
+        copiar(entity, dto);
+        dto.setPropietario(propietarioMapper.toDTO(entity.getPropietario()));
+        dto.setServicios(servicioMapper.toDTOList(entity.getServicios()));
+        dto.setComentarios(comentarioMapper.toDTOList(entity.getComentarios()));
+        return dto;
+    }
+
+    public List<ViviendaDTO> toDTOList(List<ViviendaEntity> entities) {
+        return entities.stream().map(this::toDTO).toList();
+    }
+
+    /**
+     * El propietario queda como referencia con solo el id. Si el DTO no indica
+     * disponibilidad o si acepta mascotas se conserva el valor por defecto de la
+     * entidad.
+     */
+    public ViviendaEntity toEntity(ViviendaDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        ViviendaEntity entity = new ViviendaEntity();
+        entity.setDireccion(dto.getDireccion());
+        entity.setCiudad(dto.getCiudad());
+        entity.setBarrio(dto.getBarrio());
+        entity.setPrecioMensual(dto.getPrecioMensual());
+        entity.setDescripcion(dto.getDescripcion());
+        entity.setNumeroHabitaciones(dto.getNumeroHabitaciones());
+        entity.setNumeroBanos(dto.getNumeroBanos());
+        entity.setAreaMetrosCuadrados(dto.getAreaMetrosCuadrados());
+        entity.setLatitud(dto.getLatitud());
+        entity.setLongitud(dto.getLongitud());
+        if (dto.getDisponible() != null) {
+            entity.setDisponible(dto.getDisponible());
+        }
+        if (dto.getAceptaMascotas() != null) {
+            entity.setAceptaMascotas(dto.getAceptaMascotas());
+        }
+        if (dto.getTipo() != null) {
+            entity.setTipo(ViviendaEntity.TipoVivienda.valueOf(dto.getTipo().trim().toUpperCase()));
+        }
+        if (dto.getPropietarioId() != null) {
+            PropietarioEntity propietario = new PropietarioEntity();
+            propietario.setId(dto.getPropietarioId());
+            entity.setPropietario(propietario);
+        }
+        return entity;
+    }
+
+    private void copiar(ViviendaEntity entity, ViviendaDTO dto) {
+        dto.setDireccion(entity.getDireccion());
+        dto.setCiudad(entity.getCiudad());
+        dto.setBarrio(entity.getBarrio());
+        dto.setPrecioMensual(entity.getPrecioMensual());
+        dto.setDescripcion(entity.getDescripcion());
+        dto.setNumeroHabitaciones(entity.getNumeroHabitaciones());
+        dto.setNumeroBanos(entity.getNumeroBanos());
+        dto.setAreaMetrosCuadrados(entity.getAreaMetrosCuadrados());
+        dto.setDisponible(entity.isDisponible());
+        dto.setAceptaMascotas(entity.isAceptaMascotas());
+        dto.setLatitud(entity.getLatitud());
+        dto.setLongitud(entity.getLongitud());
+        dto.setSitiosCaminables(entity.getSitiosCaminables());
+        dto.setPuntajeCaminabilidad(entity.getPuntajeCaminabilidad());
+        dto.setTipo(entity.getTipo() == null ? null : entity.getTipo().name());
+        dto.setPropietarioId(entity.getPropietario() == null ? null : entity.getPropietario().getId());
+    }
+}
@@ -0,0 +1,8 @@
+/**
+ * Mapeadores escritos a mano entre entidades y DTOs.
+ *
+ * Reemplazan el ModelMapper reflexivo: cada campo se copia explícitamente, las
+ * asociaciones que el DTO solo expone como id se leen con getId() (que no
+ * inicializa el proxy perezoso) y las listas se recorren una sola vez.
+ */
+package co.edu.udistrital.mdp.back.mappers;
@@ -0,0 +1,20 @@
+package co.edu.udistrital.mdp.back.repositories;
+
+import co.edu.udistrital.mdp.back.entities.CalificacionResumenEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.util.Optional;
+
+@Repository
+public interface CalificacionResumenRepository extends JpaRepository<CalificacionResumenEntity, Long> {
+
+    // Lectura del resumen de una vivienda (índice único sobre vivienda_id)
+    Optional<CalificacionResumenEntity> findByViviendaId(Long viviendaId);
+
+    // Borra los resúmenes de viviendas que ya no existen (borradas con sus comentarios en cascada)
+    @Modifying
+    @Query("DELETE FROM CalificacionResumenEntity r WHERE r.viviendaId NOT IN (SELECT v.id FROM ViviendaEntity v)")
+    int eliminarHuerfanos();
+}
@@ -0,0 +1,38 @@
+package co.edu.udistrital.mdp.back.repositories;
+
+import co.edu.udistrital.mdp.back.entities.ClaveIdempotenciaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ClaveIdempotenciaRepository extends JpaRepository<ClaveIdempotenciaEntity, Long> {
+
+    // Clave registrada para una ruta (índice único sobre clave y ruta)
+    Optional<ClaveIdempotenciaEntity> findByClaveAndRuta(String clave, String ruta);
+
+    // Libera una clave cuya solicitud no terminó con éxito, para que el cliente pueda reintentar.
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ClaveIdempotenciaEntity c WHERE c.clave = :clave AND c.ruta = :ruta AND c.estadoHttp IS NULL")
+    int liberar(@Param("clave") String clave, @Param("ruta") String ruta);
+
+    // Renueva una reserva sin respuesta que lleva desde antes de 'limite'; devuelve 0 si otra solicitud
+    // la retomó primero o si ya terminó.
+    @Transactional
+    @Modifying
+    @Query("UPDATE ClaveIdempotenciaEntity c SET c.reservadaEn = :ahora "
+            + "WHERE c.id = :id AND c.estadoHttp IS NULL AND c.reservadaEn < :limite")
+    int retomar(@Param("id") Long id, @Param("ahora") LocalDateTime ahora, @Param("limite") LocalDateTime limite);
+
+    // Elimina las claves vencidas.
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ClaveIdempotenciaEntity c WHERE c.expira < :ahora")
+    int eliminarExpiradas(@Param("ahora") LocalDateTime ahora);
+}
@@ -1,15 +1,28 @@
 package co.edu.udistrital.mdp.back.repositories;
 
 import co.edu.udistrital.mdp.back.entities.ComentarioEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ComentarioRepository extends JpaRepository<ComentarioEntity, Long> {
 
+    // Lee el comentario bloqueando su fila hasta el fin de la transacción: la
+    // calificación leída es la que se retira del resumen, sin que otra edición
+    // o eliminación concurrente la cambie en medio
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ComentarioEntity c WHERE c.id = :id")
+    Optional<ComentarioEntity> findParaActualizar(@Param("id") Long id);
+
     // Busca ComentarioEntitys de una vivienda
     List<ComentarioEntity> findByViviendaId(Long viviendaId);
 
@@ -21,6 +34,28 @@ public interface ComentarioRepository extends JpaRepository<ComentarioEntity, Lo
     // Verifica si un estudiante ya comentó una vivienda
     boolean existsByViviendaIdAndAutorId(Long viviendaId, Long autorId);
 
+    // Primera página de comentarios, del más reciente al más antiguo
+    @Query("SELECT c FROM ComentarioEntity c ORDER BY c.fechaCreacion DESC, c.id DESC")
+    Slice<ComentarioEntity> findPrimeraPagina(Pageable pageable);
+
+    // Página siguiente a la posición (fechaCreacion, id) del cursor
+    @Query("""
+            SELECT c FROM ComentarioEntity c
+            WHERE c.fechaCreacion < :fecha
+               OR (c.fechaCreacion = :fecha AND c.id < :id)
+            ORDER BY c.fechaCreacion DESC, c.id DESC
+            """)
+    Slice<ComentarioEntity> findPaginaDespuesDe(@Param("fecha") LocalDateTime fecha, @Param("id") Long id,
+            Pageable pageable);
+
+    // Conteo de comentarios por (vivienda, calificación): base para reconstruir los resúmenes
+    @Query("SELECT c.vivienda.id, c.calificacion, COUNT(c) FROM ComentarioEntity c GROUP BY c.vivienda.id, c.calificacion")
+    List<Object[]> contarPorViviendaYCalificacion();
+
+    // Filas (id, viviendaId, contenido) de todos los comentarios, para cargar el índice de texto
+    @Query("SELECT c.id, c.vivienda.id, c.contenido FROM ComentarioEntity c")
+    List<Object[]> findContenidosParaIndice();
+
     // Calcula promedio de calificaciones
     @Query("SELECT AVG(c.calificacion) FROM ComentarioEntity c WHERE c.vivienda.id = :viviendaId")
     Double calcularPromedioCalificacion(@Param("viviendaId") Long viviendaId);
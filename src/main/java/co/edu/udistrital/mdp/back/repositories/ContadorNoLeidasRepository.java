@@ -0,0 +1,41 @@
+package co.edu.udistrital.mdp.back.repositories;
+
+import co.edu.udistrital.mdp.back.entities.ContadorNoLeidasEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ContadorNoLeidasRepository extends JpaRepository<ContadorNoLeidasEntity, Long> {
+
+    // Contador de un estudiante (índice único sobre estudiante_id)
+    Optional<ContadorNoLeidasEntity> findByEstudianteId(Long estudianteId);
+
+    // Suma 'delta' en la misma sentencia, sin leer antes la fila. Retorna 0 si el estudiante no tenía contador.
+    @Modifying
+    @Query("UPDATE ContadorNoLeidasEntity c SET c.cantidad = c.cantidad + :delta, c.version = c.version + 1 WHERE c.estudianteId = :estudianteId")
+    int sumar(@Param("estudianteId") Long estudianteId, @Param("delta") long delta);
+
+    // Suma 1 a los contadores de varios estudiantes en una sola sentencia (difusiones).
+    @Modifying
+    @Query("UPDATE ContadorNoLeidasEntity c SET c.cantidad = c.cantidad + 1, c.version = c.version + 1 WHERE c.estudianteId IN :estudianteIds")
+    int incrementar(@Param("estudianteIds") Collection<Long> estudianteIds);
+
+    // De los estudiantes dados, los que ya tienen contador.
+    @Query("SELECT c.estudianteId FROM ContadorNoLeidasEntity c WHERE c.estudianteId IN :estudianteIds")
+    List<Long> findEstudianteIdsConContador(@Param("estudianteIds") Collection<Long> estudianteIds);
+
+    // Filas (estudianteId, cantidad, version) de los contadores de esos estudiantes, para la copia en memoria
+    @Query("SELECT c.estudianteId, c.cantidad, c.version FROM ContadorNoLeidasEntity c WHERE c.estudianteId IN :estudianteIds")
+    List<Object[]> findValores(@Param("estudianteIds") Collection<Long> estudianteIds);
+
+    // Borra los contadores de estudiantes que ya no existen
+    @Modifying
+    @Query("DELETE FROM ContadorNoLeidasEntity c WHERE c.estudianteId NOT IN (SELECT e.id FROM EstudianteEntity e)")
+    int eliminarHuerfanos();
+}
@@ -1,6 +1,10 @@
 package co.edu.udistrital.mdp.back.repositories;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import co.edu.udistrital.mdp.back.entities.ContratoEntity;
 import java.util.Optional;
@@ -24,4 +28,11 @@ public interface ContratoRepository extends JpaRepository<ContratoEntity, Long>
 
     // Verificar si existe contrato asociado a una estancia específica
     boolean existsByEstancia_Id(Long estanciaId);
+
+    // Monto total del contrato de una estancia (índice único sobre estancia_id)
+    @Query("SELECT c.montoTotal FROM ContratoEntity c WHERE c.estancia.id = :estanciaId")
+    Optional<Double> findMontoTotalByEstanciaId(@Param("estanciaId") Long estanciaId);
+
+    // Página de contratos por cursor (id), sin COUNT(*)
+    Slice<ContratoEntity> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
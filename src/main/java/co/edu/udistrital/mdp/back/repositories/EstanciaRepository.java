@@ -1,12 +1,20 @@
 package co.edu.udistrital.mdp.back.repositories;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import co.edu.udistrital.mdp.back.entities.EstanciaEntity;
 import co.edu.udistrital.mdp.back.entities.EstanciaEntity.EstadoEstancia;
 
+import jakarta.persistence.LockModeType;
+
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EstanciaRepository extends JpaRepository<EstanciaEntity, Long> {
@@ -23,8 +31,22 @@ public interface EstanciaRepository extends JpaRepository<EstanciaEntity, Long>
     // Buscar EstanciaEntitys por id de la vivienda
     List<EstanciaEntity> findByViviendaArrendada_IdAndEstado(Long viviendaId, EstadoEstancia estado);
 
+    // Página de estancias por cursor (id), sin COUNT(*)
+    Slice<EstanciaEntity> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
     Boolean existsByEstudianteArrendador_IdAndViviendaArrendada_IdAndEstado(
             Long estudianteId,
             Long viviendaId,
             EstadoEstancia estado);
+
+    // Bloquea la fila de la estancia hasta el fin de la transacción y retorna su id
+    // (vacío si no existe). Serializa los cambios a su saldo de pagos.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e.id FROM EstanciaEntity e WHERE e.id = :id")
+    Optional<Long> bloquear(@Param("id") Long id);
+
+    // Bloquea todas las estancias y retorna sus ids (reconstrucciones completas)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e.id FROM EstanciaEntity e ORDER BY e.id")
+    List<Long> bloquearTodas();
 }
@@ -1,12 +1,15 @@
 package co.edu.udistrital.mdp.back.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import co.edu.udistrital.mdp.back.entities.EstudianteEntity;
+import jakarta.persistence.LockModeType;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,6 +33,53 @@ public interface EstudianteRepository extends JpaRepository<EstudianteEntity, Lo
      */
     List<EstudianteEntity> findByUniversidad(String universidad);
 
+    /**
+     * Ids de los estudiantes de una universidad (sin distinguir mayúsculas), para
+     * difusiones: no se cargan las entidades
+     */
+    @Query("SELECT e.id FROM EstudianteEntity e WHERE LOWER(e.universidad) = LOWER(:universidad) ORDER BY e.id")
+    List<Long> findIdsByUniversidad(@Param("universidad") String universidad);
+
+    /**
+     * Ids de los estudiantes con una estancia activa en una vivienda de la ciudad
+     */
+    @Query("""
+            SELECT DISTINCT e.estudianteArrendador.id FROM EstanciaEntity e
+            WHERE e.estado = co.edu.udistrital.mdp.back.entities.EstanciaEntity$EstadoEstancia.ACTIVA
+              AND LOWER(e.viviendaArrendada.ciudad) = LOWER(:ciudad)
+            ORDER BY e.estudianteArrendador.id
+            """)
+    List<Long> findIdsConEstanciaActivaEnCiudad(@Param("ciudad") String ciudad);
+
+    /**
+     * De los ids dados, los que corresponden a estudiantes existentes
+     */
+    @Query("SELECT e.id FROM EstudianteEntity e WHERE e.id IN :ids ORDER BY e.id")
+    List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Bloquea la fila del estudiante hasta el fin de la transacción y retorna su
+     * id (vacío si no existe). Serializa los cambios a su contador de no leídas.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e.id FROM EstudianteEntity e WHERE e.id = :id")
+    Optional<Long> bloquear(@Param("id") Long id);
+
+    /**
+     * Igual que bloquear, para varios estudiantes; se bloquean en orden de id
+     * para que dos difusiones no se esperen mutuamente
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e.id FROM EstudianteEntity e WHERE e.id IN :ids ORDER BY e.id")
+    List<Long> bloquearVarios(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Bloquea todos los estudiantes y retorna sus ids (reconstrucciones completas)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e.id FROM EstudianteEntity e ORDER BY e.id")
+    List<Long> bloquearTodos();
+
     /**
      * Buscar estudiantes cuyo nombre contenga cierto texto
      */
@@ -39,7 +89,7 @@ public interface EstudianteRepository extends JpaRepository<EstudianteEntity, Lo
      * Cuenta reservas activas asociadas a un estudiante (ejemplo JPQL).
      * Ajusta el nombre de las entidades/columnas a tu modelo real si es necesario.
      */
-    @Query("SELECT COUNT(r) FROM ReservaEntity r WHERE r.estudiante.id = :estudianteId AND LOWER(r.estado) = 'confirmada'") // Usar LOWER() para comparar strings
+    @Query("SELECT COUNT(r) FROM ReservaEntity r WHERE r.estudiante.id = :estudianteId AND r.estado = co.edu.udistrital.mdp.back.entities.ReservaEntity$EstadoReserva.CONFIRMADA")
     long countReservasActivasByEstudianteId(@Param("estudianteId") Long estudianteId); // Asegúrate que el parámetro coincida
 
     /**
@@ -1,8 +1,15 @@
 package co.edu.udistrital.mdp.back.repositories;
 
 import co.edu.udistrital.mdp.back.entities.NotificacionEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,4 +20,87 @@ public interface NotificacionRepository extends JpaRepository<NotificacionEntity
 
     // Encuentra todas las NotificacionEntityes no leídas para un estudiante específico (por id).
     List<NotificacionEntity> findByEstudiante_IdAndLeidaIsFalse(Long estudianteId);
+
+    // Notificaciones de un estudiante posteriores a un id, en orden (reenvío del stream SSE).
+    List<NotificacionEntity> findByEstudiante_IdAndIdGreaterThanOrderByIdAsc(Long estudianteId, Long id,
+            Pageable pageable);
+
+    // Filas (estudianteId, no leídas) para reconstruir los contadores de no leídas.
+    @Query("SELECT n.estudiante.id, COUNT(n) FROM NotificacionEntity n WHERE n.leida = false GROUP BY n.estudiante.id")
+    List<Object[]> contarNoLeidasPorEstudiante();
+
+    // Marca la notificación como leída solo si aún no lo estaba, en la misma sentencia.
+    // Retorna 0 si ya estaba leída: de dos llamadas concurrentes solo una la cambia.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE NotificacionEntity n SET n.leida = true WHERE n.id = :id AND n.leida = false")
+    int marcarLeida(@Param("id") Long id);
+
+    // Operaciones masivas sobre la bandeja de un estudiante: cada una es una sola sentencia.
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE NotificacionEntity n SET n.leida = true
+            WHERE n.estudiante.id = :estudianteId AND n.leida = false AND n.id IN :ids
+            """)
+    int marcarLeidas(@Param("estudianteId") Long estudianteId, @Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE NotificacionEntity n SET n.leida = true
+            WHERE n.estudiante.id = :estudianteId AND n.leida = false AND n.fechaEnvio <= :hasta
+            """)
+    int marcarLeidasHasta(@Param("estudianteId") Long estudianteId, @Param("hasta") LocalDateTime hasta);
+
+    // Borrado en dos sentencias: primero las no leídas (su cuenta es lo que baja el
+    // contador) y luego las demás. Una notificación marcada como leída entre ambas
+    // la borra la segunda, y ese descuento ya lo hizo quien la marcó.
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM NotificacionEntity n WHERE n.estudiante.id = :estudianteId AND n.leida = false AND n.id IN :ids")
+    int eliminarNoLeidas(@Param("estudianteId") Long estudianteId, @Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            DELETE FROM NotificacionEntity n
+            WHERE n.estudiante.id = :estudianteId AND n.leida = false AND n.fechaEnvio <= :hasta
+            """)
+    int eliminarNoLeidasHasta(@Param("estudianteId") Long estudianteId, @Param("hasta") LocalDateTime hasta);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM NotificacionEntity n WHERE n.estudiante.id = :estudianteId AND n.id IN :ids")
+    int eliminar(@Param("estudianteId") Long estudianteId, @Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM NotificacionEntity n WHERE n.estudiante.id = :estudianteId AND n.fechaEnvio <= :hasta")
+    int eliminarHasta(@Param("estudianteId") Long estudianteId, @Param("hasta") LocalDateTime hasta);
+
+    // Límites y borrado por rangos de ids de las notificaciones leídas antes de la fecha (purga de retención).
+
+    @Query("SELECT MIN(n.id) FROM NotificacionEntity n WHERE n.leida = true AND n.fechaEnvio < :corte")
+    Long findMinIdLeidasAntesDe(@Param("corte") LocalDateTime corte);
+
+    @Query("SELECT MAX(n.id) FROM NotificacionEntity n WHERE n.leida = true AND n.fechaEnvio < :corte")
+    Long findMaxIdLeidasAntesDe(@Param("corte") LocalDateTime corte);
+
+    @Modifying
+    @Query("""
+            DELETE FROM NotificacionEntity n
+            WHERE n.leida = true AND n.fechaEnvio < :corte AND n.id BETWEEN :desde AND :hasta
+            """)
+    int eliminarLeidasAntesDe(@Param("corte") LocalDateTime corte, @Param("desde") Long desde,
+            @Param("hasta") Long hasta);
+
+    // Primera página de notificaciones, de la más reciente a la más antigua.
+    @Query("SELECT n FROM NotificacionEntity n ORDER BY n.fechaEnvio DESC, n.id DESC")
+    Slice<NotificacionEntity> findPrimeraPagina(Pageable pageable);
+
+    // Página siguiente a la posición (fechaEnvio, id) del cursor.
+    @Query("""
+            SELECT n FROM NotificacionEntity n
+            WHERE n.fechaEnvio < :fecha
+               OR (n.fechaEnvio = :fecha AND n.id < :id)
+            ORDER BY n.fechaEnvio DESC, n.id DESC
+            """)
+    Slice<NotificacionEntity> findPaginaDespuesDe(@Param("fecha") LocalDateTime fecha, @Param("id") Long id,
+            Pageable pageable);
 }   
\ No newline at end of file
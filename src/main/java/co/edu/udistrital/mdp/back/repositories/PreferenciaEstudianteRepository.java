@@ -2,7 +2,9 @@ package co.edu.udistrital.mdp.back.repositories;
 
 import co.edu.udistrital.mdp.back.entities.PreferenciaEstudianteEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -10,4 +12,9 @@ public interface PreferenciaEstudianteRepository extends JpaRepository<Preferenc
     
     // Encuentra las preferencias de un estudiante por el ID del estudiante.
     Optional<PreferenciaEstudianteEntity> findByEstudianteId(Long estudianteId);
+
+    // Filas (id, estudianteId, tipoVivienda, zonaPreferida, precioMaximo, aceptaMascotas)
+    // de todas las preferencias, para cargar el índice de alertas
+    @Query("SELECT p.id, p.estudiante.id, p.tipoVivienda, p.zonaPreferida, p.precioMaximo, p.aceptaMascotas FROM PreferenciaEstudianteEntity p")
+    List<Object[]> findFilasParaIndice();
 }
\ No newline at end of file
@@ -1,21 +1,49 @@
 package co.edu.udistrital.mdp.back.repositories;
 
+import co.edu.udistrital.mdp.back.dto.FilaReservaDTO;
 import co.edu.udistrital.mdp.back.entities.ReservaEntity;
+import co.edu.udistrital.mdp.back.entities.ReservaEntity.EstadoReserva;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface ReservaRepository extends JpaRepository<ReservaEntity, Long> {
 
     /**
-     * Buscar reservas por estado exacto (ej: Pendiente, Confirmada, Cancelada)
+     * Buscar reservas por estado (búsqueda por índice)
+     */
+    List<ReservaEntity> findByEstado(EstadoReserva estado);
+
+    /**
+     * Primera página de reservas ordenadas por fecha de inicio (más reciente primero)
      */
-    List<ReservaEntity> findByEstadoIgnoreCase(String estado);
+    @Query("SELECT r FROM ReservaEntity r ORDER BY r.fechaInicio DESC, r.id DESC")
+    Slice<ReservaEntity> findPrimeraPagina(Pageable pageable);
+
+    /**
+     * Página siguiente a la posición (fechaInicio, id) del cursor
+     */
+    @Query("""
+            SELECT r FROM ReservaEntity r
+            WHERE r.fechaInicio < :fecha
+               OR (r.fechaInicio = :fecha AND r.id < :id)
+            ORDER BY r.fechaInicio DESC, r.id DESC
+            """)
+    Slice<ReservaEntity> findPaginaDespuesDe(LocalDate fecha, Long id, Pageable pageable);
 
     /**
      * Buscar reservas asociadas a un estudiante por su ID
@@ -34,7 +62,7 @@ public interface ReservaRepository extends JpaRepository<ReservaEntity, Long> {
             SELECT r FROM ReservaEntity r
             WHERE r.fechaInicio <= :fechaFin
               AND r.fechaFin >= :fechaInicio
-              AND LOWER(r.estado) = 'confirmada'
+              AND r.estado = co.edu.udistrital.mdp.back.entities.ReservaEntity$EstadoReserva.CONFIRMADA
             """)
     List<ReservaEntity> findReservasActivasEnRango(LocalDate fechaInicio, LocalDate fechaFin);
 
@@ -44,15 +72,16 @@ public interface ReservaRepository extends JpaRepository<ReservaEntity, Long> {
     @Query("""
             SELECT r FROM ReservaEntity r
             WHERE CURRENT_DATE BETWEEN r.fechaInicio AND r.fechaFin
-              AND LOWER(r.estado) = 'confirmada'
+              AND r.estado = co.edu.udistrital.mdp.back.entities.ReservaEntity$EstadoReserva.CONFIRMADA
             """)
     List<ReservaEntity> findReservasActivasHoy();
 
     /**
      * Buscar reservas pendientes (estado = Pendiente)
      */
-    @Query("SELECT r FROM ReservaEntity r WHERE LOWER(r.estado) = 'pendiente'")
-    List<ReservaEntity> findReservasPendientes();
+    default List<ReservaEntity> findReservasPendientes() {
+        return findByEstado(EstadoReserva.PENDIENTE);
+    }
 
     /**
      * Verificar si ya existe una reserva activa (confirmada o pendiente)
@@ -65,10 +94,56 @@ public interface ReservaRepository extends JpaRepository<ReservaEntity, Long> {
               AND r.vivienda.id = :viviendaId
               AND r.fechaInicio <= :fechaFin
               AND r.fechaFin >= :fechaInicio
-              AND LOWER(r.estado) IN ('pendiente', 'confirmada')
+              AND r.estado IN (co.edu.udistrital.mdp.back.entities.ReservaEntity$EstadoReserva.PENDIENTE,
+                               co.edu.udistrital.mdp.back.entities.ReservaEntity$EstadoReserva.CONFIRMADA)
             """)
     boolean existeReservaActiva(Long estudianteId, Long viviendaId, LocalDate fechaInicio, LocalDate fechaFin);
 
+    /**
+     * Como existeReservaActiva, sin contar la reserva con el id dado (la que se
+     * está modificando)
+     */
+    @Query("""
+            SELECT CASE WHEN COUNT(r) > 0 THEN true ELSE false END
+            FROM ReservaEntity r
+            WHERE r.id <> :reservaId
+              AND r.estudiante.id = :estudianteId
+              AND r.vivienda.id = :viviendaId
+              AND r.fechaInicio <= :fechaFin
+              AND r.fechaFin >= :fechaInicio
+              AND r.estado IN (co.edu.udistrital.mdp.back.entities.ReservaEntity$EstadoReserva.PENDIENTE,
+                               co.edu.udistrital.mdp.back.entities.ReservaEntity$EstadoReserva.CONFIRMADA)
+            """)
+    boolean existeOtraReservaActiva(Long reservaId, Long estudianteId, Long viviendaId, LocalDate fechaInicio,
+            LocalDate fechaFin);
+
+    /**
+     * Verificar si la vivienda tiene alguna reserva activa (de cualquier
+     * estudiante) que se cruce con el rango de fechas
+     */
+    @Query("""
+            SELECT CASE WHEN COUNT(r) > 0 THEN true ELSE false END
+            FROM ReservaEntity r
+            WHERE r.vivienda.id = :viviendaId
+              AND r.fechaInicio <= :fechaFin
+              AND r.fechaFin >= :fechaInicio
+              AND r.estado IN (co.edu.udistrital.mdp.back.entities.ReservaEntity$EstadoReserva.PENDIENTE,
+                               co.edu.udistrital.mdp.back.entities.ReservaEntity$EstadoReserva.CONFIRMADA)
+            """)
+    boolean existeReservaActivaEnVivienda(Long viviendaId, LocalDate fechaInicio, LocalDate fechaFin);
+
+    /**
+     * Reservas activas como filas [id, viviendaId, estudianteId, fechaInicio,
+     * fechaFin], para cargar el índice en memoria sin hidratar entidades
+     */
+    @Query("""
+            SELECT r.id, r.vivienda.id, r.estudiante.id, r.fechaInicio, r.fechaFin
+            FROM ReservaEntity r
+            WHERE r.estado IN (co.edu.udistrital.mdp.back.entities.ReservaEntity$EstadoReserva.PENDIENTE,
+                               co.edu.udistrital.mdp.back.entities.ReservaEntity$EstadoReserva.CONFIRMADA)
+            """)
+    List<Object[]> findIntervalosActivos();
+
     /**
      * Buscar la última reserva (más reciente) de un estudiante
      */
@@ -85,8 +160,49 @@ public interface ReservaRepository extends JpaRepository<ReservaEntity, Long> {
     Optional<ReservaEntity> findByEstudiante_IdAndVivienda_Id(Long estudianteId, Long viviendaId);
 
     /**
-     * Eliminar todas las reservas canceladas antes de una fecha dada
+     * Eliminar todas las reservas canceladas antes de una fecha dada. Retorna
+     * cuántas se eliminaron. Para purgas grandes, ver la versión por rango de ids.
+     */
+    @Modifying
+    @Query("DELETE FROM ReservaEntity r WHERE r.estado = co.edu.udistrital.mdp.back.entities.ReservaEntity$EstadoReserva.CANCELADA AND r.fechaFin < :fechaCorte")
+    int eliminarReservasCanceladasAntiguas(@Param("fechaCorte") LocalDate fechaCorte);
+
+    /**
+     * Menor y mayor id de las reservas canceladas antes de la fecha (límites de
+     * la purga por rangos)
      */
-    @Query("DELETE FROM ReservaEntity r WHERE LOWER(r.estado) = 'cancelada' AND r.fechaFin < :fechaCorte")
-    void eliminarReservasCanceladasAntiguas(LocalDate fechaCorte);
+    @Query("SELECT MIN(r.id) FROM ReservaEntity r WHERE r.estado = co.edu.udistrital.mdp.back.entities.ReservaEntity$EstadoReserva.CANCELADA AND r.fechaFin < :fechaCorte")
+    Long findMinIdCanceladasAntesDe(@Param("fechaCorte") LocalDate fechaCorte);
+
+    @Query("SELECT MAX(r.id) FROM ReservaEntity r WHERE r.estado = co.edu.udistrital.mdp.back.entities.ReservaEntity$EstadoReserva.CANCELADA AND r.fechaFin < :fechaCorte")
+    Long findMaxIdCanceladasAntesDe(@Param("fechaCorte") LocalDate fechaCorte);
+
+    /**
+     * Eliminar las reservas canceladas antes de la fecha con id en [desde, hasta]
+     */
+    @Modifying
+    @Query("""
+            DELETE FROM ReservaEntity r
+            WHERE r.estado = co.edu.udistrital.mdp.back.entities.ReservaEntity$EstadoReserva.CANCELADA
+              AND r.fechaFin < :fechaCorte
+              AND r.id BETWEEN :desde AND :hasta
+            """)
+    int eliminarCanceladasAntesDe(@Param("fechaCorte") LocalDate fechaCorte, @Param("desde") Long desde,
+            @Param("hasta") Long hasta);
+
+    /**
+     * Reservas a exportar cuya fecha de inicio está en el rango (límites
+     * opcionales e inclusivos), en orden de id y sin cargar entidades
+     */
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("""
+            SELECT new co.edu.udistrital.mdp.back.dto.FilaReservaDTO(r.id, r.fechaInicio, r.fechaFin, r.estado,
+                   r.estudiante.id, r.vivienda.id)
+            FROM ReservaEntity r
+            WHERE (:desde IS NULL OR r.fechaInicio >= :desde)
+              AND (:hasta IS NULL OR r.fechaInicio <= :hasta)
+            ORDER BY r.id
+            """)
+    Stream<FilaReservaDTO> exportar(@Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
 }
@@ -0,0 +1,43 @@
+package co.edu.udistrital.mdp.back.repositories;
+
+import co.edu.udistrital.mdp.back.entities.SaldoEstanciaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface SaldoEstanciaRepository extends JpaRepository<SaldoEstanciaEntity, Long> {
+
+    // Saldo de una estancia (índice único sobre estancia_id)
+    Optional<SaldoEstanciaEntity> findByEstanciaId(Long estanciaId);
+
+    // Suma los deltas en la misma sentencia, sin leer antes la fila. Retorna 0 si la estancia no tenía saldo.
+    @Modifying
+    @Query("""
+            UPDATE SaldoEstanciaEntity s
+            SET s.totalCompletado = s.totalCompletado + :completado,
+                s.totalPendiente = s.totalPendiente + :pendiente,
+                s.totalReembolsado = s.totalReembolsado + :reembolsado
+            WHERE s.estanciaId = :estanciaId
+            """)
+    int sumar(@Param("estanciaId") Long estanciaId, @Param("completado") BigDecimal completado,
+            @Param("pendiente") BigDecimal pendiente, @Param("reembolsado") BigDecimal reembolsado);
+
+    // Registra la fecha de un pago completado si es posterior a la última registrada.
+    @Modifying
+    @Query("""
+            UPDATE SaldoEstanciaEntity s SET s.ultimoPago = :fecha
+            WHERE s.estanciaId = :estanciaId AND (s.ultimoPago IS NULL OR s.ultimoPago < :fecha)
+            """)
+    int registrarPago(@Param("estanciaId") Long estanciaId, @Param("fecha") LocalDateTime fecha);
+
+    // Borra los saldos de estancias que ya no existen
+    @Modifying
+    @Query("DELETE FROM SaldoEstanciaEntity s WHERE s.estanciaId NOT IN (SELECT e.id FROM EstanciaEntity e)")
+    int eliminarHuerfanos();
+}
@@ -3,6 +3,9 @@ package co.edu.udistrital.mdp.back.repositories;
 import co.edu.udistrital.mdp.back.entities.ServicioEntity;
 import co.edu.udistrital.mdp.back.entities.ServicioEntity.CategoriaServicio;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -10,10 +13,17 @@ import java.util.Optional;
 @Repository
 public interface ServicioRepository extends JpaRepository<ServicioEntity, Long> {
 
+    // Todos los servicios, desde la caché de consultas
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Override
+    List<ServicioEntity> findAll();
+
     // Busca un ServicioEntity por nombre
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<ServicioEntity> findByNombre(String nombre);
 
     // Busca ServicioEntitys por categoría
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<ServicioEntity> findByCategoria(CategoriaServicio categoria);
 
     // Verifica si existe un ServicioEntity con ese nombre
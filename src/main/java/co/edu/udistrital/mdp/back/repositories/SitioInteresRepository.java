@@ -3,6 +3,9 @@ package co.edu.udistrital.mdp.back.repositories;
 import org.springframework.data.jpa.repository.Query;
 import co.edu.udistrital.mdp.back.entities.SitioInteresEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,6 +14,13 @@ import java.util.Optional;
 @Repository
 public interface SitioInteresRepository extends JpaRepository<SitioInteresEntity, Long> {
 
+    /**
+     * Todos los sitios de interés, desde la caché de consultas
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Override
+    List<SitioInteresEntity> findAll();
+
     /**
      * Verifica si existe un sitio con el mismo nombre (ignorando
      * mayúsculas/minúsculas)
@@ -20,6 +30,7 @@ public interface SitioInteresRepository extends JpaRepository<SitioInteresEntity
     /**
      * Buscar sitio de interés por nombre exacto
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<SitioInteresEntity> findByNombre(String nombre);
 
     /**
@@ -30,6 +41,7 @@ public interface SitioInteresRepository extends JpaRepository<SitioInteresEntity
     /**
      * Buscar sitios por ubicación exacta
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<SitioInteresEntity> findByUbicacion(String ubicacion);
 
     /**
@@ -1,9 +1,23 @@
 package co.edu.udistrital.mdp.back.repositories;
 
+import co.edu.udistrital.mdp.back.dto.FilaTransaccionDTO;
+import co.edu.udistrital.mdp.back.dto.IngresoMensualDTO;
 import co.edu.udistrital.mdp.back.entities.TransaccionEntity;
+import co.edu.udistrital.mdp.back.entities.TransaccionEntity.EstadoTransaccion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface TransaccionRepository extends JpaRepository<TransaccionEntity, Long> {
@@ -11,6 +25,64 @@ public interface TransaccionRepository extends JpaRepository<TransaccionEntity,
     // Recupera todas las transacciones asociadas a una estancia.
     List<TransaccionEntity> findByEstanciaId(Long estanciaId);
 
-    // Busca transacciones por su estado (ej: "Completada", "Pendiente").
-    List<TransaccionEntity> findByEstado(String estado);
-}
\ No newline at end of file
+    // Filas (estanciaId, estado, suma de montos, fecha más reciente) para reconstruir los saldos.
+    @Query("SELECT t.estancia.id, t.estado, SUM(t.monto), MAX(t.fechaTransaccion) FROM TransaccionEntity t GROUP BY t.estancia.id, t.estado")
+    List<Object[]> totalesPorEstanciaYEstado();
+
+    // Cambia el estado solo si la transacción sigue en 'anterior'. Retorna 0 si
+    // otra petición la cambió primero.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TransaccionEntity t SET t.estado = :nuevo WHERE t.id = :id AND t.estado = :anterior")
+    int cambiarEstado(@Param("id") Long id, @Param("anterior") EstadoTransaccion anterior,
+            @Param("nuevo") EstadoTransaccion nuevo);
+
+    // Busca transacciones por su estado (búsqueda por índice).
+    List<TransaccionEntity> findByEstado(EstadoTransaccion estado);
+
+    // Primera página de transacciones, de la más reciente a la más antigua.
+    @Query("SELECT t FROM TransaccionEntity t ORDER BY t.fechaTransaccion DESC, t.id DESC")
+    Slice<TransaccionEntity> findPrimeraPagina(Pageable pageable);
+
+    // Página siguiente a la posición (fechaTransaccion, id) del cursor.
+    @Query("""
+            SELECT t FROM TransaccionEntity t
+            WHERE t.fechaTransaccion < :fecha
+               OR (t.fechaTransaccion = :fecha AND t.id < :id)
+            ORDER BY t.fechaTransaccion DESC, t.id DESC
+            """)
+    Slice<TransaccionEntity> findPaginaDespuesDe(@Param("fecha") LocalDateTime fecha, @Param("id") Long id,
+            Pageable pageable);
+
+    // Ingresos agrupados por propietario, ciudad y mes, calculados por la base de
+    // datos y leídos fila a fila; nunca carga entidades.
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("""
+            SELECT new co.edu.udistrital.mdp.back.dto.IngresoMensualDTO(p.id, CONCAT(p.nombre, ' ', p.apellido),
+                   v.ciudad, YEAR(t.fechaTransaccion), MONTH(t.fechaTransaccion), SUM(t.monto), COUNT(t))
+            FROM TransaccionEntity t JOIN t.estancia e JOIN e.viviendaArrendada v JOIN v.propietario p
+            WHERE t.estado = :estado
+              AND t.fechaTransaccion >= :desde AND t.fechaTransaccion < :hasta
+              AND (:propietarioId IS NULL OR p.id = :propietarioId)
+              AND (:ciudad IS NULL OR v.ciudad = :ciudad)
+            GROUP BY p.id, p.nombre, p.apellido, v.ciudad, YEAR(t.fechaTransaccion), MONTH(t.fechaTransaccion)
+            ORDER BY p.id, v.ciudad, YEAR(t.fechaTransaccion), MONTH(t.fechaTransaccion)
+            """)
+    Stream<IngresoMensualDTO> ingresosMensuales(@Param("estado") EstadoTransaccion estado,
+            @Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta,
+            @Param("propietarioId") Long propietarioId, @Param("ciudad") String ciudad);
+
+    // Transacciones a exportar, en orden de id y sin cargar entidades; los
+    // límites de fecha son opcionales ('hasta' es exclusivo).
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("""
+            SELECT new co.edu.udistrital.mdp.back.dto.FilaTransaccionDTO(t.id, t.fechaTransaccion, t.monto,
+                   t.metodoPago, t.estado, t.estancia.id)
+            FROM TransaccionEntity t
+            WHERE (:desde IS NULL OR t.fechaTransaccion >= :desde)
+              AND (:hasta IS NULL OR t.fechaTransaccion < :hasta)
+            ORDER BY t.id
+            """)
+    Stream<FilaTransaccionDTO> exportar(@Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta);
+}
@@ -1,6 +1,10 @@
 package co.edu.udistrital.mdp.back.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import co.edu.udistrital.mdp.back.entities.UniversidadCercaEntity;
@@ -11,7 +15,13 @@ import java.util.Optional;
 @Repository
 public interface UniversidadCercaRepository extends JpaRepository<UniversidadCercaEntity, Long> {
 
+    // Todas las universidades cercanas, desde la caché de consultas
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Override
+    List<UniversidadCercaEntity> findAll();
+
     // Buscar universidades por ciudad
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<UniversidadCercaEntity> findByCiudad(String ciudad);
 
     // Buscar universidades cuyo nombre contenga texto
@@ -21,5 +31,14 @@ public interface UniversidadCercaRepository extends JpaRepository<UniversidadCer
     boolean existsByNombreIgnoreCase(String nombre);
     
     // Encontrar por nombre exacto ignorando mayúsculas/minúsculas
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<UniversidadCercaEntity> findByNombreIgnoreCase(String nombre);
+
+    // Filas (id, nombre) de todas las universidades cercanas, para cargar el índice de autocompletado
+    @Query("SELECT u.id, u.nombre FROM UniversidadCercaEntity u")
+    List<Object[]> findNombresParaIndice();
+
+    // Filas (universidadId, viviendaId) de todas las viviendas asociadas, para listar sin recorrer cada colección
+    @Query("SELECT v.universidadCerca.id, v.id FROM ViviendaEntity v WHERE v.universidadCerca IS NOT NULL ORDER BY v.id")
+    List<Object[]> findViviendaIdsPorUniversidad();
 }
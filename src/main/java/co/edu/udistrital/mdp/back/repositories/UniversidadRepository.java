@@ -0,0 +1,17 @@
+package co.edu.udistrital.mdp.back.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import co.edu.udistrital.mdp.back.entities.UniversidadEntity;
+
+import java.util.List;
+
+@Repository
+public interface UniversidadRepository extends JpaRepository<UniversidadEntity, Long> {
+
+    // Filas (id, nombre) de todas las universidades, para cargar el índice de autocompletado
+    @Query("SELECT u.id, u.nombre FROM UniversidadEntity u")
+    List<Object[]> findNombresParaIndice();
+}
@@ -1,15 +1,44 @@
 package co.edu.udistrital.mdp.back.repositories;
 
 import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ViviendaRepository extends JpaRepository<ViviendaEntity, Long> {
+public interface ViviendaRepository extends JpaRepository<ViviendaEntity, Long>, ViviendaRepositoryCustom {
+
+    // Vivienda con propietario, universidad cercana y servicios (grafo de detalle)
+    @EntityGraph(ViviendaEntity.GRAFO_DETALLE)
+    @Query("SELECT v FROM ViviendaEntity v WHERE v.id = :id")
+    Optional<ViviendaEntity> findDetalleById(@Param("id") Long id);
+
+    // Inicializa los comentarios (con su autor) de una vivienda ya cargada en el
+    // contexto de persistencia
+    @EntityGraph(ViviendaEntity.GRAFO_COMENTARIOS)
+    @Query("SELECT v FROM ViviendaEntity v WHERE v.id = :id")
+    Optional<ViviendaEntity> findConComentariosById(@Param("id") Long id);
+
+    // Bloquea la fila de la vivienda hasta el fin de la transacción y retorna su id
+    // (vacío si no existe). Serializa las escrituras que dependen de la vivienda.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v.id FROM ViviendaEntity v WHERE v.id = :id")
+    Optional<Long> bloquear(@Param("id") Long id);
+
+    // Bloquea todas las viviendas y retorna sus ids (reconstrucciones completas)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v.id FROM ViviendaEntity v ORDER BY v.id")
+    List<Long> bloquearTodas();
 
     // Busca ViviendaEntitys por propietario
     List<ViviendaEntity> findByPropietarioId(Long propietarioId);
@@ -17,6 +46,9 @@ public interface ViviendaRepository extends JpaRepository<ViviendaEntity, Long>
     // Busca ViviendaEntitys disponibles por ciudad
     List<ViviendaEntity> findByCiudadAndDisponible(String ciudad, Boolean disponible);
 
+    // Página de viviendas por cursor (id), sin COUNT(*)
+    Slice<ViviendaEntity> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
     // Busca ViviendaEntitys en rango de precio
     List<ViviendaEntity> findByPrecioMensualBetween(BigDecimal precioMin, BigDecimal precioMax);
 
@@ -29,4 +61,44 @@ public interface ViviendaRepository extends JpaRepository<ViviendaEntity, Long>
     @Query("SELECT COUNT(e) FROM EstanciaEntity e WHERE e.viviendaArrendada.universidadCerca.id = :uniId")
     long countEstanciasByUniversidadCercaId(@Param("uniId") Long uniId);
 
+    // Filas (id, tipo, precioMensual, ciudad, barrio, aceptaMascotas, direccion) de
+    // las viviendas disponibles, para cargar el índice de candidatas
+    @Query("SELECT v.id, v.tipo, v.precioMensual, v.ciudad, v.barrio, v.aceptaMascotas, v.direccion FROM ViviendaEntity v WHERE v.disponible = true")
+    List<Object[]> findCandidatasDisponibles();
+
+    // Filas (id, latitud, longitud, direccion, ciudad, barrio, tipo, precioMensual) de
+    // las viviendas disponibles con ubicación, para cargar el índice geográfico
+    @Query("SELECT v.id, v.latitud, v.longitud, v.direccion, v.ciudad, v.barrio, v.tipo, v.precioMensual FROM ViviendaEntity v WHERE v.disponible = true AND v.latitud IS NOT NULL AND v.longitud IS NOT NULL")
+    List<Object[]> findUbicacionesDisponibles();
+
+    // Las mismas filas dentro de un rectángulo de latitud y longitud
+    @Query("SELECT v.id, v.latitud, v.longitud, v.direccion, v.ciudad, v.barrio, v.tipo, v.precioMensual FROM ViviendaEntity v WHERE v.disponible = true AND v.latitud BETWEEN :latMin AND :latMax AND v.longitud BETWEEN :lonMin AND :lonMax")
+    List<Object[]> findUbicacionesDisponiblesEnRectangulo(@Param("latMin") double latMin, @Param("latMax") double latMax,
+            @Param("lonMin") double lonMin, @Param("lonMax") double lonMax);
+
+    // Filas (id, descripcion) de las viviendas con descripción, para cargar el índice de texto
+    @Query("SELECT v.id, v.descripcion FROM ViviendaEntity v WHERE v.descripcion IS NOT NULL")
+    List<Object[]> findDescripcionesParaIndice();
+
+    // Filas (id, ciudad, barrio) de todas las viviendas, para cargar el índice de autocompletado
+    @Query("SELECT v.id, v.ciudad, v.barrio FROM ViviendaEntity v")
+    List<Object[]> findCiudadesYBarriosParaIndice();
+
+    // Suma a la caminabilidad de una vivienda en la misma sentencia, sin leer antes la fila
+    @Modifying
+    @Query("UPDATE ViviendaEntity v SET v.sitiosCaminables = v.sitiosCaminables + :sitios, v.puntajeCaminabilidad = v.puntajeCaminabilidad + :puntos WHERE v.id = :viviendaId")
+    int sumarCaminabilidad(@Param("viviendaId") Long viviendaId, @Param("sitios") int sitios, @Param("puntos") int puntos);
+
+    // Suma a la caminabilidad de todas las viviendas asociadas a un sitio, en una sola sentencia
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ViviendaEntity v SET v.sitiosCaminables = v.sitiosCaminables + :sitios, v.puntajeCaminabilidad = v.puntajeCaminabilidad + :puntos WHERE v.id IN (SELECT sv.id FROM SitioInteresEntity s JOIN s.viviendas sv WHERE s.id = :sitioId)")
+    int sumarCaminabilidadPorSitio(@Param("sitioId") Long sitioId, @Param("sitios") int sitios, @Param("puntos") int puntos);
+
+    // Recalcula la caminabilidad de todas las viviendas desde sitio_vivienda
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ViviendaEntity v SET "
+            + "v.sitiosCaminables = (SELECT COUNT(s) FROM SitioInteresEntity s JOIN s.viviendas sv WHERE sv.id = v.id AND s.tiempoCaminando <= :minutos), "
+            + "v.puntajeCaminabilidad = (SELECT COALESCE(SUM(:minutos + 1 - s.tiempoCaminando), 0) FROM SitioInteresEntity s JOIN s.viviendas sv WHERE sv.id = v.id AND s.tiempoCaminando <= :minutos)")
+    int recalcularCaminabilidad(@Param("minutos") int minutos);
+
 }
@@ -0,0 +1,15 @@
+package co.edu.udistrital.mdp.back.repositories;
+
+import co.edu.udistrital.mdp.back.dto.BusquedaViviendaDTO;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Consultas de vivienda que se construyen dinámicamente con Criteria API
+ */
+public interface ViviendaRepositoryCustom {
+
+    // Búsqueda multi-criterio: una sola consulta con los filtros presentes
+    Slice<ViviendaEntity> buscar(BusquedaViviendaDTO criterios, Pageable pageable);
+}
@@ -0,0 +1,149 @@
+package co.edu.udistrital.mdp.back.repositories;
+
+import co.edu.udistrital.mdp.back.dto.BusquedaViviendaDTO;
+import co.edu.udistrital.mdp.back.dto.BusquedaViviendaDTO.OrdenVivienda;
+import co.edu.udistrital.mdp.back.entities.CalificacionResumenEntity;
+import co.edu.udistrital.mdp.back.entities.ServicioEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implementación de la búsqueda multi-criterio de viviendas.
+ *
+ * Los filtros se traducen a predicados sobre columnas cubiertas por los índices
+ * compuestos de ViviendaEntity (ciudad/disponible/precio, ciudad/barrio,
+ * tipo/precio). Se pide un elemento más del tamaño de página para saber si hay
+ * página siguiente sin ejecutar un COUNT(*).
+ */
+public class ViviendaRepositoryCustomImpl implements ViviendaRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<ViviendaEntity> buscar(BusquedaViviendaDTO criterios, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ViviendaEntity> query = cb.createQuery(ViviendaEntity.class);
+        Root<ViviendaEntity> vivienda = query.from(ViviendaEntity.class);
+
+        query.select(vivienda)
+                .where(predicados(criterios, cb, query, vivienda).toArray(new Predicate[0]))
+                .orderBy(orden(criterios.getOrden(), cb, query, vivienda));
+
+        int tamano = pageable.getPageSize();
+        List<ViviendaEntity> resultado = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(tamano + 1)
+                .getResultList();
+
+        boolean haySiguiente = resultado.size() > tamano;
+        if (haySiguiente) {
+            resultado = resultado.subList(0, tamano);
+        }
+        return new SliceImpl<>(resultado, pageable, haySiguiente);
+    }
+
+    private List<Predicate> predicados(BusquedaViviendaDTO c, CriteriaBuilder cb, CriteriaQuery<?> query,
+            Root<ViviendaEntity> v) {
+        List<Predicate> predicados = new ArrayList<>();
+
+        if (c.getCiudad() != null && !c.getCiudad().isBlank()) {
+            predicados.add(cb.equal(v.get("ciudad"), c.getCiudad().trim()));
+        }
+        if (c.getBarrio() != null && !c.getBarrio().isBlank()) {
+            predicados.add(cb.equal(v.get("barrio"), c.getBarrio().trim()));
+        }
+        if (c.getDisponible() != null) {
+            predicados.add(cb.equal(v.get("disponible"), c.getDisponible()));
+        }
+        if (c.getTipo() != null && !c.getTipo().isBlank()) {
+            predicados.add(cb.equal(v.get("tipo"), ViviendaEntity.TipoVivienda.valueOf(c.getTipo().trim().toUpperCase())));
+        }
+        if (c.getPrecioMin() != null) {
+            predicados.add(cb.greaterThanOrEqualTo(v.get("precioMensual"), c.getPrecioMin()));
+        }
+        if (c.getPrecioMax() != null) {
+            predicados.add(cb.lessThanOrEqualTo(v.get("precioMensual"), c.getPrecioMax()));
+        }
+        if (c.getMinHabitaciones() != null) {
+            predicados.add(cb.greaterThanOrEqualTo(v.get("numeroHabitaciones"), c.getMinHabitaciones()));
+        }
+        if (c.getMinBanos() != null) {
+            predicados.add(cb.greaterThanOrEqualTo(v.get("numeroBanos"), c.getMinBanos()));
+        }
+        if (c.getAreaMin() != null) {
+            predicados.add(cb.greaterThanOrEqualTo(v.get("areaMetrosCuadrados"), c.getAreaMin()));
+        }
+        if (c.getAreaMax() != null) {
+            predicados.add(cb.lessThanOrEqualTo(v.get("areaMetrosCuadrados"), c.getAreaMax()));
+        }
+        if (c.getMinSitiosCaminables() != null) {
+            predicados.add(cb.greaterThanOrEqualTo(v.get("sitiosCaminables"), c.getMinSitiosCaminables()));
+        }
+        if (c.getServicios() != null && !c.getServicios().isEmpty()) {
+            predicados.add(tieneTodosLosServicios(new LinkedHashSet<>(c.getServicios()), cb, query, v));
+        }
+        return predicados;
+    }
+
+    /**
+     * La vivienda debe tener todos los servicios pedidos: se cuentan sus filas en
+     * vivienda_servicio que coinciden con la lista y se exige que sean todas.
+     */
+    private Predicate tieneTodosLosServicios(Set<Long> servicioIds, CriteriaBuilder cb, CriteriaQuery<?> query,
+            Root<ViviendaEntity> v) {
+        Subquery<Long> sub = query.subquery(Long.class);
+        Root<ViviendaEntity> v2 = sub.from(ViviendaEntity.class);
+        Join<ViviendaEntity, ServicioEntity> servicio = v2.join("servicios");
+        sub.select(cb.count(servicio))
+                .where(cb.equal(v2.get("id"), v.get("id")), servicio.get("id").in(servicioIds));
+        return cb.equal(sub, (long) servicioIds.size());
+    }
+
+    private List<Order> orden(OrdenVivienda orden, CriteriaBuilder cb, CriteriaQuery<?> query,
+            Root<ViviendaEntity> v) {
+        List<Order> ordenes = new ArrayList<>();
+        if (orden != null) {
+            switch (orden) {
+                case PRECIO_ASC -> ordenes.add(cb.asc(v.get("precioMensual")));
+                case PRECIO_DESC -> ordenes.add(cb.desc(v.get("precioMensual")));
+                case AREA_ASC -> ordenes.add(cb.asc(v.get("areaMetrosCuadrados")));
+                case AREA_DESC -> ordenes.add(cb.desc(v.get("areaMetrosCuadrados")));
+                case CALIFICACION_DESC -> ordenes.add(cb.desc(calificacionPromedio(cb, query, v)));
+                // Columna precalculada por CaminabilidadService: sin unir sitio_vivienda
+                case CAMINABILIDAD_DESC -> ordenes.add(cb.desc(v.get("puntajeCaminabilidad")));
+            }
+        }
+        // Desempate estable para que las páginas no se solapen
+        ordenes.add(cb.asc(v.get("id")));
+        return ordenes;
+    }
+
+    private Expression<Double> calificacionPromedio(CriteriaBuilder cb, CriteriaQuery<?> query,
+            Root<ViviendaEntity> v) {
+        // Lee el resumen incremental (una fila por vivienda) en vez de promediar comentarios
+        Subquery<Double> sub = query.subquery(Double.class);
+        Root<CalificacionResumenEntity> resumen = sub.from(CalificacionResumenEntity.class);
+        Expression<Double> promedio = cb.quot(cb.toDouble(resumen.get("suma")), resumen.<Long>get("cantidad")).as(Double.class);
+        sub.select(promedio)
+                .where(cb.equal(resumen.get("viviendaId"), v.get("id")), cb.gt(resumen.get("cantidad"), 0L));
+        return cb.coalesce(sub, 0.0);
+    }
+}
@@ -0,0 +1,93 @@
+package co.edu.udistrital.mdp.back.services;
+
+import co.edu.udistrital.mdp.back.indices.IndicePreferencias;
+import co.edu.udistrital.mdp.back.indices.IndicePreferencias.Preferencia;
+import co.edu.udistrital.mdp.back.indices.IndiceViviendas.Candidata;
+import co.edu.udistrital.mdp.back.repositories.PreferenciaEstudianteRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Alertas a los estudiantes cuando se publica una vivienda que cumple sus
+ * preferencias guardadas.
+ *
+ * Al confirmarse la creación de una vivienda (o su regreso a disponible) se
+ * buscan los interesados en el índice invertido de preferencias, sin recorrer
+ * a todos los estudiantes, y las notificaciones se crean en un hilo virtual con
+ * las inserciones por lotes de DifusionNotificacionService, así que la
+ * solicitud que publica la vivienda no espera por ellas.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AlertaViviendaService {
+
+    private final IndicePreferencias indicePreferencias;
+    private final PreferenciaEstudianteRepository preferenciaRepository;
+    private final DifusionNotificacionService difusionNotificacionService;
+
+    private final ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Carga en memoria el índice de preferencias
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void cargarIndice() {
+        List<Preferencia> preferencias = preferenciaRepository.findFilasParaIndice().stream()
+                .map(fila -> Preferencia.de((Long) fila[0], (Long) fila[1], (String) fila[2], (String) fila[3],
+                        (Integer) fila[4], (Boolean) fila[5]))
+                .toList();
+        indicePreferencias.cargar(preferencias);
+        log.info("Índice de preferencias cargado con {} preferencias", preferencias.size());
+    }
+
+    /**
+     * Programa las alertas de una vivienda publicada para cuando su transacción
+     * confirme
+     */
+    @EventListener
+    public void viviendaPublicada(ViviendaService.ViviendaPublicada evento) {
+        Candidata vivienda = evento.vivienda();
+        SincronizacionTransaccion.despuesDelCommit(() -> ejecutor.execute(() -> alertar(vivienda)));
+    }
+
+    @PreDestroy
+    void cerrar() {
+        ejecutor.shutdownNow();
+    }
+
+    void alertar(Candidata vivienda) {
+        if (!indicePreferencias.estaCargado()) {
+            log.warn("Índice de preferencias sin cargar; no se alerta por la vivienda {}", vivienda.viviendaId());
+            return;
+        }
+        try {
+            List<Long> interesados = new ArrayList<>(indicePreferencias.estudiantesInteresados(vivienda));
+            if (!interesados.isEmpty()) {
+                difusionNotificacionService.notificar(mensaje(vivienda), interesados);
+                log.info("Vivienda {} notificada a {} estudiantes", vivienda.viviendaId(), interesados.size());
+            }
+        } catch (RuntimeException e) {
+            log.error("No se pudieron enviar las alertas de la vivienda {}", vivienda.viviendaId(), e);
+        }
+    }
+
+    static String mensaje(Candidata vivienda) {
+        String tipo = vivienda.tipo() == null ? "Vivienda"
+                : vivienda.tipo().name().charAt(0) + vivienda.tipo().name().substring(1).toLowerCase();
+        return String.format(Locale.of("es", "CO"), "Nueva vivienda que coincide con tus preferencias: %s en %s, %s por $%,d al mes (vivienda %d).",
+                tipo, vivienda.barrio(), vivienda.ciudad(), vivienda.precio(), vivienda.viviendaId());
+    }
+}
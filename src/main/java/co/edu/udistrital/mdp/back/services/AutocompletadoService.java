@@ -0,0 +1,87 @@
+package co.edu.udistrital.mdp.back.services;
+
+import co.edu.udistrital.mdp.back.dto.SugerenciaDTO;
+import co.edu.udistrital.mdp.back.indices.IndiceAutocompletado;
+import co.edu.udistrital.mdp.back.indices.IndiceAutocompletado.Aporte;
+import co.edu.udistrital.mdp.back.indices.IndiceAutocompletado.Categoria;
+import co.edu.udistrital.mdp.back.repositories.UniversidadCercaRepository;
+import co.edu.udistrital.mdp.back.repositories.UniversidadRepository;
+import co.edu.udistrital.mdp.back.repositories.ViviendaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sugerencias de ciudades, barrios y universidades mientras se escribe,
+ * servidas desde el índice de autocompletado sin consultar la base de datos.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AutocompletadoService {
+
+    static final int LIMITE_POR_DEFECTO = 10;
+    static final int LIMITE_MAXIMO = 50;
+    static final int LONGITUD_MAXIMA = 100;
+
+    private final IndiceAutocompletado indiceAutocompletado;
+    private final ViviendaRepository viviendaRepository;
+    private final UniversidadCercaRepository universidadCercaRepository;
+    private final UniversidadRepository universidadRepository;
+
+    /**
+     * Carga el índice de autocompletado con las ciudades y barrios de las
+     * viviendas y los nombres de las universidades
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void cargarIndice() {
+        List<Aporte> aportes = new ArrayList<>();
+        viviendaRepository.findCiudadesYBarriosParaIndice().forEach(fila -> aportes
+                .add(Aporte.vivienda((Long) fila[0], (String) fila[1], (String) fila[2])));
+        universidadCercaRepository.findNombresParaIndice().forEach(fila -> aportes
+                .add(Aporte.universidadCerca((Long) fila[0], (String) fila[1])));
+        universidadRepository.findNombresParaIndice().forEach(fila -> aportes
+                .add(Aporte.universidad((Long) fila[0], (String) fila[1])));
+        indiceAutocompletado.cargar(aportes);
+        log.info("Índice de autocompletado cargado con {} nombres", indiceAutocompletado.tamano());
+    }
+
+    /**
+     * READ - Las 'limite' sugerencias más populares que empiezan por 'prefijo'
+     * (sin distinguir tildes ni mayúsculas, en cualquier palabra del nombre).
+     * 'categoria' (CIUDAD, BARRIO o UNIVERSIDAD) restringe las sugerencias a una
+     * de ellas. Un prefijo vacío no sugiere nada.
+     *
+     * Reglas aplicadas:
+     * - El prefijo tiene a lo sumo LONGITUD_MAXIMA caracteres.
+     * - Sin límite, o con uno no positivo, se usa LIMITE_POR_DEFECTO; los mayores
+     *   se limitan a LIMITE_MAXIMO.
+     */
+    public List<SugerenciaDTO> sugerir(String prefijo, String categoria, Integer limite) {
+        if (prefijo != null && prefijo.length() > LONGITUD_MAXIMA) {
+            throw new IllegalArgumentException("El texto no puede superar los " + LONGITUD_MAXIMA + " caracteres");
+        }
+        Categoria filtro = null;
+        if (categoria != null && !categoria.isBlank()) {
+            try {
+                filtro = Categoria.valueOf(categoria.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Categoría inválida: " + categoria);
+            }
+        }
+        if (!indiceAutocompletado.estaCargado()) {
+            throw new IllegalStateException("El índice de autocompletado todavía se está cargando");
+        }
+        int cantidad = limite == null || limite < 1 ? LIMITE_POR_DEFECTO : Math.min(limite, LIMITE_MAXIMO);
+        return indiceAutocompletado.sugerir(prefijo, filtro, cantidad).stream()
+                .map(s -> new SugerenciaDTO(s.texto(), s.categoria().name(), s.peso()))
+                .toList();
+    }
+}
@@ -0,0 +1,99 @@
+package co.edu.udistrital.mdp.back.services;
+
+import co.edu.udistrital.mdp.back.dto.ResultadoBusquedaTextoDTO;
+import co.edu.udistrital.mdp.back.indices.IndiceTexto;
+import co.edu.udistrital.mdp.back.indices.IndiceTexto.Documento;
+import co.edu.udistrital.mdp.back.indices.IndiceTexto.Tipo;
+import co.edu.udistrital.mdp.back.repositories.ComentarioRepository;
+import co.edu.udistrital.mdp.back.repositories.ViviendaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Búsqueda por palabras clave en las descripciones de las viviendas y en los
+ * comentarios, resuelta en el índice de texto (IndiceTexto) sin recorrer las
+ * tablas.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BusquedaTextoService {
+
+    static final int LONGITUD_MAXIMA = 200;
+    // Profundidad máxima de paginación: cada página pide al índice todas las anteriores
+    static final int RESULTADOS_MAXIMOS = 1000;
+
+    private final IndiceTexto indiceTexto;
+    private final ViviendaRepository viviendaRepository;
+    private final ComentarioRepository comentarioRepository;
+
+    /**
+     * Carga el índice de texto con las descripciones y los comentarios
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void cargarIndice() {
+        List<Documento> documentos = new ArrayList<>();
+        viviendaRepository.findDescripcionesParaIndice().forEach(fila -> documentos
+                .add(new Documento(Tipo.VIVIENDA, (Long) fila[0], (Long) fila[0], (String) fila[1])));
+        comentarioRepository.findContenidosParaIndice().forEach(fila -> documentos
+                .add(new Documento(Tipo.COMENTARIO, (Long) fila[0], (Long) fila[1], (String) fila[2])));
+        indiceTexto.cargar(documentos);
+        log.info("Índice de texto cargado con {} documentos", indiceTexto.tamano());
+    }
+
+    /**
+     * READ - Viviendas y comentarios cuyo texto contiene todas las palabras de
+     * 'consulta', del más al menos relevante, paginados por número de página.
+     * 'tipo' (VIVIENDA o COMENTARIO) restringe la búsqueda a uno de los dos.
+     *
+     * Reglas aplicadas:
+     * - La consulta es obligatoria y de a lo sumo LONGITUD_MAXIMA caracteres.
+     * - Solo se pueden recorrer los primeros RESULTADOS_MAXIMOS resultados.
+     */
+    public Slice<ResultadoBusquedaTextoDTO> buscar(String consulta, String tipo, Integer pagina, Integer limite) {
+        if (consulta == null || consulta.isBlank()) {
+            throw new IllegalArgumentException("El parámetro 'q' es obligatorio");
+        }
+        if (consulta.length() > LONGITUD_MAXIMA) {
+            throw new IllegalArgumentException(
+                    "La consulta no puede superar los " + LONGITUD_MAXIMA + " caracteres");
+        }
+        Tipo filtro = null;
+        if (tipo != null && !tipo.isBlank()) {
+            try {
+                filtro = Tipo.valueOf(tipo.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Tipo de documento inválido: " + tipo);
+            }
+        }
+        int numeroPagina = pagina == null ? 0 : pagina;
+        if (numeroPagina < 0) {
+            throw new IllegalArgumentException("El número de página no puede ser negativo");
+        }
+        int tamano = CursorPaginacion.limite(limite).getPageSize();
+        if ((long) (numeroPagina + 1) * tamano > RESULTADOS_MAXIMOS) {
+            throw new IllegalArgumentException(
+                    "Solo se pueden consultar los primeros " + RESULTADOS_MAXIMOS + " resultados");
+        }
+        if (!indiceTexto.estaCargado()) {
+            throw new IllegalStateException("El índice de búsqueda todavía se está cargando");
+        }
+        IndiceTexto.Pagina encontrados = indiceTexto.buscar(consulta, filtro, numeroPagina, tamano);
+        List<ResultadoBusquedaTextoDTO> resultados = encontrados.resultados().stream()
+                .map(r -> new ResultadoBusquedaTextoDTO(r.tipo().name(), r.id(), r.viviendaId(), r.texto(),
+                        r.puntaje()))
+                .toList();
+        return new SliceImpl<>(resultados, PageRequest.of(numeroPagina, tamano), encontrados.haySiguiente());
+    }
+}
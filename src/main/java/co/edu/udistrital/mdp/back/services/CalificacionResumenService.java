@@ -0,0 +1,145 @@
+package co.edu.udistrital.mdp.back.services;
+
+import co.edu.udistrital.mdp.back.entities.CalificacionResumenEntity;
+import co.edu.udistrital.mdp.back.repositories.CalificacionResumenRepository;
+import co.edu.udistrital.mdp.back.repositories.ComentarioRepository;
+import co.edu.udistrital.mdp.back.repositories.ViviendaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Servicio que mantiene el resumen de calificaciones por vivienda.
+ *
+ * ComentarioService lo invoca dentro de su propia transacción, de modo que el
+ * comentario y el resumen se confirman o revierten juntos. Antes de tocar el
+ * resumen se bloquea la fila de la vivienda: así los comentarios concurrentes
+ * de una vivienda se aplican uno tras otro, incluso cuando el resumen aún no
+ * existe y el primero de ellos lo crea.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class CalificacionResumenService {
+
+    private final CalificacionResumenRepository resumenRepository;
+    private final ComentarioRepository comentarioRepository;
+    private final ViviendaRepository viviendaRepository;
+
+    /**
+     * READ - Resumen de calificaciones de una vivienda (vacío si no tiene comentarios)
+     */
+    @Transactional(readOnly = true)
+    public CalificacionResumenEntity obtenerResumen(Long viviendaId) {
+        return resumenRepository.findByViviendaId(viviendaId).orElseGet(() -> {
+            CalificacionResumenEntity vacio = new CalificacionResumenEntity();
+            vacio.setViviendaId(viviendaId);
+            return vacio;
+        });
+    }
+
+    /**
+     * READ - Promedio de calificación de una vivienda en O(1)
+     */
+    @Transactional(readOnly = true)
+    public Double obtenerPromedio(Long viviendaId) {
+        return obtenerResumen(viviendaId).getPromedio();
+    }
+
+    /**
+     * UPDATE - Registra la calificación de un comentario nuevo
+     */
+    public void registrarCalificacion(Long viviendaId, int calificacion) {
+        CalificacionResumenEntity resumen = resumenParaActualizar(viviendaId);
+        resumen.aplicar(calificacion, 1);
+        resumenRepository.save(resumen);
+    }
+
+    /**
+     * UPDATE - Retira la calificación de un comentario eliminado
+     */
+    public void retirarCalificacion(Long viviendaId, int calificacion) {
+        CalificacionResumenEntity resumen = resumenParaActualizar(viviendaId);
+        if (resumen.getCantidad() == 0) {
+            log.warn("Resumen de calificaciones de la vivienda {} ya estaba vacío", viviendaId);
+            return;
+        }
+        resumen.aplicar(calificacion, -1);
+        resumenRepository.save(resumen);
+    }
+
+    /**
+     * UPDATE - Reemplaza la calificación de un comentario editado
+     */
+    public void cambiarCalificacion(Long viviendaId, int anterior, int nueva) {
+        if (anterior == nueva) {
+            return;
+        }
+        CalificacionResumenEntity resumen = resumenParaActualizar(viviendaId);
+        resumen.aplicar(anterior, -1);
+        resumen.aplicar(nueva, 1);
+        resumenRepository.save(resumen);
+    }
+
+    /**
+     * Reconstruye todos los resúmenes a partir de los comentarios. Corrige
+     * cualquier desviación (p. ej. comentarios borrados en cascada con su vivienda).
+     *
+     * Bloquea primero todas las viviendas, así ningún comentario cambia un
+     * resumen entre el conteo y la escritura; los comentarios concurrentes
+     * esperan y se aplican sobre el resumen ya reconstruido. Las viviendas
+     * creadas después del bloqueo se dejan como están: sus comentarios mantienen
+     * su resumen.
+     */
+    @Scheduled(cron = "${vivienda.calificaciones.reconstruccion.cron:0 0 3 * * *}")
+    public int reconstruirResumenes() {
+        Set<Long> viviendas = new HashSet<>(viviendaRepository.bloquearTodas());
+        Map<Long, CalificacionResumenEntity> resumenes = new HashMap<>();
+        for (CalificacionResumenEntity existente : resumenRepository.findAll()) {
+            if (viviendas.contains(existente.getViviendaId())) {
+                existente.reiniciar();
+                resumenes.put(existente.getViviendaId(), existente);
+            }
+        }
+        for (Object[] fila : comentarioRepository.contarPorViviendaYCalificacion()) {
+            Long viviendaId = (Long) fila[0];
+            if (!viviendas.contains(viviendaId)) {
+                continue;
+            }
+            int calificacion = ((Number) fila[1]).intValue();
+            long conteo = ((Number) fila[2]).longValue();
+            CalificacionResumenEntity resumen = resumenes.computeIfAbsent(viviendaId, id -> {
+                CalificacionResumenEntity nuevo = new CalificacionResumenEntity();
+                nuevo.setViviendaId(id);
+                return nuevo;
+            });
+            resumen.aplicar(calificacion, conteo);
+        }
+        List<CalificacionResumenEntity> vigentes = new ArrayList<>();
+        List<CalificacionResumenEntity> vacios = new ArrayList<>();
+        resumenes.values().forEach(r -> (r.getCantidad() == 0 ? vacios : vigentes).add(r));
+        resumenRepository.deleteAll(vacios);
+        resumenRepository.saveAll(vigentes);
+        resumenRepository.eliminarHuerfanos();
+        log.info("Resúmenes de calificación reconstruidos: {}", vigentes.size());
+        return vigentes.size();
+    }
+
+    private CalificacionResumenEntity resumenParaActualizar(Long viviendaId) {
+        viviendaRepository.bloquear(viviendaId);
+        return resumenRepository.findByViviendaId(viviendaId).orElseGet(() -> {
+            CalificacionResumenEntity nuevo = new CalificacionResumenEntity();
+            nuevo.setViviendaId(viviendaId);
+            return nuevo;
+        });
+    }
+}
@@ -0,0 +1,92 @@
+package co.edu.udistrital.mdp.back.services;
+
+import co.edu.udistrital.mdp.back.repositories.ViviendaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Mantiene la caminabilidad precalculada de cada vivienda: cuántos sitios de
+ * interés asociados quedan a lo sumo a 'vivienda.caminabilidad.minutos-maximos'
+ * minutos a pie y un puntaje en el que cada uno de esos sitios suma
+ * (minutos-maximos + 1 - tiempoCaminando) puntos, de modo que los más cercanos
+ * pesan más.
+ *
+ * SitioInteresService lo invoca dentro de su propia transacción al asociar o
+ * desasociar un sitio y al cambiar su tiempo caminando. Cada cambio es un UPDATE
+ * que suma la diferencia en la misma sentencia, así que no hay incrementos
+ * perdidos entre solicitudes concurrentes, y los listados ordenan y filtran por
+ * las columnas de la vivienda sin unir sitio_vivienda.
+ */
+@Slf4j
+@Service
+@Transactional
+public class CaminabilidadService {
+
+    private final ViviendaRepository viviendaRepository;
+    private final int minutosMaximos;
+
+    public CaminabilidadService(ViviendaRepository viviendaRepository,
+            @Value("${vivienda.caminabilidad.minutos-maximos:15}") int minutosMaximos) {
+        if (minutosMaximos < 0) {
+            throw new IllegalArgumentException("El límite de minutos de caminabilidad no puede ser negativo");
+        }
+        this.viviendaRepository = viviendaRepository;
+        this.minutosMaximos = minutosMaximos;
+    }
+
+    /**
+     * Puntos que aporta un sitio a 'minutos' de distancia a pie; 0 si queda
+     * fuera del límite
+     */
+    int puntos(Integer minutos) {
+        return minutos == null || minutos < 0 || minutos > minutosMaximos ? 0 : minutosMaximos + 1 - minutos;
+    }
+
+    /**
+     * UPDATE - Suma a la vivienda un sitio recién asociado
+     */
+    public void sitioAsociado(Long viviendaId, Integer tiempoCaminando) {
+        int puntos = puntos(tiempoCaminando);
+        if (puntos > 0) {
+            viviendaRepository.sumarCaminabilidad(viviendaId, 1, puntos);
+        }
+    }
+
+    /**
+     * UPDATE - Resta a la vivienda un sitio desasociado
+     */
+    public void sitioDesasociado(Long viviendaId, Integer tiempoCaminando) {
+        int puntos = puntos(tiempoCaminando);
+        if (puntos > 0) {
+            viviendaRepository.sumarCaminabilidad(viviendaId, -1, -puntos);
+        }
+    }
+
+    /**
+     * UPDATE - Aplica a todas las viviendas del sitio el cambio de su tiempo
+     * caminando
+     */
+    public void tiempoCambiado(Long sitioId, Integer anterior, Integer nuevo) {
+        int puntosAnteriores = puntos(anterior);
+        int puntosNuevos = puntos(nuevo);
+        if (puntosAnteriores == puntosNuevos) {
+            return;
+        }
+        int sitios = (puntosNuevos > 0 ? 1 : 0) - (puntosAnteriores > 0 ? 1 : 0);
+        viviendaRepository.sumarCaminabilidadPorSitio(sitioId, sitios, puntosNuevos - puntosAnteriores);
+    }
+
+    /**
+     * Recalcula la caminabilidad de todas las viviendas a partir de sitio_vivienda.
+     * Corrige cualquier desviación y aplica un cambio de 'minutos-maximos'.
+     */
+    @Scheduled(cron = "${vivienda.caminabilidad.reconstruccion.cron:0 30 3 * * *}")
+    public int reconstruir() {
+        int viviendas = viviendaRepository.recalcularCaminabilidad(minutosMaximos);
+        log.info("Caminabilidad recalculada para {} viviendas", viviendas);
+        return viviendas;
+    }
+}
@@ -7,6 +7,8 @@ import co.edu.udistrital.mdp.back.repositories.ViviendaRepository;
 import co.edu.udistrital.mdp.back.repositories.EstudianteRepository;
 import co.edu.udistrital.mdp.back.repositories.EstanciaRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
@@ -25,6 +27,7 @@ public class ComentarioService {
     private final ViviendaRepository viviendaRepository;
     private final EstudianteRepository estudianteRepository;
     private final EstanciaRepository estanciaRepository;
+    private final CalificacionResumenService calificacionResumenService;
 
     // Constantes para validación
     private static final int CALIFICACION_MINIMA = 1;
@@ -67,8 +70,11 @@ public class ComentarioService {
             comentario.setFechaCreacion(LocalDateTime.now());
         }
 
-        // Guardar y retornar
-        return comentarioRepository.save(comentario);
+        // Guardar, actualizar el resumen de calificaciones y retornar
+        ComentarioEntity guardado = comentarioRepository.save(comentario);
+        calificacionResumenService.registrarCalificacion(
+                comentario.getVivienda().getId(), comentario.getCalificacion());
+        return guardado;
     }
 
     /**
@@ -79,6 +85,16 @@ public class ComentarioService {
                 .orElseThrow(() -> new IllegalArgumentException("Comentario no encontrado con ID: " + id));
     }
 
+    /**
+     * Igual que obtenerComentarioPorId, pero bloquea la fila del comentario hasta
+     * el fin de la transacción. Lo usan las operaciones que retiran su
+     * calificación del resumen, para que dos de ellas no retiren la misma.
+     */
+    private ComentarioEntity obtenerComentarioParaActualizar(Long id) {
+        return comentarioRepository.findParaActualizar(id)
+                .orElseThrow(() -> new IllegalArgumentException("Comentario no encontrado con ID: " + id));
+    }
+
     /**
      * READ - Obtiene todos los comentarios
      */
@@ -86,6 +102,25 @@ public class ComentarioService {
         return comentarioRepository.findAll();
     }
 
+    /**
+     * READ - Página de comentarios (más recientes primero) a partir del cursor 'after'
+     */
+    public Slice<ComentarioEntity> obtenerComentariosPaginados(String after, Integer limite) {
+        CursorPaginacion.Cursor cursor = CursorPaginacion.decodificar(after);
+        Pageable pagina = CursorPaginacion.limite(limite);
+        if (cursor == null) {
+            return comentarioRepository.findPrimeraPagina(pagina);
+        }
+        return comentarioRepository.findPaginaDespuesDe(cursor.claveComoFechaHora(), cursor.id(), pagina);
+    }
+
+    /**
+     * Cursor que apunta a la posición del comentario dado en el orden de paginación
+     */
+    public static String cursorDe(ComentarioEntity comentario) {
+        return CursorPaginacion.codificar(comentario.getFechaCreacion(), comentario.getId());
+    }
+
     /**
      * READ - Obtiene comentarios de una vivienda específica
      */
@@ -101,11 +136,10 @@ public class ComentarioService {
     }
 
     /**
-     * READ - Calcula el promedio de calificación de una vivienda
+     * READ - Promedio de calificación de una vivienda, leído del resumen incremental
      */
     public Double obtenerPromedioCalificacion(Long viviendaId) {
-        Double promedio = comentarioRepository.calcularPromedioCalificacion(viviendaId);
-        return promedio != null ? promedio : 0.0;
+        return calificacionResumenService.obtenerPromedio(viviendaId);
     }
 
     /**
@@ -119,8 +153,9 @@ public class ComentarioService {
      */
     public ComentarioEntity actualizarComentario(Long comentarioId, Long usuarioId,
             ComentarioEntity comentarioActualizado) {
-        // Verificar que el comentario existe
-        ComentarioEntity comentarioExistente = obtenerComentarioPorId(comentarioId);
+        // Verificar que el comentario existe; su fila queda bloqueada para que la
+        // calificación anterior no cambie antes de actualizar el resumen
+        ComentarioEntity comentarioExistente = obtenerComentarioParaActualizar(comentarioId);
 
         // Validar que el usuario que intenta actualizar es el autor original
         if (!comentarioExistente.getAutor().getId().equals(usuarioId)) {
@@ -138,6 +173,8 @@ public class ComentarioService {
         // Validar nueva calificación si se está actualizando
         if (comentarioActualizado.getCalificacion() != null) {
             validarCalificacion(comentarioActualizado.getCalificacion());
+            calificacionResumenService.cambiarCalificacion(comentarioExistente.getVivienda().getId(),
+                    comentarioExistente.getCalificacion(), comentarioActualizado.getCalificacion());
             comentarioExistente.setCalificacion(comentarioActualizado.getCalificacion());
         }
 
@@ -170,7 +207,7 @@ public class ComentarioService {
      * UPDATE - Actualiza solo la calificación de un comentario
      */
     public ComentarioEntity actualizarCalificacion(Long comentarioId, Long usuarioId, Integer nuevaCalificacion) {
-        ComentarioEntity comentario = obtenerComentarioPorId(comentarioId);
+        ComentarioEntity comentario = obtenerComentarioParaActualizar(comentarioId);
 
         // Validar autoría
         validarEsAutor(comentario, usuarioId);
@@ -178,6 +215,8 @@ public class ComentarioService {
         // Validar calificación
         validarCalificacion(nuevaCalificacion);
 
+        calificacionResumenService.cambiarCalificacion(comentario.getVivienda().getId(),
+                comentario.getCalificacion(), nuevaCalificacion);
         comentario.setCalificacion(nuevaCalificacion);
         comentario.setFechaModificacion(LocalDateTime.now());
 
@@ -193,7 +232,7 @@ public class ComentarioService {
      * - No se permite eliminar si tiene respuestas/interacciones
      */
     public void eliminarComentario(Long comentarioId, Long usuarioId, boolean esAdministrador) {
-        ComentarioEntity comentario = obtenerComentarioPorId(comentarioId);
+        ComentarioEntity comentario = obtenerComentarioParaActualizar(comentarioId);
 
         // Validar que el usuario tiene permisos para eliminar
         if (!esAdministrador && !comentario.getAutor().getId().equals(usuarioId)) {
@@ -206,6 +245,7 @@ public class ComentarioService {
             throw new IllegalStateException(
                     "La vivienda asociada al comentario ya no existe en el sistema");
         }
+        calificacionResumenService.retirarCalificacion(comentario.getVivienda().getId(), comentario.getCalificacion());
         comentarioRepository.deleteById(comentarioId);
     }
 
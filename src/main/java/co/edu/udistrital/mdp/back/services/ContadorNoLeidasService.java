@@ -0,0 +1,172 @@
+package co.edu.udistrital.mdp.back.services;
+
+import co.edu.udistrital.mdp.back.entities.ContadorNoLeidasEntity;
+import co.edu.udistrital.mdp.back.repositories.ContadorNoLeidasRepository;
+import co.edu.udistrital.mdp.back.repositories.EstudianteRepository;
+import co.edu.udistrital.mdp.back.repositories.NotificacionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Contadores de notificaciones no leídas por estudiante.
+ *
+ * El valor durable está en la tabla contador_no_leidas, que NotificacionService
+ * actualiza con un UPDATE atómico dentro de su propia transacción. Antes de
+ * tocar un contador se bloquea la fila del estudiante: así sus cambios se
+ * aplican uno tras otro, incluso cuando el contador aún no existe y el primero
+ * lo crea, y la reconstrucción completa no se cruza con ninguno.
+ *
+ * Una copia en memoria responde las lecturas sin ir a la base de datos; se
+ * carga al arrancar y recibe el valor y la versión de cada contador cuando su
+ * transacción confirma. Como se queda con la versión más alta, no importa en
+ * qué orden lleguen esos valores. Mientras no esté cargada, las lecturas van a
+ * la tabla.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ContadorNoLeidasService {
+
+    private final ContadorNoLeidasRepository contadorRepository;
+    private final NotificacionRepository notificacionRepository;
+    private final EstudianteRepository estudianteRepository;
+
+    private record Valor(long cantidad, long version) {
+    }
+
+    private final Map<Long, Valor> enMemoria = new ConcurrentHashMap<>();
+    private volatile boolean cargado;
+
+    /**
+     * READ - Notificaciones no leídas de un estudiante en O(1)
+     */
+    @Transactional(readOnly = true)
+    public long obtenerNoLeidas(Long estudianteId) {
+        if (cargado) {
+            Valor valor = enMemoria.get(estudianteId);
+            return valor == null ? 0 : valor.cantidad();
+        }
+        return contadorRepository.findByEstudianteId(estudianteId).map(ContadorNoLeidasEntity::getCantidad)
+                .orElse(0L);
+    }
+
+    /**
+     * UPDATE - Suma 'delta' (negativo para restar) a las no leídas del estudiante
+     */
+    public void sumar(Long estudianteId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        estudianteRepository.bloquear(estudianteId);
+        if (contadorRepository.sumar(estudianteId, delta) == 0) {
+            ContadorNoLeidasEntity nuevo = new ContadorNoLeidasEntity();
+            nuevo.setEstudianteId(estudianteId);
+            nuevo.setCantidad(delta);
+            contadorRepository.save(nuevo);
+        }
+        publicarAlConfirmar(List.of(estudianteId));
+    }
+
+    /**
+     * UPDATE - Suma 1 a las no leídas de cada estudiante con una sola sentencia,
+     * más una inserción agrupada para los que aún no tenían contador
+     */
+    public void incrementar(Collection<Long> estudianteIds) {
+        if (estudianteIds.isEmpty()) {
+            return;
+        }
+        estudianteRepository.bloquearVarios(estudianteIds);
+        if (contadorRepository.incrementar(estudianteIds) < estudianteIds.size()) {
+            Set<Long> existentes = new HashSet<>(contadorRepository.findEstudianteIdsConContador(estudianteIds));
+            List<ContadorNoLeidasEntity> nuevos = new ArrayList<>();
+            for (Long estudianteId : estudianteIds) {
+                if (existentes.add(estudianteId)) {
+                    ContadorNoLeidasEntity nuevo = new ContadorNoLeidasEntity();
+                    nuevo.setEstudianteId(estudianteId);
+                    nuevo.setCantidad(1);
+                    nuevos.add(nuevo);
+                }
+            }
+            contadorRepository.saveAll(nuevos);
+        }
+        publicarAlConfirmar(estudianteIds);
+    }
+
+    /**
+     * Recalcula todos los contadores desde las notificaciones y carga la copia
+     * en memoria. Corrige cualquier desviación (p. ej. notificaciones borradas
+     * por fuera de NotificacionService).
+     *
+     * Bloquea primero todos los estudiantes, así ningún contador cambia entre el
+     * conteo y la escritura; los cambios concurrentes esperan y se aplican sobre
+     * el valor reconstruido. Los contadores se corrigen en su lugar, lo que sube
+     * su versión. Los estudiantes creados después del bloqueo se dejan como
+     * están: sus notificaciones mantienen su contador.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${notificaciones.contadores.reconstruccion.cron:0 30 3 * * *}")
+    public int reconstruirContadores() {
+        Set<Long> estudiantes = new HashSet<>(estudianteRepository.bloquearTodos());
+        Map<Long, Long> noLeidas = new HashMap<>();
+        for (Object[] fila : notificacionRepository.contarNoLeidasPorEstudiante()) {
+            noLeidas.put((Long) fila[0], ((Number) fila[1]).longValue());
+        }
+        List<ContadorNoLeidasEntity> contadores = new ArrayList<>();
+        for (ContadorNoLeidasEntity contador : contadorRepository.findAll()) {
+            if (estudiantes.contains(contador.getEstudianteId())) {
+                contador.setCantidad(noLeidas.getOrDefault(contador.getEstudianteId(), 0L));
+                contadores.add(contador);
+                noLeidas.remove(contador.getEstudianteId());
+            }
+        }
+        List<ContadorNoLeidasEntity> nuevos = new ArrayList<>();
+        noLeidas.forEach((estudianteId, cantidad) -> {
+            if (estudiantes.contains(estudianteId)) {
+                ContadorNoLeidasEntity nuevo = new ContadorNoLeidasEntity();
+                nuevo.setEstudianteId(estudianteId);
+                nuevo.setCantidad(cantidad);
+                nuevos.add(nuevo);
+            }
+        });
+        contadores.addAll(contadorRepository.saveAll(nuevos));
+        contadorRepository.eliminarHuerfanos();
+        // Al hacer flush, las versiones de los contadores corregidos quedan al día
+        contadorRepository.flush();
+        Map<Long, Valor> valores = new HashMap<>();
+        contadores.forEach(c -> valores.put(c.getEstudianteId(), new Valor(c.getCantidad(), c.getVersion())));
+        SincronizacionTransaccion.despuesDelCommit(() -> {
+            valores.forEach(this::actualizar);
+            cargado = true;
+        });
+        log.info("Contadores de notificaciones no leídas reconstruidos: {}", contadores.size());
+        return contadores.size();
+    }
+
+    /**
+     * Lee el valor y la versión con que quedan los contadores y los pasa a la
+     * copia en memoria cuando la transacción confirme
+     */
+    private void publicarAlConfirmar(Collection<Long> estudianteIds) {
+        List<Object[]> filas = contadorRepository.findValores(estudianteIds);
+        SincronizacionTransaccion.despuesDelCommit(() -> filas.forEach(fila -> actualizar((Long) fila[0],
+                new Valor(((Number) fila[1]).longValue(), ((Number) fila[2]).longValue()))));
+    }
+
+    private void actualizar(Long estudianteId, Valor valor) {
+        enMemoria.merge(estudianteId, valor, (actual, nuevo) -> nuevo.version() > actual.version() ? nuevo : actual);
+    }
+}
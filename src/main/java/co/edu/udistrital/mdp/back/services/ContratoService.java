@@ -5,6 +5,7 @@ import co.edu.udistrital.mdp.back.entities.EstanciaEntity;
 import co.edu.udistrital.mdp.back.repositories.ContratoRepository;
 import co.edu.udistrital.mdp.back.repositories.EstanciaRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -132,6 +133,22 @@ public class ContratoService {
         contratoRepo.delete(found);
     }
 
+    /**
+     * READ - página de contratos ordenados por id a partir del cursor 'after'
+     */
+    public Slice<ContratoEntity> obtenerPaginados(String after, Integer limite) {
+        CursorPaginacion.Cursor cursor = CursorPaginacion.decodificar(after);
+        Long desdeId = cursor == null ? 0L : cursor.id();
+        return contratoRepo.findByIdGreaterThanOrderByIdAsc(desdeId, CursorPaginacion.limite(limite));
+    }
+
+    /**
+     * Cursor que apunta a la posición del contrato dado en el orden de paginación
+     */
+    public static String cursorDe(ContratoEntity contrato) {
+        return CursorPaginacion.codificar(null, contrato.getId());
+    }
+
     /**
      * READ - obtener todos los contratos
      */ 
@@ -0,0 +1,94 @@
+package co.edu.udistrital.mdp.back.services;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Utilidades para la paginación por cursor (keyset).
+ *
+ * El cursor es un token opaco que codifica la pareja (claveOrden, id) del último
+ * elemento entregado. La siguiente página se obtiene con una condición
+ * "(clave, id) posterior a (claveCursor, idCursor)" sobre un índice, de modo que
+ * el costo es el mismo en la página 1 que en la página 10.000 y nunca se ejecuta
+ * un COUNT(*).
+ */
+public final class CursorPaginacion {
+
+    public static final int LIMITE_POR_DEFECTO = 20;
+    public static final int LIMITE_MAXIMO = 100;
+
+    private static final String SEPARADOR = "|";
+    private static final String MSG_CURSOR_INVALIDO = "Cursor de paginación inválido";
+
+    private CursorPaginacion() {
+    }
+
+    /**
+     * Posición decodificada de un cursor. La clave puede ser nula cuando el orden
+     * es únicamente por id.
+     */
+    public record Cursor(String clave, Long id) {
+
+        public LocalDateTime claveComoFechaHora() {
+            try {
+                return LocalDateTime.parse(clave);
+            } catch (DateTimeParseException | NullPointerException e) {
+                throw new IllegalArgumentException(MSG_CURSOR_INVALIDO);
+            }
+        }
+
+        public LocalDate claveComoFecha() {
+            try {
+                return LocalDate.parse(clave);
+            } catch (DateTimeParseException | NullPointerException e) {
+                throw new IllegalArgumentException(MSG_CURSOR_INVALIDO);
+            }
+        }
+    }
+
+    /**
+     * Construye el Pageable de la consulta. Siempre pide la página 0: el
+     * desplazamiento lo da la condición del cursor, no un OFFSET.
+     */
+    public static Pageable limite(Integer limite) {
+        int tamano = limite == null ? LIMITE_POR_DEFECTO : Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+        return PageRequest.ofSize(tamano);
+    }
+
+    /**
+     * Codifica la posición (clave, id) en un token opaco seguro para URL.
+     */
+    public static String codificar(Object clave, Long id) {
+        String plano = (clave == null ? "" : clave.toString()) + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plano.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un token generado por {@link #codificar(Object, Long)}.
+     * Retorna null si no se envió cursor (primera página).
+     */
+    public static Cursor decodificar(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String plano = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int pos = plano.lastIndexOf(SEPARADOR);
+            if (pos < 0) {
+                throw new IllegalArgumentException(MSG_CURSOR_INVALIDO);
+            }
+            String clave = plano.substring(0, pos);
+            Long id = Long.valueOf(plano.substring(pos + 1));
+            return new Cursor(clave.isEmpty() ? null : clave, id);
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException y errores de Base64 también son IllegalArgumentException
+            throw new IllegalArgumentException(MSG_CURSOR_INVALIDO);
+        }
+    }
+}
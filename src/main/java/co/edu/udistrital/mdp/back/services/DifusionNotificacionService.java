@@ -0,0 +1,243 @@
+package co.edu.udistrital.mdp.back.services;
+
+import co.edu.udistrital.mdp.back.dto.DifusionDTO;
+import co.edu.udistrital.mdp.back.dto.ProgresoDifusionDTO;
+import co.edu.udistrital.mdp.back.entities.EstudianteEntity;
+import co.edu.udistrital.mdp.back.entities.NotificacionEntity;
+import co.edu.udistrital.mdp.back.repositories.EstudianteRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Difusión de una misma notificación a muchos estudiantes.
+ *
+ * La solicitud solo se valida y se encola, así que responde en el mismo tiempo
+ * sin importar el tamaño de la audiencia. Un hilo virtual selecciona los ids de
+ * los destinatarios (sin cargar las entidades) y crea las notificaciones en
+ * lotes de 'notificaciones.difusion.tamano-lote', cada lote en su propia
+ * transacción con inserciones agrupadas en lotes JDBC y un solo UPDATE para los
+ * contadores de no leídas. El avance se consulta con obtenerProgreso; las
+ * difusiones terminadas se olvidan pasado 'notificaciones.difusion.retencion-ms'.
+ */
+@Slf4j
+@Service
+public class DifusionNotificacionService {
+
+    static final int MAX_MENSAJE = 500;
+
+    private final EstudianteRepository estudianteRepository;
+    private final ContadorNoLeidasService contadorNoLeidasService;
+    private final SuscripcionesNotificaciones suscripciones;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanoLote;
+    private final Duration retencion;
+
+    private final Map<String, Difusion> difusiones = new ConcurrentHashMap<>();
+    private final ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public DifusionNotificacionService(EstudianteRepository estudianteRepository,
+            ContadorNoLeidasService contadorNoLeidasService, SuscripcionesNotificaciones suscripciones,
+            PlatformTransactionManager transactionManager,
+            @Value("${notificaciones.difusion.tamano-lote:500}") int tamanoLote,
+            @Value("${notificaciones.difusion.retencion-ms:3600000}") long retencionMs) {
+        if (tamanoLote < 1) {
+            throw new IllegalArgumentException("El tamaño de lote de difusión debe ser al menos 1");
+        }
+        this.estudianteRepository = estudianteRepository;
+        this.contadorNoLeidasService = contadorNoLeidasService;
+        this.suscripciones = suscripciones;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanoLote = tamanoLote;
+        this.retencion = Duration.ofMillis(retencionMs);
+    }
+
+    /**
+     * CREATE - Valida la solicitud y programa la difusión. Retorna su progreso
+     * inicial (estado PENDIENTE) con el id para consultarlo.
+     *
+     * Reglas aplicadas:
+     * - El mensaje no puede ser vacío ni superar 500 caracteres.
+     * - Se indica exactamente un criterio: universidad, ciudad o estudianteIds.
+     */
+    public ProgresoDifusionDTO iniciar(DifusionDTO solicitud) {
+        validar(solicitud);
+        olvidarTerminadas();
+        Difusion difusion = new Difusion(UUID.randomUUID().toString());
+        difusiones.put(difusion.id, difusion);
+        ejecutor.execute(() -> ejecutar(difusion, solicitud));
+        return difusion.progreso();
+    }
+
+    /**
+     * READ - Progreso de una difusión
+     */
+    public ProgresoDifusionDTO obtenerProgreso(String id) {
+        Difusion difusion = difusiones.get(id);
+        if (difusion == null) {
+            throw new IllegalArgumentException("Difusión no encontrada con ID: " + id);
+        }
+        return difusion.progreso();
+    }
+
+    /**
+     * CREATE - Envía el mismo mensaje a los estudiantes indicados, en lotes
+     * como una difusión pero sin registrar progreso. Para avisos del propio
+     * sistema, que ya corren fuera de la solicitud.
+     */
+    public void notificar(String mensaje, List<Long> estudianteIds) {
+        for (int desde = 0; desde < estudianteIds.size(); desde += tamanoLote) {
+            guardarLote(mensaje, estudianteIds.subList(desde, Math.min(desde + tamanoLote, estudianteIds.size())));
+        }
+    }
+
+    @PreDestroy
+    void cerrar() {
+        ejecutor.shutdownNow();
+    }
+
+    private void ejecutar(Difusion difusion, DifusionDTO solicitud) {
+        try {
+            List<Long> destinatarios = seleccionarDestinatarios(solicitud);
+            difusion.total = destinatarios.size();
+            difusion.estado = ProgresoDifusionDTO.Estado.EN_CURSO;
+            for (int desde = 0; desde < destinatarios.size(); desde += tamanoLote) {
+                List<Long> lote = destinatarios.subList(desde, Math.min(desde + tamanoLote, destinatarios.size()));
+                guardarLote(solicitud.getMensaje(), lote);
+                difusion.enviadas.addAndGet(lote.size());
+            }
+            difusion.terminar(ProgresoDifusionDTO.Estado.COMPLETADA);
+            log.info("Difusión {} completada: {} notificaciones", difusion.id, difusion.total);
+        } catch (RuntimeException e) {
+            difusion.error = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            difusion.terminar(ProgresoDifusionDTO.Estado.FALLIDA);
+            log.error("Difusión {} fallida tras {} notificaciones", difusion.id, difusion.enviadas.get(), e);
+        }
+    }
+
+    private List<Long> seleccionarDestinatarios(DifusionDTO solicitud) {
+        if (esTextoValido(solicitud.getUniversidad())) {
+            return estudianteRepository.findIdsByUniversidad(solicitud.getUniversidad().trim());
+        }
+        if (esTextoValido(solicitud.getCiudad())) {
+            return estudianteRepository.findIdsConEstanciaActivaEnCiudad(solicitud.getCiudad().trim());
+        }
+        List<Long> existentes = new ArrayList<>();
+        List<Long> ids = solicitud.getEstudianteIds().stream().distinct().toList();
+        for (int desde = 0; desde < ids.size(); desde += tamanoLote) {
+            existentes.addAll(estudianteRepository
+                    .findIdsExistentes(ids.subList(desde, Math.min(desde + tamanoLote, ids.size()))));
+        }
+        return existentes;
+    }
+
+    private void guardarLote(String mensaje, List<Long> estudianteIds) {
+        transactionTemplate.executeWithoutResult(estado -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(tamanoLote);
+            LocalDateTime ahora = LocalDateTime.now();
+            List<NotificacionEntity> creadas = new ArrayList<>(estudianteIds.size());
+            for (Long estudianteId : estudianteIds) {
+                NotificacionEntity notificacion = new NotificacionEntity();
+                notificacion.setMensaje(mensaje);
+                notificacion.setLeida(false);
+                notificacion.setFechaEnvio(ahora);
+                notificacion.setEstudiante(entityManager.getReference(EstudianteEntity.class, estudianteId));
+                entityManager.persist(notificacion);
+                creadas.add(notificacion);
+            }
+            contadorNoLeidasService.incrementar(estudianteIds);
+            entityManager.flush();
+            entityManager.clear();
+            SincronizacionTransaccion.despuesDelCommit(() -> creadas.forEach(suscripciones::publicar));
+        });
+    }
+
+    private void olvidarTerminadas() {
+        LocalDateTime limite = LocalDateTime.now().minus(retencion);
+        difusiones.values().removeIf(d -> d.fin != null && d.fin.isBefore(limite));
+    }
+
+    private static void validar(DifusionDTO solicitud) {
+        String mensaje = solicitud.getMensaje();
+        if (mensaje == null || mensaje.trim().isEmpty()) {
+            throw new IllegalArgumentException("El mensaje de la notificación no puede ser vacío.");
+        }
+        if (mensaje.length() > MAX_MENSAJE) {
+            throw new IllegalArgumentException(
+                    "El mensaje de la notificación no puede superar " + MAX_MENSAJE + " caracteres.");
+        }
+        int criterios = (esTextoValido(solicitud.getUniversidad()) ? 1 : 0)
+                + (esTextoValido(solicitud.getCiudad()) ? 1 : 0)
+                + (solicitud.getEstudianteIds() != null ? 1 : 0);
+        if (criterios != 1) {
+            throw new IllegalArgumentException(
+                    "Debe indicar exactamente un criterio de destinatarios: universidad, ciudad o estudianteIds.");
+        }
+        if (solicitud.getEstudianteIds() != null
+                && (solicitud.getEstudianteIds().isEmpty() || solicitud.getEstudianteIds().stream().anyMatch(Objects::isNull))) {
+            throw new IllegalArgumentException("La lista de estudianteIds no puede ser vacía ni tener nulos.");
+        }
+    }
+
+    private static boolean esTextoValido(String texto) {
+        return texto != null && !texto.isBlank();
+    }
+
+    /**
+     * Estado mutable de una difusión, escrito solo por su hilo y leído por las
+     * consultas de progreso
+     */
+    private static final class Difusion {
+
+        private final String id;
+        private final LocalDateTime inicio = LocalDateTime.now();
+        private final AtomicLong enviadas = new AtomicLong();
+        private volatile ProgresoDifusionDTO.Estado estado = ProgresoDifusionDTO.Estado.PENDIENTE;
+        private volatile long total;
+        private volatile String error;
+        private volatile LocalDateTime fin;
+
+        Difusion(String id) {
+            this.id = id;
+        }
+
+        void terminar(ProgresoDifusionDTO.Estado estadoFinal) {
+            fin = LocalDateTime.now();
+            estado = estadoFinal;
+        }
+
+        ProgresoDifusionDTO progreso() {
+            ProgresoDifusionDTO dto = new ProgresoDifusionDTO();
+            dto.setId(id);
+            dto.setEstado(estado);
+            dto.setTotal(total);
+            dto.setEnviadas(enviadas.get());
+            dto.setError(error);
+            dto.setInicio(inicio);
+            dto.setFin(fin);
+            return dto;
+        }
+    }
+}
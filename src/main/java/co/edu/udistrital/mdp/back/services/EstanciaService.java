@@ -10,6 +10,7 @@ import java.util.List;
 import co.edu.udistrital.mdp.back.repositories.EstudianteRepository;
 import co.edu.udistrital.mdp.back.repositories.ViviendaRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -193,6 +194,22 @@ public class EstanciaService {
         estanciaRepo.delete(found);
     }
 
+    /**
+     * READ - página de estancias ordenadas por id a partir del cursor 'after'
+     */
+    public Slice<EstanciaEntity> obtenerPaginadas(String after, Integer limite) {
+        CursorPaginacion.Cursor cursor = CursorPaginacion.decodificar(after);
+        Long desdeId = cursor == null ? 0L : cursor.id();
+        return estanciaRepo.findByIdGreaterThanOrderByIdAsc(desdeId, CursorPaginacion.limite(limite));
+    }
+
+    /**
+     * Cursor que apunta a la posición de la estancia dada en el orden de paginación
+     */
+    public static String cursorDe(EstanciaEntity estancia) {
+        return CursorPaginacion.codificar(null, estancia.getId());
+    }
+
     /**
      * READ - obtener todas las estancias
      */
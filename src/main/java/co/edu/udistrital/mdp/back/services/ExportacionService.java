@@ -0,0 +1,157 @@
+package co.edu.udistrital.mdp.back.services;
+
+import co.edu.udistrital.mdp.back.dto.FilaReservaDTO;
+import co.edu.udistrital.mdp.back.dto.FilaTransaccionDTO;
+import co.edu.udistrital.mdp.back.repositories.ReservaRepository;
+import co.edu.udistrital.mdp.back.repositories.TransaccionRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Exportación de transacciones y reservas a CSV (con cabecera) o JSON por
+ * líneas, el formato inverso de ImportacionViviendaService.
+ *
+ * Las filas salen de una consulta de solo lectura que proyecta directamente a
+ * DTO y se leen como Stream, así que no se cargan entidades ni se acumula nada
+ * en el contexto de persistencia; cada fila se escribe en la salida en cuanto
+ * llega. La memoria usada no depende del número de filas exportadas.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportacionService {
+
+    public enum Formato {
+        CSV,
+        JSON_LINES
+    }
+
+    static final String[] COLUMNAS_TRANSACCION = { "id", "fechaTransaccion", "monto", "metodoPago", "estado",
+            "estanciaId" };
+    static final String[] COLUMNAS_RESERVA = { "id", "fechaInicio", "fechaFin", "estado", "estudianteId",
+            "viviendaId" };
+
+    private static final ObjectWriter ESCRITOR_JSON = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            // Una fila por llamada sobre el mismo escritor: sin cerrarlo ni vaciarlo cada vez
+            .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .writer();
+
+    private final TransaccionRepository transaccionRepository;
+    private final ReservaRepository reservaRepository;
+
+    /**
+     * READ - Escribe las transacciones con fecha en [desde, hasta] (límites
+     * opcionales) y devuelve cuántas se exportaron. No cierra 'salida'.
+     */
+    @Transactional(readOnly = true)
+    public long exportarTransacciones(LocalDate desde, LocalDate hasta, Formato formato, OutputStream salida)
+            throws IOException {
+        validarRango(desde, hasta);
+        try (Stream<FilaTransaccionDTO> filas = transaccionRepository.exportar(
+                desde == null ? null : desde.atStartOfDay(),
+                hasta == null ? null : hasta.plusDays(1).atStartOfDay())) {
+            long total = escribir(filas, formato, salida, COLUMNAS_TRANSACCION, t -> new Object[] { t.getId(),
+                    t.getFechaTransaccion(), t.getMonto(), t.getMetodoPago(), t.getEstado(), t.getEstanciaId() });
+            log.info("Transacciones exportadas ({}): {}", formato, total);
+            return total;
+        }
+    }
+
+    /**
+     * READ - Escribe las reservas que inician en [desde, hasta] (límites
+     * opcionales) y devuelve cuántas se exportaron. No cierra 'salida'.
+     */
+    @Transactional(readOnly = true)
+    public long exportarReservas(LocalDate desde, LocalDate hasta, Formato formato, OutputStream salida)
+            throws IOException {
+        validarRango(desde, hasta);
+        try (Stream<FilaReservaDTO> filas = reservaRepository.exportar(desde, hasta)) {
+            long total = escribir(filas, formato, salida, COLUMNAS_RESERVA, r -> new Object[] { r.getId(),
+                    r.getFechaInicio(), r.getFechaFin(), r.getEstado(), r.getEstudianteId(), r.getViviendaId() });
+            log.info("Reservas exportadas ({}): {}", formato, total);
+            return total;
+        }
+    }
+
+    /**
+     * Lanza IllegalArgumentException si el rango de fechas está invertido
+     */
+    public static void validarRango(LocalDate desde, LocalDate hasta) {
+        if (desde != null && hasta != null && desde.isAfter(hasta)) {
+            throw new IllegalArgumentException("La fecha 'desde' no puede ser posterior a 'hasta'.");
+        }
+    }
+
+    private static <T> long escribir(Stream<T> filas, Formato formato, OutputStream salida, String[] columnas,
+            Function<T, Object[]> valores) throws IOException {
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+        if (formato == Formato.CSV) {
+            escribirCsv(escritor, columnas);
+        }
+        long total = 0;
+        Iterator<T> iterador = filas.iterator();
+        while (iterador.hasNext()) {
+            T fila = iterador.next();
+            if (formato == Formato.CSV) {
+                escribirCsv(escritor, valores.apply(fila));
+            } else {
+                ESCRITOR_JSON.writeValue(escritor, fila);
+                escritor.write('\n');
+            }
+            total++;
+        }
+        escritor.flush();
+        return total;
+    }
+
+    private static void escribirCsv(Writer escritor, Object[] valores) throws IOException {
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                escritor.write(',');
+            }
+            escritor.write(campoCsv(valores[i]));
+        }
+        escritor.write('\n');
+    }
+
+    /**
+     * Un campo CSV: vacío si es null y entre comillas (con las comillas
+     * duplicadas) si contiene comas, comillas o saltos de línea. Los textos que
+     * una hoja de cálculo tomaría como fórmula (empiezan por =, +, - o @) se
+     * prefijan con una comilla simple; los números se dejan tal cual.
+     */
+    static String campoCsv(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor.toString();
+        if (!(valor instanceof Number) && !texto.isEmpty() && "=+-@".indexOf(texto.charAt(0)) >= 0) {
+            texto = "'" + texto;
+        }
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0
+                && texto.indexOf('\r') < 0) {
+            return texto;
+        }
+        return '"' + texto.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,190 @@
+package co.edu.udistrital.mdp.back.services;
+
+import co.edu.udistrital.mdp.back.entities.ClaveIdempotenciaEntity;
+import co.edu.udistrital.mdp.back.repositories.ClaveIdempotenciaRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Registro de claves Idempotency-Key de las solicitudes de creación.
+ *
+ * La tabla clave_idempotencia, con índice único sobre (clave, ruta), es la
+ * fuente de verdad: la primera solicitud inserta su clave antes de ejecutarse y
+ * un reintento concurrente choca con el índice. Las respuestas ya guardadas se
+ * copian a una caché en memoria (Caffeine, acotada y con el vencimiento que le
+ * queda a la fila) para que los reintentos se resuelvan sin ir a la base de
+ * datos. Las claves vencidas se eliminan periódicamente.
+ *
+ * Una reserva sin respuesta dura como máximo 'idempotencia.reserva-segundos':
+ * si la primera solicitud murió sin guardar ni liberar la clave, un reintento
+ * con el mismo cuerpo la retoma pasado ese plazo en lugar de recibir 409
+ * hasta que la clave venza.
+ */
+@Slf4j
+@Service
+public class IdempotenciaService {
+
+    public enum Tipo {
+        // Primera vez: la solicitud debe ejecutarse y luego guardar o liberar la clave
+        NUEVA,
+        // Ya se respondió: devolver la respuesta guardada
+        REPETIDA,
+        // La primera solicitud con esta clave aún no termina
+        EN_CURSO,
+        // La clave ya se usó con un cuerpo distinto
+        CUERPO_DISTINTO
+    }
+
+    /**
+     * Respuesta guardada de una solicitud terminada
+     */
+    public record Respuesta(String huella, int estadoHttp, String tipoContenido, byte[] cuerpo,
+            LocalDateTime expira) {
+    }
+
+    /**
+     * Resultado de reservar una clave; 'respuesta' solo viene si es REPETIDA
+     */
+    public record Reserva(Tipo tipo, Respuesta respuesta) {
+    }
+
+    private final ClaveIdempotenciaRepository claveRepository;
+    private final Duration vigencia;
+    private final Duration plazoReserva;
+    private final Cache<String, Respuesta> respuestas;
+
+    public IdempotenciaService(ClaveIdempotenciaRepository claveRepository,
+            @Value("${idempotencia.vigencia-horas:24}") long vigenciaHoras,
+            @Value("${idempotencia.reserva-segundos:120}") long segundosReserva,
+            @Value("${idempotencia.cache.maximo:10000}") long maximoEnCache) {
+        this.claveRepository = claveRepository;
+        this.vigencia = Duration.ofHours(vigenciaHoras);
+        this.plazoReserva = Duration.ofSeconds(segundosReserva);
+        this.respuestas = Caffeine.newBuilder()
+                .expireAfter(new HastaQueVenza())
+                .maximumSize(maximoEnCache)
+                .build();
+    }
+
+    /**
+     * Reserva la clave para la ruta o, si ya existía, indica qué hacer con el
+     * reintento
+     */
+    public Reserva reservar(String clave, String ruta, String huella) {
+        Respuesta enCache = respuestas.getIfPresent(llave(clave, ruta));
+        if (enCache != null) {
+            return comparar(enCache, huella);
+        }
+        Optional<ClaveIdempotenciaEntity> existente = claveRepository.findByClaveAndRuta(clave, ruta);
+        if (existente.isPresent() && existente.get().getExpira().isBefore(LocalDateTime.now())) {
+            claveRepository.delete(existente.get());
+            existente = Optional.empty();
+        }
+        if (existente.isEmpty()) {
+            ClaveIdempotenciaEntity nueva = new ClaveIdempotenciaEntity();
+            nueva.setClave(clave);
+            nueva.setRuta(ruta);
+            nueva.setHuella(huella);
+            nueva.setReservadaEn(LocalDateTime.now());
+            nueva.setExpira(nueva.getReservadaEn().plus(vigencia));
+            try {
+                claveRepository.saveAndFlush(nueva);
+                return new Reserva(Tipo.NUEVA, null);
+            } catch (DataIntegrityViolationException e) {
+                // Otra solicitud con la misma clave la reservó primero
+                existente = claveRepository.findByClaveAndRuta(clave, ruta);
+                if (existente.isEmpty()) {
+                    return new Reserva(Tipo.EN_CURSO, null);
+                }
+            }
+        }
+        ClaveIdempotenciaEntity registrada = existente.get();
+        if (registrada.getEstadoHttp() == null) {
+            if (!registrada.getHuella().equals(huella)) {
+                return new Reserva(Tipo.CUERPO_DISTINTO, null);
+            }
+            LocalDateTime ahora = LocalDateTime.now();
+            // La primera solicitud superó el plazo sin terminar: solo un reintento logra retomarla
+            boolean retomada = claveRepository.retomar(registrada.getId(), ahora, ahora.minus(plazoReserva)) == 1;
+            return new Reserva(retomada ? Tipo.NUEVA : Tipo.EN_CURSO, null);
+        }
+        Respuesta respuesta = aRespuesta(registrada);
+        respuestas.put(llave(clave, ruta), respuesta);
+        return comparar(respuesta, huella);
+    }
+
+    /**
+     * Guarda la respuesta de una solicitud NUEVA terminada con éxito
+     */
+    public void guardar(String clave, String ruta, int estadoHttp, String tipoContenido, byte[] cuerpo) {
+        ClaveIdempotenciaEntity registrada = claveRepository.findByClaveAndRuta(clave, ruta)
+                .orElseThrow(() -> new IllegalStateException("La clave de idempotencia no está reservada: " + clave));
+        registrada.setEstadoHttp(estadoHttp);
+        registrada.setTipoContenido(tipoContenido);
+        registrada.setCuerpo(cuerpo);
+        claveRepository.save(registrada);
+        respuestas.put(llave(clave, ruta), aRespuesta(registrada));
+    }
+
+    /**
+     * Libera la clave de una solicitud NUEVA que falló, para que pueda reintentarse
+     */
+    public void liberar(String clave, String ruta) {
+        claveRepository.liberar(clave, ruta);
+    }
+
+    @Scheduled(cron = "${idempotencia.purga.cron:0 20 * * * *}")
+    public int eliminarExpiradas() {
+        int eliminadas = claveRepository.eliminarExpiradas(LocalDateTime.now());
+        if (eliminadas > 0) {
+            log.info("Claves de idempotencia vencidas eliminadas: {}", eliminadas);
+        }
+        return eliminadas;
+    }
+
+    /**
+     * Cada respuesta sale de la caché cuando vence su fila, no 'vigencia' después
+     * de haberse leído de la tabla
+     */
+    private static final class HastaQueVenza implements Expiry<String, Respuesta> {
+
+        @Override
+        public long expireAfterCreate(String llave, Respuesta respuesta, long ahora) {
+            return Math.max(0, Duration.between(LocalDateTime.now(), respuesta.expira()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String llave, Respuesta respuesta, long ahora, long restante) {
+            return expireAfterCreate(llave, respuesta, ahora);
+        }
+
+        @Override
+        public long expireAfterRead(String llave, Respuesta respuesta, long ahora, long restante) {
+            return restante;
+        }
+    }
+
+    private static Reserva comparar(Respuesta respuesta, String huella) {
+        return respuesta.huella().equals(huella) ? new Reserva(Tipo.REPETIDA, respuesta)
+                : new Reserva(Tipo.CUERPO_DISTINTO, null);
+    }
+
+    private static Respuesta aRespuesta(ClaveIdempotenciaEntity clave) {
+        return new Respuesta(clave.getHuella(), clave.getEstadoHttp(), clave.getTipoContenido(), clave.getCuerpo(),
+                clave.getExpira());
+    }
+
+    private static String llave(String clave, String ruta) {
+        return ruta + ' ' + clave;
+    }
+}
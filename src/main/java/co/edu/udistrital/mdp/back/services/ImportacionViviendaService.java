@@ -0,0 +1,283 @@
+package co.edu.udistrital.mdp.back.services;
+
+import co.edu.udistrital.mdp.back.dto.ResultadoImportacionDTO;
+import co.edu.udistrital.mdp.back.dto.ViviendaDTO;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import co.edu.udistrital.mdp.back.mappers.ViviendaMapper;
+import co.edu.udistrital.mdp.back.repositories.PropietarioRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Importación masiva de viviendas desde CSV (con cabecera) o JSON por líneas.
+ *
+ * El archivo se lee en streaming, una línea a la vez. Cada fila se valida con
+ * las mismas reglas de ViviendaService.crearVivienda; las inválidas se reportan
+ * con su número de línea y no detienen la importación. Las válidas se guardan
+ * en lotes de 'vivienda.importacion.tamano-lote' filas, cada lote en su propia
+ * transacción y con inserciones agrupadas en lotes JDBC del mismo tamaño. Al
+ * terminar cada lote se vacía el contexto de persistencia, así que la memoria
+ * usada no depende del tamaño del archivo.
+ */
+@Slf4j
+@Service
+public class ImportacionViviendaService {
+
+    public enum Formato {
+        CSV,
+        JSON_LINES
+    }
+
+    /**
+     * Columnas aceptadas en la cabecera del CSV (los mismos nombres de ViviendaDTO)
+     */
+    static final Set<String> COLUMNAS = Set.of("direccion", "ciudad", "barrio", "precioMensual", "descripcion",
+            "numeroHabitaciones", "numeroBanos", "areaMetrosCuadrados", "tipo", "propietarioId", "aceptaMascotas",
+            "latitud", "longitud");
+
+    private static final ObjectReader LECTOR_JSON = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .readerFor(ViviendaDTO.class);
+
+    private final ViviendaService viviendaService;
+    private final ViviendaMapper viviendaMapper;
+    private final PropietarioRepository propietarioRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanoLote;
+    private final int maxErrores;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ImportacionViviendaService(ViviendaService viviendaService, ViviendaMapper viviendaMapper,
+            PropietarioRepository propietarioRepository, PlatformTransactionManager transactionManager,
+            @Value("${vivienda.importacion.tamano-lote:500}") int tamanoLote,
+            @Value("${vivienda.importacion.max-errores:1000}") int maxErrores) {
+        if (tamanoLote < 1) {
+            throw new IllegalArgumentException("El tamaño de lote de importación debe ser al menos 1");
+        }
+        this.viviendaService = viviendaService;
+        this.viviendaMapper = viviendaMapper;
+        this.propietarioRepository = propietarioRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanoLote = tamanoLote;
+        this.maxErrores = maxErrores;
+    }
+
+    /**
+     * CREATE - Importa las viviendas del archivo. Lanza IllegalArgumentException
+     * solo si el archivo entero es inválido (por ejemplo, una cabecera CSV con
+     * columnas desconocidas); los errores de cada fila van en el resultado.
+     */
+    public ResultadoImportacionDTO importar(InputStream entrada, Formato formato) {
+        ResultadoImportacionDTO resultado = new ResultadoImportacionDTO();
+        Lote lote = new Lote();
+        // Propietarios ya consultados: una consulta por propietario, no por fila
+        Map<Long, Boolean> propietarios = new HashMap<>();
+
+        try (BufferedReader lector = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8))) {
+            String[] cabecera = null;
+            long numeroLinea = 0;
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                numeroLinea++;
+                if (numeroLinea == 1 && linea.startsWith("\uFEFF")) {
+                    linea = linea.substring(1);
+                }
+                if (linea.isBlank()) {
+                    continue;
+                }
+                if (formato == Formato.CSV && cabecera == null) {
+                    cabecera = leerCabecera(linea);
+                    continue;
+                }
+                try {
+                    ViviendaDTO dto = formato == Formato.CSV ? leerFilaCsv(cabecera, linea) : leerFilaJson(linea);
+                    ViviendaEntity vivienda = viviendaMapper.toEntity(dto);
+                    viviendaService.validarNuevaVivienda(vivienda,
+                            id -> propietarios.computeIfAbsent(id, propietarioRepository::existsById));
+                    vivienda.setDisponible(true);
+                    lote.agregar(numeroLinea, vivienda);
+                } catch (IllegalArgumentException e) {
+                    rechazar(resultado, numeroLinea, e.getMessage());
+                }
+                if (lote.filas.size() >= tamanoLote) {
+                    guardar(lote, resultado);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el archivo de importación", e);
+        }
+        guardar(lote, resultado);
+        log.info("Importación de viviendas: {} importadas, {} rechazadas", resultado.getImportadas(),
+                resultado.getRechazadas());
+        return resultado;
+    }
+
+    /**
+     * Persiste el lote en una transacción propia. Si la base de datos lo rechaza,
+     * todas sus filas se reportan como rechazadas y la importación continúa.
+     */
+    private void guardar(Lote lote, ResultadoImportacionDTO resultado) {
+        if (lote.filas.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(estado -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(tamanoLote);
+                lote.viviendas.forEach(entityManager::persist);
+                entityManager.flush();
+                entityManager.clear();
+            });
+            resultado.setImportadas(resultado.getImportadas() + lote.filas.size());
+        } catch (PersistenceException | DataAccessException | TransactionException e) {
+            String causa = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            lote.filas.forEach(fila -> rechazar(resultado, fila, "No se pudo guardar el lote: " + causa));
+            entityManager.clear();
+        } finally {
+            lote.vaciar();
+        }
+    }
+
+    private void rechazar(ResultadoImportacionDTO resultado, long fila, String mensaje) {
+        resultado.setRechazadas(resultado.getRechazadas() + 1);
+        if (resultado.getErrores().size() < maxErrores) {
+            resultado.getErrores().add(new ResultadoImportacionDTO.ErrorFila(fila, mensaje));
+        }
+    }
+
+    private static String[] leerCabecera(String linea) {
+        List<String> columnas = dividirCsv(linea);
+        for (String columna : columnas) {
+            if (!COLUMNAS.contains(columna)) {
+                throw new IllegalArgumentException("Columna desconocida en la cabecera del CSV: " + columna);
+            }
+        }
+        return columnas.toArray(String[]::new);
+    }
+
+    private static ViviendaDTO leerFilaJson(String linea) {
+        try {
+            return LECTOR_JSON.readValue(linea);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    static ViviendaDTO leerFilaCsv(String[] cabecera, String linea) {
+        List<String> valores = dividirCsv(linea);
+        if (valores.size() != cabecera.length) {
+            throw new IllegalArgumentException(
+                    "Se esperaban " + cabecera.length + " columnas y la fila tiene " + valores.size());
+        }
+        ViviendaDTO dto = new ViviendaDTO();
+        for (int i = 0; i < cabecera.length; i++) {
+            String valor = valores.get(i).isBlank() ? null : valores.get(i).trim();
+            try {
+                asignar(dto, cabecera[i], valor);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Valor numérico inválido en '" + cabecera[i] + "': " + valor);
+            }
+        }
+        return dto;
+    }
+
+    private static void asignar(ViviendaDTO dto, String columna, String valor) {
+        switch (columna) {
+            case "direccion" -> dto.setDireccion(valor);
+            case "ciudad" -> dto.setCiudad(valor);
+            case "barrio" -> dto.setBarrio(valor);
+            case "precioMensual" -> dto.setPrecioMensual(valor == null ? null : new BigDecimal(valor));
+            case "descripcion" -> dto.setDescripcion(valor);
+            case "numeroHabitaciones" -> dto.setNumeroHabitaciones(valor == null ? 0 : Integer.parseInt(valor));
+            case "numeroBanos" -> dto.setNumeroBanos(valor == null ? 0 : Integer.parseInt(valor));
+            case "areaMetrosCuadrados" -> dto.setAreaMetrosCuadrados(valor == null ? null : Double.valueOf(valor));
+            case "tipo" -> dto.setTipo(valor);
+            case "propietarioId" -> dto.setPropietarioId(valor == null ? null : Long.valueOf(valor));
+            case "aceptaMascotas" -> dto.setAceptaMascotas(valor == null ? null : Boolean.valueOf(valor));
+            case "latitud" -> dto.setLatitud(valor == null ? null : Double.valueOf(valor));
+            case "longitud" -> dto.setLongitud(valor == null ? null : Double.valueOf(valor));
+            default -> throw new IllegalArgumentException("Columna desconocida: " + columna);
+        }
+    }
+
+    /**
+     * Separa una línea CSV por comas. Admite campos entre comillas dobles con
+     * comas y comillas escapadas (""), pero no saltos de línea dentro de un campo.
+     */
+    static List<String> dividirCsv(String linea) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (entreComillas) {
+                if (c == '"' && i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                    actual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreComillas = false;
+                } else {
+                    actual.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == ',') {
+                campos.add(actual.toString());
+                actual.setLength(0);
+            } else {
+                actual.append(c);
+            }
+        }
+        if (entreComillas) {
+            throw new IllegalArgumentException("Comillas sin cerrar en la fila");
+        }
+        campos.add(actual.toString());
+        return campos;
+    }
+
+    /**
+     * Filas válidas pendientes de guardar, con su número de línea
+     */
+    private static final class Lote {
+        final List<Long> filas = new ArrayList<>();
+        final List<ViviendaEntity> viviendas = new ArrayList<>();
+
+        void agregar(long fila, ViviendaEntity vivienda) {
+            filas.add(fila);
+            viviendas.add(vivienda);
+        }
+
+        void vaciar() {
+            filas.clear();
+            viviendas.clear();
+        }
+    }
+}
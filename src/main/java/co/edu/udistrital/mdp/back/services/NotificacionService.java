@@ -4,8 +4,12 @@ import co.edu.udistrital.mdp.back.entities.NotificacionEntity;
 import co.edu.udistrital.mdp.back.repositories.NotificacionRepository;
 import co.edu.udistrital.mdp.back.repositories.EstudianteRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -14,8 +18,16 @@ import java.util.List;
 @Transactional
 public class NotificacionService {
 
+    /**
+     * Máximo de notificaciones perdidas que se reenvían al reconectarse al stream.
+     * Un cliente más atrasado debe recargar el listado completo.
+     */
+    static final int MAX_REENVIO = 100;
+
     private final NotificacionRepository notificacionRepository;
     private final EstudianteRepository estudianteRepository;
+    private final SuscripcionesNotificaciones suscripciones;
+    private final ContadorNoLeidasService contadorNoLeidasService;
 
     /**
      * CREATE - Envía una nueva notificación a un estudiante.
@@ -33,7 +45,28 @@ public class NotificacionService {
         notificacion.setLeida(false);
         notificacion.setFechaEnvio(LocalDateTime.now());
 
-        return notificacionRepository.save(notificacion);
+        NotificacionEntity guardada = notificacionRepository.save(notificacion);
+        contadorNoLeidasService.sumar(notificacion.getEstudiante().getId(), 1);
+        SincronizacionTransaccion.despuesDelCommit(() -> suscripciones.publicar(guardada));
+        return guardada;
+    }
+
+    /**
+     * READ - Abre el stream de notificaciones (Server-Sent Events) de un estudiante.
+     *
+     * Si el cliente se reconecta con el id del último evento recibido
+     * (Last-Event-ID), primero recibe las notificaciones posteriores a ese id y
+     * luego las nuevas, sin huecos ni repetidas.
+     */
+    @Transactional(readOnly = true)
+    public SseEmitter suscribir(Long estudianteId, Long ultimoEventoId) {
+        validarEstudianteExiste(estudianteId);
+        SuscripcionesNotificaciones.Suscripcion suscripcion = suscripciones.suscribir(estudianteId);
+        List<NotificacionEntity> perdidas = ultimoEventoId == null ? List.of()
+                : notificacionRepository.findByEstudiante_IdAndIdGreaterThanOrderByIdAsc(estudianteId,
+                        ultimoEventoId, PageRequest.of(0, MAX_REENVIO));
+        suscripcion.iniciar(perdidas);
+        return suscripcion.getEmisor();
     }
     
     /**
@@ -44,6 +77,25 @@ public class NotificacionService {
             .orElseThrow(() -> new IllegalArgumentException("Notificación no encontrada con ID: " + id));
     }
 
+    /**
+     * READ - Página de notificaciones (más recientes primero) a partir del cursor 'after'.
+     */
+    public Slice<NotificacionEntity> obtenerNotificacionesPaginadas(String after, Integer limite) {
+        CursorPaginacion.Cursor cursor = CursorPaginacion.decodificar(after);
+        Pageable pagina = CursorPaginacion.limite(limite);
+        if (cursor == null) {
+            return notificacionRepository.findPrimeraPagina(pagina);
+        }
+        return notificacionRepository.findPaginaDespuesDe(cursor.claveComoFechaHora(), cursor.id(), pagina);
+    }
+
+    /**
+     * Cursor que apunta a la posición de la notificación dada en el orden de paginación.
+     */
+    public static String cursorDe(NotificacionEntity notificacion) {
+        return CursorPaginacion.codificar(notificacion.getFechaEnvio(), notificacion.getId());
+    }
+
     /**
      * READ - Obtiene todas las notificaciones de un estudiante.
      */
@@ -55,28 +107,98 @@ public class NotificacionService {
      * UPDATE - Marca una notificación como leída.
      *
      * Reglas aplicadas:
-     * - Solo se permite modificar el estado 'leida' de false a true.
+     * - Solo se permite modificar el estado 'leida' de false a true. El cambio es
+     *   condicional en la misma sentencia, así de dos llamadas concurrentes solo
+     *   una la marca y descuenta del contador.
      */
     public NotificacionEntity marcarComoLeida(Long id) {
         NotificacionEntity notificacion = obtenerNotificacionPorId(id);
-        
-        if (notificacion.getLeida()) {
+        Long estudianteId = notificacion.getEstudiante().getId();
+
+        if (notificacionRepository.marcarLeida(id) == 0) {
              throw new IllegalStateException("La notificación ya está marcada como leída.");
         }
 
-        notificacion.setLeida(true);
-        return notificacionRepository.save(notificacion);
+        contadorNoLeidasService.sumar(estudianteId, -1);
+        return obtenerNotificacionPorId(id);
+    }
+
+    /**
+     * READ - Número de notificaciones no leídas de un estudiante, sin recorrerlas.
+     */
+    public long contarNoLeidas(Long estudianteId) {
+        return contadorNoLeidasService.obtenerNoLeidas(estudianteId);
     }
 
     /**
      * DELETE - Elimina una notificación.
-     * Un usuario puede limpiar sus notificaciones.
+     * Un usuario puede limpiar sus notificaciones. Solo descuenta del contador
+     * si la sentencia que la borra la encontró sin leer.
      */
     public void eliminarNotificacion(Long id) {
-        if (!notificacionRepository.existsById(id)) {
-            throw new IllegalArgumentException("No se puede eliminar la notificación con ID " + id + " porque no existe.");
+        NotificacionEntity notificacion = notificacionRepository.findById(id).orElseThrow(
+                () -> new IllegalArgumentException("No se puede eliminar la notificación con ID " + id + " porque no existe."));
+        Long estudianteId = notificacion.getEstudiante().getId();
+        int noLeidas = notificacionRepository.eliminarNoLeidas(estudianteId, List.of(id));
+        if (noLeidas == 0) {
+            notificacionRepository.eliminar(estudianteId, List.of(id));
+        }
+        contadorNoLeidasService.sumar(estudianteId, -noLeidas);
+    }
+
+    /**
+     * UPDATE - Marca como leídas, en una sola sentencia, las notificaciones no
+     * leídas del estudiante: las de la lista 'ids' si viene, o si no todas las
+     * enviadas hasta 'hasta' (por defecto, hasta ahora). Retorna cuántas cambiaron.
+     */
+    public int marcarLeidas(Long estudianteId, List<Long> ids, LocalDateTime hasta) {
+        validarEstudianteExiste(estudianteId);
+        if (ids != null && ids.isEmpty()) {
+            return 0;
+        }
+        int marcadas = ids != null
+                ? notificacionRepository.marcarLeidas(estudianteId, ids)
+                : notificacionRepository.marcarLeidasHasta(estudianteId, hastaOAhora(hasta));
+        contadorNoLeidasService.sumar(estudianteId, -marcadas);
+        return marcadas;
+    }
+
+    /**
+     * DELETE - Elimina notificaciones del estudiante: las de la lista 'ids' si
+     * viene, o si no todas las enviadas hasta 'hasta' (por defecto, hasta
+     * ahora). Retorna cuántas se eliminaron.
+     *
+     * Una sentencia borra las no leídas y su cuenta es lo que se descuenta del
+     * contador; otra borra las demás. Así una notificación marcada como leída en
+     * paralelo no se descuenta dos veces.
+     */
+    public int eliminarNotificaciones(Long estudianteId, List<Long> ids, LocalDateTime hasta) {
+        validarEstudianteExiste(estudianteId);
+        if (ids != null && ids.isEmpty()) {
+            return 0;
+        }
+        int noLeidas;
+        int leidas;
+        if (ids != null) {
+            noLeidas = notificacionRepository.eliminarNoLeidas(estudianteId, ids);
+            leidas = notificacionRepository.eliminar(estudianteId, ids);
+        } else {
+            LocalDateTime limite = hastaOAhora(hasta);
+            noLeidas = notificacionRepository.eliminarNoLeidasHasta(estudianteId, limite);
+            leidas = notificacionRepository.eliminarHasta(estudianteId, limite);
+        }
+        contadorNoLeidasService.sumar(estudianteId, -noLeidas);
+        return noLeidas + leidas;
+    }
+
+    private static LocalDateTime hastaOAhora(LocalDateTime hasta) {
+        return hasta != null ? hasta : LocalDateTime.now();
+    }
+
+    private void validarEstudianteExiste(Long estudianteId) {
+        if (!estudianteRepository.existsById(estudianteId)) {
+            throw new IllegalArgumentException("El estudiante con ID " + estudianteId + " no existe.");
         }
-        notificacionRepository.deleteById(id);
     }
 
 
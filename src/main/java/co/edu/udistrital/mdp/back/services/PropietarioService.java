@@ -5,8 +5,8 @@ import co.edu.udistrital.mdp.back.entities.PropietarioEntity;
 import co.edu.udistrital.mdp.back.repositories.PropietarioRepository;
 import co.edu.udistrital.mdp.back.exceptions.EntityNotFoundException;
 import co.edu.udistrital.mdp.back.exceptions.ErrorMessage;
+import co.edu.udistrital.mdp.back.mappers.PropietarioMapper;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,28 +18,26 @@ import java.util.List;
 public class PropietarioService {
 
     private final PropietarioRepository propietarioRepository;
-    private final ModelMapper modelMapper;
+    private final PropietarioMapper propietarioMapper;
 
     public PropietarioDTO crearPropietario(PropietarioDTO propietarioDTO) {
         if (propietarioRepository.existsByDocumento(propietarioDTO.getDocumento())) {
             throw new IllegalArgumentException("Ya existe un propietario con el documento: " + propietarioDTO.getDocumento());
         }
-        PropietarioEntity propietarioEntity = modelMapper.map(propietarioDTO, PropietarioEntity.class);
+        PropietarioEntity propietarioEntity = propietarioMapper.toEntity(propietarioDTO);
         PropietarioEntity nuevoPropietario = propietarioRepository.save(propietarioEntity);
-        return modelMapper.map(nuevoPropietario, PropietarioDTO.class);
+        return propietarioMapper.toDTO(nuevoPropietario);
     }
 
     public PropietarioDTO getPropietario(Long id) throws EntityNotFoundException {
         PropietarioEntity propietario = propietarioRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(ErrorMessage.PROPIETARIO_NOT_FOUND));
-        return modelMapper.map(propietario, PropietarioDTO.class);
+        return propietarioMapper.toDTO(propietario);
     }
 
     public List<PropietarioDTO> getPropietarios() {
         List<PropietarioEntity> propietarios = propietarioRepository.findAll();
-        return propietarios.stream()
-            .map(propietario -> modelMapper.map(propietario, PropietarioDTO.class))
-            .toList();
+        return propietarioMapper.toDTOList(propietarios);
     }
 
     public PropietarioDTO updatePropietario(Long id, PropietarioDTO propietarioDTO) throws EntityNotFoundException {
@@ -53,7 +51,7 @@ public class PropietarioService {
         propietario.setTipoDocumento(propietarioDTO.getTipoDocumento());
         
         PropietarioEntity updatedPropietario = propietarioRepository.save(propietario);
-        return modelMapper.map(updatedPropietario, PropietarioDTO.class);
+        return propietarioMapper.toDTO(updatedPropietario);
     }
 
     public void deletePropietario(Long id) throws EntityNotFoundException {
@@ -0,0 +1,191 @@
+package co.edu.udistrital.mdp.back.services;
+
+import co.edu.udistrital.mdp.back.dto.RecomendacionDTO;
+import co.edu.udistrital.mdp.back.entities.PreferenciaEstudianteEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity.TipoVivienda;
+import co.edu.udistrital.mdp.back.indices.IndiceViviendas;
+import co.edu.udistrital.mdp.back.indices.IndiceViviendas.Candidata;
+import co.edu.udistrital.mdp.back.indices.Normalizador;
+import co.edu.udistrital.mdp.back.repositories.EstudianteRepository;
+import co.edu.udistrital.mdp.back.repositories.PreferenciaEstudianteRepository;
+import co.edu.udistrital.mdp.back.repositories.ViviendaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Recomendaciones de viviendas según las preferencias guardadas del estudiante.
+ *
+ * El tipo de vivienda, las mascotas y el presupuesto (con una tolerancia de
+ * TOLERANCIA_PRECIO por encima) filtran; el precio dentro del presupuesto y la
+ * cercanía a la zona preferida dan el puntaje. Las candidatas salen del índice
+ * en memoria por tipo y banda de precio, así que solo se recorren las
+ * viviendas que pasan el filtro de tipo y precio, y las K mejores se eligen con
+ * un montículo de tamaño K.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecomendacionService {
+
+    static final int LIMITE_POR_DEFECTO = 10;
+    static final int LIMITE_MAXIMO = 50;
+    static final double TOLERANCIA_PRECIO = 0.10;
+
+    // Puntaje máximo de cada criterio; sin preferencia se asigna el neutro
+    static final double PUNTOS_PRECIO = 50;
+    static final double PUNTOS_ZONA = 50;
+    private static final double NEUTRO = 25;
+
+    /**
+     * Candidata con su puntaje; el orden es de peor a mejor (el montículo saca
+     * primero la peor)
+     */
+    private record Puntuada(Candidata candidata, double puntaje) {
+    }
+
+    private static final Comparator<Puntuada> DE_PEOR_A_MEJOR = Comparator.comparingDouble(Puntuada::puntaje)
+            .thenComparing(p -> p.candidata().precio(), Comparator.reverseOrder())
+            .thenComparing(p -> p.candidata().viviendaId(), Comparator.reverseOrder());
+
+    private final IndiceViviendas indiceViviendas;
+    private final ViviendaRepository viviendaRepository;
+    private final EstudianteRepository estudianteRepository;
+    private final PreferenciaEstudianteRepository preferenciaRepository;
+
+    /**
+     * Carga en memoria el índice de viviendas disponibles
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void cargarIndice() {
+        List<Candidata> candidatas = viviendaRepository.findCandidatasDisponibles().stream()
+                .map(RecomendacionService::aCandidata)
+                .toList();
+        indiceViviendas.cargar(candidatas);
+        log.info("Índice de viviendas cargado con {} viviendas disponibles", candidatas.size());
+    }
+
+    /**
+     * READ - Las 'limite' viviendas disponibles más afines a las preferencias
+     * del estudiante, de mayor a menor puntaje. Sin preferencias guardadas no
+     * hay filtros y todas tienen el puntaje neutro (gana la más barata).
+     */
+    @Transactional(readOnly = true)
+    public List<RecomendacionDTO> recomendar(Long estudianteId, Integer limite) {
+        if (!estudianteRepository.existsById(estudianteId)) {
+            throw new IllegalArgumentException("El estudiante con ID " + estudianteId + " no existe.");
+        }
+        int k = limite == null ? LIMITE_POR_DEFECTO : Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+        Criterios criterios = Criterios.de(preferenciaRepository.findByEstudianteId(estudianteId).orElse(null));
+
+        PriorityQueue<Puntuada> mejores = new PriorityQueue<>(k + 1, DE_PEOR_A_MEJOR);
+        Consumer<Candidata> evaluar = candidata -> {
+            if (criterios.mascotas() && !candidata.aceptaMascotas()) {
+                return;
+            }
+            mejores.offer(new Puntuada(candidata, criterios.puntaje(candidata)));
+            if (mejores.size() > k) {
+                mejores.poll();
+            }
+        };
+        if (indiceViviendas.estaCargado()) {
+            indiceViviendas.recorrer(criterios.tipo(), criterios.precioLimite(), evaluar);
+        } else {
+            viviendaRepository.findCandidatasDisponibles().stream()
+                    .map(RecomendacionService::aCandidata)
+                    .filter(c -> criterios.tipo() == null || criterios.tipo() == c.tipo())
+                    .filter(c -> c.precio() <= criterios.precioLimite())
+                    .forEach(evaluar);
+        }
+
+        List<Puntuada> orden = new ArrayList<>(mejores);
+        orden.sort(DE_PEOR_A_MEJOR.reversed());
+        return orden.stream().map(RecomendacionService::aDTO).toList();
+    }
+
+    /**
+     * Preferencias ya interpretadas: tipo reconocido (o null), presupuesto y
+     * zona normalizada
+     */
+    record Criterios(TipoVivienda tipo, Long precioMaximo, boolean mascotas, String zona) {
+
+        static Criterios de(PreferenciaEstudianteEntity preferencia) {
+            if (preferencia == null) {
+                return new Criterios(null, null, false, "");
+            }
+            Long precioMaximo = preferencia.getPrecioMaximo() == null || preferencia.getPrecioMaximo() <= 0 ? null
+                    : preferencia.getPrecioMaximo().longValue();
+            return new Criterios(Normalizador.tipoVivienda(preferencia.getTipoVivienda()), precioMaximo,
+                    Boolean.TRUE.equals(preferencia.getAceptaMascotas()),
+                    Normalizador.normalizar(preferencia.getZonaPreferida()));
+        }
+
+        long precioLimite() {
+            return precioMaximo == null ? Long.MAX_VALUE : (long) Math.floor(precioMaximo * (1 + TOLERANCIA_PRECIO));
+        }
+
+        double puntaje(Candidata candidata) {
+            return Math.round((puntajePrecio(candidata.precio()) + puntajeZona(candidata)) * 10) / 10.0;
+        }
+
+        /**
+         * Dentro del presupuesto: de 35 a 50 según lo que sobra. Por encima (hasta
+         * la tolerancia): de 35 a 0 según lo que se pasa.
+         */
+        private double puntajePrecio(long precio) {
+            if (precioMaximo == null) {
+                return NEUTRO;
+            }
+            double base = PUNTOS_PRECIO * 0.7;
+            if (precio <= precioMaximo) {
+                return base + (PUNTOS_PRECIO - base) * (1 - (double) precio / precioMaximo);
+            }
+            double margen = precioMaximo * TOLERANCIA_PRECIO;
+            return margen <= 0 ? 0 : base * Math.max(0, 1 - (precio - precioMaximo) / margen);
+        }
+
+        /**
+         * Mismo barrio: 50; barrio que contiene la zona o al revés: 40; misma
+         * ciudad: 30; otra zona: 0
+         */
+        private double puntajeZona(Candidata candidata) {
+            if (zona.isEmpty()) {
+                return NEUTRO;
+            }
+            String barrio = candidata.barrioClave();
+            if (barrio.equals(zona)) {
+                return PUNTOS_ZONA;
+            }
+            if (!barrio.isEmpty() && (barrio.contains(zona) || zona.contains(barrio))) {
+                return PUNTOS_ZONA * 0.8;
+            }
+            return candidata.ciudadClave().equals(zona) ? PUNTOS_ZONA * 0.6 : 0;
+        }
+    }
+
+    private static Candidata aCandidata(Object[] fila) {
+        String ciudad = (String) fila[3];
+        String barrio = (String) fila[4];
+        return new Candidata((Long) fila[0], (TipoVivienda) fila[1], ((BigDecimal) fila[2]).longValue(), ciudad,
+                barrio, (Boolean) fila[5], (String) fila[6], Normalizador.normalizar(ciudad),
+                Normalizador.normalizar(barrio));
+    }
+
+    private static RecomendacionDTO aDTO(Puntuada puntuada) {
+        Candidata c = puntuada.candidata();
+        return new RecomendacionDTO(c.viviendaId(), c.direccion(), c.ciudad(), c.barrio(),
+                c.tipo() == null ? null : c.tipo().name(), BigDecimal.valueOf(c.precio()), c.aceptaMascotas(),
+                puntuada.puntaje());
+    }
+}
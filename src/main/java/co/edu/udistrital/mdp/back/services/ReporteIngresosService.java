@@ -0,0 +1,69 @@
+package co.edu.udistrital.mdp.back.services;
+
+import co.edu.udistrital.mdp.back.dto.IngresoMensualDTO;
+import co.edu.udistrital.mdp.back.entities.TransaccionEntity.EstadoTransaccion;
+import co.edu.udistrital.mdp.back.repositories.TransaccionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Reporte de ingresos mensuales por propietario y ciudad.
+ *
+ * La agregación la hace la base de datos en una sola consulta (transacciones
+ * completadas, agrupadas por propietario, ciudad y mes) y las filas se entregan
+ * una a una mientras se leen, así que la memoria usada no depende del número de
+ * transacciones ni del tamaño del reporte.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReporteIngresosService {
+
+    // Sin fechas, el reporte cubre los últimos doce meses completos más el actual
+    static final int MESES_POR_DEFECTO = 12;
+
+    /**
+     * Filtros del reporte; 'desde' y 'hasta' son inclusivos y los demás campos
+     * son opcionales
+     */
+    public record Filtro(Long propietarioId, String ciudad, LocalDate desde, LocalDate hasta) {
+
+        public Filtro {
+            if (hasta == null) {
+                hasta = LocalDate.now();
+            }
+            if (desde == null) {
+                desde = hasta.minusMonths(MESES_POR_DEFECTO).withDayOfMonth(1);
+            }
+            if (desde.isAfter(hasta)) {
+                throw new IllegalArgumentException("La fecha 'desde' no puede ser posterior a 'hasta'.");
+            }
+            if (ciudad != null && ciudad.isBlank()) {
+                ciudad = null;
+            }
+        }
+    }
+
+    private final TransaccionRepository transaccionRepository;
+
+    /**
+     * READ - Entrega cada fila del reporte a 'destino' y devuelve cuántas hubo
+     */
+    @Transactional(readOnly = true)
+    public long recorrerIngresos(Filtro filtro, Consumer<IngresoMensualDTO> destino) {
+        long filas = 0;
+        try (Stream<IngresoMensualDTO> ingresos = transaccionRepository.ingresosMensuales(
+                EstadoTransaccion.COMPLETADA, filtro.desde().atStartOfDay(), filtro.hasta().plusDays(1).atStartOfDay(),
+                filtro.propietarioId(), filtro.ciudad())) {
+            for (IngresoMensualDTO fila : (Iterable<IngresoMensualDTO>) ingresos::iterator) {
+                destino.accept(fila);
+                filas++;
+            }
+        }
+        return filas;
+    }
+}
@@ -1,16 +1,25 @@
 package co.edu.udistrital.mdp.back.services;
 
 import co.edu.udistrital.mdp.back.entities.ReservaEntity;
+import co.edu.udistrital.mdp.back.entities.ReservaEntity.EstadoReserva;
 import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
 import co.edu.udistrital.mdp.back.entities.EstudianteEntity;
+import co.edu.udistrital.mdp.back.indices.IndiceReservas;
 import co.edu.udistrital.mdp.back.repositories.ReservaRepository;
 import co.edu.udistrital.mdp.back.repositories.ViviendaRepository;
 import co.edu.udistrital.mdp.back.repositories.EstudianteRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
 import java.util.List;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
@@ -19,12 +28,28 @@ public class ReservaService {
     private final ReservaRepository reservaRepo;
     private final ViviendaRepository viviendaRepo;
     private final EstudianteRepository estudianteRepo;
+    private final IndiceReservas indiceReservas;
+
+    /**
+     * Carga en memoria el índice de reservas activas por vivienda
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void cargarIndice() {
+        List<IndiceReservas.Intervalo> intervalos = reservaRepo.findIntervalosActivos().stream()
+                .map(fila -> new IndiceReservas.Intervalo((Long) fila[0], (Long) fila[1], (Long) fila[2],
+                        (LocalDate) fila[3], (LocalDate) fila[4]))
+                .toList();
+        indiceReservas.cargar(intervalos);
+        log.info("Índice de reservas cargado con {} reservas activas", intervalos.size());
+    }
 
     /**
      * CREATE - crea una reserva validando reglas:
      * - estudiante y vivienda existen
      * - fechas válidas (inicio antes de fin, no nulas)
-     * - no se solapan con reservas activas existentes
+     * - no se solapan con reservas activas existentes (validado con la vivienda
+     *   bloqueada)
      */
     public ReservaEntity createReserva(ReservaEntity in) {
         if (in == null)
@@ -41,6 +66,10 @@ public class ReservaService {
         if (in.getVivienda() == null || in.getVivienda().getId() == null)
             throw new IllegalArgumentException("Debe indicar la vivienda a reservar");
 
+        // Bloquea la vivienda hasta el fin de la transacción: las reservas concurrentes
+        // de una misma vivienda se validan y guardan una tras otra, así la segunda ve
+        // a la primera en el índice o en la base de datos
+        viviendaRepo.bloquear(in.getVivienda().getId());
         ViviendaEntity vivienda = viviendaRepo.findById(in.getVivienda().getId())
                 .orElseThrow(() -> new IllegalArgumentException("Vivienda no encontrada"));
 
@@ -51,27 +80,32 @@ public class ReservaService {
             throw new IllegalArgumentException("La fecha de inicio no puede ser posterior a la fecha de fin");
 
         // Validar solapamiento con otras reservas activas (pendiente o confirmada)
-        boolean existeActiva = reservaRepo.existeReservaActiva(
-                estudiante.getId(),
-                vivienda.getId(),
-                in.getFechaInicio(),
-                in.getFechaFin());
+        boolean existeActiva = indiceReservas.estaCargado()
+                ? indiceReservas.existeReservaActiva(estudiante.getId(), vivienda.getId(), in.getFechaInicio(),
+                        in.getFechaFin())
+                : reservaRepo.existeReservaActiva(estudiante.getId(), vivienda.getId(), in.getFechaInicio(),
+                        in.getFechaFin());
 
         if (existeActiva)
             throw new IllegalArgumentException(
                     "Ya existe una reserva activa para este estudiante y vivienda en el rango de fechas indicado");
 
-        // Validar estado
-        String estado = safeTrim(in.getEstado());
-        if (estado.isBlank())
-            estado = "Pendiente";
-        in.setEstado(estado);
+        // Validar estado: una reserva nueva nace pendiente o confirmada
+        if (in.getEstado() == null)
+            in.setEstado(EstadoReserva.PENDIENTE);
+        if (!in.getEstado().isActiva())
+            throw new IllegalArgumentException("Una reserva nueva debe estar pendiente o confirmada");
 
         // Asignar relaciones seguras
         in.setEstudiante(estudiante);
         in.setVivienda(vivienda);
 
-        return reservaRepo.save(in);
+        // Se indexa de inmediato para que las reservas concurrentes la vean; si la
+        // transacción se revierte se retira
+        ReservaEntity guardada = reservaRepo.save(in);
+        indexar(guardada);
+        SincronizacionTransaccion.siSeRevierte(() -> indiceReservas.retirar(guardada.getId()));
+        return guardada;
     }
 
     /**
@@ -81,6 +115,24 @@ public class ReservaService {
         return reservaRepo.findAll();
     }
 
+    /**
+     * READ - página de reservas (por fecha de inicio descendente) a partir del cursor 'after'
+     */
+    public Slice<ReservaEntity> getReservasPaginadas(String after, Integer limite) {
+        CursorPaginacion.Cursor cursor = CursorPaginacion.decodificar(after);
+        Pageable pagina = CursorPaginacion.limite(limite);
+        if (cursor == null)
+            return reservaRepo.findPrimeraPagina(pagina);
+        return reservaRepo.findPaginaDespuesDe(cursor.claveComoFecha(), cursor.id(), pagina);
+    }
+
+    /**
+     * Cursor que apunta a la posición de la reserva dada en el orden de paginación
+     */
+    public static String cursorDe(ReservaEntity reserva) {
+        return CursorPaginacion.codificar(reserva.getFechaInicio(), reserva.getId());
+    }
+
     /**
      * READ - obtener reserva por id
      */
@@ -90,28 +142,60 @@ public class ReservaService {
     }
 
     /**
-     * UPDATE - actualiza estado o fechas de una reserva existente
+     * UPDATE - actualiza estado o fechas de una reserva existente. Las fechas
+     * nuevas se validan contra las demás reservas activas con la vivienda
+     * bloqueada, igual que al crear
      */
     public ReservaEntity updateReserva(Long id, ReservaEntity updates) {
         ReservaEntity found = getReserva(id);
+        IndiceReservas.Intervalo anterior = found.getEstado().isActiva() ? intervalo(found) : null;
 
         // Actualizar fechas si vienen y son válidas
         if (updates.getFechaInicio() != null && updates.getFechaFin() != null) {
             if (updates.getFechaInicio().isAfter(updates.getFechaFin()))
                 throw new IllegalArgumentException("La fecha de inicio no puede ser posterior a la fecha de fin");
+
+            Long viviendaId = found.getVivienda().getId();
+            Long estudianteId = found.getEstudiante().getId();
+            viviendaRepo.bloquear(viviendaId);
+            boolean existeOtra = indiceReservas.estaCargado()
+                    ? indiceReservas.existeOtraReservaActiva(id, estudianteId, viviendaId, updates.getFechaInicio(),
+                            updates.getFechaFin())
+                    : reservaRepo.existeOtraReservaActiva(id, estudianteId, viviendaId, updates.getFechaInicio(),
+                            updates.getFechaFin());
+            if (existeOtra)
+                throw new IllegalArgumentException(
+                        "Ya existe una reserva activa para este estudiante y vivienda en el rango de fechas indicado");
+
             found.setFechaInicio(updates.getFechaInicio());
             found.setFechaFin(updates.getFechaFin());
         }
 
-        // Actualizar estado si viene y es válido
-        if (updates.getEstado() != null) {
-            String nuevoEstado = safeTrim(updates.getEstado());
-            if (nuevoEstado.isBlank())
-                throw new IllegalArgumentException("El estado no puede estar vacío");
+        // Actualizar estado si viene y la transición está permitida
+        EstadoReserva nuevoEstado = updates.getEstado();
+        if (nuevoEstado != null && nuevoEstado != found.getEstado()) {
+            if (!found.getEstado().puedeCambiarA(nuevoEstado))
+                throw new IllegalStateException(
+                        "Transición de estado no permitida: " + found.getEstado() + " -> " + nuevoEstado);
             found.setEstado(nuevoEstado);
         }
 
-        return reservaRepo.save(found);
+        // Si sigue activa se reubica de inmediato, como al crear, y se restaura si la
+        // transacción se revierte; si deja de estarlo se retira solo tras el commit,
+        // para que hasta entonces siga ocupando sus fechas
+        ReservaEntity guardada = reservaRepo.save(found);
+        if (guardada.getEstado().isActiva()) {
+            indexar(guardada);
+            SincronizacionTransaccion.siSeRevierte(() -> {
+                if (anterior != null)
+                    indiceReservas.registrar(anterior);
+                else
+                    indiceReservas.retirar(id);
+            });
+        } else {
+            SincronizacionTransaccion.despuesDelCommit(() -> indiceReservas.retirar(id));
+        }
+        return guardada;
     }
 
     /**
@@ -120,12 +204,30 @@ public class ReservaService {
     public void deleteReserva(Long id) {
         ReservaEntity found = getReserva(id);
 
-        String estado = safeTrim(found.getEstado()).toLowerCase();
-        if (estado.equals("confirmada") || estado.equals("pendiente")) {
+        if (found.getEstado().isActiva()) {
             throw new IllegalStateException("No se puede eliminar una reserva activa (confirmada o pendiente)");
         }
 
         reservaRepo.delete(found);
+        SincronizacionTransaccion.despuesDelCommit(() -> indiceReservas.retirar(id));
+    }
+
+    /**
+     * READ - indica si la vivienda no tiene reservas activas (pendientes o
+     * confirmadas) que se crucen con el rango de fechas
+     */
+    @Transactional(readOnly = true)
+    public boolean isRangoLibre(Long viviendaId, LocalDate fechaInicio, LocalDate fechaFin) {
+        if (viviendaId == null)
+            throw new IllegalArgumentException("Debe indicar la vivienda");
+        if (fechaInicio == null || fechaFin == null)
+            throw new IllegalArgumentException("Las fechas de inicio y fin son obligatorias");
+        if (fechaInicio.isAfter(fechaFin))
+            throw new IllegalArgumentException("La fecha de inicio no puede ser posterior a la fecha de fin");
+
+        if (indiceReservas.estaCargado())
+            return indiceReservas.estaLibre(viviendaId, fechaInicio, fechaFin);
+        return !reservaRepo.existeReservaActivaEnVivienda(viviendaId, fechaInicio, fechaFin);
     }
 
     /**
@@ -142,7 +244,20 @@ public class ReservaService {
         return reservaRepo.findReservasPendientes();
     }
 
-    private String safeTrim(String s) {
-        return s == null ? "" : s.trim();
+    /**
+     * Refleja la reserva en el índice: si está activa la (re)ubica, si no la retira
+     */
+    private void indexar(ReservaEntity reserva) {
+        if (!reserva.getEstado().isActiva()) {
+            indiceReservas.retirar(reserva.getId());
+            return;
+        }
+        indiceReservas.registrar(intervalo(reserva));
     }
+
+    private static IndiceReservas.Intervalo intervalo(ReservaEntity reserva) {
+        return new IndiceReservas.Intervalo(reserva.getId(), reserva.getVivienda().getId(),
+                reserva.getEstudiante().getId(), reserva.getFechaInicio(), reserva.getFechaFin());
+    }
+
 }
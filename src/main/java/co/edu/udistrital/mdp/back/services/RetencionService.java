@@ -0,0 +1,172 @@
+package co.edu.udistrital.mdp.back.services;
+
+import co.edu.udistrital.mdp.back.repositories.NotificacionRepository;
+import co.edu.udistrital.mdp.back.repositories.ReservaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+
+/**
+ * Purga programada de datos que ya no se necesitan, según políticas de
+ * retención configurables (0 o negativo desactiva una política):
+ * - notificaciones leídas con más de 'retencion.notificaciones-leidas.dias'
+ * - reservas canceladas que terminaron hace más de 'retencion.reservas-canceladas.dias'
+ *
+ * Cada política borra por rangos de 'retencion.tamano-rango' ids consecutivos,
+ * cada rango en su propia transacción corta y con una pausa de
+ * 'retencion.pausa-ms' entre uno y otro, para no retener bloqueos ni competir
+ * con el tráfico normal. Publica las métricas retencion.filas.eliminadas y
+ * retencion.purga (duración), etiquetadas por política.
+ */
+@Slf4j
+@Service
+public class RetencionService {
+
+    static final String NOTIFICACIONES_LEIDAS = "notificaciones-leidas";
+    static final String RESERVAS_CANCELADAS = "reservas-canceladas";
+
+    private final NotificacionRepository notificacionRepository;
+    private final ReservaRepository reservaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry registro;
+    private final int diasNotificaciones;
+    private final int diasReservas;
+    private final int tamanoRango;
+    private final long pausaMs;
+
+    private final AtomicBoolean enCurso = new AtomicBoolean();
+
+    public RetencionService(NotificacionRepository notificacionRepository, ReservaRepository reservaRepository,
+            PlatformTransactionManager transactionManager, MeterRegistry registro,
+            @Value("${retencion.notificaciones-leidas.dias:90}") int diasNotificaciones,
+            @Value("${retencion.reservas-canceladas.dias:365}") int diasReservas,
+            @Value("${retencion.tamano-rango:1000}") int tamanoRango,
+            @Value("${retencion.pausa-ms:200}") long pausaMs) {
+        if (tamanoRango < 1) {
+            throw new IllegalArgumentException("El tamaño de rango de la purga debe ser al menos 1");
+        }
+        this.notificacionRepository = notificacionRepository;
+        this.reservaRepository = reservaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.registro = registro;
+        this.diasNotificaciones = diasNotificaciones;
+        this.diasReservas = diasReservas;
+        this.tamanoRango = tamanoRango;
+        this.pausaMs = pausaMs;
+    }
+
+    /**
+     * DELETE - Aplica todas las políticas. Retorna las filas eliminadas por
+     * política; vacío si ya había una purga en curso.
+     */
+    @Scheduled(cron = "${retencion.cron:0 0 4 * * *}")
+    public Map<String, Long> purgar() {
+        Map<String, Long> eliminadas = new LinkedHashMap<>();
+        if (!enCurso.compareAndSet(false, true)) {
+            log.info("Purga de retención omitida: ya hay una en curso");
+            return eliminadas;
+        }
+        try {
+            eliminadas.put(NOTIFICACIONES_LEIDAS, purgarNotificacionesLeidas());
+            eliminadas.put(RESERVAS_CANCELADAS, purgarReservasCanceladas());
+            log.info("Purga de retención terminada: {}", eliminadas);
+            return eliminadas;
+        } finally {
+            enCurso.set(false);
+        }
+    }
+
+    /**
+     * DELETE - Notificaciones leídas enviadas antes del plazo de retención
+     */
+    public long purgarNotificacionesLeidas() {
+        if (diasNotificaciones <= 0) {
+            return 0;
+        }
+        LocalDateTime corte = LocalDateTime.now().minusDays(diasNotificaciones);
+        return purgarPorRangos(NOTIFICACIONES_LEIDAS,
+                notificacionRepository.findMinIdLeidasAntesDe(corte),
+                notificacionRepository.findMaxIdLeidasAntesDe(corte),
+                (desde, hasta) -> notificacionRepository.eliminarLeidasAntesDe(corte, desde, hasta));
+    }
+
+    /**
+     * DELETE - Reservas canceladas que terminaron antes del plazo de retención.
+     * No afecta al índice de reservas, que solo guarda las activas.
+     */
+    public long purgarReservasCanceladas() {
+        if (diasReservas <= 0) {
+            return 0;
+        }
+        LocalDate corte = LocalDate.now().minusDays(diasReservas);
+        return purgarPorRangos(RESERVAS_CANCELADAS,
+                reservaRepository.findMinIdCanceladasAntesDe(corte),
+                reservaRepository.findMaxIdCanceladasAntesDe(corte),
+                (desde, hasta) -> reservaRepository.eliminarCanceladasAntesDe(corte, desde, hasta));
+    }
+
+    /**
+     * Recorre [minId, maxId] en rangos de 'tamanoRango' ids, borrando cada uno en
+     * su propia transacción. Las filas nuevas quedan fuera porque sus ids son
+     * mayores que maxId.
+     */
+    private long purgarPorRangos(String politica, Long minId, Long maxId,
+            BiFunction<Long, Long, Integer> eliminarRango) {
+        if (minId == null || maxId == null) {
+            return 0;
+        }
+        Counter filas = Counter.builder("retencion.filas.eliminadas")
+                .description("Filas eliminadas por la purga de retención")
+                .tag("politica", politica)
+                .register(registro);
+        Timer duracion = Timer.builder("retencion.purga")
+                .description("Duración de cada purga de retención, pausas incluidas")
+                .tag("politica", politica)
+                .register(registro);
+        Timer.Sample muestra = Timer.start(registro);
+        long total = 0;
+        try {
+            for (long desde = minId; desde <= maxId; desde += tamanoRango) {
+                long hasta = Math.min(desde + tamanoRango - 1, maxId);
+                long inicioRango = desde;
+                Integer eliminadas = transactionTemplate.execute(estado -> eliminarRango.apply(inicioRango, hasta));
+                filas.increment(eliminadas);
+                total += eliminadas;
+                if (hasta < maxId && !pausar()) {
+                    log.warn("Purga de {} interrumpida tras {} filas", politica, total);
+                    break;
+                }
+            }
+        } finally {
+            muestra.stop(duracion);
+        }
+        log.info("Purga de {}: {} filas eliminadas", politica, total);
+        return total;
+    }
+
+    private boolean pausar() {
+        if (pausaMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pausaMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
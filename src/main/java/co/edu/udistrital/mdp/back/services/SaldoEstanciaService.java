@@ -0,0 +1,163 @@
+package co.edu.udistrital.mdp.back.services;
+
+import co.edu.udistrital.mdp.back.dto.SaldoEstanciaDTO;
+import co.edu.udistrital.mdp.back.entities.SaldoEstanciaEntity;
+import co.edu.udistrital.mdp.back.entities.TransaccionEntity.EstadoTransaccion;
+import co.edu.udistrital.mdp.back.repositories.ContratoRepository;
+import co.edu.udistrital.mdp.back.repositories.EstanciaRepository;
+import co.edu.udistrital.mdp.back.repositories.SaldoEstanciaRepository;
+import co.edu.udistrital.mdp.back.repositories.TransaccionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Saldo de pagos por estancia: totales completado, pendiente y reembolsado,
+ * fecha del último pago y lo que falta pagar del contrato.
+ *
+ * TransaccionService informa cada transacción creada y cada cambio de estado, y
+ * aquí se aplican como deltas con un UPDATE atómico dentro de su transacción,
+ * así que consultar el saldo es leer una fila y no sumar las transacciones.
+ * Antes de tocar un saldo se bloquea la fila de la estancia: así el primer pago,
+ * que crea el saldo, no se cruza con otro ni con la reconstrucción. Al arrancar
+ * se reconstruyen todos los saldos desde las transacciones.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class SaldoEstanciaService {
+
+    private final SaldoEstanciaRepository saldoRepository;
+    private final TransaccionRepository transaccionRepository;
+    private final EstanciaRepository estanciaRepository;
+    private final ContratoRepository contratoRepository;
+
+    /**
+     * READ - Saldo de una estancia en tiempo constante
+     */
+    @Transactional(readOnly = true)
+    public SaldoEstanciaDTO obtenerSaldo(Long estanciaId) {
+        if (!estanciaRepository.existsById(estanciaId)) {
+            throw new IllegalArgumentException("La estancia con ID " + estanciaId + " no existe.");
+        }
+        SaldoEstanciaDTO dto = new SaldoEstanciaDTO();
+        dto.setEstanciaId(estanciaId);
+        dto.setTotalCompletado(BigDecimal.ZERO);
+        dto.setTotalPendiente(BigDecimal.ZERO);
+        dto.setTotalReembolsado(BigDecimal.ZERO);
+        saldoRepository.findByEstanciaId(estanciaId).ifPresent(saldo -> {
+            dto.setTotalCompletado(saldo.getTotalCompletado());
+            dto.setTotalPendiente(saldo.getTotalPendiente());
+            dto.setTotalReembolsado(saldo.getTotalReembolsado());
+            dto.setUltimoPago(saldo.getUltimoPago());
+        });
+        contratoRepository.findMontoTotalByEstanciaId(estanciaId).ifPresent(monto -> {
+            BigDecimal montoContrato = BigDecimal.valueOf(monto).setScale(2, RoundingMode.HALF_UP);
+            dto.setMontoContrato(montoContrato);
+            dto.setSaldoPendiente(montoContrato.subtract(dto.getTotalCompletado()));
+        });
+        return dto;
+    }
+
+    /**
+     * UPDATE - Aplica al saldo de la estancia una transacción de 'monto' y fecha
+     * 'fechaTransaccion' que pasa del estado 'anterior' (null si es nueva) a 'nuevo'
+     */
+    public void registrar(Long estanciaId, EstadoTransaccion anterior, EstadoTransaccion nuevo, BigDecimal monto,
+            LocalDateTime fechaTransaccion) {
+        if (anterior == nuevo) {
+            return;
+        }
+        BigDecimal completado = delta(EstadoTransaccion.COMPLETADA, anterior, nuevo, monto);
+        BigDecimal pendiente = delta(EstadoTransaccion.PENDIENTE, anterior, nuevo, monto);
+        BigDecimal reembolsado = delta(EstadoTransaccion.REEMBOLSADA, anterior, nuevo, monto);
+        if (completado.signum() == 0 && pendiente.signum() == 0 && reembolsado.signum() == 0) {
+            return;
+        }
+        estanciaRepository.bloquear(estanciaId);
+        if (saldoRepository.sumar(estanciaId, completado, pendiente, reembolsado) == 0) {
+            SaldoEstanciaEntity saldo = new SaldoEstanciaEntity();
+            saldo.setEstanciaId(estanciaId);
+            saldo.setTotalCompletado(completado);
+            saldo.setTotalPendiente(pendiente);
+            saldo.setTotalReembolsado(reembolsado);
+            saldoRepository.save(saldo);
+        }
+        if (nuevo == EstadoTransaccion.COMPLETADA) {
+            saldoRepository.registrarPago(estanciaId, fechaTransaccion);
+        }
+    }
+
+    /**
+     * Recalcula todos los saldos desde las transacciones. Corrige cualquier
+     * desviación (p. ej. transacciones anteriores a este resumen).
+     *
+     * Bloquea primero todas las estancias, así ningún pago cambia un saldo entre
+     * la suma y la escritura; los pagos concurrentes esperan y se aplican sobre
+     * el saldo reconstruido. Las estancias creadas después del bloqueo se dejan
+     * como están.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int reconstruirSaldos() {
+        Set<Long> estancias = new HashSet<>(estanciaRepository.bloquearTodas());
+        Map<Long, SaldoEstanciaEntity> saldos = new HashMap<>();
+        for (SaldoEstanciaEntity existente : saldoRepository.findAll()) {
+            if (estancias.contains(existente.getEstanciaId())) {
+                existente.reiniciar();
+                saldos.put(existente.getEstanciaId(), existente);
+            }
+        }
+        for (Object[] fila : transaccionRepository.totalesPorEstanciaYEstado()) {
+            Long estanciaId = (Long) fila[0];
+            if (!estancias.contains(estanciaId)) {
+                continue;
+            }
+            EstadoTransaccion estado = (EstadoTransaccion) fila[1];
+            BigDecimal total = (BigDecimal) fila[2];
+            SaldoEstanciaEntity saldo = saldos.computeIfAbsent(estanciaId, id -> {
+                SaldoEstanciaEntity nuevo = new SaldoEstanciaEntity();
+                nuevo.setEstanciaId(id);
+                return nuevo;
+            });
+            switch (estado) {
+                case COMPLETADA -> {
+                    saldo.setTotalCompletado(total);
+                    saldo.setUltimoPago((LocalDateTime) fila[3]);
+                }
+                case PENDIENTE -> saldo.setTotalPendiente(total);
+                case REEMBOLSADA -> saldo.setTotalReembolsado(total);
+                case FALLIDA -> {
+                    // Los pagos fallidos no suman en ningún total
+                }
+            }
+        }
+        saldoRepository.saveAll(saldos.values());
+        saldoRepository.eliminarHuerfanos();
+        log.info("Saldos de estancias reconstruidos: {}", saldos.size());
+        return saldos.size();
+    }
+
+    private static BigDecimal delta(EstadoTransaccion total, EstadoTransaccion anterior, EstadoTransaccion nuevo,
+            BigDecimal monto) {
+        BigDecimal delta = BigDecimal.ZERO;
+        if (nuevo == total) {
+            delta = delta.add(monto);
+        }
+        if (anterior == total) {
+            delta = delta.subtract(monto);
+        }
+        return delta;
+    }
+}
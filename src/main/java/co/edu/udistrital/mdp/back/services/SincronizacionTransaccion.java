@@ -0,0 +1,111 @@
+package co.edu.udistrital.mdp.back.services;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Ata acciones sobre estructuras en memoria (índices, contadores) al resultado
+ * de la transacción actual, para que no reflejen cambios que luego se revierten.
+ */
+public final class SincronizacionTransaccion {
+
+    private SincronizacionTransaccion() {
+    }
+
+    /**
+     * Ejecuta la acción cuando la transacción actual confirme. Sin transacción
+     * activa la ejecuta de inmediato.
+     */
+    public static void despuesDelCommit(Runnable accion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accion.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accion.run();
+            }
+        });
+    }
+
+    /**
+     * Acumula 'elemento' con los demás registrados bajo la misma 'clave' en la
+     * transacción actual y, cuando confirme, ejecuta la acción una sola vez con
+     * todos ellos en orden. Sin transacción activa la ejecuta de inmediato con
+     * ese único elemento.
+     */
+    public static <T> void despuesDelCommitAgrupado(Object clave, T elemento, Consumer<List<T>> accion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accion.accept(List.of(elemento));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Agrupados<T> agrupados = (Agrupados<T>) TransactionSynchronizationManager.getResource(clave);
+        if (agrupados == null) {
+            agrupados = new Agrupados<>(clave, accion);
+            TransactionSynchronizationManager.bindResource(clave, agrupados);
+            TransactionSynchronizationManager.registerSynchronization(agrupados);
+        }
+        agrupados.elementos.add(elemento);
+    }
+
+    /**
+     * Ejecuta la acción solo si la transacción actual se revierte. Sin transacción
+     * activa no hace nada.
+     */
+    public static void siSeRevierte(Runnable accion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    accion.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * Elementos acumulados de una transacción. Se ligan a ella como recurso para
+     * encontrarlos en O(1); si la transacción se suspende (REQUIRES_NEW) se
+     * desligan, así la transacción interna acumula los suyos por separado.
+     */
+    private static final class Agrupados<T> implements TransactionSynchronization {
+
+        private final Object clave;
+        private final Consumer<List<T>> accion;
+        private final List<T> elementos = new ArrayList<>();
+
+        Agrupados(Object clave, Consumer<List<T>> accion) {
+            this.clave = clave;
+            this.accion = accion;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(clave);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(clave, this);
+        }
+
+        @Override
+        public void afterCommit() {
+            accion.accept(elementos);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(clave);
+        }
+    }
+}
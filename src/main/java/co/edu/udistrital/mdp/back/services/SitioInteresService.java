@@ -1,7 +1,9 @@
 package co.edu.udistrital.mdp.back.services;
 
 import co.edu.udistrital.mdp.back.entities.SitioInteresEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
 import co.edu.udistrital.mdp.back.repositories.SitioInteresRepository;
+import co.edu.udistrital.mdp.back.repositories.ViviendaRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,6 +16,8 @@ import java.util.List;
 public class SitioInteresService {
 
     private final SitioInteresRepository sitioRepo;
+    private final ViviendaRepository viviendaRepo;
+    private final CaminabilidadService caminabilidadService;
 
     /**
      * CREATE - crea un sitio de interés con validaciones.
@@ -83,12 +87,43 @@ public class SitioInteresService {
             found.setDescripcion(updates.getDescripcion());
         if (updates.getFoto() != null)
             found.setFoto(updates.getFoto());
+        Integer tiempoAnterior = found.getTiempoCaminando();
         if (updates.getTiempoCaminando() != null && updates.getTiempoCaminando() >= 0)
             found.setTiempoCaminando(updates.getTiempoCaminando());
 
+        if (!found.getTiempoCaminando().equals(tiempoAnterior))
+            caminabilidadService.tiempoCambiado(found.getId(), tiempoAnterior, found.getTiempoCaminando());
+
         return sitioRepo.save(found);
     }
 
+    /**
+     * UPDATE - asocia una vivienda al sitio y actualiza su caminabilidad.
+     */
+    public SitioInteresEntity asociarVivienda(long sitioId, long viviendaId) {
+        SitioInteresEntity sitio = getSitioInteres(sitioId);
+        ViviendaEntity vivienda = viviendaRepo.findById(viviendaId)
+                .orElseThrow(() -> new IllegalArgumentException("Vivienda no encontrada con ID: " + viviendaId));
+        if (sitio.getViviendas().stream().anyMatch(v -> v.getId().equals(viviendaId)))
+            throw new IllegalStateException("La vivienda ya está asociada a este sitio");
+
+        sitio.getViviendas().add(vivienda);
+        caminabilidadService.sitioAsociado(viviendaId, sitio.getTiempoCaminando());
+        return sitio;
+    }
+
+    /**
+     * UPDATE - desasocia una vivienda del sitio y actualiza su caminabilidad.
+     */
+    public SitioInteresEntity desasociarVivienda(long sitioId, long viviendaId) {
+        SitioInteresEntity sitio = getSitioInteres(sitioId);
+        if (!sitio.getViviendas().removeIf(v -> v.getId().equals(viviendaId)))
+            throw new IllegalArgumentException("La vivienda con ID " + viviendaId + " no está asociada a este sitio");
+
+        caminabilidadService.sitioDesasociado(viviendaId, sitio.getTiempoCaminando());
+        return sitio;
+    }
+
     /**
      * DELETE - elimina un sitio si no tiene viviendas asociadas.
      */
@@ -0,0 +1,241 @@
+package co.edu.udistrital.mdp.back.services;
+
+import co.edu.udistrital.mdp.back.dto.NotificacionDTO;
+import co.edu.udistrital.mdp.back.entities.NotificacionEntity;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Registro en memoria de los estudiantes conectados al stream de notificaciones
+ * (Server-Sent Events) y reparto de cada notificación nueva a sus conexiones.
+ *
+ * Cada conexión tiene una cola acotada de eventos pendientes que vacía un hilo
+ * virtual, así un cliente lento nunca frena a quien publica. Si la cola se
+ * llena la conexión se cierra: el navegador se reconecta con Last-Event-ID y
+ * recupera lo perdido desde la base de datos (ver NotificacionService.suscribir).
+ * Cada cierto tiempo se envía un comentario de latido para que proxies y
+ * balanceadores no corten las conexiones inactivas.
+ */
+@Slf4j
+@Component
+public class SuscripcionesNotificaciones {
+
+    static final String EVENTO = "notificacion";
+
+    // Marca en la cola de un latido (se compara por identidad)
+    private static final NotificacionDTO LATIDO = new NotificacionDTO();
+
+    private final Map<Long, Set<Suscriptor>> porEstudiante = new ConcurrentHashMap<>();
+    private final ExecutorService envios = Executors.newVirtualThreadPerTaskExecutor();
+    private final int capacidadCola;
+    private final long tiempoMaximoMs;
+
+    public SuscripcionesNotificaciones(@Value("${notificaciones.sse.capacidad-cola:256}") int capacidadCola,
+            @Value("${notificaciones.sse.tiempo-maximo-ms:1800000}") long tiempoMaximoMs) {
+        this.capacidadCola = capacidadCola;
+        this.tiempoMaximoMs = tiempoMaximoMs;
+    }
+
+    /**
+     * Crea la conexión SSE de un estudiante. Las notificaciones publicadas desde
+     * este momento quedan en espera hasta que se llame a 'iniciar' con las que el
+     * cliente se perdió.
+     */
+    public Suscripcion suscribir(Long estudianteId) {
+        return suscribir(estudianteId, new SseEmitter(tiempoMaximoMs));
+    }
+
+    Suscripcion suscribir(Long estudianteId, SseEmitter emisor) {
+        Suscriptor suscriptor = new Suscriptor(estudianteId, emisor);
+        emisor.onCompletion(() -> retirar(suscriptor));
+        emisor.onTimeout(() -> retirar(suscriptor));
+        emisor.onError(e -> retirar(suscriptor));
+        porEstudiante.computeIfAbsent(estudianteId, id -> ConcurrentHashMap.newKeySet()).add(suscriptor);
+        return suscriptor;
+    }
+
+    /**
+     * Envía la notificación a todas las conexiones abiertas de su destinatario
+     */
+    public void publicar(NotificacionEntity notificacion) {
+        Set<Suscriptor> suscriptores = porEstudiante.get(notificacion.getEstudiante().getId());
+        if (suscriptores == null) {
+            return;
+        }
+        NotificacionDTO dto = aDTO(notificacion);
+        suscriptores.forEach(s -> s.encolar(dto));
+    }
+
+    /**
+     * Número de conexiones abiertas de un estudiante
+     */
+    public int conexiones(Long estudianteId) {
+        Set<Suscriptor> suscriptores = porEstudiante.get(estudianteId);
+        return suscriptores == null ? 0 : suscriptores.size();
+    }
+
+    @Scheduled(fixedRateString = "${notificaciones.sse.latido-ms:15000}")
+    public void enviarLatidos() {
+        porEstudiante.values().forEach(suscriptores -> suscriptores.forEach(Suscriptor::latir));
+    }
+
+    @PreDestroy
+    void cerrar() {
+        porEstudiante.values().forEach(suscriptores -> suscriptores.forEach(s -> s.emisor.complete()));
+        envios.shutdownNow();
+    }
+
+    private void retirar(Suscriptor suscriptor) {
+        porEstudiante.computeIfPresent(suscriptor.estudianteId, (id, suscriptores) -> {
+            suscriptores.remove(suscriptor);
+            return suscriptores.isEmpty() ? null : suscriptores;
+        });
+    }
+
+    private static NotificacionDTO aDTO(NotificacionEntity notificacion) {
+        NotificacionDTO dto = new NotificacionDTO();
+        dto.setId(notificacion.getId());
+        dto.setMensaje(notificacion.getMensaje());
+        dto.setLeida(notificacion.getLeida());
+        dto.setFechaEnvio(notificacion.getFechaEnvio());
+        return dto;
+    }
+
+    /**
+     * Conexión abierta de un estudiante
+     */
+    public interface Suscripcion {
+
+        SseEmitter getEmisor();
+
+        /**
+         * Pone primero en la cola las notificaciones perdidas (en orden de id) y
+         * empieza a enviar. Las publicadas mientras tanto que ya estén entre las
+         * perdidas no se repiten.
+         */
+        void iniciar(Collection<NotificacionEntity> perdidas);
+    }
+
+    private final class Suscriptor implements Suscripcion {
+
+        private final Long estudianteId;
+        private final SseEmitter emisor;
+        private final ArrayDeque<NotificacionDTO> pendientes = new ArrayDeque<>();
+        private boolean iniciada;
+        private boolean enviando;
+        private boolean cerrada;
+
+        Suscriptor(Long estudianteId, SseEmitter emisor) {
+            this.estudianteId = estudianteId;
+            this.emisor = emisor;
+        }
+
+        @Override
+        public SseEmitter getEmisor() {
+            return emisor;
+        }
+
+        @Override
+        public void iniciar(Collection<NotificacionEntity> perdidas) {
+            synchronized (this) {
+                List<NotificacionDTO> publicadas = List.copyOf(pendientes);
+                pendientes.clear();
+                long ultimoId = Long.MIN_VALUE;
+                for (NotificacionEntity n : perdidas) {
+                    pendientes.add(aDTO(n));
+                    ultimoId = Math.max(ultimoId, n.getId());
+                }
+                for (NotificacionDTO dto : publicadas) {
+                    if (dto.getId() > ultimoId) {
+                        pendientes.add(dto);
+                    }
+                }
+                iniciada = true;
+            }
+            programarEnvio();
+        }
+
+        void encolar(NotificacionDTO dto) {
+            synchronized (this) {
+                if (cerrada) {
+                    return;
+                }
+                if (pendientes.size() >= capacidadCola) {
+                    log.info("Cola SSE llena para el estudiante {}; se cierra la conexión para que se reconecte",
+                            estudianteId);
+                    cerrada = true;
+                    pendientes.clear();
+                    emisor.complete();
+                    retirar(this);
+                    return;
+                }
+                pendientes.add(dto);
+            }
+            programarEnvio();
+        }
+
+        void latir() {
+            synchronized (this) {
+                if (!iniciada || cerrada || !pendientes.isEmpty()) {
+                    return;
+                }
+                pendientes.add(LATIDO);
+            }
+            programarEnvio();
+        }
+
+        private void programarEnvio() {
+            synchronized (this) {
+                if (!iniciada || enviando || cerrada || pendientes.isEmpty()) {
+                    return;
+                }
+                enviando = true;
+            }
+            envios.execute(this::vaciarCola);
+        }
+
+        private void vaciarCola() {
+            while (true) {
+                NotificacionDTO siguiente;
+                synchronized (this) {
+                    if (cerrada || pendientes.isEmpty()) {
+                        enviando = false;
+                        return;
+                    }
+                    siguiente = pendientes.poll();
+                }
+                try {
+                    if (siguiente == LATIDO) {
+                        emisor.send(SseEmitter.event().comment("latido"));
+                    } else {
+                        emisor.send(SseEmitter.event().id(String.valueOf(siguiente.getId())).name(EVENTO)
+                                .data(siguiente));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // El cliente se desconectó; el contenedor avisará por onError/onCompletion
+                    synchronized (this) {
+                        cerrada = true;
+                        enviando = false;
+                        pendientes.clear();
+                    }
+                    retirar(this);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package co.edu.udistrital.mdp.back.services;
 
 import co.edu.udistrital.mdp.back.entities.TransaccionEntity;
+import co.edu.udistrital.mdp.back.entities.TransaccionEntity.EstadoTransaccion;
 import co.edu.udistrital.mdp.back.repositories.TransaccionRepository;
 import co.edu.udistrital.mdp.back.repositories.EstanciaRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
@@ -17,6 +20,7 @@ public class TransaccionService {
 
     private final TransaccionRepository transaccionRepository;
     private final EstanciaRepository estanciaRepository;
+    private final SaldoEstanciaService saldoEstanciaService;
 
     /**
      * CREATE - Registra una nueva transacción financiera.
@@ -26,14 +30,18 @@ public class TransaccionService {
      * - El monto debe ser mayor que cero.
      * - metodoPago y estado no pueden ser nulos o vacíos.
      * - fechaTransaccion se establece automáticamente.
+     * - El saldo de la estancia se actualiza en la misma transacción.
      */
     public TransaccionEntity crearTransaccion(TransaccionEntity transaccion) {
         validarEstanciaAsociada(transaccion);
         validarCamposObligatorios(transaccion);
 
         transaccion.setFechaTransaccion(LocalDateTime.now());
-        
-        return transaccionRepository.save(transaccion);
+
+        TransaccionEntity guardada = transaccionRepository.save(transaccion);
+        saldoEstanciaService.registrar(transaccion.getEstancia().getId(), null, transaccion.getEstado(),
+                transaccion.getMonto(), transaccion.getFechaTransaccion());
+        return guardada;
     }
 
     /**
@@ -44,6 +52,25 @@ public class TransaccionService {
                 .orElseThrow(() -> new IllegalArgumentException("Transacción no encontrada con ID: " + id));
     }
 
+    /**
+     * READ - Página de transacciones (más recientes primero) a partir del cursor 'after'.
+     */
+    public Slice<TransaccionEntity> obtenerTransaccionesPaginadas(String after, Integer limite) {
+        CursorPaginacion.Cursor cursor = CursorPaginacion.decodificar(after);
+        Pageable pagina = CursorPaginacion.limite(limite);
+        if (cursor == null) {
+            return transaccionRepository.findPrimeraPagina(pagina);
+        }
+        return transaccionRepository.findPaginaDespuesDe(cursor.claveComoFechaHora(), cursor.id(), pagina);
+    }
+
+    /**
+     * Cursor que apunta a la posición de la transacción dada en el orden de paginación.
+     */
+    public static String cursorDe(TransaccionEntity transaccion) {
+        return CursorPaginacion.codificar(transaccion.getFechaTransaccion(), transaccion.getId());
+    }
+
     /**
      * READ - Obtiene todas las transacciones de una Estancia.
      */
@@ -57,6 +84,11 @@ public class TransaccionService {
      * Reglas aplicadas:
      * - Solo se permite modificar el estado.
      * - El monto y la estancia no son modificables.
+     * - Solo se permiten las transiciones de EstadoTransaccion
+     *   (PENDIENTE -> COMPLETADA | FALLIDA, COMPLETADA -> REEMBOLSADA).
+     * - El cambio se aplica solo si el estado no cambió desde que se leyó, así
+     *   dos peticiones concurrentes no aplican la misma transición dos veces.
+     * - El saldo de la estancia se actualiza en la misma transacción.
      */
     public TransaccionEntity actualizarEstadoTransaccion(Long id, String nuevoEstado) {
         TransaccionEntity transaccion = obtenerTransaccionPorId(id);
@@ -65,8 +97,24 @@ public class TransaccionService {
              throw new IllegalArgumentException("El nuevo estado no puede ser vacío.");
         }
 
-        transaccion.setEstado(nuevoEstado);
-        return transaccionRepository.save(transaccion);
+        EstadoTransaccion destino = EstadoTransaccion.desde(nuevoEstado);
+        if (destino == transaccion.getEstado()) {
+            return transaccion;
+        }
+        if (!transaccion.getEstado().puedeCambiarA(destino)) {
+            throw new IllegalStateException(
+                    "Transición de estado no permitida: " + transaccion.getEstado() + " -> " + destino);
+        }
+
+        EstadoTransaccion anterior = transaccion.getEstado();
+        if (transaccionRepository.cambiarEstado(id, anterior, destino) == 0) {
+            throw new IllegalStateException(
+                    "La transacción con ID " + id + " cambió de estado mientras se actualizaba.");
+        }
+        transaccion.setEstado(destino);
+        saldoEstanciaService.registrar(transaccion.getEstancia().getId(), anterior, destino, transaccion.getMonto(),
+                transaccion.getFechaTransaccion());
+        return transaccion;
     }
 
     /**
@@ -94,7 +142,7 @@ public class TransaccionService {
         if (transaccion.getMetodoPago() == null || transaccion.getMetodoPago().trim().isEmpty()) {
             throw new IllegalArgumentException("El 'metodoPago' no puede ser vacío.");
         }
-        if (transaccion.getEstado() == null || transaccion.getEstado().trim().isEmpty()) {
+        if (transaccion.getEstado() == null) {
             throw new IllegalArgumentException("El 'estado' de la transacción no puede ser vacío.");
         }
     }
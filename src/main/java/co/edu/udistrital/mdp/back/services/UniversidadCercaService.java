@@ -1,13 +1,17 @@
 package co.edu.udistrital.mdp.back.services;
 
 import co.edu.udistrital.mdp.back.entities.UniversidadCercaEntity;
+import co.edu.udistrital.mdp.back.indices.Coordenadas;
 import co.edu.udistrital.mdp.back.repositories.UniversidadCercaRepository;
 import co.edu.udistrital.mdp.back.repositories.ViviendaRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +25,7 @@ public class UniversidadCercaService {
      * CREATE - crea una UniversidadCerca validando reglas:
      * - nombre obligatorio (no nulo/ni en blanco, <=150 chars)
      * - nombre único (case-insensitive)
+     * - latitud y longitud juntas y dentro de rango, si vienen
      */
     public UniversidadCercaEntity crearUniversidad(UniversidadCercaEntity in) {
         if (in == null) throw new IllegalArgumentException("Entidad UniversidadCerca es obligatoria");
@@ -28,6 +33,7 @@ public class UniversidadCercaService {
         if (nombre.isBlank()) throw new IllegalArgumentException("Nombre obligatorio para UniversidadCerca");
         if (nombre.length() > 150) throw new IllegalArgumentException("Nombre excede 150 caracteres");
         if (universidadRepo.existsByNombreIgnoreCase(nombre)) throw new IllegalArgumentException("Ya existe otra UniversidadCerca con ese nombre");
+        Coordenadas.validar(in.getLatitud(), in.getLongitud());
         in.setNombre(nombre);
         return universidadRepo.save(in);
     }
@@ -47,6 +53,17 @@ public class UniversidadCercaService {
         return universidadRepo.findAll();
     }
 
+    /**
+     * READ - ids de las viviendas de cada universidad, con una sola consulta
+     */
+    public Map<Long, List<Long>> viviendaIdsPorUniversidad() {
+        Map<Long, List<Long>> ids = new HashMap<>();
+        for (Object[] fila : universidadRepo.findViviendaIdsPorUniversidad()) {
+            ids.computeIfAbsent((Long) fila[0], u -> new ArrayList<>()).add((Long) fila[1]);
+        }
+        return ids;
+    }
+
     /**
      * UPDATE - actualizar (no permitir cambiar nombre a uno que ya existe)
      */
@@ -68,6 +85,13 @@ public class UniversidadCercaService {
             found.setCiudad(updates.getCiudad());
         }
 
+        // la ubicación se reemplaza solo si viene completa
+        if (updates.getLatitud() != null || updates.getLongitud() != null) {
+            Coordenadas.validar(updates.getLatitud(), updates.getLongitud());
+            found.setLatitud(updates.getLatitud());
+            found.setLongitud(updates.getLongitud());
+        }
+
         return universidadRepo.save(found);
     }
 
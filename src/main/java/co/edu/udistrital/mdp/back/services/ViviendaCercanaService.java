@@ -0,0 +1,111 @@
+package co.edu.udistrital.mdp.back.services;
+
+import co.edu.udistrital.mdp.back.dto.ViviendaCercanaDTO;
+import co.edu.udistrital.mdp.back.entities.UniversidadCercaEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity.TipoVivienda;
+import co.edu.udistrital.mdp.back.indices.Coordenadas;
+import co.edu.udistrital.mdp.back.indices.IndiceGeografico;
+import co.edu.udistrital.mdp.back.indices.IndiceGeografico.Cercana;
+import co.edu.udistrital.mdp.back.indices.IndiceGeografico.Ubicacion;
+import co.edu.udistrital.mdp.back.repositories.UniversidadCercaRepository;
+import co.edu.udistrital.mdp.back.repositories.ViviendaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Viviendas disponibles más cercanas a una universidad, por distancia del
+ * círculo máximo.
+ *
+ * Se resuelven sobre el índice geográfico en memoria; mientras no esté cargado
+ * se consultan las viviendas dentro del rectángulo que contiene el radio.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ViviendaCercanaService {
+
+    static final double RADIO_POR_DEFECTO_KM = 5;
+    static final double RADIO_MAXIMO_KM = 50;
+    static final int K_POR_DEFECTO = 10;
+    static final int K_MAXIMO = 50;
+
+    private static final Comparator<Cercana> DE_CERCA_A_LEJOS = Comparator.comparingDouble(Cercana::distanciaKm)
+            .thenComparing(c -> c.ubicacion().viviendaId());
+
+    private final IndiceGeografico indiceGeografico;
+    private final ViviendaRepository viviendaRepository;
+    private final UniversidadCercaRepository universidadRepository;
+
+    /**
+     * Carga en memoria el índice geográfico de viviendas disponibles
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void cargarIndice() {
+        List<Ubicacion> ubicaciones = viviendaRepository.findUbicacionesDisponibles().stream()
+                .map(ViviendaCercanaService::aUbicacion)
+                .toList();
+        indiceGeografico.cargar(ubicaciones);
+        log.info("Índice geográfico cargado con {} viviendas disponibles", ubicaciones.size());
+    }
+
+    /**
+     * READ - Las 'k' viviendas disponibles más cercanas a la universidad dentro
+     * de 'radioKm', de la más cercana a la más lejana. Sin valor, o con uno no
+     * positivo, se usan RADIO_POR_DEFECTO_KM y K_POR_DEFECTO; los valores
+     * mayores se limitan a RADIO_MAXIMO_KM y K_MAXIMO.
+     *
+     * Reglas aplicadas:
+     * - La universidad debe existir.
+     * - La universidad debe tener ubicación registrada.
+     */
+    @Transactional(readOnly = true)
+    public List<ViviendaCercanaDTO> cercanasAUniversidad(Long universidadId, Double radioKm, Integer k) {
+        UniversidadCercaEntity universidad = universidadRepository.findById(universidadId)
+                .orElseThrow(() -> new IllegalArgumentException("UniversidadCerca no encontrada con ID: " + universidadId));
+        if (universidad.getLatitud() == null || universidad.getLongitud() == null) {
+            throw new IllegalStateException("La universidad con ID " + universidadId + " no tiene ubicación registrada.");
+        }
+        double radio = radioKm == null || !(radioKm > 0) ? RADIO_POR_DEFECTO_KM : Math.min(radioKm, RADIO_MAXIMO_KM);
+        int limite = k == null || k < 1 ? K_POR_DEFECTO : Math.min(k, K_MAXIMO);
+        return cercanas(universidad.getLatitud(), universidad.getLongitud(), radio, limite).stream()
+                .map(ViviendaCercanaService::aDTO)
+                .toList();
+    }
+
+    private List<Cercana> cercanas(double latitud, double longitud, double radioKm, int k) {
+        if (indiceGeografico.estaCargado()) {
+            return indiceGeografico.cercanas(latitud, longitud, radioKm, k);
+        }
+        double dLat = radioKm / Coordenadas.KM_POR_GRADO;
+        double dLon = dLat / Math.max(Math.cos(Math.toRadians(Math.min(89.9, Math.abs(latitud) + dLat))), 1e-6);
+        return viviendaRepository.findUbicacionesDisponiblesEnRectangulo(latitud - dLat, latitud + dLat,
+                longitud - dLon, longitud + dLon).stream()
+                .map(ViviendaCercanaService::aUbicacion)
+                .map(u -> new Cercana(u, Coordenadas.distanciaKm(latitud, longitud, u.latitud(), u.longitud())))
+                .filter(c -> c.distanciaKm() <= radioKm)
+                .sorted(DE_CERCA_A_LEJOS)
+                .limit(k)
+                .toList();
+    }
+
+    private static Ubicacion aUbicacion(Object[] fila) {
+        return new Ubicacion((Long) fila[0], (Double) fila[1], (Double) fila[2], (String) fila[3], (String) fila[4],
+                (String) fila[5], (TipoVivienda) fila[6], ((BigDecimal) fila[7]).longValue());
+    }
+
+    private static ViviendaCercanaDTO aDTO(Cercana cercana) {
+        Ubicacion u = cercana.ubicacion();
+        return new ViviendaCercanaDTO(u.viviendaId(), u.direccion(), u.ciudad(), u.barrio(),
+                u.tipo() == null ? null : u.tipo().name(), BigDecimal.valueOf(u.precio()), u.latitud(),
+                u.longitud(), Math.round(cercana.distanciaKm() * 1000) / 1000.0);
+    }
+}
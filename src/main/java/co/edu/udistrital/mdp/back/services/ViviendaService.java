@@ -1,13 +1,20 @@
 package co.edu.udistrital.mdp.back.services;
 
+import co.edu.udistrital.mdp.back.dto.BusquedaViviendaDTO;
 import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import co.edu.udistrital.mdp.back.indices.Coordenadas;
+import co.edu.udistrital.mdp.back.indices.IndiceViviendas;
 import co.edu.udistrital.mdp.back.repositories.ViviendaRepository;
 import co.edu.udistrital.mdp.back.repositories.PropietarioRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Predicate;
 
 @Service
 @RequiredArgsConstructor
@@ -16,15 +23,39 @@ public class ViviendaService {
 
     private final ViviendaRepository viviendaRepository;
     private final PropietarioRepository propietarioRepository;
+    private final ApplicationEventPublisher eventos;
+
+    /**
+     * Evento de una vivienda que acaba de quedar disponible (creada o marcada de
+     * nuevo como disponible); lo atienden las alertas a estudiantes
+     */
+    public record ViviendaPublicada(IndiceViviendas.Candidata vivienda) {
+    }
 
     public ViviendaEntity crearVivienda(ViviendaEntity vivienda) {
+        validarNuevaVivienda(vivienda, propietarioRepository::existsById);
+        vivienda.setDisponible(true);
+        ViviendaEntity creada = viviendaRepository.save(vivienda);
+        eventos.publishEvent(new ViviendaPublicada(IndiceViviendas.Candidata.de(creada)));
+        return creada;
+    }
+
+    /**
+     * Reglas de creación de una vivienda. 'propietarioExiste' deja que la
+     * importación masiva resuelva la existencia del propietario sin consultar la
+     * base de datos por cada fila.
+     */
+    void validarNuevaVivienda(ViviendaEntity vivienda, Predicate<Long> propietarioExiste) {
         validarCamposObligatorios(vivienda);
-        validarPropietarioExiste(vivienda.getPropietario().getId());
+        Long propietarioId = vivienda.getPropietario().getId();
+        if (propietarioId == null || !propietarioExiste.test(propietarioId)) {
+            throw new IllegalArgumentException(
+                    "El propietario con ID " + propietarioId + " no existe en el sistema");
+        }
         validarValoresNumericos(vivienda);
         validarHabitacionesYBanos(vivienda);
         validarTipoVivienda(vivienda);
-        vivienda.setDisponible(true);
-        return viviendaRepository.save(vivienda);
+        Coordenadas.validar(vivienda.getLatitud(), vivienda.getLongitud());
     }
 
     public ViviendaEntity obtenerViviendaPorId(Long id) {
@@ -32,10 +63,66 @@ public class ViviendaService {
                 .orElseThrow(() -> new IllegalArgumentException("Vivienda no encontrada con ID: " + id));
     }
 
+    /**
+     * READ - Vivienda con todo lo que necesita el DTO de detalle (propietario,
+     * servicios y comentarios con su autor) en dos consultas, sin importar
+     * cuántos comentarios tenga
+     */
+    @Transactional(readOnly = true)
+    public ViviendaEntity obtenerDetalleVivienda(Long id) {
+        ViviendaEntity vivienda = viviendaRepository.findDetalleById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Vivienda no encontrada con ID: " + id));
+        viviendaRepository.findConComentariosById(id);
+        return vivienda;
+    }
+
     public List<ViviendaEntity> obtenerTodasLasViviendas() {
         return viviendaRepository.findAll();
     }
 
+    /**
+     * READ - Página de viviendas ordenadas por id, a partir del cursor 'after'
+     */
+    public Slice<ViviendaEntity> obtenerViviendasPaginadas(String after, Integer limite) {
+        CursorPaginacion.Cursor cursor = CursorPaginacion.decodificar(after);
+        Long desdeId = cursor == null ? 0L : cursor.id();
+        return viviendaRepository.findByIdGreaterThanOrderByIdAsc(desdeId, CursorPaginacion.limite(limite));
+    }
+
+    /**
+     * Cursor que apunta a la posición de la vivienda dada en el orden de paginación
+     */
+    public static String cursorDe(ViviendaEntity vivienda) {
+        return CursorPaginacion.codificar(null, vivienda.getId());
+    }
+
+    /**
+     * READ - Búsqueda multi-criterio de viviendas, paginada por número de página
+     */
+    public Slice<ViviendaEntity> buscarViviendas(BusquedaViviendaDTO criterios, Integer pagina, Integer limite) {
+        if (criterios.getPrecioMin() != null && criterios.getPrecioMax() != null
+                && criterios.getPrecioMin().compareTo(criterios.getPrecioMax()) > 0) {
+            throw new IllegalArgumentException("El precio mínimo no puede ser mayor que el precio máximo");
+        }
+        if (criterios.getAreaMin() != null && criterios.getAreaMax() != null
+                && criterios.getAreaMin() > criterios.getAreaMax()) {
+            throw new IllegalArgumentException("El área mínima no puede ser mayor que el área máxima");
+        }
+        if (criterios.getTipo() != null && !criterios.getTipo().isBlank()) {
+            try {
+                ViviendaEntity.TipoVivienda.valueOf(criterios.getTipo().trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Tipo de vivienda inválido: " + criterios.getTipo());
+            }
+        }
+        int numeroPagina = pagina == null ? 0 : pagina;
+        if (numeroPagina < 0) {
+            throw new IllegalArgumentException("El número de página no puede ser negativo");
+        }
+        int tamano = CursorPaginacion.limite(limite).getPageSize();
+        return viviendaRepository.buscar(criterios, PageRequest.of(numeroPagina, tamano));
+    }
+
     public List<ViviendaEntity> obtenerViviendasDisponiblesPorCiudad(String ciudad) {
         return viviendaRepository.findByCiudadAndDisponible(ciudad, true);
     }
@@ -46,6 +133,7 @@ public class ViviendaService {
         validarValoresNumericos(viviendaActualizada);
         validarHabitacionesYBanos(viviendaActualizada);
         validarTipoVivienda(viviendaActualizada);
+        Coordenadas.validar(viviendaActualizada.getLatitud(), viviendaActualizada.getLongitud());
 
         if (viviendaActualizada.getPropietario() != null) {
             validarPropietarioExiste(viviendaActualizada.getPropietario().getId());
@@ -63,6 +151,9 @@ public class ViviendaService {
         viviendaExistente.setNumeroBanos(viviendaActualizada.getNumeroBanos());
         viviendaExistente.setAreaMetrosCuadrados(viviendaActualizada.getAreaMetrosCuadrados());
         viviendaExistente.setTipo(viviendaActualizada.getTipo());
+        viviendaExistente.setAceptaMascotas(viviendaActualizada.isAceptaMascotas());
+        viviendaExistente.setLatitud(viviendaActualizada.getLatitud());
+        viviendaExistente.setLongitud(viviendaActualizada.getLongitud());
 
         return viviendaRepository.save(viviendaExistente);
     }
@@ -75,8 +166,13 @@ public class ViviendaService {
 
     public ViviendaEntity marcarComoDisponible(Long viviendaId) {
         ViviendaEntity vivienda = obtenerViviendaPorId(viviendaId);
+        boolean yaDisponible = vivienda.isDisponible();
         vivienda.setDisponible(true);
-        return viviendaRepository.save(vivienda);
+        ViviendaEntity guardada = viviendaRepository.save(vivienda);
+        if (!yaDisponible) {
+            eventos.publishEvent(new ViviendaPublicada(IndiceViviendas.Candidata.de(guardada)));
+        }
+        return guardada;
     }
 
     public void eliminarVivienda(Long id) {
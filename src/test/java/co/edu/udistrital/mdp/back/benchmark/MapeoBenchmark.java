@@ -0,0 +1,127 @@
+package co.edu.udistrital.mdp.back.benchmark;
+
+import co.edu.udistrital.mdp.back.dto.ComentarioDTO;
+import co.edu.udistrital.mdp.back.dto.ViviendaDTO;
+import co.edu.udistrital.mdp.back.entities.ComentarioEntity;
+import co.edu.udistrital.mdp.back.entities.EstudianteEntity;
+import co.edu.udistrital.mdp.back.entities.PropietarioEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import co.edu.udistrital.mdp.back.mappers.ComentarioMapper;
+import co.edu.udistrital.mdp.back.mappers.PropietarioMapper;
+import co.edu.udistrital.mdp.back.mappers.ServicioMapper;
+import co.edu.udistrital.mdp.back.mappers.ViviendaMapper;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.TypeToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el mapeo de listas con ModelMapper (como lo hacían los controladores)
+ * contra los mapeadores escritos a mano.
+ *
+ * No se ejecuta con las pruebas. Para correrlo:
+ * mvn -B test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=co.edu.udistrital.mdp.back.benchmark.MapeoBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapeoBenchmark {
+
+    @Param({ "10000" })
+    private int cantidad;
+
+    private List<ViviendaEntity> viviendas;
+    private List<ComentarioEntity> comentarios;
+
+    private ModelMapper modelMapper;
+    private ViviendaMapper viviendaMapper;
+    private ComentarioMapper comentarioMapper;
+
+    @Setup
+    public void preparar() {
+        modelMapper = new ModelMapper();
+        comentarioMapper = new ComentarioMapper();
+        viviendaMapper = new ViviendaMapper(new PropietarioMapper(), new ServicioMapper(), comentarioMapper);
+
+        PropietarioEntity propietario = new PropietarioEntity();
+        propietario.setId(1L);
+        propietario.setNombre("Propietario");
+        EstudianteEntity autor = new EstudianteEntity();
+        autor.setId(1L);
+
+        viviendas = new ArrayList<>(cantidad);
+        comentarios = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            ViviendaEntity v = new ViviendaEntity();
+            v.setId((long) i);
+            v.setDireccion("Calle " + i);
+            v.setCiudad("Bogota");
+            v.setBarrio("Chapinero");
+            v.setPrecioMensual(BigDecimal.valueOf(800000L + i));
+            v.setDescripcion("Vivienda de prueba " + i);
+            v.setNumeroHabitaciones(2);
+            v.setNumeroBanos(1);
+            v.setAreaMetrosCuadrados(40.0);
+            v.setTipo(ViviendaEntity.TipoVivienda.APARTAMENTO);
+            v.setPropietario(propietario);
+            viviendas.add(v);
+
+            ComentarioEntity c = new ComentarioEntity();
+            c.setId((long) i);
+            c.setContenido("Comentario de prueba " + i);
+            c.setCalificacion(1 + i % 5);
+            c.setFechaCreacion(LocalDateTime.now());
+            c.setVivienda(v);
+            c.setAutor(autor);
+            comentarios.add(c);
+        }
+    }
+
+    @Benchmark
+    public List<ViviendaDTO> viviendasModelMapper() {
+        return modelMapper.map(viviendas, new TypeToken<List<ViviendaDTO>>() {
+        }.getType());
+    }
+
+    @Benchmark
+    public List<ViviendaDTO> viviendasMapeador() {
+        return viviendaMapper.toDTOList(viviendas);
+    }
+
+    @Benchmark
+    public List<ComentarioDTO> comentariosModelMapper() {
+        return modelMapper.map(comentarios, new TypeToken<List<ComentarioDTO>>() {
+        }.getType());
+    }
+
+    @Benchmark
+    public List<ComentarioDTO> comentariosMapeador() {
+        return comentarioMapper.toDTOList(comentarios);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MapeoBenchmark.class.getSimpleName()).build()).run();
+    }
+}
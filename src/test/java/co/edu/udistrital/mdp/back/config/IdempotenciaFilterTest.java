@@ -0,0 +1,271 @@
+package co.edu.udistrital.mdp.back.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import co.edu.udistrital.mdp.back.repositories.ClaveIdempotenciaRepository;
+import co.edu.udistrital.mdp.back.services.IdempotenciaService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * El filtro con IdempotenciaService y la tabla reales; el "controlador" es una
+ * cadena de filtros que cuenta sus ejecuciones y responde con el cuerpo leído.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(IdempotenciaService.class)
+class IdempotenciaFilterTest {
+
+    @Autowired
+    private IdempotenciaService idempotenciaService;
+
+    @Autowired
+    private ClaveIdempotenciaRepository claveRepository;
+
+    private IdempotenciaFilter filtro;
+    private final AtomicInteger ejecuciones = new AtomicInteger();
+    private int estadoControlador;
+
+    private final FilterChain controlador = (solicitud, respuesta) -> {
+        ejecuciones.incrementAndGet();
+        String cuerpo = new String(solicitud.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        ((HttpServletResponse) respuesta).setStatus(estadoControlador);
+        respuesta.setContentType("application/json");
+        respuesta.getOutputStream().write(("{\"id\":" + ejecuciones.get() + ",\"eco\":" + cuerpo + "}")
+                .getBytes(StandardCharsets.UTF_8));
+    };
+
+    @BeforeEach
+    void setUp() {
+        filtro = new IdempotenciaFilter(idempotenciaService, new ObjectMapper().findAndRegisterModules());
+        estadoControlador = 201;
+    }
+
+    @AfterEach
+    void tearDown() {
+        claveRepository.deleteAll();
+    }
+
+    private MockHttpServletResponse enviar(String clave, String cuerpo) throws ServletException, IOException {
+        return enviar("/api/transacciones", clave, cuerpo);
+    }
+
+    private MockHttpServletResponse enviar(String ruta, String clave, String cuerpo)
+            throws ServletException, IOException {
+        MockHttpServletRequest solicitud = new MockHttpServletRequest("POST", ruta);
+        solicitud.setContextPath("/api");
+        if (clave != null) {
+            solicitud.addHeader(IdempotenciaFilter.ENCABEZADO, clave);
+        }
+        solicitud.setContentType("application/json");
+        solicitud.setContent(cuerpo.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse respuesta = new MockHttpServletResponse();
+        filtro.doFilter(solicitud, respuesta, controlador);
+        return respuesta;
+    }
+
+    @Test
+    void reintento_devuelveLaRespuestaGuardadaSinEjecutarOtraVez() throws Exception {
+        MockHttpServletResponse primera = enviar("clave-1", "{\"monto\":10}");
+        MockHttpServletResponse reintento = enviar("clave-1", "{\"monto\":10}");
+
+        assertEquals(1, ejecuciones.get());
+        assertEquals(201, primera.getStatus());
+        assertEquals(201, reintento.getStatus());
+        assertEquals(primera.getContentAsString(), reintento.getContentAsString());
+        assertEquals("{\"id\":1,\"eco\":{\"monto\":10}}", reintento.getContentAsString());
+        assertEquals("true", reintento.getHeader(IdempotenciaFilter.ENCABEZADO_REPETIDA));
+        assertNull(primera.getHeader(IdempotenciaFilter.ENCABEZADO_REPETIDA));
+    }
+
+    @Test
+    void reintento_conOtroCuerpo_responde422() throws Exception {
+        enviar("clave-2", "{\"monto\":10}");
+
+        MockHttpServletResponse reintento = enviar("clave-2", "{\"monto\":99}");
+
+        assertEquals(422, reintento.getStatus());
+        assertEquals(1, ejecuciones.get());
+    }
+
+    @Test
+    void sinEncabezado_siempreEjecuta() throws Exception {
+        enviar(null, "{}");
+        enviar(null, "{}");
+
+        assertEquals(2, ejecuciones.get());
+        assertEquals(0, claveRepository.count());
+    }
+
+    @Test
+    void rutaFueraDeLasDeCreacion_ignoraElEncabezado() throws Exception {
+        enviar("/api/viviendas/importacion", "clave-5", "{}");
+        enviar("/api/viviendas/importacion", "clave-5", "{}");
+
+        assertEquals(2, ejecuciones.get());
+        assertEquals(0, claveRepository.count());
+    }
+
+    @Test
+    void primeraFallida_liberaLaClaveParaReintentar() throws Exception {
+        estadoControlador = 412;
+        assertEquals(412, enviar("clave-3", "{}").getStatus());
+        assertEquals(0, claveRepository.count());
+
+        estadoControlador = 201;
+        assertEquals(201, enviar("clave-3", "{}").getStatus());
+        assertEquals(201, enviar("clave-3", "{}").getStatus());
+        assertEquals(2, ejecuciones.get());
+    }
+
+    @Test
+    void claveEnCurso_responde409() throws Exception {
+        assertEquals(IdempotenciaService.Tipo.NUEVA,
+                idempotenciaService.reservar("clave-4", "/api/transacciones", IdempotenciaFilter.huella(
+                        "{}".getBytes(StandardCharsets.UTF_8))).tipo());
+
+        MockHttpServletResponse reintento = enviar("clave-4", "{}");
+
+        assertEquals(409, reintento.getStatus());
+        assertEquals(0, ejecuciones.get());
+    }
+
+    @Test
+    void reservar_leeDeLaTablaCuandoNoEstaEnMemoria() {
+        IdempotenciaService otraInstancia = new IdempotenciaService(claveRepository, 24, 120, 100);
+        idempotenciaService.reservar("clave-5", "/api/reservas", "h");
+        idempotenciaService.guardar("clave-5", "/api/reservas", 201, "application/json",
+                "{}".getBytes(StandardCharsets.UTF_8));
+
+        IdempotenciaService.Reserva reserva = otraInstancia.reservar("clave-5", "/api/reservas", "h");
+
+        assertEquals(IdempotenciaService.Tipo.REPETIDA, reserva.tipo());
+        assertEquals(201, reserva.respuesta().estadoHttp());
+        // la misma clave en otra ruta es independiente
+        assertEquals(IdempotenciaService.Tipo.NUEVA,
+                idempotenciaService.reservar("clave-5", "/api/estancias", "h").tipo());
+    }
+
+    @Test
+    void reservaAbandonada_unReintentoLaRetomaPasadoElPlazo() throws Exception {
+        String huella = IdempotenciaFilter.huella("{}".getBytes(StandardCharsets.UTF_8));
+        idempotenciaService.reservar("clave-7", "/api/transacciones", huella);
+        assertEquals(409, enviar("clave-7", "{}").getStatus());
+        claveRepository.findByClaveAndRuta("clave-7", "/api/transacciones").ifPresent(c -> {
+            c.setReservadaEn(LocalDateTime.now().minusMinutes(10));
+            claveRepository.save(c);
+        });
+
+        assertEquals(IdempotenciaService.Tipo.CUERPO_DISTINTO,
+                idempotenciaService.reservar("clave-7", "/api/transacciones", "otra").tipo());
+        assertEquals(201, enviar("clave-7", "{}").getStatus());
+        assertEquals(201, enviar("clave-7", "{}").getStatus());
+        assertEquals(1, ejecuciones.get());
+    }
+
+    @Test
+    void reservaAbandonada_soloUnReintentoLaRetoma() {
+        idempotenciaService.reservar("clave-8", "/api/reservas", "h");
+        claveRepository.findByClaveAndRuta("clave-8", "/api/reservas").ifPresent(c -> {
+            c.setReservadaEn(LocalDateTime.now().minusMinutes(10));
+            claveRepository.save(c);
+        });
+
+        assertEquals(IdempotenciaService.Tipo.NUEVA,
+                idempotenciaService.reservar("clave-8", "/api/reservas", "h").tipo());
+        assertEquals(IdempotenciaService.Tipo.EN_CURSO,
+                idempotenciaService.reservar("clave-8", "/api/reservas", "h").tipo());
+    }
+
+    @Test
+    void respuestaLeidaDeLaTabla_noSeQuedaEnMemoriaMasQueLaFila() throws Exception {
+        IdempotenciaService otraInstancia = new IdempotenciaService(claveRepository, 24, 120, 100);
+        idempotenciaService.reservar("clave-9", "/api/reservas", "h");
+        idempotenciaService.guardar("clave-9", "/api/reservas", 201, "application/json",
+                "{}".getBytes(StandardCharsets.UTF_8));
+        claveRepository.findByClaveAndRuta("clave-9", "/api/reservas").ifPresent(c -> {
+            c.setExpira(LocalDateTime.now().plusNanos(300_000_000));
+            claveRepository.save(c);
+        });
+        assertEquals(IdempotenciaService.Tipo.REPETIDA,
+                otraInstancia.reservar("clave-9", "/api/reservas", "h").tipo());
+
+        Thread.sleep(500);
+
+        assertEquals(IdempotenciaService.Tipo.NUEVA,
+                otraInstancia.reservar("clave-9", "/api/reservas", "h").tipo());
+    }
+
+    @Test
+    void lecturaAsincrona_recibeElCuerpoCompletoDeInmediato() throws Exception {
+        ByteArrayOutputStream leido = new ByteArrayOutputStream();
+        List<String> eventos = new ArrayList<>();
+        FilterChain asincrono = (solicitud, respuesta) -> {
+            ServletInputStream entrada = solicitud.getInputStream();
+            entrada.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    eventos.add("datos");
+                    leido.write(entrada.readAllBytes());
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    eventos.add("fin");
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    eventos.add("error");
+                }
+            });
+            ((HttpServletResponse) respuesta).setStatus(201);
+        };
+        MockHttpServletRequest solicitud = new MockHttpServletRequest("POST", "/api/transacciones");
+        solicitud.setContextPath("/api");
+        solicitud.addHeader(IdempotenciaFilter.ENCABEZADO, "clave-6");
+        solicitud.setContent("{\"monto\":10}".getBytes(StandardCharsets.UTF_8));
+
+        filtro.doFilter(solicitud, new MockHttpServletResponse(), asincrono);
+
+        assertEquals(List.of("datos", "fin"), eventos);
+        assertEquals("{\"monto\":10}", leido.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void eliminarExpiradas_borraSoloLasVencidas() {
+        idempotenciaService.reservar("vieja", "/api/reservas", "h");
+        idempotenciaService.reservar("nueva", "/api/reservas", "h");
+        claveRepository.findByClaveAndRuta("vieja", "/api/reservas").ifPresent(c -> {
+            c.setExpira(LocalDateTime.now().minusMinutes(1));
+            claveRepository.save(c);
+        });
+
+        assertEquals(1, idempotenciaService.eliminarExpiradas());
+        assertTrue(claveRepository.findByClaveAndRuta("nueva", "/api/reservas").isPresent());
+    }
+}
@@ -0,0 +1,59 @@
+package co.edu.udistrital.mdp.back.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import co.edu.udistrital.mdp.back.repositories.CalificacionResumenRepository;
+import co.edu.udistrital.mdp.back.repositories.ComentarioRepository;
+import co.edu.udistrital.mdp.back.repositories.ViviendaRepository;
+import co.edu.udistrital.mdp.back.services.CalificacionResumenService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MetricasServiciosAspectTest {
+
+    private SimpleMeterRegistry registro;
+    private CalificacionResumenRepository resumenRepository;
+    private CalificacionResumenService servicio;
+
+    @BeforeEach
+    void setUp() {
+        registro = new SimpleMeterRegistry();
+        resumenRepository = mock(CalificacionResumenRepository.class);
+        AspectJProxyFactory fabrica = new AspectJProxyFactory(
+                new CalificacionResumenService(resumenRepository, mock(ComentarioRepository.class),
+                        mock(ViviendaRepository.class)));
+        fabrica.setProxyTargetClass(true);
+        fabrica.addAspect(new MetricasServiciosAspect(registro));
+        servicio = fabrica.getProxy();
+    }
+
+    @Test
+    void medir_registraUnTimerPorClaseYMetodo() {
+        when(resumenRepository.findByViviendaId(1L)).thenReturn(Optional.empty());
+
+        servicio.obtenerPromedio(1L);
+        servicio.obtenerPromedio(1L);
+
+        Timer timer = registro.get(MetricasServiciosAspect.METRICA)
+                .tags("class", "CalificacionResumenService", "method", "obtenerPromedio", "exception", "none")
+                .timer();
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    void medir_etiquetaLaExcepcionYLaPropaga() {
+        when(resumenRepository.findByViviendaId(2L)).thenThrow(new IllegalStateException("falla"));
+
+        assertThrows(IllegalStateException.class, () -> servicio.obtenerResumen(2L));
+
+        assertEquals(1, registro.get(MetricasServiciosAspect.METRICA)
+                .tags("method", "obtenerResumen", "exception", "IllegalStateException").timer().count());
+    }
+}
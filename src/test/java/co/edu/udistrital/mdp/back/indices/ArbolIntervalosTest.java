@@ -0,0 +1,95 @@
+package co.edu.udistrital.mdp.back.indices;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas del árbol de intervalos")
+class ArbolIntervalosTest {
+
+    @Test
+    @DisplayName("Solapamiento - los extremos cuentan (intervalos cerrados)")
+    void haySolapamiento_extremosInclusivos() {
+        ArbolIntervalos<String> arbol = new ArbolIntervalos<>();
+        arbol.insertar(1, 10, 20, "a");
+
+        assertTrue(arbol.haySolapamiento(20, 25));
+        assertTrue(arbol.haySolapamiento(5, 10));
+        assertTrue(arbol.haySolapamiento(12, 14));
+        assertFalse(arbol.haySolapamiento(21, 30));
+        assertFalse(arbol.haySolapamiento(0, 9));
+    }
+
+    @Test
+    @DisplayName("Eliminar e insertar con el mismo id - reemplaza el intervalo")
+    void insertar_mismoId_reemplaza() {
+        ArbolIntervalos<String> arbol = new ArbolIntervalos<>();
+        arbol.insertar(1, 10, 20, "a");
+        arbol.insertar(1, 50, 60, "a");
+
+        assertEquals(1, arbol.tamano());
+        assertFalse(arbol.haySolapamiento(10, 20));
+        assertTrue(arbol.eliminar(1));
+        assertFalse(arbol.eliminar(1));
+        assertFalse(arbol.haySolapamiento(0, 100));
+    }
+
+    @Test
+    @DisplayName("Filtro - solo cuenta los intervalos que lo cumplen")
+    void haySolapamiento_conFiltro() {
+        ArbolIntervalos<Long> arbol = new ArbolIntervalos<>();
+        arbol.insertar(1, 10, 20, 7L);
+        arbol.insertar(2, 15, 30, 8L);
+
+        assertTrue(arbol.haySolapamiento(18, 19, v -> v == 8L));
+        assertFalse(arbol.haySolapamiento(5, 12, v -> v == 8L));
+    }
+
+    @Test
+    @DisplayName("Intervalo invertido - lanza excepción")
+    void insertar_invertido_lanzaExcepcion() {
+        ArbolIntervalos<String> arbol = new ArbolIntervalos<>();
+        assertThrows(IllegalArgumentException.class, () -> arbol.insertar(1, 5, 1, "x"));
+    }
+
+    @Test
+    @DisplayName("Operaciones aleatorias - coincide con la búsqueda lineal")
+    void operacionesAleatorias_coincidenConBusquedaLineal() {
+        Random random = new Random(42);
+        ArbolIntervalos<Long> arbol = new ArbolIntervalos<>();
+        Map<Long, long[]> referencia = new HashMap<>();
+
+        for (int paso = 0; paso < 5000; paso++) {
+            long id = random.nextInt(300);
+            if (random.nextInt(3) == 0) {
+                assertEquals(referencia.remove(id) != null, arbol.eliminar(id));
+            } else {
+                long inicio = random.nextInt(1000);
+                long fin = inicio + random.nextInt(40);
+                arbol.insertar(id, inicio, fin, id);
+                referencia.put(id, new long[] { inicio, fin });
+            }
+
+            long desde = random.nextInt(1000);
+            long hasta = desde + random.nextInt(30);
+            List<Long> esperados = new ArrayList<>();
+            referencia.forEach((k, r) -> {
+                if (r[0] <= hasta && r[1] >= desde) {
+                    esperados.add(k);
+                }
+            });
+            List<Long> obtenidos = arbol.solapamientos(desde, hasta);
+            assertEquals(esperados.size(), obtenidos.size());
+            assertTrue(obtenidos.containsAll(esperados));
+            assertEquals(!esperados.isEmpty(), arbol.haySolapamiento(desde, hasta));
+        }
+        assertEquals(referencia.size(), arbol.tamano());
+    }
+}
@@ -0,0 +1,133 @@
+package co.edu.udistrital.mdp.back.indices;
+
+import co.edu.udistrital.mdp.back.indices.IndiceAutocompletado.Aporte;
+import co.edu.udistrital.mdp.back.indices.IndiceAutocompletado.Categoria;
+import co.edu.udistrital.mdp.back.indices.IndiceAutocompletado.Sugerencia;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas del índice de autocompletado")
+class IndiceAutocompletadoTest {
+
+    private static List<String> textos(List<Sugerencia> sugerencias) {
+        return sugerencias.stream().map(Sugerencia::texto).toList();
+    }
+
+    private static IndiceAutocompletado conDatos() {
+        IndiceAutocompletado indice = new IndiceAutocompletado();
+        indice.cargar(List.of(
+                Aporte.vivienda(1L, "Bogotá", "Chapinero"),
+                Aporte.vivienda(2L, "Bogotá", "Chapinero Alto"),
+                Aporte.vivienda(3L, "Bogota", "Chapinero"),
+                Aporte.vivienda(4L, "Barranquilla", "El Prado"),
+                Aporte.vivienda(5L, "Medellín", "Boston"),
+                Aporte.universidad(1L, "Universidad Nacional de Colombia"),
+                Aporte.universidadCerca(1L, "Universidad Distrital")));
+        return indice;
+    }
+
+    @Test
+    @DisplayName("Sugerir - sin tildes ni mayúsculas, de la más a la menos popular")
+    void sugerir_ordenaPorPopularidad() {
+        IndiceAutocompletado indice = conDatos();
+
+        List<Sugerencia> sugerencias = indice.sugerir("B", null, 10);
+
+        assertEquals(List.of("Bogotá", "Barranquilla", "Boston"), textos(sugerencias));
+        assertEquals(new Sugerencia(Categoria.CIUDAD, "Bogotá", 3), sugerencias.get(0));
+        assertEquals(textos(indice.sugerir("bogo", null, 10)), textos(indice.sugerir("BOGÓ", null, 10)));
+        assertEquals(List.of("Medellín"), textos(indice.sugerir("medellin", null, 10)));
+    }
+
+    @Test
+    @DisplayName("Sugerir - encuentra el prefijo al inicio de cualquier palabra, una sola vez")
+    void sugerir_porCualquierPalabra() {
+        IndiceAutocompletado indice = conDatos();
+
+        assertEquals(List.of("Universidad Nacional de Colombia"), textos(indice.sugerir("nacional", null, 10)));
+        assertEquals(List.of("Chapinero Alto"), textos(indice.sugerir("alto", null, 10)));
+        assertEquals(List.of("Universidad Distrital", "Universidad Nacional de Colombia"),
+                textos(indice.sugerir("univ", null, 10)));
+        assertEquals(2, indice.sugerir("u", Categoria.UNIVERSIDAD, 10).size());
+    }
+
+    @Test
+    @DisplayName("Sugerir - filtra por categoría y respeta el límite")
+    void sugerir_filtraYLimita() {
+        IndiceAutocompletado indice = conDatos();
+
+        assertEquals(List.of("Chapinero", "Chapinero Alto"), textos(indice.sugerir("cha", Categoria.BARRIO, 10)));
+        assertTrue(indice.sugerir("cha", Categoria.CIUDAD, 10).isEmpty());
+        assertEquals(List.of("Bogotá"), textos(indice.sugerir("b", null, 1)));
+        assertTrue(indice.sugerir("  ", null, 10).isEmpty());
+        assertTrue(indice.sugerir("xyz", null, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Registrar y retirar - reemplazan el aporte anterior y ajustan los pesos")
+    void registrarYRetirar() {
+        IndiceAutocompletado indice = conDatos();
+
+        // La vivienda 4 se muda de Barranquilla a Bogotá
+        indice.registrar(Aporte.vivienda(4L, "Bogotá", "Chapinero"));
+        assertEquals(List.of(new Sugerencia(Categoria.CIUDAD, "Bogotá", 4), new Sugerencia(Categoria.BARRIO,
+                "Boston", 1)), indice.sugerir("b", null, 10));
+
+        indice.retirar("vivienda:5");
+        indice.retirar("vivienda:99");
+        assertEquals(List.of("Bogotá"), textos(indice.sugerir("b", null, 10)));
+        assertEquals(3, indice.sugerir("chapinero", Categoria.BARRIO, 10).get(0).peso());
+        assertTrue(indice.sugerir("medellin", null, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Sugerir - coincide con la búsqueda exhaustiva tras muchas altas, cambios y bajas")
+    void sugerir_coincideConFuerzaBruta() {
+        Random azar = new Random(7);
+        String[] ciudades = { "Bogotá", "Bello", "Barranquilla", "Cali", "Cartagena", "Chía", "Cúcuta", "Soacha" };
+        String[] barrios = { "Centro", "Cedritos", "Chapinero", "Chicó Norte", "Castilla", "Suba", "Salitre",
+                "Santa Fe", "San Cristóbal" };
+        IndiceAutocompletado indice = new IndiceAutocompletado();
+        indice.cargar(List.of());
+        Map<Long, Aporte> viviendas = new HashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            long id = azar.nextInt(400);
+            if (azar.nextInt(5) == 0) {
+                indice.retirar("vivienda:" + id);
+                viviendas.remove(id);
+            } else {
+                Aporte aporte = Aporte.vivienda(id, ciudades[azar.nextInt(ciudades.length)],
+                        barrios[azar.nextInt(barrios.length)]);
+                indice.registrar(aporte);
+                viviendas.put(id, aporte);
+            }
+        }
+
+        for (String prefijo : List.of("c", "ch", "s", "san", "b", "cristobal", "norte", "z")) {
+            Map<String, Integer> pesos = new HashMap<>();
+            viviendas.values().forEach(a -> a.entradas().forEach(e -> {
+                String clave = Normalizador.normalizar(e.texto());
+                if (IndiceAutocompletado.iniciosDePalabra(clave).stream().anyMatch(p -> p.startsWith(prefijo))) {
+                    pesos.merge(e.categoria() + ":" + Normalizador.colapsarEspacios(e.texto()), 1, Integer::sum);
+                }
+            }));
+            List<Integer> esperados = new ArrayList<>(pesos.values());
+            esperados.sort(Comparator.reverseOrder());
+
+            List<Sugerencia> sugerencias = indice.sugerir(prefijo, null, 5);
+
+            assertEquals(esperados.subList(0, Math.min(5, esperados.size())),
+                    sugerencias.stream().map(Sugerencia::peso).toList(), prefijo);
+            sugerencias.forEach(s -> assertEquals(pesos.get(s.categoria() + ":" + s.texto()), s.peso(), prefijo));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package co.edu.udistrital.mdp.back.indices;
+
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity.TipoVivienda;
+import co.edu.udistrital.mdp.back.indices.IndiceGeografico.Cercana;
+import co.edu.udistrital.mdp.back.indices.IndiceGeografico.Ubicacion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas del índice geográfico")
+class IndiceGeograficoTest {
+
+    private static Ubicacion ubicacion(long id, double latitud, double longitud) {
+        return new Ubicacion(id, latitud, longitud, "Calle " + id, "Bogota", "Centro", TipoVivienda.HABITACION,
+                500_000);
+    }
+
+    private static List<Long> ids(List<Cercana> cercanas) {
+        return cercanas.stream().map(c -> c.ubicacion().viviendaId()).toList();
+    }
+
+    @Test
+    @DisplayName("Distancia - un grado de meridiano mide unos 111,2 km")
+    void distanciaKm_gradoDeMeridiano() {
+        assertEquals(111.195, Coordenadas.distanciaKm(4, -74, 5, -74), 0.01);
+        assertEquals(0, Coordenadas.distanciaKm(4.6, -74.06, 4.6, -74.06), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Cercanas - coincide con medir todas las ubicaciones")
+    void cercanas_coincideConFuerzaBruta() {
+        Random aleatorio = new Random(7);
+        List<Ubicacion> ubicaciones = new ArrayList<>();
+        for (long id = 1; id <= 3000; id++) {
+            ubicaciones.add(ubicacion(id, 4.45 + aleatorio.nextDouble() * 0.4, -74.25 + aleatorio.nextDouble() * 0.3));
+        }
+        IndiceGeografico indice = new IndiceGeografico();
+        indice.cargar(ubicaciones);
+
+        for (int consulta = 0; consulta < 50; consulta++) {
+            double latitud = 4.45 + aleatorio.nextDouble() * 0.4;
+            double longitud = -74.25 + aleatorio.nextDouble() * 0.3;
+            double radioKm = 0.5 + aleatorio.nextDouble() * 10;
+            int k = 1 + aleatorio.nextInt(20);
+            List<Long> esperadas = ubicaciones.stream()
+                    .filter(u -> Coordenadas.distanciaKm(latitud, longitud, u.latitud(), u.longitud()) <= radioKm)
+                    .sorted(Comparator.comparingDouble(
+                            (Ubicacion u) -> Coordenadas.distanciaKm(latitud, longitud, u.latitud(), u.longitud()))
+                            .thenComparing(Ubicacion::viviendaId))
+                    .limit(k)
+                    .map(Ubicacion::viviendaId)
+                    .toList();
+
+            assertEquals(esperadas, ids(indice.cercanas(latitud, longitud, radioKm, k)));
+        }
+    }
+
+    @Test
+    @DisplayName("Registrar y retirar - reubica y quita viviendas")
+    void registrarYRetirar_actualizanLaRejilla() {
+        IndiceGeografico indice = new IndiceGeografico();
+        indice.cargar(List.of(ubicacion(1, 4.60, -74.06), ubicacion(2, 4.61, -74.07)));
+
+        indice.registrar(ubicacion(1, 5.0, -75.0));
+        assertEquals(List.of(2L), ids(indice.cercanas(4.60, -74.06, 5, 10)));
+
+        indice.retirar(2L);
+        assertTrue(indice.cercanas(4.60, -74.06, 5, 10).isEmpty());
+        assertEquals(1, indice.tamano());
+    }
+}
@@ -0,0 +1,58 @@
+package co.edu.udistrital.mdp.back.indices;
+
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity.TipoVivienda;
+import co.edu.udistrital.mdp.back.indices.IndicePreferencias.Preferencia;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas del índice de preferencias")
+class IndicePreferenciasTest {
+
+    private static IndiceViviendas.Candidata vivienda(TipoVivienda tipo, long precio, String barrio,
+            boolean mascotas) {
+        return new IndiceViviendas.Candidata(1L, tipo, precio, "Bogotá", barrio, mascotas, "Calle 1", "bogota",
+                Normalizador.normalizar(barrio));
+    }
+
+    @Test
+    @DisplayName("Interesados - tipo, zona, mascotas y presupuesto deben coincidir")
+    void estudiantesInteresados_filtraPorTodosLosCriterios() {
+        IndicePreferencias indice = new IndicePreferencias();
+        indice.cargar(List.of(
+                Preferencia.de(1L, 10L, "Apartamento", "Chapinero", 1_000_000, false),
+                Preferencia.de(2L, 20L, null, null, null, null),
+                Preferencia.de(3L, 30L, "apartamento", "BOGOTA", 900_000, false),
+                Preferencia.de(4L, 40L, "Habitación", null, 2_000_000, false),
+                Preferencia.de(5L, 50L, null, "Chapinero", 2_000_000, true),
+                Preferencia.de(6L, 60L, null, "Suba", 2_000_000, false)));
+
+        assertEquals(Set.of(10L, 20L), indice.estudiantesInteresados(
+                vivienda(TipoVivienda.APARTAMENTO, 1_000_000, "Chapinero", false)));
+        assertEquals(Set.of(10L, 20L, 30L, 50L), indice.estudiantesInteresados(
+                vivienda(TipoVivienda.APARTAMENTO, 900_000, "chapinero", true)));
+        assertEquals(Set.of(20L), indice.estudiantesInteresados(
+                vivienda(TipoVivienda.CASA, 5_000_000, "Suba", false)));
+    }
+
+    @Test
+    @DisplayName("Registrar de nuevo una preferencia - reemplaza la anterior")
+    void registrar_mismaPreferencia_reemplaza() {
+        IndicePreferencias indice = new IndicePreferencias();
+        indice.cargar(List.of(Preferencia.de(1L, 10L, "Casa", null, 500_000, false)));
+        IndiceViviendas.Candidata casa = vivienda(TipoVivienda.CASA, 800_000, "Centro", false);
+        assertTrue(indice.estudiantesInteresados(casa).isEmpty());
+
+        indice.registrar(Preferencia.de(1L, 10L, "Casa", null, 900_000, false));
+        assertEquals(Set.of(10L), indice.estudiantesInteresados(casa));
+        assertEquals(1, indice.tamano());
+
+        indice.retirar(1L);
+        assertTrue(indice.estudiantesInteresados(casa).isEmpty());
+        assertEquals(0, indice.tamano());
+    }
+}
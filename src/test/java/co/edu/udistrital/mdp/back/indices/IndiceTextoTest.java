@@ -0,0 +1,129 @@
+package co.edu.udistrital.mdp.back.indices;
+
+import co.edu.udistrital.mdp.back.indices.IndiceTexto.Cambio;
+import co.edu.udistrital.mdp.back.indices.IndiceTexto.Documento;
+import co.edu.udistrital.mdp.back.indices.IndiceTexto.Resultado;
+import co.edu.udistrital.mdp.back.indices.IndiceTexto.Tipo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas del índice de texto")
+class IndiceTextoTest {
+
+    private IndiceTexto indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceTexto();
+        indice.cargar(List.of(
+                new Documento(Tipo.VIVIENDA, 1L, 1L, "Habitación amplia e iluminada cerca a la universidad"),
+                new Documento(Tipo.VIVIENDA, 2L, 2L, "Apartamento con dos habitaciones, cocina y balcón"),
+                new Documento(Tipo.VIVIENDA, 3L, 3L, null),
+                new Documento(Tipo.COMENTARIO, 10L, 1L, "La habitación es muy iluminada, excelente ubicación"),
+                new Documento(Tipo.COMENTARIO, 11L, 2L, "El balcón tiene buena vista")));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        indice.cerrar();
+    }
+
+    private static List<Long> ids(IndiceTexto.Pagina pagina) {
+        return pagina.resultados().stream().map(Resultado::id).toList();
+    }
+
+    @Test
+    @DisplayName("Cargar - los documentos sin texto no se indexan")
+    void cargar_omiteDocumentosSinTexto() {
+        assertTrue(indice.estaCargado());
+        assertEquals(4, indice.tamano());
+    }
+
+    @Test
+    @DisplayName("Buscar - ignora tildes, mayúsculas y plurales")
+    void buscar_analisisEnEspanol() {
+        assertEquals(Set.of(1L, 2L, 10L), Set.copyOf(ids(indice.buscar("HABITACIONES", null, 0, 10))));
+        assertEquals(Set.of(2L, 11L), Set.copyOf(ids(indice.buscar("balcon", null, 0, 10))));
+    }
+
+    @Test
+    @DisplayName("Buscar - exige todas las palabras y ordena por relevancia")
+    void buscar_todasLasPalabrasOrdenadoPorRelevancia() {
+        IndiceTexto.Pagina pagina = indice.buscar("habitación iluminada", null, 0, 10);
+
+        assertEquals(2, pagina.resultados().size());
+        assertEquals(Set.of(1L, 10L), Set.copyOf(ids(pagina)));
+        assertTrue(pagina.resultados().get(0).puntaje() >= pagina.resultados().get(1).puntaje());
+        assertTrue(indice.buscar("habitación piscina", null, 0, 10).resultados().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Buscar - filtra por tipo y devuelve la vivienda del comentario")
+    void buscar_filtraPorTipo() {
+        List<Resultado> comentarios = indice.buscar("habitacion", Tipo.COMENTARIO, 0, 10).resultados();
+
+        assertEquals(1, comentarios.size());
+        assertEquals(10L, comentarios.get(0).id());
+        assertEquals(1L, comentarios.get(0).viviendaId());
+        assertEquals("La habitación es muy iluminada, excelente ubicación", comentarios.get(0).texto());
+    }
+
+    @Test
+    @DisplayName("Buscar - pagina los resultados")
+    void buscar_paginacion() {
+        IndiceTexto.Pagina primera = indice.buscar("habitacion", null, 0, 2);
+        IndiceTexto.Pagina segunda = indice.buscar("habitacion", null, 1, 2);
+
+        assertEquals(2, primera.resultados().size());
+        assertTrue(primera.haySiguiente());
+        assertEquals(1, segunda.resultados().size());
+        assertFalse(segunda.haySiguiente());
+        assertEquals(ids(indice.buscar("habitacion", null, 0, 3)),
+                List.of(ids(primera).get(0), ids(primera).get(1), ids(segunda).get(0)));
+    }
+
+    @Test
+    @DisplayName("Buscar - solo palabras vacías no devuelve nada")
+    void buscar_soloPalabrasVacias() {
+        assertTrue(indice.buscar("de la y el", null, 0, 10).resultados().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Registrar y retirar - reemplazan, quitan y borran los comentarios de la vivienda")
+    void registrarYRetirar() {
+        indice.registrar(new Documento(Tipo.VIVIENDA, 2L, 2L, "Estudio amoblado con terraza"));
+        assertTrue(indice.buscar("cocina", null, 0, 10).resultados().isEmpty());
+        assertEquals(List.of(2L), ids(indice.buscar("terraza", null, 0, 10)));
+
+        indice.registrar(new Documento(Tipo.VIVIENDA, 2L, 2L, " "));
+        assertTrue(indice.buscar("terraza", null, 0, 10).resultados().isEmpty());
+
+        indice.retirarComentario(11L);
+        assertTrue(indice.buscar("vista", null, 0, 10).resultados().isEmpty());
+
+        indice.retirarVivienda(1L);
+        assertEquals(0, indice.tamano());
+    }
+
+    @Test
+    @DisplayName("Aplicar - un lote de cambios se aplica en orden y queda visible junto")
+    void aplicar_loteEnOrden() {
+        indice.aplicar(List.of(
+                new Cambio.Registrar(new Documento(Tipo.VIVIENDA, 4L, 4L, "Casa con jardín")),
+                new Cambio.Registrar(new Documento(Tipo.COMENTARIO, 12L, 4L, "El jardín es enorme")),
+                new Cambio.RetirarComentario(12L),
+                new Cambio.RetirarVivienda(2L)));
+
+        assertEquals(List.of(4L), ids(indice.buscar("jardin", null, 0, 10)));
+        assertTrue(indice.buscar("balcon", null, 0, 10).resultados().isEmpty());
+        assertEquals(3, indice.tamano());
+    }
+}
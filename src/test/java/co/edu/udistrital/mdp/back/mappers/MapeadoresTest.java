@@ -0,0 +1,184 @@
+package co.edu.udistrital.mdp.back.mappers;
+
+import co.edu.udistrital.mdp.back.dto.ComentarioDTO;
+import co.edu.udistrital.mdp.back.dto.EstanciaDTO;
+import co.edu.udistrital.mdp.back.dto.SitioInteresDTO;
+import co.edu.udistrital.mdp.back.dto.TransaccionDTO;
+import co.edu.udistrital.mdp.back.dto.UniversidadCercaDTO;
+import co.edu.udistrital.mdp.back.dto.ViviendaDTO;
+import co.edu.udistrital.mdp.back.dto.ViviendaDetailDTO;
+import co.edu.udistrital.mdp.back.entities.ComentarioEntity;
+import co.edu.udistrital.mdp.back.entities.EstanciaEntity;
+import co.edu.udistrital.mdp.back.entities.EstudianteEntity;
+import co.edu.udistrital.mdp.back.entities.PropietarioEntity;
+import co.edu.udistrital.mdp.back.entities.ServicioEntity;
+import co.edu.udistrital.mdp.back.entities.SitioInteresEntity;
+import co.edu.udistrital.mdp.back.entities.TransaccionEntity;
+import co.edu.udistrital.mdp.back.entities.UniversidadCercaEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas de los mapeadores entidad <-> DTO")
+class MapeadoresTest {
+
+    private final ComentarioMapper comentarioMapper = new ComentarioMapper();
+    private final ViviendaMapper viviendaMapper = new ViviendaMapper(new PropietarioMapper(), new ServicioMapper(),
+            comentarioMapper);
+    private final EstanciaMapper estanciaMapper = new EstanciaMapper();
+    private final TransaccionMapper transaccionMapper = new TransaccionMapper(estanciaMapper);
+    private final SitioInteresMapper sitioInteresMapper = new SitioInteresMapper();
+    private final UniversidadCercaMapper universidadCercaMapper = new UniversidadCercaMapper();
+
+    private ViviendaEntity vivienda() {
+        PropietarioEntity propietario = new PropietarioEntity();
+        propietario.setId(3L);
+        propietario.setNombre("Carlos");
+        ViviendaEntity v = new ViviendaEntity();
+        v.setId(10L);
+        v.setDireccion("Calle 1");
+        v.setCiudad("Bogota");
+        v.setPrecioMensual(new BigDecimal("900000"));
+        v.setNumeroHabitaciones(2);
+        v.setTipo(ViviendaEntity.TipoVivienda.ESTUDIO);
+        v.setDisponible(false);
+        v.setPropietario(propietario);
+        return v;
+    }
+
+    @Test
+    @DisplayName("Vivienda a DTO - copia columnas, tipo y id del propietario")
+    void vivienda_toDTO() {
+        ViviendaDTO dto = viviendaMapper.toDTO(vivienda());
+
+        assertEquals("Calle 1", dto.getDireccion());
+        assertEquals(new BigDecimal("900000"), dto.getPrecioMensual());
+        assertEquals("ESTUDIO", dto.getTipo());
+        assertFalse(dto.getDisponible());
+        assertEquals(3L, dto.getPropietarioId());
+    }
+
+    @Test
+    @DisplayName("Vivienda a detalle - incluye propietario, servicios y comentarios")
+    void vivienda_toDetailDTO() {
+        ViviendaEntity v = vivienda();
+        ServicioEntity wifi = new ServicioEntity();
+        wifi.setNombre("Wifi");
+        v.setServicios(new ArrayList<>(List.of(wifi)));
+        ComentarioEntity c = new ComentarioEntity();
+        c.setContenido("Muy buena vivienda");
+        c.setVivienda(v);
+        v.setComentarios(new ArrayList<>(List.of(c)));
+
+        ViviendaDetailDTO dto = viviendaMapper.toDetailDTO(v);
+
+        assertEquals("Carlos", dto.getPropietario().getNombre());
+        assertEquals("Wifi", dto.getServicios().get(0).getNombre());
+        assertEquals(10L, dto.getComentarios().get(0).getViviendaId());
+    }
+
+    @Test
+    @DisplayName("DTO a vivienda - tipo en minúsculas y disponibilidad por defecto")
+    void vivienda_toEntity() {
+        ViviendaDTO dto = new ViviendaDTO();
+        dto.setTipo("casa");
+        dto.setPropietarioId(5L);
+
+        ViviendaEntity v = viviendaMapper.toEntity(dto);
+
+        assertEquals(ViviendaEntity.TipoVivienda.CASA, v.getTipo());
+        assertTrue(v.isDisponible());
+        assertEquals(5L, v.getPropietario().getId());
+    }
+
+    @Test
+    @DisplayName("DTO a comentario - vivienda y autor como referencias por id")
+    void comentario_toEntity() {
+        ComentarioDTO dto = new ComentarioDTO();
+        dto.setContenido("Excelente lugar");
+        dto.setCalificacion(4);
+        dto.setViviendaId(1L);
+        dto.setAutorId(2L);
+
+        ComentarioEntity c = comentarioMapper.toEntity(dto);
+
+        assertEquals(1L, c.getVivienda().getId());
+        assertEquals(2L, c.getAutor().getId());
+        assertEquals(4, c.getCalificacion());
+    }
+
+    @Test
+    @DisplayName("Transacción a DTO - incluye la estancia con su estado")
+    void transaccion_toDTO() {
+        EstudianteEntity estudiante = new EstudianteEntity();
+        estudiante.setId(7L);
+        EstanciaEntity estancia = new EstanciaEntity();
+        estancia.setId(4L);
+        estancia.setEstudianteArrendador(estudiante);
+        estancia.setEstado(EstanciaEntity.EstadoEstancia.COMPLETADA);
+        TransaccionEntity t = new TransaccionEntity();
+        t.setMonto(new BigDecimal("100"));
+        t.setEstancia(estancia);
+
+        TransaccionDTO dto = transaccionMapper.toDTO(t);
+
+        EstanciaDTO estanciaDTO = dto.getEstancia();
+        assertEquals(4L, estanciaDTO.getId());
+        assertEquals(7L, estanciaDTO.getEstudianteArrendadorId());
+        assertEquals("COMPLETADA", estanciaDTO.getEstado());
+    }
+
+    @Test
+    @DisplayName("Sitio de interés - traduce tiempoCaminata e imagenUrl")
+    void sitioInteres_camposRenombrados() {
+        SitioInteresDTO dto = new SitioInteresDTO();
+        dto.setTiempoCaminata("12 min");
+        dto.setImagenUrl("http://foto");
+
+        SitioInteresEntity entity = sitioInteresMapper.toEntity(dto);
+        assertEquals(12, entity.getTiempoCaminando());
+        assertEquals("http://foto", entity.getFoto());
+
+        SitioInteresDTO deVuelta = sitioInteresMapper.toDTO(entity);
+        assertEquals("12", deVuelta.getTiempoCaminata());
+        assertEquals("http://foto", deVuelta.getImagenUrl());
+    }
+
+    @Test
+    @DisplayName("Sitio de interés - rechaza tiempoCaminata fuera del formato '15' o '15 min'")
+    void sitioInteres_tiempoCaminataInvalido() {
+        for (String tiempo : List.of("1h30", "15 minutos", "-5", "99999999999999999999")) {
+            SitioInteresDTO dto = new SitioInteresDTO();
+            dto.setTiempoCaminata(tiempo);
+            assertThrows(IllegalArgumentException.class, () -> sitioInteresMapper.toEntity(dto), tiempo);
+        }
+        SitioInteresDTO dto = new SitioInteresDTO();
+        dto.setTiempoCaminata(" 7 MIN ");
+        assertEquals(7, sitioInteresMapper.toEntity(dto).getTiempoCaminando());
+    }
+
+    @Test
+    @DisplayName("Universidad a DTO en lista - toma los ids de viviendas ya agrupados")
+    void universidadCerca_toDTOList() {
+        UniversidadCercaEntity conViviendas = new UniversidadCercaEntity();
+        conViviendas.setId(1L);
+        conViviendas.setNombre("Distrital");
+        UniversidadCercaEntity sinViviendas = new UniversidadCercaEntity();
+        sinViviendas.setId(2L);
+        sinViviendas.setNombre("Nacional");
+
+        List<UniversidadCercaDTO> dtos = universidadCercaMapper.toDTOList(List.of(conViviendas, sinViviendas),
+                Map.of(1L, List.of(10L, 11L)));
+
+        assertEquals(List.of(10L, 11L), dtos.get(0).getViviendaIds());
+        assertEquals(List.of(), dtos.get(1).getViviendaIds());
+        assertEquals("Nacional", dtos.get(1).getNombre());
+    }
+}
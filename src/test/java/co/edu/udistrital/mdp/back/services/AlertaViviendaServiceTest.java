@@ -0,0 +1,179 @@
+package co.edu.udistrital.mdp.back.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import co.edu.udistrital.mdp.back.entities.EstanciaEntity;
+import co.edu.udistrital.mdp.back.entities.EstudianteEntity;
+import co.edu.udistrital.mdp.back.entities.NotificacionEntity;
+import co.edu.udistrital.mdp.back.entities.PreferenciaEstudianteEntity;
+import co.edu.udistrital.mdp.back.entities.PropietarioEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity.TipoVivienda;
+import co.edu.udistrital.mdp.back.indices.IndicePreferencias;
+import co.edu.udistrital.mdp.back.repositories.ContadorNoLeidasRepository;
+import co.edu.udistrital.mdp.back.repositories.EstanciaRepository;
+import co.edu.udistrital.mdp.back.repositories.EstudianteRepository;
+import co.edu.udistrital.mdp.back.repositories.NotificacionRepository;
+import co.edu.udistrital.mdp.back.repositories.PreferenciaEstudianteRepository;
+import co.edu.udistrital.mdp.back.repositories.PropietarioRepository;
+import co.edu.udistrital.mdp.back.repositories.ViviendaRepository;
+
+/**
+ * Las alertas se envían en otro hilo después de confirmar la transacción, así
+ * que las pruebas corren sin transacción envolvente, esperan a las
+ * notificaciones y limpian las tablas al terminar.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ AlertaViviendaService.class, IndicePreferencias.class, ViviendaService.class, EstanciaService.class,
+        DifusionNotificacionService.class, ContadorNoLeidasService.class, SuscripcionesNotificaciones.class })
+class AlertaViviendaServiceTest {
+
+    @Autowired
+    private AlertaViviendaService alertaService;
+
+    @Autowired
+    private IndicePreferencias indicePreferencias;
+
+    @Autowired
+    private ViviendaService viviendaService;
+
+    @Autowired
+    private EstanciaService estanciaService;
+
+    @Autowired
+    private NotificacionRepository notificacionRepository;
+
+    @Autowired
+    private ContadorNoLeidasRepository contadorRepository;
+
+    @Autowired
+    private PreferenciaEstudianteRepository preferenciaRepository;
+
+    @Autowired
+    private EstanciaRepository estanciaRepository;
+
+    @Autowired
+    private ViviendaRepository viviendaRepository;
+
+    @Autowired
+    private PropietarioRepository propietarioRepository;
+
+    @Autowired
+    private EstudianteRepository estudianteRepository;
+
+    private PropietarioEntity propietario;
+
+    @BeforeEach
+    void setUp() {
+        propietario = propietarioRepository.save(DatosPrueba.propietario());
+
+        alertaService.cargarIndice();
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificacionRepository.deleteAll();
+        contadorRepository.deleteAll();
+        estanciaRepository.deleteAll();
+        preferenciaRepository.deleteAll();
+        viviendaRepository.deleteAll();
+        propietarioRepository.deleteAll();
+        estudianteRepository.deleteAll();
+    }
+
+    private EstudianteEntity estudianteConPreferencias(int i, Integer precioMaximo, String zona, String tipo) {
+        EstudianteEntity e = DatosPrueba.estudiante();
+        e.setNombre("Estudiante " + i);
+        e.setCorreo("estudiante" + i + "@correo.com");
+        e.setTelefono("300" + i);
+        e = estudianteRepository.save(e);
+        PreferenciaEstudianteEntity p = new PreferenciaEstudianteEntity();
+        p.setPrecioMaximo(precioMaximo);
+        p.setZonaPreferida(zona);
+        p.setTipoVivienda(tipo);
+        p.setEstudiante(e);
+        preferenciaRepository.save(p);
+        return e;
+    }
+
+    private ViviendaEntity vivienda(TipoVivienda tipo, String precio, String barrio) {
+        ViviendaEntity v = DatosPrueba.vivienda(propietario);
+        v.setDireccion("Calle " + barrio);
+        v.setBarrio(barrio);
+        v.setPrecioMensual(new BigDecimal(precio));
+        v.setTipo(tipo);
+        return viviendaService.crearVivienda(v);
+    }
+
+    private List<NotificacionEntity> esperarNotificaciones(long esperadas) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (notificacionRepository.count() < esperadas) {
+            assertTrue(System.nanoTime() < limite, "las alertas no llegaron a tiempo");
+            Thread.sleep(20);
+        }
+        return notificacionRepository.findAll();
+    }
+
+    @Test
+    void crearVivienda_notificaSoloALosEstudiantesInteresados() throws InterruptedException {
+        EstudianteEntity enChapinero = estudianteConPreferencias(1, 1_000_000, "Chapinero", "Apartamento");
+        EstudianteEntity cualquiera = estudianteConPreferencias(2, null, null, null);
+        estudianteConPreferencias(3, 500_000, "Chapinero", "Apartamento");
+        estudianteConPreferencias(4, 1_000_000, "Suba", null);
+        estudianteConPreferencias(5, 1_000_000, null, "Casa");
+
+        ViviendaEntity vivienda = vivienda(TipoVivienda.APARTAMENTO, "900000", "Chapinero");
+
+        List<NotificacionEntity> notificaciones = esperarNotificaciones(2);
+        Thread.sleep(100);
+        assertEquals(2, notificacionRepository.count());
+        assertEquals(List.of(enChapinero.getId(), cualquiera.getId()), notificaciones.stream()
+                .map(n -> n.getEstudiante().getId()).sorted().toList());
+        assertTrue(notificaciones.get(0).getMensaje().contains("(vivienda " + vivienda.getId() + ")"),
+                notificaciones.get(0).getMensaje());
+    }
+
+    @Test
+    void marcarComoDisponible_soloAlertaSiNoLoEstaba() throws InterruptedException {
+        ViviendaEntity vivienda = vivienda(TipoVivienda.HABITACION, "500000", "Centro");
+        EstudianteEntity inquilino = estudianteConPreferencias(1, 400_000, null, null);
+        EstudianteEntity interesado = estudianteConPreferencias(2, 600_000, "centro", "habitacion");
+        estanciaService.crearEstancia(new EstanciaEntity(inquilino, vivienda, 6));
+
+        viviendaService.marcarComoDisponible(vivienda.getId());
+        viviendaService.marcarComoDisponible(vivienda.getId());
+
+        List<NotificacionEntity> notificaciones = esperarNotificaciones(1);
+        Thread.sleep(100);
+        assertEquals(1, notificacionRepository.count());
+        assertEquals(interesado.getId(), notificaciones.get(0).getEstudiante().getId());
+    }
+
+    @Test
+    void preferenciaActualizada_seReflejaEnElIndice() throws InterruptedException {
+        EstudianteEntity estudiante = estudianteConPreferencias(1, 300_000, null, null);
+        assertEquals(1, indicePreferencias.tamano());
+        PreferenciaEstudianteEntity preferencia = preferenciaRepository.findByEstudianteId(estudiante.getId())
+                .orElseThrow();
+        preferencia.setPrecioMaximo(800_000);
+        preferenciaRepository.save(preferencia);
+
+        vivienda(TipoVivienda.CASA, "750000", "Usaquen");
+
+        assertEquals(estudiante.getId(), esperarNotificaciones(1).get(0).getEstudiante().getId());
+    }
+}
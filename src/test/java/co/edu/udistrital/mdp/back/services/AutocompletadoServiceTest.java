@@ -0,0 +1,154 @@
+package co.edu.udistrital.mdp.back.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import co.edu.udistrital.mdp.back.dto.SugerenciaDTO;
+import co.edu.udistrital.mdp.back.entities.PropietarioEntity;
+import co.edu.udistrital.mdp.back.entities.UniversidadCercaEntity;
+import co.edu.udistrital.mdp.back.entities.UniversidadEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import co.edu.udistrital.mdp.back.indices.IndiceAutocompletado;
+import co.edu.udistrital.mdp.back.repositories.PropietarioRepository;
+import co.edu.udistrital.mdp.back.repositories.UniversidadCercaRepository;
+import co.edu.udistrital.mdp.back.repositories.UniversidadRepository;
+import co.edu.udistrital.mdp.back.repositories.ViviendaRepository;
+
+/**
+ * El índice se actualiza al confirmar cada transacción, así que las pruebas
+ * corren sin transacción envolvente y limpian las tablas al terminar.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ AutocompletadoService.class, IndiceAutocompletado.class, ViviendaService.class })
+class AutocompletadoServiceTest {
+
+    @Autowired
+    private AutocompletadoService autocompletadoService;
+
+    @Autowired
+    private ViviendaService viviendaService;
+
+    @Autowired
+    private ViviendaRepository viviendaRepository;
+
+    @Autowired
+    private PropietarioRepository propietarioRepository;
+
+    @Autowired
+    private UniversidadCercaRepository universidadCercaRepository;
+
+    @Autowired
+    private UniversidadRepository universidadRepository;
+
+    private PropietarioEntity propietario;
+
+    @BeforeEach
+    void setUp() {
+        propietario = propietarioRepository.save(DatosPrueba.propietario());
+    }
+
+    @AfterEach
+    void tearDown() {
+        viviendaRepository.deleteAll();
+        propietarioRepository.deleteAll();
+        universidadCercaRepository.deleteAll();
+        universidadRepository.deleteAll();
+    }
+
+    private ViviendaEntity vivienda(String ciudad, String barrio) {
+        ViviendaEntity v = DatosPrueba.vivienda(propietario);
+        v.setCiudad(ciudad);
+        v.setBarrio(barrio);
+        return viviendaService.crearVivienda(v);
+    }
+
+    private UniversidadEntity universidad(String nombre) {
+        UniversidadEntity u = new UniversidadEntity();
+        u.setNombre(nombre);
+        u.setDireccion("Carrera 30");
+        u.setCiudad("Bogotá");
+        return universidadRepository.save(u);
+    }
+
+    private List<String> textos(List<SugerenciaDTO> sugerencias) {
+        return sugerencias.stream().map(SugerenciaDTO::getTexto).toList();
+    }
+
+    @Test
+    void cargarIndice_leeCiudadesBarriosYUniversidades() {
+        vivienda("Bogotá", "Teusaquillo");
+        vivienda("Bogotá", "Chapinero");
+        UniversidadCercaEntity cercana = new UniversidadCercaEntity();
+        cercana.setNombre("Universidad Distrital");
+        universidadCercaRepository.save(cercana);
+        universidad("Universidad Nacional de Colombia");
+        IndiceAutocompletado indice = new IndiceAutocompletado();
+        AutocompletadoService servicio = new AutocompletadoService(indice, viviendaRepository,
+                universidadCercaRepository, universidadRepository);
+
+        servicio.cargarIndice();
+
+        assertEquals(5, indice.tamano());
+        assertEquals(List.of(new SugerenciaDTO("Bogotá", "CIUDAD", 2)), servicio.sugerir("bogota", null, null));
+        assertEquals(List.of("Universidad Distrital", "Universidad Nacional de Colombia"),
+                textos(servicio.sugerir("UNI", "universidad", 10)));
+    }
+
+    @Test
+    void escrituras_mantienenElIndiceAlDia() {
+        autocompletadoService.cargarIndice();
+        ViviendaEntity vivienda = vivienda("Medellín", "Laureles");
+        vivienda("Medellín", "El Poblado");
+        assertEquals(List.of(new SugerenciaDTO("Medellín", "CIUDAD", 2)),
+                autocompletadoService.sugerir("mede", null, 10));
+
+        ViviendaEntity cambios = viviendaService.obtenerViviendaPorId(vivienda.getId());
+        cambios.setBarrio("Belén");
+        viviendaService.actualizarVivienda(vivienda.getId(), cambios);
+        assertTrue(autocompletadoService.sugerir("laur", null, 10).isEmpty());
+        assertEquals(List.of("Belén"), textos(autocompletadoService.sugerir("bele", "BARRIO", 10)));
+
+        viviendaService.eliminarVivienda(vivienda.getId());
+        assertTrue(autocompletadoService.sugerir("belen", null, 10).isEmpty());
+        assertEquals(1, autocompletadoService.sugerir("medellin", null, 10).get(0).getPeso());
+
+        UniversidadEntity andes = universidad("Universidad de los Andes");
+        assertEquals(List.of("Universidad de los Andes"), textos(autocompletadoService.sugerir("andes", null, 10)));
+        universidadRepository.delete(andes);
+        assertTrue(autocompletadoService.sugerir("andes", null, 10).isEmpty());
+    }
+
+    @Test
+    void sugerir_limitesYParametrosInvalidos() {
+        autocompletadoService.cargarIndice();
+        for (int i = 0; i < AutocompletadoService.LIMITE_POR_DEFECTO + 2; i++) {
+            vivienda("Cali", "Barrio " + i);
+        }
+
+        assertEquals(AutocompletadoService.LIMITE_POR_DEFECTO, autocompletadoService.sugerir("barrio", null, null).size());
+        assertEquals(3, autocompletadoService.sugerir("barrio", null, 3).size());
+        assertTrue(autocompletadoService.sugerir(null, null, null).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> autocompletadoService.sugerir("cali", "pais", 10));
+        assertThrows(IllegalArgumentException.class, () -> autocompletadoService.sugerir(
+                "a".repeat(AutocompletadoService.LONGITUD_MAXIMA + 1), null, 10));
+    }
+
+    @Test
+    void sugerir_indiceSinCargar_lanzaExcepcion() {
+        AutocompletadoService sinIndice = new AutocompletadoService(new IndiceAutocompletado(), viviendaRepository,
+                universidadCercaRepository, universidadRepository);
+
+        assertThrows(IllegalStateException.class, () -> sinIndice.sugerir("bog", null, 10));
+    }
+}
@@ -0,0 +1,167 @@
+package co.edu.udistrital.mdp.back.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import co.edu.udistrital.mdp.back.dto.ResultadoBusquedaTextoDTO;
+import co.edu.udistrital.mdp.back.entities.ComentarioEntity;
+import co.edu.udistrital.mdp.back.entities.EstudianteEntity;
+import co.edu.udistrital.mdp.back.entities.PropietarioEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import co.edu.udistrital.mdp.back.indices.IndiceTexto;
+import co.edu.udistrital.mdp.back.repositories.ComentarioRepository;
+import co.edu.udistrital.mdp.back.repositories.EstudianteRepository;
+import co.edu.udistrital.mdp.back.repositories.PropietarioRepository;
+import co.edu.udistrital.mdp.back.repositories.ViviendaRepository;
+
+/**
+ * El índice se actualiza al confirmar cada transacción, así que las pruebas
+ * corren sin transacción envolvente y limpian las tablas al terminar.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ BusquedaTextoService.class, IndiceTexto.class, ViviendaService.class })
+class BusquedaTextoServiceTest {
+
+    @Autowired
+    private BusquedaTextoService busquedaTextoService;
+
+    @Autowired
+    private IndiceTexto indiceTexto;
+
+    @Autowired
+    private ViviendaService viviendaService;
+
+    @Autowired
+    private ViviendaRepository viviendaRepository;
+
+    @Autowired
+    private ComentarioRepository comentarioRepository;
+
+    @Autowired
+    private PropietarioRepository propietarioRepository;
+
+    @Autowired
+    private EstudianteRepository estudianteRepository;
+
+    private PropietarioEntity propietario;
+    private EstudianteEntity estudiante;
+
+    @BeforeEach
+    void setUp() {
+        propietario = propietarioRepository.save(DatosPrueba.propietario());
+
+        estudiante = estudianteRepository.save(DatosPrueba.estudiante());
+    }
+
+    @AfterEach
+    void tearDown() {
+        comentarioRepository.deleteAll();
+        viviendaRepository.deleteAll();
+        propietarioRepository.deleteAll();
+        estudianteRepository.deleteAll();
+    }
+
+    private ViviendaEntity vivienda(String descripcion) {
+        ViviendaEntity v = DatosPrueba.vivienda(propietario);
+        v.setDescripcion(descripcion);
+        return viviendaService.crearVivienda(v);
+    }
+
+    private ComentarioEntity comentario(ViviendaEntity vivienda, String contenido) {
+        ComentarioEntity c = new ComentarioEntity();
+        c.setContenido(contenido);
+        c.setCalificacion(5);
+        c.setVivienda(vivienda);
+        c.setAutor(estudiante);
+        return comentarioRepository.save(c);
+    }
+
+    private List<Long> ids(Slice<ResultadoBusquedaTextoDTO> pagina) {
+        return pagina.getContent().stream().map(ResultadoBusquedaTextoDTO::getId).toList();
+    }
+
+    @Test
+    void cargarIndice_leeDescripcionesYComentariosExistentes() {
+        // Un índice recién creado, para que todo lo encontrado venga de la carga
+        IndiceTexto indice = new IndiceTexto();
+        BusquedaTextoService servicio = new BusquedaTextoService(indice, viviendaRepository, comentarioRepository);
+        ViviendaEntity vivienda = vivienda("Casa con jardín y garaje");
+        vivienda("Apartamento en el centro");
+        ComentarioEntity opinion = comentario(vivienda, "El jardín es precioso y tranquilo");
+
+        servicio.cargarIndice();
+
+        assertEquals(3, indice.tamano());
+        assertEquals(2, servicio.buscar("jardin", null, null, null).getNumberOfElements());
+        assertEquals(List.of(opinion.getId()), ids(servicio.buscar("jardines", "comentario", 0, 10)));
+    }
+
+    @Test
+    void escrituras_mantienenElIndiceAlDia() {
+        busquedaTextoService.cargarIndice();
+        ViviendaEntity vivienda = vivienda("Apartamento iluminado cerca de la universidad");
+        ComentarioEntity opinion = comentario(vivienda, "Muy iluminado y silencioso, recomendado");
+
+        Slice<ResultadoBusquedaTextoDTO> pagina = busquedaTextoService.buscar("iluminada", null, 0, 10);
+        assertEquals(2, pagina.getNumberOfElements());
+        assertTrue(pagina.getContent().stream().allMatch(r -> r.getViviendaId().equals(vivienda.getId())));
+
+        ViviendaEntity cambios = viviendaService.obtenerViviendaPorId(vivienda.getId());
+        cambios.setDescripcion("Estudio amoblado con terraza");
+        viviendaService.actualizarVivienda(vivienda.getId(), cambios);
+        assertEquals(List.of(opinion.getId()), ids(busquedaTextoService.buscar("iluminado", null, 0, 10)));
+        assertEquals(List.of(vivienda.getId()), ids(busquedaTextoService.buscar("terrazas", "VIVIENDA", 0, 10)));
+
+        viviendaService.eliminarVivienda(vivienda.getId());
+        assertEquals(0, indiceTexto.tamano());
+    }
+
+    @Test
+    void buscar_paginaPorNumeroDePagina() {
+        busquedaTextoService.cargarIndice();
+        for (int i = 0; i < 5; i++) {
+            vivienda("Habitación número " + i + " con baño privado");
+        }
+
+        Slice<ResultadoBusquedaTextoDTO> primera = busquedaTextoService.buscar("baño privado", null, 0, 3);
+        Slice<ResultadoBusquedaTextoDTO> segunda = busquedaTextoService.buscar("baño privado", null, 1, 3);
+
+        assertEquals(3, primera.getNumberOfElements());
+        assertTrue(primera.hasNext());
+        assertEquals(2, segunda.getNumberOfElements());
+        assertFalse(segunda.hasNext());
+    }
+
+    @Test
+    void buscar_parametrosInvalidos_lanzaExcepcion() {
+        busquedaTextoService.cargarIndice();
+
+        assertThrows(IllegalArgumentException.class, () -> busquedaTextoService.buscar(" ", null, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> busquedaTextoService.buscar("casa", "reserva", 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> busquedaTextoService.buscar("casa", null, -1, 10));
+        assertThrows(IllegalArgumentException.class, () -> busquedaTextoService.buscar("casa", null,
+                BusquedaTextoService.RESULTADOS_MAXIMOS, 10));
+        assertThrows(IllegalArgumentException.class, () -> busquedaTextoService.buscar(
+                "a".repeat(BusquedaTextoService.LONGITUD_MAXIMA + 1), null, 0, 10));
+    }
+
+    @Test
+    void buscar_indiceSinCargar_lanzaExcepcion() {
+        BusquedaTextoService sinIndice = new BusquedaTextoService(new IndiceTexto(), viviendaRepository,
+                comentarioRepository);
+
+        assertThrows(IllegalStateException.class, () -> sinIndice.buscar("casa", null, 0, 10));
+    }
+}
@@ -0,0 +1,165 @@
+package co.edu.udistrital.mdp.back.services;
+
+import co.edu.udistrital.mdp.back.entities.CalificacionResumenEntity;
+import co.edu.udistrital.mdp.back.repositories.CalificacionResumenRepository;
+import co.edu.udistrital.mdp.back.repositories.ComentarioRepository;
+import co.edu.udistrital.mdp.back.repositories.ViviendaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas unitarias de CalificacionResumenService")
+class CalificacionResumenServiceTest {
+
+    @Mock
+    private CalificacionResumenRepository resumenRepository;
+
+    @Mock
+    private ComentarioRepository comentarioRepository;
+
+    @Mock
+    private ViviendaRepository viviendaRepository;
+
+    @InjectMocks
+    private CalificacionResumenService calificacionResumenService;
+
+    private CalificacionResumenEntity resumen;
+
+    @BeforeEach
+    void setUp() {
+        resumen = new CalificacionResumenEntity();
+        resumen.setViviendaId(1L);
+        resumen.aplicar(4, 1);
+        resumen.aplicar(5, 1);
+    }
+
+    @Test
+    @DisplayName("Obtener promedio sin resumen - debería retornar 0.0")
+    void obtenerPromedio_SinResumen_DeberiaRetornarCero() {
+        when(resumenRepository.findByViviendaId(1L)).thenReturn(Optional.empty());
+
+        assertEquals(0.0, calificacionResumenService.obtenerPromedio(1L));
+    }
+
+    @Test
+    @DisplayName("Obtener promedio - debería dividir suma entre cantidad")
+    void obtenerPromedio_ConResumen_DeberiaCalcularPromedio() {
+        when(resumenRepository.findByViviendaId(1L)).thenReturn(Optional.of(resumen));
+
+        assertEquals(4.5, calificacionResumenService.obtenerPromedio(1L));
+    }
+
+    @Test
+    @DisplayName("Registrar primera calificación - debería crear el resumen")
+    void registrarCalificacion_SinResumen_DeberiaCrearlo() {
+        when(resumenRepository.findByViviendaId(2L)).thenReturn(Optional.empty());
+
+        calificacionResumenService.registrarCalificacion(2L, 3);
+
+        // La vivienda se bloquea antes de buscar el resumen: dos primeros comentarios no lo crean dos veces
+        InOrder orden = inOrder(viviendaRepository, resumenRepository);
+        orden.verify(viviendaRepository).bloquear(2L);
+        orden.verify(resumenRepository).findByViviendaId(2L);
+        ArgumentCaptor<CalificacionResumenEntity> captor = ArgumentCaptor.forClass(CalificacionResumenEntity.class);
+        verify(resumenRepository).save(captor.capture());
+        CalificacionResumenEntity nuevo = captor.getValue();
+        assertEquals(2L, nuevo.getViviendaId());
+        assertEquals(1, nuevo.getCantidad());
+        assertEquals(3, nuevo.getSuma());
+        assertEquals(1, nuevo.getEstrellas3());
+    }
+
+    @Test
+    @DisplayName("Cambiar calificación - debería mover el conteo del histograma")
+    void cambiarCalificacion_DeberiaActualizarHistograma() {
+        when(resumenRepository.findByViviendaId(1L)).thenReturn(Optional.of(resumen));
+
+        calificacionResumenService.cambiarCalificacion(1L, 5, 1);
+
+        assertEquals(2, resumen.getCantidad());
+        assertEquals(5, resumen.getSuma());
+        assertEquals(0, resumen.getEstrellas5());
+        assertEquals(1, resumen.getEstrellas1());
+        verify(resumenRepository).save(resumen);
+    }
+
+    @Test
+    @DisplayName("Cambiar a la misma calificación - no debería tocar el resumen")
+    void cambiarCalificacion_MismaCalificacion_NoDeberiaActualizar() {
+        calificacionResumenService.cambiarCalificacion(1L, 4, 4);
+
+        verifyNoInteractions(resumenRepository);
+    }
+
+    @Test
+    @DisplayName("Retirar calificación - debería descontarla")
+    void retirarCalificacion_DeberiaDescontar() {
+        when(resumenRepository.findByViviendaId(1L)).thenReturn(Optional.of(resumen));
+
+        calificacionResumenService.retirarCalificacion(1L, 4);
+
+        assertEquals(1, resumen.getCantidad());
+        assertEquals(5.0, resumen.getPromedio());
+        assertEquals(0, resumen.getEstrellas4());
+    }
+
+    @Test
+    @DisplayName("Reconstruir resúmenes - debería recalcular desde los comentarios las viviendas bloqueadas")
+    void reconstruirResumenes_DeberiaRecalcularDesdeCero() {
+        CalificacionResumenEntity sinComentarios = new CalificacionResumenEntity();
+        sinComentarios.setViviendaId(9L);
+        sinComentarios.aplicar(3, 2);
+        when(viviendaRepository.bloquearTodas()).thenReturn(List.of(1L, 7L, 9L));
+        when(resumenRepository.findAll()).thenReturn(List.of(resumen, sinComentarios));
+        List<Object[]> filas = new ArrayList<>();
+        filas.add(new Object[] { 1L, 5, 3L });
+        filas.add(new Object[] { 1L, 2, 1L });
+        filas.add(new Object[] { 7L, 4, 2L });
+        // Vivienda creada después del bloqueo: no se toca
+        filas.add(new Object[] { 8L, 1, 1L });
+        when(comentarioRepository.contarPorViviendaYCalificacion()).thenReturn(filas);
+
+        int reconstruidos = calificacionResumenService.reconstruirResumenes();
+
+        assertEquals(2, reconstruidos);
+        verify(resumenRepository).deleteAll(List.of(sinComentarios));
+        verify(resumenRepository).eliminarHuerfanos();
+        verify(resumenRepository, never()).deleteAllInBatch();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Iterable<CalificacionResumenEntity>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(resumenRepository).saveAll(captor.capture());
+        List<Long> viviendas = new ArrayList<>();
+        for (CalificacionResumenEntity r : captor.getValue()) {
+            viviendas.add(r.getViviendaId());
+            if (r.getViviendaId().equals(1L)) {
+                // El resumen existente se reutiliza y se recalcula desde cero
+                assertSame(resumen, r);
+                assertEquals(4, r.getCantidad());
+                assertEquals(17, r.getSuma());
+                assertEquals(3, r.getEstrellas5());
+                assertEquals(1, r.getEstrellas2());
+                assertEquals(0, r.getEstrellas4());
+            } else {
+                assertEquals(2, r.getCantidad());
+                assertEquals(4.0, r.getPromedio());
+            }
+        }
+        assertEquals(2, viviendas.size());
+        assertTrue(viviendas.containsAll(List.of(1L, 7L)));
+    }
+}
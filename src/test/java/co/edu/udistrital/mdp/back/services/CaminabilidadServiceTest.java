@@ -0,0 +1,156 @@
+package co.edu.udistrital.mdp.back.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import co.edu.udistrital.mdp.back.dto.BusquedaViviendaDTO;
+import co.edu.udistrital.mdp.back.entities.BaseEntity;
+import co.edu.udistrital.mdp.back.entities.PropietarioEntity;
+import co.edu.udistrital.mdp.back.entities.SitioInteresEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import co.edu.udistrital.mdp.back.repositories.SitioInteresRepository;
+import co.edu.udistrital.mdp.back.repositories.ViviendaRepository;
+
+/**
+ * Las columnas de caminabilidad solo cambian por UPDATE masivos, así que cada
+ * lectura limpia el contexto de persistencia para ver el valor de la tabla.
+ */
+@DataJpaTest
+@Import({ CaminabilidadService.class, SitioInteresService.class })
+class CaminabilidadServiceTest {
+
+    @Autowired
+    private CaminabilidadService caminabilidadService;
+
+    @Autowired
+    private SitioInteresService sitioInteresService;
+
+    @Autowired
+    private ViviendaRepository viviendaRepository;
+
+    @Autowired
+    private SitioInteresRepository sitioRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private PropietarioEntity propietario;
+
+    @BeforeEach
+    void setUp() {
+        propietario = entityManager.persist(DatosPrueba.propietario());
+    }
+
+    private ViviendaEntity vivienda(String direccion) {
+        ViviendaEntity v = DatosPrueba.vivienda(propietario);
+        v.setDireccion(direccion);
+        return entityManager.persist(v);
+    }
+
+    private SitioInteresEntity sitio(String nombre, int minutos) {
+        return sitioRepository.save(nuevoSitio(nombre, minutos));
+    }
+
+    /** Entidad sin persistir, como la arma el controlador a partir del DTO */
+    private SitioInteresEntity nuevoSitio(String nombre, int minutos) {
+        SitioInteresEntity s = new SitioInteresEntity();
+        s.setNombre(nombre);
+        s.setUbicacion("Calle " + nombre);
+        s.setTiempoCaminando(minutos);
+        return s;
+    }
+
+    private int[] caminabilidad(ViviendaEntity vivienda) {
+        entityManager.flush();
+        entityManager.clear();
+        ViviendaEntity leida = viviendaRepository.findById(vivienda.getId()).orElseThrow();
+        return new int[] { leida.getSitiosCaminables(), leida.getPuntajeCaminabilidad() };
+    }
+
+    @Test
+    void puntos_losSitiosMasCercanosPesanMas() {
+        assertEquals(16, caminabilidadService.puntos(0));
+        assertEquals(6, caminabilidadService.puntos(10));
+        assertEquals(1, caminabilidadService.puntos(15));
+        assertEquals(0, caminabilidadService.puntos(16));
+        assertEquals(0, caminabilidadService.puntos(null));
+    }
+
+    @Test
+    void asociarYDesasociar_sumanYRestanEnLaVivienda() {
+        ViviendaEntity vivienda = vivienda("Calle 1");
+        SitioInteresEntity biblioteca = sitio("Biblioteca", 5);
+        SitioInteresEntity parque = sitio("Parque", 10);
+        SitioInteresEntity estadio = sitio("Estadio", 40);
+
+        sitioInteresService.asociarVivienda(biblioteca.getId(), vivienda.getId());
+        sitioInteresService.asociarVivienda(parque.getId(), vivienda.getId());
+        sitioInteresService.asociarVivienda(estadio.getId(), vivienda.getId());
+        assertArrayEquals(new int[] { 2, 11 + 6 }, caminabilidad(vivienda));
+
+        sitioInteresService.desasociarVivienda(biblioteca.getId(), vivienda.getId());
+        sitioInteresService.desasociarVivienda(estadio.getId(), vivienda.getId());
+        assertArrayEquals(new int[] { 1, 6 }, caminabilidad(vivienda));
+    }
+
+    @Test
+    void cambioDeTiempo_actualizaTodasLasViviendasDelSitio() {
+        ViviendaEntity primera = vivienda("Calle 1");
+        ViviendaEntity segunda = vivienda("Calle 2");
+        SitioInteresEntity parque = sitio("Parque", 10);
+        sitioInteresService.asociarVivienda(parque.getId(), primera.getId());
+        sitioInteresService.asociarVivienda(parque.getId(), segunda.getId());
+        caminabilidad(primera);
+
+        sitioInteresService.updateSitioInteres(parque.getId(), nuevoSitio("Parque", 20));
+        assertArrayEquals(new int[] { 0, 0 }, caminabilidad(primera));
+
+        sitioInteresService.updateSitioInteres(parque.getId(), nuevoSitio("Parque", 3));
+        assertArrayEquals(new int[] { 1, 13 }, caminabilidad(segunda));
+    }
+
+    @Test
+    void reconstruir_coincideConLosIncrementos() {
+        ViviendaEntity vivienda = vivienda("Calle 1");
+        ViviendaEntity sinSitios = vivienda("Calle 2");
+        sitioInteresService.asociarVivienda(sitio("Biblioteca", 5).getId(), vivienda.getId());
+        sitioInteresService.asociarVivienda(sitio("Parque", 15).getId(), vivienda.getId());
+        sitioInteresService.asociarVivienda(sitio("Estadio", 16).getId(), vivienda.getId());
+        int[] incremental = caminabilidad(vivienda);
+
+        assertEquals(2, caminabilidadService.reconstruir());
+
+        assertArrayEquals(incremental, caminabilidad(vivienda));
+        assertArrayEquals(new int[] { 0, 0 }, caminabilidad(sinSitios));
+    }
+
+    @Test
+    void busqueda_filtraYOrdenaPorCaminabilidad() {
+        ViviendaEntity lejos = vivienda("Calle 1");
+        ViviendaEntity cerca = vivienda("Calle 2");
+        ViviendaEntity ninguno = vivienda("Calle 3");
+        SitioInteresEntity biblioteca = sitio("Biblioteca", 2);
+        SitioInteresEntity parque = sitio("Parque", 14);
+        sitioInteresService.asociarVivienda(parque.getId(), lejos.getId());
+        sitioInteresService.asociarVivienda(biblioteca.getId(), cerca.getId());
+        caminabilidad(lejos);
+
+        BusquedaViviendaDTO criterios = new BusquedaViviendaDTO();
+        criterios.setOrden(BusquedaViviendaDTO.OrdenVivienda.CAMINABILIDAD_DESC);
+        List<Long> ordenadas = viviendaRepository.buscar(criterios, PageRequest.of(0, 10)).getContent().stream()
+                .map(BaseEntity::getId).toList();
+        assertEquals(List.of(cerca.getId(), lejos.getId(), ninguno.getId()), ordenadas);
+
+        criterios.setMinSitiosCaminables(1);
+        assertEquals(2, viviendaRepository.buscar(criterios, PageRequest.of(0, 10)).getNumberOfElements());
+    }
+}
@@ -0,0 +1,134 @@
+package co.edu.udistrital.mdp.back.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import co.edu.udistrital.mdp.back.entities.CalificacionResumenEntity;
+import co.edu.udistrital.mdp.back.entities.ComentarioEntity;
+import co.edu.udistrital.mdp.back.entities.EstudianteEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import co.edu.udistrital.mdp.back.repositories.CalificacionResumenRepository;
+import co.edu.udistrital.mdp.back.repositories.ComentarioRepository;
+import co.edu.udistrital.mdp.back.repositories.EstudianteRepository;
+import co.edu.udistrital.mdp.back.repositories.PropietarioRepository;
+import co.edu.udistrital.mdp.back.repositories.ViviendaRepository;
+
+/**
+ * Ediciones y eliminaciones concurrentes de un mismo comentario contra la base
+ * de datos real: cada una confirma su propia transacción, así que las pruebas
+ * corren sin transacción envolvente y limpian las tablas al terminar.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ ComentarioService.class, CalificacionResumenService.class })
+class ComentarioCalificacionServiceTest {
+
+    @Autowired
+    private ComentarioService comentarioService;
+
+    @Autowired
+    private CalificacionResumenService calificacionResumenService;
+
+    @Autowired
+    private ComentarioRepository comentarioRepository;
+
+    @Autowired
+    private CalificacionResumenRepository resumenRepository;
+
+    @Autowired
+    private ViviendaRepository viviendaRepository;
+
+    @Autowired
+    private PropietarioRepository propietarioRepository;
+
+    @Autowired
+    private EstudianteRepository estudianteRepository;
+
+    private ViviendaEntity vivienda;
+    private EstudianteEntity autor;
+    private ComentarioEntity comentario;
+
+    @BeforeEach
+    void setUp() {
+        vivienda = viviendaRepository.save(DatosPrueba.vivienda(propietarioRepository.save(DatosPrueba.propietario())));
+        autor = estudianteRepository.save(DatosPrueba.estudiante());
+        ComentarioEntity c = new ComentarioEntity();
+        c.setContenido("Comentario de prueba");
+        c.setCalificacion(1);
+        c.setVivienda(vivienda);
+        c.setAutor(autor);
+        comentario = comentarioRepository.save(c);
+        calificacionResumenService.reconstruirResumenes();
+    }
+
+    @AfterEach
+    void tearDown() {
+        comentarioRepository.deleteAll();
+        resumenRepository.deleteAll();
+        viviendaRepository.deleteAll();
+        propietarioRepository.deleteAll();
+        estudianteRepository.deleteAll();
+    }
+
+    private void enParalelo(List<Runnable> tareas) throws Exception {
+        ExecutorService hilos = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> pendientes = new ArrayList<>();
+            tareas.forEach(tarea -> pendientes.add(hilos.submit(tarea)));
+            for (Future<?> pendiente : pendientes) {
+                pendiente.get();
+            }
+        } finally {
+            hilos.shutdown();
+        }
+    }
+
+    @Test
+    void edicionesConcurrentes_elResumenTerminaConLaUltimaCalificacion() throws Exception {
+        List<Runnable> ediciones = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            int calificacion = 2 + i % 4;
+            ediciones.add(() -> comentarioService.actualizarCalificacion(comentario.getId(), autor.getId(),
+                    calificacion));
+        }
+
+        enParalelo(ediciones);
+
+        int calificacionFinal = comentarioRepository.findById(comentario.getId()).orElseThrow().getCalificacion();
+        CalificacionResumenEntity resumen = calificacionResumenService.obtenerResumen(vivienda.getId());
+        assertEquals(1, resumen.getCantidad());
+        assertEquals(calificacionFinal, resumen.getSuma());
+    }
+
+    @Test
+    void edicionYEliminacionConcurrentes_noDejanCalificacionesHuerfanas() throws Exception {
+        enParalelo(List.of(
+                () -> {
+                    try {
+                        comentarioService.actualizarCalificacion(comentario.getId(), autor.getId(), 5);
+                    } catch (IllegalArgumentException yaEliminado) {
+                        // La eliminación ganó
+                    }
+                },
+                () -> comentarioService.eliminarComentarioComoAutor(comentario.getId(), autor.getId())));
+
+        assertFalse(comentarioRepository.existsById(comentario.getId()));
+        CalificacionResumenEntity resumen = calificacionResumenService.obtenerResumen(vivienda.getId());
+        assertEquals(0, resumen.getCantidad());
+        assertEquals(0, resumen.getSuma());
+    }
+}
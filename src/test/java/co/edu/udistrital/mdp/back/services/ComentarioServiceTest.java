@@ -17,6 +17,8 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDateTime;
@@ -44,6 +46,9 @@ class ComentarioServiceTest {
     @Mock
     private EstanciaRepository estanciaRepository;
 
+    @Mock
+    private CalificacionResumenService calificacionResumenService;
+
     @InjectMocks
     private ComentarioService comentarioService;
 
@@ -93,6 +98,7 @@ class ComentarioServiceTest {
         assertEquals("Excelente vivienda, muy cómoda y limpia.", resultado.getContenido());
         assertEquals(5, resultado.getCalificacion());
         verify(comentarioRepository).save(comentarioValido);
+        verify(calificacionResumenService).registrarCalificacion(1L, 5);
     }
 
     @ParameterizedTest
@@ -326,24 +332,24 @@ class ComentarioServiceTest {
     }
 
     @Test
-    @DisplayName("Obtener promedio de calificación - debería calcular correctamente")
+    @DisplayName("Obtener promedio de calificación - debería leerlo del resumen")
     void obtenerPromedioCalificacion_DeberiaCalcularPromedio() {
         // Arrange
-        when(comentarioRepository.calcularPromedioCalificacion(1L)).thenReturn(4.5);
+        when(calificacionResumenService.obtenerPromedio(1L)).thenReturn(4.5);
 
         // Act
         Double resultado = comentarioService.obtenerPromedioCalificacion(1L);
 
         // Assert
         assertEquals(4.5, resultado);
-        verify(comentarioRepository).calcularPromedioCalificacion(1L);
+        verify(comentarioRepository, never()).calcularPromedioCalificacion(anyLong());
     }
 
     @Test
     @DisplayName("Obtener promedio sin comentarios - debería retornar 0.0")
     void obtenerPromedioCalificacion_SinComentarios_DeberiaRetornarCero() {
         // Arrange
-        when(comentarioRepository.calcularPromedioCalificacion(1L)).thenReturn(null);
+        when(calificacionResumenService.obtenerPromedio(1L)).thenReturn(0.0);
 
         // Act
         Double resultado = comentarioService.obtenerPromedioCalificacion(1L);
@@ -362,7 +368,7 @@ class ComentarioServiceTest {
         actualizacion.setContenido("Contenido actualizado correctamente");
         actualizacion.setCalificacion(4);
 
-        when(comentarioRepository.findById(1L)).thenReturn(Optional.of(comentarioValido));
+        when(comentarioRepository.findParaActualizar(1L)).thenReturn(Optional.of(comentarioValido));
         when(comentarioRepository.save(any(ComentarioEntity.class))).thenReturn(comentarioValido);
 
         // Act
@@ -382,7 +388,7 @@ class ComentarioServiceTest {
         ComentarioEntity actualizacion = new ComentarioEntity();
         actualizacion.setContenido("Intento de modificación");
 
-        when(comentarioRepository.findById(1L)).thenReturn(Optional.of(comentarioValido));
+        when(comentarioRepository.findParaActualizar(1L)).thenReturn(Optional.of(comentarioValido));
 
         // Act & Assert
         IllegalStateException exception = assertThrows(
@@ -425,7 +431,7 @@ class ComentarioServiceTest {
     @DisplayName("Actualizar solo calificación como autor - debería actualizar")
     void actualizarCalificacion_ComoAutor_DeberiaActualizar() {
         // Arrange
-        when(comentarioRepository.findById(1L)).thenReturn(Optional.of(comentarioValido));
+        when(comentarioRepository.findParaActualizar(1L)).thenReturn(Optional.of(comentarioValido));
         when(comentarioRepository.save(any(ComentarioEntity.class))).thenReturn(comentarioValido);
 
         // Act
@@ -434,19 +440,21 @@ class ComentarioServiceTest {
         // Assert
         assertEquals(3, resultado.getCalificacion());
         verify(comentarioRepository).save(comentarioValido);
+        verify(calificacionResumenService).cambiarCalificacion(1L, 5, 3);
     }
 
     @Test
     @DisplayName("Actualizar calificación con valor inválido - debería lanzar excepción")
     void actualizarCalificacion_ConValorInvalido_DeberiaLanzarExcepcion() {
         // Arrange
-        when(comentarioRepository.findById(1L)).thenReturn(Optional.of(comentarioValido));
+        when(comentarioRepository.findParaActualizar(1L)).thenReturn(Optional.of(comentarioValido));
 
         // Act & Assert
         assertThrows(
                 IllegalArgumentException.class,
                 () -> comentarioService.actualizarCalificacion(1L, 1L, 10));
         verify(comentarioRepository, never()).save(any());
+        verifyNoInteractions(calificacionResumenService);
     }
 
     // ==================== PRUEBAS DE ELIMINAR COMENTARIO ====================
@@ -455,7 +463,7 @@ class ComentarioServiceTest {
     @DisplayName("Eliminar comentario como autor - debería eliminar")
     void eliminarComentario_ComoAutor_DeberiaEliminar() {
         // Arrange
-        when(comentarioRepository.findById(1L)).thenReturn(Optional.of(comentarioValido));
+        when(comentarioRepository.findParaActualizar(1L)).thenReturn(Optional.of(comentarioValido));
         when(viviendaRepository.existsById(1L)).thenReturn(true);
 
         // Act
@@ -463,13 +471,14 @@ class ComentarioServiceTest {
 
         // Assert
         verify(comentarioRepository).deleteById(1L);
+        verify(calificacionResumenService).retirarCalificacion(1L, 5);
     }
 
     @Test
     @DisplayName("Eliminar comentario como administrador - debería eliminar")
     void eliminarComentario_ComoAdministrador_DeberiaEliminar() {
         // Arrange
-        when(comentarioRepository.findById(1L)).thenReturn(Optional.of(comentarioValido));
+        when(comentarioRepository.findParaActualizar(1L)).thenReturn(Optional.of(comentarioValido));
         when(viviendaRepository.existsById(1L)).thenReturn(true);
 
         // Act
@@ -483,7 +492,7 @@ class ComentarioServiceTest {
     @DisplayName("Eliminar comentario como no autor ni admin - debería lanzar excepción")
     void eliminarComentario_SinPermisos_DeberiaLanzarExcepcion() {
         // Arrange
-        when(comentarioRepository.findById(1L)).thenReturn(Optional.of(comentarioValido));
+        when(comentarioRepository.findParaActualizar(1L)).thenReturn(Optional.of(comentarioValido));
 
         // Act & Assert
         IllegalStateException exception = assertThrows(
@@ -497,7 +506,7 @@ class ComentarioServiceTest {
     @DisplayName("Eliminar comentario con vivienda inexistente - debería lanzar excepción")
     void eliminarComentario_ConViviendaInexistente_DeberiaLanzarExcepcion() {
         // Arrange
-        when(comentarioRepository.findById(1L)).thenReturn(Optional.of(comentarioValido));
+        when(comentarioRepository.findParaActualizar(1L)).thenReturn(Optional.of(comentarioValido));
         when(viviendaRepository.existsById(1L)).thenReturn(false);
 
         // Act & Assert
@@ -512,7 +521,7 @@ class ComentarioServiceTest {
     @DisplayName("Eliminar comentario como autor (método simplificado) - debería eliminar")
     void eliminarComentarioComoAutor_DeberiaEliminar() {
         // Arrange
-        when(comentarioRepository.findById(1L)).thenReturn(Optional.of(comentarioValido));
+        when(comentarioRepository.findParaActualizar(1L)).thenReturn(Optional.of(comentarioValido));
         when(viviendaRepository.existsById(1L)).thenReturn(true);
 
         // Act
@@ -526,7 +535,7 @@ class ComentarioServiceTest {
     @DisplayName("Eliminar comentario como administrador (método simplificado) - debería eliminar")
     void eliminarComentarioComoAdministrador_DeberiaEliminar() {
         // Arrange
-        when(comentarioRepository.findById(1L)).thenReturn(Optional.of(comentarioValido));
+        when(comentarioRepository.findParaActualizar(1L)).thenReturn(Optional.of(comentarioValido));
         when(viviendaRepository.existsById(1L)).thenReturn(true);
 
         // Act
@@ -565,4 +574,38 @@ class ComentarioServiceTest {
         // Assert
         assertFalse(resultado);
     }
+
+    @Test
+    @DisplayName("Obtener comentarios paginados sin cursor - debería pedir la primera página")
+    void obtenerComentariosPaginados_SinCursor_DeberiaPedirPrimeraPagina() {
+        // Arrange
+        when(comentarioRepository.findPrimeraPagina(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(comentarioValido)));
+
+        // Act
+        List<ComentarioEntity> resultado = comentarioService.obtenerComentariosPaginados(null, null).getContent();
+
+        // Assert
+        assertEquals(1, resultado.size());
+        verify(comentarioRepository, never()).findPaginaDespuesDe(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Obtener comentarios paginados con cursor - debería continuar después de (fecha, id)")
+    void obtenerComentariosPaginados_ConCursor_DeberiaContinuarDespuesDelCursor() {
+        // Arrange
+        LocalDateTime fecha = LocalDateTime.of(2025, 3, 1, 10, 30);
+        comentarioValido.setId(7L);
+        comentarioValido.setFechaCreacion(fecha);
+        String cursor = ComentarioService.cursorDe(comentarioValido);
+        when(comentarioRepository.findPaginaDespuesDe(eq(fecha), eq(7L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        // Act
+        comentarioService.obtenerComentariosPaginados(cursor, 5);
+
+        // Assert
+        verify(comentarioRepository).findPaginaDespuesDe(eq(fecha), eq(7L), any(Pageable.class));
+        verify(comentarioRepository, never()).findPrimeraPagina(any());
+    }
 }
\ No newline at end of file
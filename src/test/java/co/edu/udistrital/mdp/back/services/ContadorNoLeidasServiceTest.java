@@ -0,0 +1,154 @@
+package co.edu.udistrital.mdp.back.services;
+
+import co.edu.udistrital.mdp.back.entities.ContadorNoLeidasEntity;
+import co.edu.udistrital.mdp.back.repositories.ContadorNoLeidasRepository;
+import co.edu.udistrital.mdp.back.repositories.EstudianteRepository;
+import co.edu.udistrital.mdp.back.repositories.NotificacionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas unitarias de ContadorNoLeidasService")
+class ContadorNoLeidasServiceTest {
+
+    @Mock
+    private ContadorNoLeidasRepository contadorRepository;
+
+    @Mock
+    private NotificacionRepository notificacionRepository;
+
+    @Mock
+    private EstudianteRepository estudianteRepository;
+
+    @InjectMocks
+    private ContadorNoLeidasService contadorNoLeidasService;
+
+    @Test
+    @DisplayName("Sin cargar - debería leer el contador de la tabla")
+    void obtenerNoLeidas_SinCargar_DeberiaLeerDeLaTabla() {
+        ContadorNoLeidasEntity contador = new ContadorNoLeidasEntity();
+        contador.setEstudianteId(1L);
+        contador.setCantidad(4);
+        when(contadorRepository.findByEstudianteId(1L)).thenReturn(Optional.of(contador));
+
+        assertEquals(4, contadorNoLeidasService.obtenerNoLeidas(1L));
+        when(contadorRepository.findByEstudianteId(2L)).thenReturn(Optional.empty());
+        assertEquals(0, contadorNoLeidasService.obtenerNoLeidas(2L));
+    }
+
+    private static ContadorNoLeidasEntity contador(Long estudianteId, long cantidad) {
+        ContadorNoLeidasEntity contador = new ContadorNoLeidasEntity();
+        contador.setEstudianteId(estudianteId);
+        contador.setCantidad(cantidad);
+        return contador;
+    }
+
+    private static List<Object[]> valor(Long estudianteId, long cantidad, long version) {
+        List<Object[]> filas = new ArrayList<>();
+        filas.add(new Object[] { estudianteId, cantidad, version });
+        return filas;
+    }
+
+    @Test
+    @DisplayName("Sumar a un contador existente - debería bloquear al estudiante y usar el UPDATE atómico")
+    void sumar_ContadorExistente_DeberiaActualizarSinInsertar() {
+        when(contadorRepository.sumar(1L, -1)).thenReturn(1);
+
+        contadorNoLeidasService.sumar(1L, -1);
+
+        InOrder orden = inOrder(estudianteRepository, contadorRepository);
+        orden.verify(estudianteRepository).bloquear(1L);
+        orden.verify(contadorRepository).sumar(1L, -1);
+        verify(contadorRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Primera notificación - debería crear el contador con el estudiante bloqueado")
+    void sumar_SinContador_DeberiaCrearlo() {
+        when(contadorRepository.sumar(3L, 1)).thenReturn(0);
+
+        contadorNoLeidasService.sumar(3L, 1);
+
+        InOrder orden = inOrder(estudianteRepository, contadorRepository);
+        orden.verify(estudianteRepository).bloquear(3L);
+        ArgumentCaptor<ContadorNoLeidasEntity> captor = ArgumentCaptor.forClass(ContadorNoLeidasEntity.class);
+        orden.verify(contadorRepository).save(captor.capture());
+        assertEquals(3L, captor.getValue().getEstudianteId());
+        assertEquals(1, captor.getValue().getCantidad());
+    }
+
+    @Test
+    @DisplayName("Reconstruir - debería corregir en su lugar solo los contadores de estudiantes bloqueados")
+    void reconstruirContadores_DeberiaCorregirEnSuLugar() {
+        ContadorNoLeidasEntity desviado = contador(1L, 9);
+        ContadorNoLeidasEntity posterior = contador(8L, 4);
+        when(estudianteRepository.bloquearTodos()).thenReturn(List.of(1L, 2L, 3L));
+        List<Object[]> filas = new ArrayList<>();
+        filas.add(new Object[] { 1L, 5L });
+        filas.add(new Object[] { 2L, 1L });
+        when(notificacionRepository.contarNoLeidasPorEstudiante()).thenReturn(filas);
+        when(contadorRepository.findAll()).thenReturn(List.of(desviado, posterior));
+        when(contadorRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        assertEquals(2, contadorNoLeidasService.reconstruirContadores());
+
+        assertEquals(5, desviado.getCantidad());
+        // Estudiante creado después del bloqueo: su contador no se toca
+        assertEquals(4, posterior.getCantidad());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ContadorNoLeidasEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(contadorRepository).saveAll(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertEquals(2L, captor.getValue().get(0).getEstudianteId());
+        verify(contadorRepository).eliminarHuerfanos();
+        verify(contadorRepository, never()).deleteAllInBatch();
+        assertEquals(5, contadorNoLeidasService.obtenerNoLeidas(1L));
+        assertEquals(1, contadorNoLeidasService.obtenerNoLeidas(2L));
+        assertEquals(0, contadorNoLeidasService.obtenerNoLeidas(3L));
+        verify(contadorRepository, never()).findByEstudianteId(anyLong());
+    }
+
+    @Test
+    @DisplayName("Copia en memoria - debería quedarse con la versión más alta sin importar el orden")
+    void copiaEnMemoria_DeberiaQuedarseConLaVersionMasAlta() {
+        when(estudianteRepository.bloquearTodos()).thenReturn(List.of(1L));
+        ContadorNoLeidasEntity reconstruido = contador(1L, 5);
+        reconstruido.setVersion(3);
+        List<Object[]> filas = new ArrayList<>();
+        filas.add(new Object[] { 1L, 5L });
+        when(notificacionRepository.contarNoLeidasPorEstudiante()).thenReturn(filas);
+        when(contadorRepository.findAll()).thenReturn(List.of(reconstruido));
+        when(contadorRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        contadorNoLeidasService.reconstruirContadores();
+
+        // Llega tarde el valor de un cambio anterior a la reconstrucción: se descarta
+        when(contadorRepository.sumar(1L, 1)).thenReturn(1);
+        when(contadorRepository.findValores(List.of(1L))).thenReturn(valor(1L, 6, 2));
+        contadorNoLeidasService.sumar(1L, 1);
+        assertEquals(5, contadorNoLeidasService.obtenerNoLeidas(1L));
+
+        // Un cambio posterior sí se aplica, y los estudiantes sin contador previo se agregan
+        when(contadorRepository.findValores(List.of(1L))).thenReturn(valor(1L, 7, 4));
+        contadorNoLeidasService.sumar(1L, 1);
+        when(contadorRepository.incrementar(List.of(9L))).thenReturn(0);
+        when(contadorRepository.findValores(List.of(9L))).thenReturn(valor(9L, 1, 0));
+        contadorNoLeidasService.incrementar(List.of(9L));
+
+        assertEquals(7, contadorNoLeidasService.obtenerNoLeidas(1L));
+        assertEquals(1, contadorNoLeidasService.obtenerNoLeidas(9L));
+        verify(estudianteRepository).bloquearVarios(List.of(9L));
+    }
+}
@@ -0,0 +1,54 @@
+package co.edu.udistrital.mdp.back.services;
+
+import java.math.BigDecimal;
+
+import co.edu.udistrital.mdp.back.entities.EstudianteEntity;
+import co.edu.udistrital.mdp.back.entities.PropietarioEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity.TipoVivienda;
+
+/**
+ * Entidades válidas y sin guardar para las pruebas de servicios que confirman
+ * contra la base de datos real (sin TestEntityManager, que necesita una
+ * transacción envolvente). Cada prueba ajusta solo los campos que le importan
+ * y las guarda con su repositorio o servicio.
+ */
+final class DatosPrueba {
+
+    private DatosPrueba() {
+    }
+
+    static PropietarioEntity propietario() {
+        PropietarioEntity propietario = new PropietarioEntity();
+        propietario.setNombre("Carlos");
+        propietario.setApellido("Rojas");
+        propietario.setDocumento("1001");
+        propietario.setEmail("carlos@correo.com");
+        return propietario;
+    }
+
+    static EstudianteEntity estudiante() {
+        EstudianteEntity estudiante = new EstudianteEntity();
+        estudiante.setNombre("Ana");
+        estudiante.setCorreo("ana@correo.com");
+        estudiante.setTelefono("3001");
+        estudiante.setUniversidad("Distrital");
+        return estudiante;
+    }
+
+    /**
+     * Habitación disponible en Bogotá, Centro, de 700000 al mes
+     */
+    static ViviendaEntity vivienda(PropietarioEntity propietario) {
+        ViviendaEntity v = new ViviendaEntity();
+        v.setDireccion("Calle 1");
+        v.setCiudad("Bogota");
+        v.setBarrio("Centro");
+        v.setPrecioMensual(new BigDecimal("700000"));
+        v.setNumeroHabitaciones(1);
+        v.setNumeroBanos(1);
+        v.setTipo(TipoVivienda.HABITACION);
+        v.setPropietario(propietario);
+        return v;
+    }
+}
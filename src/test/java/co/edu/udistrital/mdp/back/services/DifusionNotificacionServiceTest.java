@@ -0,0 +1,220 @@
+package co.edu.udistrital.mdp.back.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import co.edu.udistrital.mdp.back.dto.DifusionDTO;
+import co.edu.udistrital.mdp.back.dto.ProgresoDifusionDTO;
+import co.edu.udistrital.mdp.back.entities.EstanciaEntity;
+import co.edu.udistrital.mdp.back.entities.EstudianteEntity;
+import co.edu.udistrital.mdp.back.entities.PropietarioEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import co.edu.udistrital.mdp.back.repositories.ContadorNoLeidasRepository;
+import co.edu.udistrital.mdp.back.repositories.EstanciaRepository;
+import co.edu.udistrital.mdp.back.repositories.EstudianteRepository;
+import co.edu.udistrital.mdp.back.repositories.NotificacionRepository;
+import co.edu.udistrital.mdp.back.repositories.PropietarioRepository;
+import co.edu.udistrital.mdp.back.repositories.ViviendaRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * La difusión corre en su propio hilo y confirma una transacción por lote, así
+ * que las pruebas esperan a que termine, corren sin transacción envolvente y
+ * limpian las tablas al terminar.
+ */
+@DataJpaTest(properties = "notificaciones.difusion.tamano-lote=3")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ DifusionNotificacionService.class, ContadorNoLeidasService.class, SuscripcionesNotificaciones.class })
+class DifusionNotificacionServiceTest {
+
+    @Autowired
+    private DifusionNotificacionService difusionService;
+
+    @Autowired
+    private ContadorNoLeidasService contadorNoLeidasService;
+
+    @Autowired
+    private NotificacionRepository notificacionRepository;
+
+    @Autowired
+    private ContadorNoLeidasRepository contadorRepository;
+
+    @Autowired
+    private EstudianteRepository estudianteRepository;
+
+    @Autowired
+    private EstanciaRepository estanciaRepository;
+
+    @Autowired
+    private ViviendaRepository viviendaRepository;
+
+    @Autowired
+    private PropietarioRepository propietarioRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<EstudianteEntity> distritales = new ArrayList<>();
+    private EstudianteEntity nacional;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 7; i++) {
+            distritales.add(estudiante("Distrital " + i, "Universidad Distrital", i));
+        }
+        nacional = estudiante("Nacional", "Universidad Nacional", 7);
+        // un estudiante ya tenía notificaciones sin leer
+        contadorNoLeidasService.sumar(distritales.get(0).getId(), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificacionRepository.deleteAll();
+        contadorRepository.deleteAll();
+        estanciaRepository.deleteAll();
+        viviendaRepository.deleteAll();
+        propietarioRepository.deleteAll();
+        estudianteRepository.deleteAll();
+    }
+
+    private EstudianteEntity estudiante(String nombre, String universidad, int i) {
+        EstudianteEntity e = new EstudianteEntity();
+        e.setNombre(nombre);
+        e.setCorreo("estudiante" + i + "@correo.com");
+        e.setTelefono("300" + i);
+        e.setUniversidad(universidad);
+        return estudianteRepository.save(e);
+    }
+
+    private ProgresoDifusionDTO esperarFin(String id) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        ProgresoDifusionDTO progreso = difusionService.obtenerProgreso(id);
+        while (progreso.getFin() == null) {
+            assertTrue(System.nanoTime() < limite, "la difusión no terminó a tiempo");
+            Thread.sleep(20);
+            progreso = difusionService.obtenerProgreso(id);
+        }
+        return progreso;
+    }
+
+    private static DifusionDTO solicitud(String mensaje) {
+        DifusionDTO dto = new DifusionDTO();
+        dto.setMensaje(mensaje);
+        return dto;
+    }
+
+    @Test
+    void difundirAUniversidad_creaUnaNotificacionPorEstudianteEnLotesJdbc() throws InterruptedException {
+        DifusionDTO dto = solicitud("Cierre de matrículas");
+        dto.setUniversidad("universidad distrital");
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+
+        ProgresoDifusionDTO inicial = difusionService.iniciar(dto);
+        ProgresoDifusionDTO progreso = esperarFin(inicial.getId());
+
+        assertEquals(ProgresoDifusionDTO.Estado.COMPLETADA, progreso.getEstado());
+        assertEquals(7, progreso.getTotal());
+        assertEquals(7, progreso.getEnviadas());
+        assertEquals(7, notificacionRepository.count());
+        // 7 notificaciones y 6 contadores nuevos; el contador existente se actualiza
+        assertEquals(13, estadisticas.getEntityInsertCount());
+        assertEquals(3, contadorNoLeidasService.obtenerNoLeidas(distritales.get(0).getId()));
+        assertEquals(1, contadorNoLeidasService.obtenerNoLeidas(distritales.get(6).getId()));
+        assertEquals(0, contadorNoLeidasService.obtenerNoLeidas(nacional.getId()));
+        assertTrue(notificacionRepository.findByEstudiante_Id(nacional.getId()).isEmpty());
+    }
+
+    @Test
+    void difundirACiudad_soloEstudiantesConEstanciaActivaAlli() throws InterruptedException {
+        PropietarioEntity propietario = new PropietarioEntity();
+        propietario.setNombre("Carlos");
+        propietario.setApellido("Rojas");
+        propietario.setDocumento("1001");
+        propietario.setEmail("carlos@correo.com");
+        propietario = propietarioRepository.save(propietario);
+        ViviendaEntity enTunja = vivienda(propietario, "Tunja");
+        ViviendaEntity enBogota = vivienda(propietario, "Bogota");
+        estanciaRepository.save(new EstanciaEntity(distritales.get(1), enTunja, 6));
+        estanciaRepository.save(new EstanciaEntity(nacional, enTunja, 6));
+        estanciaRepository.save(new EstanciaEntity(distritales.get(2), enBogota, 6));
+        EstanciaEntity cancelada = new EstanciaEntity(distritales.get(3), enTunja, 6);
+        cancelada.setEstado(EstanciaEntity.EstadoEstancia.CANCELADA);
+        estanciaRepository.save(cancelada);
+        DifusionDTO dto = solicitud("Corte de agua el sábado");
+        dto.setCiudad("TUNJA");
+
+        ProgresoDifusionDTO progreso = esperarFin(difusionService.iniciar(dto).getId());
+
+        assertEquals(2, progreso.getEnviadas());
+        assertEquals(1, notificacionRepository.findByEstudiante_Id(distritales.get(1).getId()).size());
+        assertEquals(1, notificacionRepository.findByEstudiante_Id(nacional.getId()).size());
+        assertEquals(2, notificacionRepository.count());
+    }
+
+    private ViviendaEntity vivienda(PropietarioEntity propietario, String ciudad) {
+        ViviendaEntity v = new ViviendaEntity();
+        v.setDireccion("Calle 1");
+        v.setCiudad(ciudad);
+        v.setBarrio("Centro");
+        v.setPrecioMensual(new BigDecimal("700000"));
+        v.setNumeroHabitaciones(1);
+        v.setNumeroBanos(1);
+        v.setTipo(ViviendaEntity.TipoVivienda.HABITACION);
+        v.setPropietario(propietario);
+        return viviendaRepository.save(v);
+    }
+
+    @Test
+    void difundirAIds_ignoraDuplicadosEInexistentes() throws InterruptedException {
+        DifusionDTO dto = solicitud("Recordatorio");
+        dto.setEstudianteIds(List.of(distritales.get(4).getId(), distritales.get(4).getId(), nacional.getId(),
+                999999L));
+
+        ProgresoDifusionDTO progreso = esperarFin(difusionService.iniciar(dto).getId());
+
+        assertEquals(ProgresoDifusionDTO.Estado.COMPLETADA, progreso.getEstado());
+        assertEquals(2, progreso.getTotal());
+        assertEquals(1, contadorNoLeidasService.obtenerNoLeidas(distritales.get(4).getId()));
+        assertEquals(1, contadorNoLeidasService.obtenerNoLeidas(nacional.getId()));
+    }
+
+    @Test
+    void iniciar_solicitudInvalida_lanzaExcepcion() {
+        DifusionDTO sinCriterio = solicitud("Hola");
+        assertThrows(IllegalArgumentException.class, () -> difusionService.iniciar(sinCriterio));
+
+        DifusionDTO dosCriterios = solicitud("Hola");
+        dosCriterios.setUniversidad("Universidad Distrital");
+        dosCriterios.setCiudad("Tunja");
+        assertThrows(IllegalArgumentException.class, () -> difusionService.iniciar(dosCriterios));
+
+        DifusionDTO sinMensaje = solicitud(" ");
+        sinMensaje.setCiudad("Tunja");
+        assertThrows(IllegalArgumentException.class, () -> difusionService.iniciar(sinMensaje));
+
+        DifusionDTO listaVacia = solicitud("Hola");
+        listaVacia.setEstudianteIds(List.of());
+        assertThrows(IllegalArgumentException.class, () -> difusionService.iniciar(listaVacia));
+    }
+
+    @Test
+    void obtenerProgreso_idDesconocido_lanzaExcepcion() {
+        assertThrows(IllegalArgumentException.class, () -> difusionService.obtenerProgreso("no-existe"));
+    }
+}
@@ -0,0 +1,187 @@
+package co.edu.udistrital.mdp.back.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import co.edu.udistrital.mdp.back.entities.EstanciaEntity;
+import co.edu.udistrital.mdp.back.entities.EstudianteEntity;
+import co.edu.udistrital.mdp.back.entities.PropietarioEntity;
+import co.edu.udistrital.mdp.back.entities.ReservaEntity;
+import co.edu.udistrital.mdp.back.entities.TransaccionEntity;
+import co.edu.udistrital.mdp.back.entities.TransaccionEntity.EstadoTransaccion;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import co.edu.udistrital.mdp.back.repositories.EstanciaRepository;
+import co.edu.udistrital.mdp.back.repositories.EstudianteRepository;
+import co.edu.udistrital.mdp.back.repositories.PropietarioRepository;
+import co.edu.udistrital.mdp.back.repositories.ReservaRepository;
+import co.edu.udistrital.mdp.back.repositories.TransaccionRepository;
+import co.edu.udistrital.mdp.back.repositories.ViviendaRepository;
+
+@DataJpaTest
+@Import(ExportacionService.class)
+class ExportacionServiceTest {
+
+    @Autowired
+    private ExportacionService exportacionService;
+
+    @Autowired
+    private TransaccionRepository transaccionRepository;
+
+    @Autowired
+    private ReservaRepository reservaRepository;
+
+    @Autowired
+    private EstanciaRepository estanciaRepository;
+
+    @Autowired
+    private ViviendaRepository viviendaRepository;
+
+    @Autowired
+    private PropietarioRepository propietarioRepository;
+
+    @Autowired
+    private EstudianteRepository estudianteRepository;
+
+    private EstudianteEntity estudiante;
+    private ViviendaEntity vivienda;
+    private EstanciaEntity estancia;
+
+    @BeforeEach
+    void setUp() {
+        estudiante = new EstudianteEntity();
+        estudiante.setNombre("Ana");
+        estudiante.setCorreo("ana@correo.com");
+        estudiante.setTelefono("3001");
+        estudiante.setUniversidad("Distrital");
+        estudiante = estudianteRepository.save(estudiante);
+
+        PropietarioEntity propietario = new PropietarioEntity();
+        propietario.setNombre("Carlos");
+        propietario.setApellido("Rojas");
+        propietario.setDocumento("1001");
+        propietario.setEmail("carlos@correo.com");
+        propietario = propietarioRepository.save(propietario);
+
+        vivienda = new ViviendaEntity();
+        vivienda.setDireccion("Calle 1");
+        vivienda.setCiudad("Bogota");
+        vivienda.setBarrio("Centro");
+        vivienda.setPrecioMensual(new BigDecimal("700000"));
+        vivienda.setNumeroHabitaciones(1);
+        vivienda.setNumeroBanos(1);
+        vivienda.setTipo(ViviendaEntity.TipoVivienda.HABITACION);
+        vivienda.setPropietario(propietario);
+        vivienda = viviendaRepository.save(vivienda);
+
+        estancia = estanciaRepository.save(new EstanciaEntity(estudiante, vivienda, 6));
+    }
+
+    private TransaccionEntity pago(String monto, String metodo, LocalDateTime fecha) {
+        TransaccionEntity t = new TransaccionEntity();
+        t.setEstancia(estancia);
+        t.setMonto(new BigDecimal(monto));
+        t.setMetodoPago(metodo);
+        t.setEstado(EstadoTransaccion.COMPLETADA);
+        t.setFechaTransaccion(fecha);
+        return transaccionRepository.save(t);
+    }
+
+    private ReservaEntity reserva(LocalDate inicio) {
+        ReservaEntity r = new ReservaEntity();
+        r.setFechaInicio(inicio);
+        r.setFechaFin(inicio.plusMonths(1));
+        r.setEstado(ReservaEntity.EstadoReserva.CONFIRMADA);
+        r.setEstudiante(estudiante);
+        r.setVivienda(vivienda);
+        return reservaRepository.save(r);
+    }
+
+    @Test
+    void exportarTransacciones_csvConCabeceraYRangoInclusivo() throws IOException {
+        TransaccionEntity primera = pago("100.00", "PSE", LocalDateTime.of(2025, 3, 1, 0, 0));
+        TransaccionEntity segunda = pago("50.50", "Tarjeta, crédito", LocalDateTime.of(2025, 3, 31, 23, 59));
+        pago("70.00", "PSE", LocalDateTime.of(2025, 4, 1, 0, 0));
+        pago("10.00", "PSE", LocalDateTime.of(2025, 2, 28, 23, 59));
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        long total = exportacionService.exportarTransacciones(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31),
+                ExportacionService.Formato.CSV, salida);
+
+        assertEquals(2, total);
+        assertEquals(List.of(
+                "id,fechaTransaccion,monto,metodoPago,estado,estanciaId",
+                primera.getId() + ",2025-03-01T00:00,100.00,PSE,COMPLETADA," + estancia.getId(),
+                segunda.getId() + ",2025-03-31T23:59,50.50,\"Tarjeta, crédito\",COMPLETADA," + estancia.getId()),
+                salida.toString(StandardCharsets.UTF_8).lines().toList());
+    }
+
+    @Test
+    void exportarTransacciones_jsonPorLineasSinFiltros() throws IOException {
+        pago("100.00", "PSE", LocalDateTime.of(2025, 3, 1, 0, 0));
+        pago("70.00", "PSE", LocalDateTime.of(2025, 4, 1, 12, 30));
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        long total = exportacionService.exportarTransacciones(null, null, ExportacionService.Formato.JSON_LINES,
+                salida);
+
+        List<String> lineas = salida.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, total);
+        assertEquals(2, lineas.size());
+        assertTrue(lineas.get(1).contains("\"fechaTransaccion\":\"2025-04-01T12:30:00\""), lineas.get(1));
+        assertTrue(lineas.get(1).contains("\"estanciaId\":" + estancia.getId()), lineas.get(1));
+    }
+
+    @Test
+    void exportarReservas_filtraPorFechaDeInicio() throws IOException {
+        reserva(LocalDate.of(2025, 1, 10));
+        ReservaEntity enRango = reserva(LocalDate.of(2025, 2, 10));
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        long total = exportacionService.exportarReservas(LocalDate.of(2025, 2, 1), null,
+                ExportacionService.Formato.CSV, salida);
+
+        assertEquals(1, total);
+        assertEquals(enRango.getId() + ",2025-02-10,2025-03-10,CONFIRMADA," + estudiante.getId() + ","
+                + vivienda.getId(), salida.toString(StandardCharsets.UTF_8).lines().skip(1).findFirst().orElseThrow());
+    }
+
+    @Test
+    void exportar_rangoInvertido_lanzaExcepcion() {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        LocalDate hoy = LocalDate.now();
+
+        assertThrows(IllegalArgumentException.class, () -> exportacionService.exportarReservas(hoy,
+                hoy.minusDays(1), ExportacionService.Formato.CSV, salida));
+    }
+
+    @Test
+    void campoCsv_escapaComillasYSaltos() {
+        assertEquals("", ExportacionService.campoCsv(null));
+        assertEquals("simple", ExportacionService.campoCsv("simple"));
+        assertEquals("\"dice \"\"hola\"\"\"", ExportacionService.campoCsv("dice \"hola\""));
+        assertEquals("\"dos\nlineas\"", ExportacionService.campoCsv("dos\nlineas"));
+    }
+
+    @Test
+    void campoCsv_neutralizaFormulas() {
+        assertEquals("'=SUM(A1:A9)", ExportacionService.campoCsv("=SUM(A1:A9)"));
+        assertEquals("'+57 300", ExportacionService.campoCsv("+57 300"));
+        assertEquals("'-1+1", ExportacionService.campoCsv("-1+1"));
+        assertEquals("'@SUM(A1)", ExportacionService.campoCsv("@SUM(A1)"));
+        assertEquals("\"'=1,2\"", ExportacionService.campoCsv("=1,2"));
+        assertEquals("-5.00", ExportacionService.campoCsv(new BigDecimal("-5.00")));
+    }
+}
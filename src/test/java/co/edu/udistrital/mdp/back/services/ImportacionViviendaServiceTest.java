@@ -0,0 +1,161 @@
+package co.edu.udistrital.mdp.back.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import co.edu.udistrital.mdp.back.dto.ResultadoImportacionDTO;
+import co.edu.udistrital.mdp.back.entities.PropietarioEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import co.edu.udistrital.mdp.back.mappers.ComentarioMapper;
+import co.edu.udistrital.mdp.back.mappers.PropietarioMapper;
+import co.edu.udistrital.mdp.back.mappers.ServicioMapper;
+import co.edu.udistrital.mdp.back.mappers.ViviendaMapper;
+import co.edu.udistrital.mdp.back.repositories.PropietarioRepository;
+import co.edu.udistrital.mdp.back.repositories.ViviendaRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * La importación confirma una transacción por lote, así que las pruebas corren
+ * sin transacción envolvente y limpian las tablas al terminar.
+ */
+@DataJpaTest(properties = "vivienda.importacion.tamano-lote=4")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ ImportacionViviendaService.class, ViviendaService.class, ViviendaMapper.class, PropietarioMapper.class,
+        ServicioMapper.class, ComentarioMapper.class })
+class ImportacionViviendaServiceTest {
+
+    private static final String CABECERA = "direccion,ciudad,barrio,precioMensual,numeroHabitaciones,numeroBanos,tipo,propietarioId";
+
+    @Autowired
+    private ImportacionViviendaService importacionService;
+
+    @Autowired
+    private ViviendaRepository viviendaRepository;
+
+    @Autowired
+    private PropietarioRepository propietarioRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long propietarioId;
+
+    @BeforeEach
+    void setUp() {
+        PropietarioEntity propietario = new PropietarioEntity();
+        propietario.setNombre("Carlos");
+        propietario.setApellido("Rojas");
+        propietario.setDocumento("1001");
+        propietario.setEmail("carlos@correo.com");
+        propietarioId = propietarioRepository.save(propietario).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        viviendaRepository.deleteAll();
+        propietarioRepository.deleteAll();
+    }
+
+    private static InputStream archivo(String... lineas) {
+        return new ByteArrayInputStream(String.join("\n", lineas).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String filaCsv(int i) {
+        return "\"Calle " + i + ", apto 1\",Bogota,Chapinero," + (800000 + i) + ",2,1,apartamento," + propietarioId;
+    }
+
+    @Test
+    void importarCsv_guardaTodasLasFilasEnLotesJdbc() {
+        String[] lineas = new String[11];
+        lineas[0] = CABECERA;
+        for (int i = 1; i <= 10; i++) {
+            lineas[i] = filaCsv(i);
+        }
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+
+        ResultadoImportacionDTO resultado = importacionService.importar(archivo(lineas),
+                ImportacionViviendaService.Formato.CSV);
+
+        assertEquals(10, resultado.getImportadas());
+        assertEquals(0, resultado.getRechazadas());
+        assertEquals(10, viviendaRepository.count());
+        assertEquals(10, estadisticas.getEntityInsertCount());
+        // un INSERT preparado por lote de 4 (3 lotes), más secuencia y propietario
+        assertTrue(estadisticas.getPrepareStatementCount() < 10,
+                "sentencias preparadas: " + estadisticas.getPrepareStatementCount());
+        ViviendaEntity primera = viviendaRepository.findAll().get(0);
+        assertEquals("Calle 1, apto 1", primera.getDireccion());
+        assertEquals(ViviendaEntity.TipoVivienda.APARTAMENTO, primera.getTipo());
+        assertTrue(primera.isDisponible());
+    }
+
+    @Test
+    void importarCsv_reportaLasFilasInvalidasSinDetenerse() {
+        ResultadoImportacionDTO resultado = importacionService.importar(archivo(
+                CABECERA,
+                filaCsv(1),
+                "Calle 2,Bogota,Chapinero,-5,2,1,casa," + propietarioId,
+                "Calle 3,Bogota,Chapinero,abc,2,1,casa," + propietarioId,
+                "",
+                "Calle 5,Bogota,Chapinero,900000,2,1,casa,999999",
+                "Calle 6,Bogota",
+                filaCsv(7)), ImportacionViviendaService.Formato.CSV);
+
+        assertEquals(2, resultado.getImportadas());
+        assertEquals(4, resultado.getRechazadas());
+        assertEquals(List.of(3L, 4L, 6L, 7L),
+                resultado.getErrores().stream().map(ResultadoImportacionDTO.ErrorFila::getFila).toList());
+        assertTrue(resultado.getErrores().get(0).getMensaje().contains("precioMensual"));
+        assertTrue(resultado.getErrores().get(2).getMensaje().contains("no existe"));
+        assertEquals(2, viviendaRepository.count());
+    }
+
+    @Test
+    void importarJsonLines_guardaLasFilasValidas() {
+        ResultadoImportacionDTO resultado = importacionService.importar(archivo(
+                "{\"direccion\":\"Calle 1\",\"ciudad\":\"Tunja\",\"barrio\":\"Centro\",\"precioMensual\":700000,"
+                        + "\"numeroHabitaciones\":1,\"numeroBanos\":1,\"tipo\":\"HABITACION\",\"propietarioId\":"
+                        + propietarioId + "}",
+                "{\"direccion\":\"Calle 2\",",
+                "{\"direccion\":\"Calle 3\",\"ciudad\":\"Tunja\",\"barrio\":\"Centro\",\"precioMensual\":700000,"
+                        + "\"numeroHabitaciones\":0,\"numeroBanos\":1,\"tipo\":\"CASA\",\"propietarioId\":"
+                        + propietarioId + "}"), ImportacionViviendaService.Formato.JSON_LINES);
+
+        assertEquals(1, resultado.getImportadas());
+        assertEquals(2, resultado.getRechazadas());
+        assertEquals(2L, resultado.getErrores().get(0).getFila());
+        assertTrue(resultado.getErrores().get(1).getMensaje().contains("numeroHabitaciones"));
+        assertEquals("Tunja", viviendaRepository.findAll().get(0).getCiudad());
+    }
+
+    @Test
+    void importarCsv_cabeceraConColumnaDesconocida_lanzaExcepcion() {
+        InputStream entrada = archivo("direccion,ciudad,piscina", "Calle 1,Bogota,si");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> importacionService.importar(entrada, ImportacionViviendaService.Formato.CSV));
+        assertEquals(0, viviendaRepository.count());
+    }
+
+    @Test
+    void dividirCsv_respetaComillasYComillasEscapadas() {
+        assertEquals(List.of("a", "b, c", "d \"e\"", ""),
+                ImportacionViviendaService.dividirCsv("a,\"b, c\",\"d \"\"e\"\"\","));
+    }
+}
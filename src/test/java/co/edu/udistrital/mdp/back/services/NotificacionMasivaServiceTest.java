@@ -0,0 +1,212 @@
+package co.edu.udistrital.mdp.back.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import co.edu.udistrital.mdp.back.entities.EstudianteEntity;
+import co.edu.udistrital.mdp.back.entities.NotificacionEntity;
+import co.edu.udistrital.mdp.back.repositories.ContadorNoLeidasRepository;
+import co.edu.udistrital.mdp.back.repositories.EstudianteRepository;
+import co.edu.udistrital.mdp.back.repositories.NotificacionRepository;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Operaciones masivas sobre la bandeja de un estudiante contra la base de datos
+ * real: verifican las sentencias JPQL y el ajuste de los contadores. La copia
+ * en memoria de los contadores solo cambia al confirmar, así que las pruebas
+ * corren sin transacción envolvente y limpian las tablas al terminar.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ NotificacionService.class, ContadorNoLeidasService.class, SuscripcionesNotificaciones.class })
+class NotificacionMasivaServiceTest {
+
+    @Autowired
+    private NotificacionService notificacionService;
+
+    @Autowired
+    private NotificacionRepository notificacionRepository;
+
+    @Autowired
+    private EstudianteRepository estudianteRepository;
+
+    @Autowired
+    private ContadorNoLeidasRepository contadorRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private EstudianteEntity estudiante;
+    private EstudianteEntity otroEstudiante;
+    private final List<NotificacionEntity> notificaciones = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        estudiante = estudiante("Ana", "ana@correo.com", "3001");
+        otroEstudiante = estudiante("Luis", "luis@correo.com", "3002");
+        for (int i = 0; i < 4; i++) {
+            notificaciones.add(enviar(estudiante, "Aviso " + i));
+        }
+        enviar(otroEstudiante, "Aviso ajeno");
+        // las dos primeras quedan como antiguas para probar el corte por fecha
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> entityManager
+                .createQuery("UPDATE NotificacionEntity n SET n.fechaEnvio = :fecha WHERE n.id IN :ids")
+                .setParameter("fecha", LocalDateTime.now().minusDays(30))
+                .setParameter("ids", List.of(notificaciones.get(0).getId(), notificaciones.get(1).getId()))
+                .executeUpdate());
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificacionRepository.deleteAll();
+        contadorRepository.deleteAll();
+        estudianteRepository.deleteAll();
+    }
+
+    private EstudianteEntity estudiante(String nombre, String correo, String telefono) {
+        EstudianteEntity e = new EstudianteEntity();
+        e.setNombre(nombre);
+        e.setCorreo(correo);
+        e.setTelefono(telefono);
+        e.setUniversidad("Distrital");
+        return estudianteRepository.save(e);
+    }
+
+    private NotificacionEntity enviar(EstudianteEntity destinatario, String mensaje) {
+        NotificacionEntity n = new NotificacionEntity();
+        n.setMensaje(mensaje);
+        n.setEstudiante(destinatario);
+        return notificacionService.enviarNotificacion(n);
+    }
+
+    @Test
+    void marcarLeidas_porIds_soloCambiaLasNoLeidasDelEstudiante() {
+        Long ajena = notificacionRepository.findByEstudiante_Id(otroEstudiante.getId()).get(0).getId();
+        notificacionService.marcarComoLeida(notificaciones.get(0).getId());
+
+        int marcadas = notificacionService.marcarLeidas(estudiante.getId(),
+                List.of(notificaciones.get(0).getId(), notificaciones.get(1).getId(), ajena), null);
+
+        assertEquals(1, marcadas);
+        assertEquals(2, notificacionService.contarNoLeidas(estudiante.getId()));
+        assertEquals(2, notificacionRepository.findByEstudiante_IdAndLeidaIsFalse(estudiante.getId()).size());
+        assertEquals(1, notificacionService.contarNoLeidas(otroEstudiante.getId()));
+        assertFalse(notificacionRepository.findById(ajena).orElseThrow().getLeida());
+    }
+
+    @Test
+    void marcarLeidas_hastaFecha_soloLasAnteriores() {
+        int marcadas = notificacionService.marcarLeidas(estudiante.getId(), null,
+                LocalDateTime.now().minusDays(1));
+
+        assertEquals(2, marcadas);
+        assertEquals(2, notificacionService.contarNoLeidas(estudiante.getId()));
+    }
+
+    @Test
+    void marcarLeidas_sinFiltros_marcaTodaLaBandeja() {
+        assertEquals(4, notificacionService.marcarLeidas(estudiante.getId(), null, null));
+        assertEquals(0, notificacionService.contarNoLeidas(estudiante.getId()));
+        assertEquals(1, notificacionService.contarNoLeidas(otroEstudiante.getId()));
+    }
+
+    @Test
+    void marcarLeidas_listaVacia_noHaceNada() {
+        assertEquals(0, notificacionService.marcarLeidas(estudiante.getId(), List.of(), null));
+        assertEquals(4, notificacionService.contarNoLeidas(estudiante.getId()));
+    }
+
+    @Test
+    void eliminarNotificaciones_porIds_descuentaSoloLasNoLeidas() {
+        notificacionService.marcarComoLeida(notificaciones.get(2).getId());
+
+        int eliminadas = notificacionService.eliminarNotificaciones(estudiante.getId(),
+                List.of(notificaciones.get(2).getId(), notificaciones.get(3).getId()), null);
+
+        assertEquals(2, eliminadas);
+        assertEquals(2, notificacionService.contarNoLeidas(estudiante.getId()));
+        assertEquals(2, notificacionRepository.findByEstudiante_Id(estudiante.getId()).size());
+    }
+
+    @Test
+    void eliminarNotificaciones_hastaFecha_conservaLasRecientesYLasAjenas() {
+        // Una de las antiguas ya leída: se borra pero no se descuenta otra vez
+        notificacionService.marcarComoLeida(notificaciones.get(0).getId());
+
+        int eliminadas = notificacionService.eliminarNotificaciones(estudiante.getId(), null,
+                LocalDateTime.now().minusDays(1));
+
+        assertEquals(2, eliminadas);
+        assertEquals(2, notificacionService.contarNoLeidas(estudiante.getId()));
+        assertEquals(3, notificacionRepository.count());
+    }
+
+    @Test
+    void enviarYMarcar_concurrentes_noDuplicanNiPierdenElContador() throws Exception {
+        EstudianteEntity nuevo = estudiante("Eva", "eva@correo.com", "3003");
+        ExecutorService hilos = Executors.newFixedThreadPool(4);
+        try {
+            // Primeras notificaciones del estudiante a la vez: el contador se crea una sola vez
+            List<Future<NotificacionEntity>> envios = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                String mensaje = "Concurrente " + i;
+                envios.add(hilos.submit(() -> enviar(nuevo, mensaje)));
+            }
+            for (Future<NotificacionEntity> envio : envios) {
+                envio.get();
+            }
+            assertEquals(8, notificacionService.contarNoLeidas(nuevo.getId()));
+            assertTrue(contadorRepository.findByEstudianteId(nuevo.getId()).isPresent());
+
+            // La misma notificación marcada dos veces a la vez: solo una la descuenta
+            Long id = envios.get(0).get().getId();
+            List<Future<Boolean>> marcas = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                marcas.add(hilos.submit(() -> {
+                    try {
+                        notificacionService.marcarComoLeida(id);
+                        return true;
+                    } catch (IllegalStateException yaLeida) {
+                        return false;
+                    }
+                }));
+            }
+            int exitosas = 0;
+            for (Future<Boolean> marca : marcas) {
+                exitosas += marca.get() ? 1 : 0;
+            }
+            assertEquals(1, exitosas);
+            assertEquals(7, notificacionService.contarNoLeidas(nuevo.getId()));
+        } finally {
+            hilos.shutdown();
+        }
+    }
+
+    @Test
+    void operacionesMasivas_estudianteInexistente_lanzaExcepcion() {
+        assertThrows(IllegalArgumentException.class,
+                () -> notificacionService.marcarLeidas(999999L, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> notificacionService.eliminarNotificaciones(999999L, List.of(1L), null));
+    }
+}
@@ -31,6 +31,12 @@ class NotificacionServiceTest {
     @Mock // Mock del Repositorio de Estudiantes (necesario para validaciones)
     private EstudianteRepository estudianteRepository;
 
+    @Mock // Registro de conexiones SSE
+    private SuscripcionesNotificaciones suscripciones;
+
+    @Mock // Contadores de no leídas
+    private ContadorNoLeidasService contadorNoLeidasService;
+
     @InjectMocks // Instancia real del Servicio con mocks inyectados
     private NotificacionService notificacionService;
 
@@ -83,6 +89,9 @@ class NotificacionServiceTest {
 
         verify(estudianteRepository, times(1)).existsById(estudianteValido.getId());
         verify(notificacionRepository, times(1)).save(any(NotificacionEntity.class));
+        // Sin transacción activa se publica de inmediato a los suscriptores
+        verify(suscripciones).publicar(result);
+        verify(contadorNoLeidasService).sumar(estudianteValido.getId(), 1);
     }
 
     @Test
@@ -179,16 +188,22 @@ class NotificacionServiceTest {
         NotificacionEntity notificacionNoLeida = dataList.get(0);
         notificacionNoLeida.setId(idNotificacion);
         notificacionNoLeida.setLeida(false); // Estado inicial
+        NotificacionEntity notificacionLeida = new NotificacionEntity();
+        notificacionLeida.setId(idNotificacion);
+        notificacionLeida.setEstudiante(estudianteValido);
+        notificacionLeida.setLeida(true);
 
-        when(notificacionRepository.findById(idNotificacion)).thenReturn(Optional.of(notificacionNoLeida));
-        when(notificacionRepository.save(any(NotificacionEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(notificacionRepository.findById(idNotificacion))
+                .thenReturn(Optional.of(notificacionNoLeida), Optional.of(notificacionLeida));
+        when(notificacionRepository.marcarLeida(idNotificacion)).thenReturn(1);
 
         NotificacionEntity result = notificacionService.marcarComoLeida(idNotificacion);
 
         assertNotNull(result);
-        assertTrue(result.getLeida()); // Debe cambiar a true
-        verify(notificacionRepository, times(1)).findById(idNotificacion);
-        verify(notificacionRepository, times(1)).save(notificacionNoLeida);
+        assertTrue(result.getLeida()); // Se relee ya marcada
+        verify(notificacionRepository).marcarLeida(idNotificacion);
+        verify(notificacionRepository, never()).save(any());
+        verify(contadorNoLeidasService).sumar(estudianteValido.getId(), -1);
     }
 
     @Test
@@ -196,16 +211,17 @@ class NotificacionServiceTest {
         Long idNotificacion = 1L;
         NotificacionEntity notificacionLeida = dataList.get(0);
         notificacionLeida.setId(idNotificacion);
-        notificacionLeida.setLeida(true); // Ya estaba leída
+        notificacionLeida.setLeida(true); // Ya estaba leída (o la marcó otra solicitud concurrente)
 
         when(notificacionRepository.findById(idNotificacion)).thenReturn(Optional.of(notificacionLeida));
+        when(notificacionRepository.marcarLeida(idNotificacion)).thenReturn(0);
 
         IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> {
             notificacionService.marcarComoLeida(idNotificacion);
         });
         assertEquals("La notificación ya está marcada como leída.", thrown.getMessage());
         verify(notificacionRepository, times(1)).findById(idNotificacion);
-        verify(notificacionRepository, never()).save(any()); // No debe intentar guardar
+        verifyNoInteractions(contadorNoLeidasService); // No descuenta dos veces
     }
     
     @Test
@@ -225,31 +241,78 @@ class NotificacionServiceTest {
     @Test
     void testEliminarNotificacionExitosa() {
         Long idAEliminar = 1L;
-        when(notificacionRepository.existsById(idAEliminar)).thenReturn(true);
-        // Configura el mock para deleteById (no devuelve nada)
-        doNothing().when(notificacionRepository).deleteById(idAEliminar);
+        NotificacionEntity noLeida = dataList.get(0);
+        when(notificacionRepository.findById(idAEliminar)).thenReturn(Optional.of(noLeida));
+        when(notificacionRepository.eliminarNoLeidas(estudianteValido.getId(), List.of(idAEliminar))).thenReturn(1);
 
         // Llama al método (no devuelve nada)
         assertDoesNotThrow(() -> {
             notificacionService.eliminarNotificacion(idAEliminar);
         });
 
-        // Verifica que se llamó a existsById y deleteById
-        verify(notificacionRepository, times(1)).existsById(idAEliminar);
-        verify(notificacionRepository, times(1)).deleteById(idAEliminar);
+        // Verifica que se borró sin leer y que se descontó de las no leídas
+        verify(notificacionRepository, never()).eliminar(anyLong(), anyCollection());
+        verify(contadorNoLeidasService).sumar(estudianteValido.getId(), -1);
+    }
+
+    @Test
+    void testEliminarNotificacionLeidaNoCambiaElContador() {
+        NotificacionEntity leida = dataList.get(1);
+        leida.setLeida(true);
+        when(notificacionRepository.findById(2L)).thenReturn(Optional.of(leida));
+        when(notificacionRepository.eliminarNoLeidas(estudianteValido.getId(), List.of(2L))).thenReturn(0);
+
+        notificacionService.eliminarNotificacion(2L);
+
+        verify(notificacionRepository).eliminar(estudianteValido.getId(), List.of(2L));
+        verify(contadorNoLeidasService).sumar(estudianteValido.getId(), 0);
     }
 
     @Test
     void testEliminarNotificacionNoExistente() {
         Long idAEliminar = 99L;
-        when(notificacionRepository.existsById(idAEliminar)).thenReturn(false);
+        when(notificacionRepository.findById(idAEliminar)).thenReturn(Optional.empty());
 
         IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> {
             notificacionService.eliminarNotificacion(idAEliminar);
         });
         assertEquals("No se puede eliminar la notificación con ID " + idAEliminar + " porque no existe.", thrown.getMessage());
 
-        verify(notificacionRepository, times(1)).existsById(idAEliminar);
-        verify(notificacionRepository, never()).deleteById(anyLong()); // No debe intentar borrar
+        verify(notificacionRepository, never()).eliminar(anyLong(), anyCollection()); // No debe intentar borrar
+    }
+
+    // --- Tests para suscribir (stream SSE) ---
+
+    @Test
+    void testSuscribirSinUltimoEventoNoReenvia() {
+        SuscripcionesNotificaciones.Suscripcion suscripcion = mock(SuscripcionesNotificaciones.Suscripcion.class);
+        when(estudianteRepository.existsById(1L)).thenReturn(true);
+        when(suscripciones.suscribir(1L)).thenReturn(suscripcion);
+
+        notificacionService.suscribir(1L, null);
+
+        verify(suscripcion).iniciar(List.of());
+        verifyNoInteractions(notificacionRepository);
+    }
+
+    @Test
+    void testSuscribirConUltimoEventoReenviaLasPerdidas() {
+        SuscripcionesNotificaciones.Suscripcion suscripcion = mock(SuscripcionesNotificaciones.Suscripcion.class);
+        when(estudianteRepository.existsById(1L)).thenReturn(true);
+        when(suscripciones.suscribir(1L)).thenReturn(suscripcion);
+        when(notificacionRepository.findByEstudiante_IdAndIdGreaterThanOrderByIdAsc(eq(1L), eq(5L), any()))
+                .thenReturn(dataList);
+
+        notificacionService.suscribir(1L, 5L);
+
+        verify(suscripcion).iniciar(dataList);
+    }
+
+    @Test
+    void testSuscribirEstudianteNoExiste() {
+        when(estudianteRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(IllegalArgumentException.class, () -> notificacionService.suscribir(99L, null));
+        verifyNoInteractions(suscripciones);
     }
 }
@@ -4,6 +4,7 @@ import co.edu.udistrital.mdp.back.dto.PropietarioDTO;
 import co.edu.udistrital.mdp.back.entities.PropietarioEntity;
 import co.edu.udistrital.mdp.back.exceptions.EntityNotFoundException;
 import co.edu.udistrital.mdp.back.exceptions.ErrorMessage;
+import co.edu.udistrital.mdp.back.mappers.PropietarioMapper;
 import co.edu.udistrital.mdp.back.repositories.PropietarioRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,10 +14,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
-import org.modelmapper.ModelMapper;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -29,7 +30,6 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,8 +39,8 @@ class PropietarioServiceTest {
     @Mock
     private PropietarioRepository propietarioRepository;
 
-    @Mock
-    private ModelMapper modelMapper;
+    @Spy
+    private PropietarioMapper propietarioMapper;
 
     @InjectMocks
     private PropietarioService propietarioService;
@@ -74,36 +74,6 @@ class PropietarioServiceTest {
         propietarioDTOValido.setFechaRegistro(propietarioEntityValido.getFechaRegistro());
 
         // --- Mocks Comunes ---
-        // Mock de mapeo DTO -> Entidad
-        when(modelMapper.map(any(PropietarioDTO.class), eq(PropietarioEntity.class)))
-            .thenAnswer(invocation -> {
-                PropietarioDTO dto = invocation.getArgument(0);
-                PropietarioEntity entity = new PropietarioEntity();
-                entity.setNombre(dto.getNombre());
-                entity.setApellido(dto.getApellido());
-                entity.setDocumento(dto.getDocumento());
-                entity.setTipoDocumento(dto.getTipoDocumento());
-                entity.setTelefono(dto.getTelefono());
-                entity.setEmail(dto.getEmail());
-                return entity;
-            });
-
-        // Mock de mapeo Entidad -> DTO
-        when(modelMapper.map(any(PropietarioEntity.class), eq(PropietarioDTO.class)))
-            .thenAnswer(invocation -> {
-                PropietarioEntity entity = invocation.getArgument(0);
-                PropietarioDTO dto = new PropietarioDTO();
-                dto.setId(entity.getId());
-                dto.setNombre(entity.getNombre());
-                dto.setApellido(entity.getApellido());
-                dto.setDocumento(entity.getDocumento());
-                dto.setTipoDocumento(entity.getTipoDocumento());
-                dto.setTelefono(entity.getTelefono());
-                dto.setEmail(entity.getEmail());
-                dto.setFechaRegistro(entity.getFechaRegistro());
-                return dto;
-            });
-
         // Mock de findById (encontrado)
         when(propietarioRepository.findById(propietarioIdValido)).thenReturn(Optional.of(propietarioEntityValido));
         // Mock de findById (no encontrado)
@@ -154,8 +124,8 @@ class PropietarioServiceTest {
 
         verify(propietarioRepository).existsByDocumento("9876543210");
         verify(propietarioRepository).save(any(PropietarioEntity.class));
-        verify(modelMapper).map(any(PropietarioDTO.class), eq(PropietarioEntity.class));
-        verify(modelMapper).map(any(PropietarioEntity.class), eq(PropietarioDTO.class));
+        verify(propietarioMapper).toEntity(any(PropietarioDTO.class));
+        verify(propietarioMapper).toDTO(any(PropietarioEntity.class));
     }
 
     @Test
@@ -175,7 +145,7 @@ class PropietarioServiceTest {
         assertThat(ex.getMessage()).contains("Ya existe un propietario con el documento: 1022345678");
         verify(propietarioRepository).existsByDocumento("1022345678");
         verify(propietarioRepository, never()).save(any());
-        verify(modelMapper, never()).map(any(PropietarioDTO.class), eq(PropietarioEntity.class));
+        verify(propietarioMapper, never()).toEntity(any(PropietarioDTO.class));
     }
 
     // --- Tests para getPropietario ---
@@ -194,7 +164,7 @@ class PropietarioServiceTest {
         assertEquals(propietarioEntityValido.getNombre(), resultadoDTO.getNombre());
 
         verify(propietarioRepository).findById(propietarioIdValido);
-        verify(modelMapper).map(propietarioEntityValido, PropietarioDTO.class);
+        verify(propietarioMapper).toDTO(propietarioEntityValido);
     }
 
     @Test
@@ -210,7 +180,7 @@ class PropietarioServiceTest {
 
         assertEquals(ErrorMessage.PROPIETARIO_NOT_FOUND.getMessage(), ex.getMessage());
         verify(propietarioRepository).findById(idInexistente);
-        verify(modelMapper, never()).map(any(), any());
+        verifyNoInteractions(propietarioMapper);
     }
 
     // --- Tests para getPropietarios ---
@@ -224,11 +194,6 @@ class PropietarioServiceTest {
         List<PropietarioEntity> listaEntities = Arrays.asList(propietarioEntityValido, otroEntity);
         when(propietarioRepository.findAll()).thenReturn(listaEntities);
 
-        PropietarioDTO otroDTO = new PropietarioDTO();
-        otroDTO.setId(3L);
-        when(modelMapper.map(otroEntity, PropietarioDTO.class)).thenReturn(otroDTO);
-        // El mapeo para propietarioEntityValido ya está implícito en el mock general del setup
-
         // Act
         List<PropietarioDTO> resultadoListaDTO = propietarioService.getPropietarios();
 
@@ -238,7 +203,7 @@ class PropietarioServiceTest {
         assertThat(resultadoListaDTO).extracting(PropietarioDTO::getId).containsExactlyInAnyOrder(propietarioIdValido, 3L);
 
         verify(propietarioRepository).findAll();
-        verify(modelMapper, times(listaEntities.size())).map(any(PropietarioEntity.class), eq(PropietarioDTO.class));
+        verify(propietarioMapper, times(listaEntities.size())).toDTO(any(PropietarioEntity.class));
     }
 
     // --- Tests para updatePropietario ---
@@ -279,7 +244,7 @@ class PropietarioServiceTest {
         // --- Fin Corrección ---
 
         verify(propietarioRepository).findById(propietarioIdValido);
-        verify(modelMapper).map(entidadGuardada, PropietarioDTO.class); // Verifica mapeo final con la entidad capturada
+        verify(propietarioMapper).toDTO(entidadGuardada); // Verifica mapeo final con la entidad capturada
     }
 
     @Test
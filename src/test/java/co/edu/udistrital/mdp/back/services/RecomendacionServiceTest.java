@@ -0,0 +1,189 @@
+package co.edu.udistrital.mdp.back.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import co.edu.udistrital.mdp.back.dto.RecomendacionDTO;
+import co.edu.udistrital.mdp.back.entities.EstanciaEntity;
+import co.edu.udistrital.mdp.back.entities.EstudianteEntity;
+import co.edu.udistrital.mdp.back.entities.PreferenciaEstudianteEntity;
+import co.edu.udistrital.mdp.back.entities.PropietarioEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity.TipoVivienda;
+import co.edu.udistrital.mdp.back.indices.IndiceViviendas;
+import co.edu.udistrital.mdp.back.indices.Normalizador;
+import co.edu.udistrital.mdp.back.repositories.EstanciaRepository;
+import co.edu.udistrital.mdp.back.repositories.EstudianteRepository;
+import co.edu.udistrital.mdp.back.repositories.PreferenciaEstudianteRepository;
+import co.edu.udistrital.mdp.back.repositories.PropietarioRepository;
+import co.edu.udistrital.mdp.back.repositories.ViviendaRepository;
+
+/**
+ * El índice se actualiza al confirmar cada transacción, así que las pruebas
+ * corren sin transacción envolvente y limpian las tablas al terminar.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ RecomendacionService.class, IndiceViviendas.class, ViviendaService.class, EstanciaService.class })
+class RecomendacionServiceTest {
+
+    @Autowired
+    private RecomendacionService recomendacionService;
+
+    @Autowired
+    private IndiceViviendas indiceViviendas;
+
+    @Autowired
+    private ViviendaService viviendaService;
+
+    @Autowired
+    private EstanciaService estanciaService;
+
+    @Autowired
+    private ViviendaRepository viviendaRepository;
+
+    @Autowired
+    private PropietarioRepository propietarioRepository;
+
+    @Autowired
+    private EstudianteRepository estudianteRepository;
+
+    @Autowired
+    private EstanciaRepository estanciaRepository;
+
+    @Autowired
+    private PreferenciaEstudianteRepository preferenciaRepository;
+
+    private EstudianteEntity estudiante;
+    private PropietarioEntity propietario;
+
+    @BeforeEach
+    void setUp() {
+        estudiante = estudianteRepository.save(DatosPrueba.estudiante());
+
+        propietario = propietarioRepository.save(DatosPrueba.propietario());
+
+        recomendacionService.cargarIndice();
+    }
+
+    @AfterEach
+    void tearDown() {
+        estanciaRepository.deleteAll();
+        preferenciaRepository.deleteAll();
+        viviendaRepository.deleteAll();
+        propietarioRepository.deleteAll();
+        estudianteRepository.deleteAll();
+    }
+
+    private ViviendaEntity vivienda(TipoVivienda tipo, String precio, String barrio, boolean mascotas) {
+        ViviendaEntity v = DatosPrueba.vivienda(propietario);
+        v.setDireccion("Calle " + barrio);
+        v.setBarrio(barrio);
+        v.setPrecioMensual(new BigDecimal(precio));
+        v.setTipo(tipo);
+        v.setAceptaMascotas(mascotas);
+        return viviendaService.crearVivienda(v);
+    }
+
+    private void preferencias(Integer precioMaximo, String zona, Boolean mascotas, String tipo) {
+        PreferenciaEstudianteEntity p = new PreferenciaEstudianteEntity();
+        p.setPrecioMaximo(precioMaximo);
+        p.setZonaPreferida(zona);
+        p.setAceptaMascotas(mascotas);
+        p.setTipoVivienda(tipo);
+        p.setEstudiante(estudiante);
+        preferenciaRepository.save(p);
+    }
+
+    private List<Long> ids(List<RecomendacionDTO> recomendaciones) {
+        return recomendaciones.stream().map(RecomendacionDTO::getViviendaId).toList();
+    }
+
+    @Test
+    void recomendar_filtraPorTipoYPresupuestoYOrdenaPorZonaYPrecio() {
+        ViviendaEntity enZonaBarata = vivienda(TipoVivienda.APARTAMENTO, "800000", "Chapinero", false);
+        ViviendaEntity enZonaCara = vivienda(TipoVivienda.APARTAMENTO, "1000000", "Chapinero Alto", false);
+        ViviendaEntity otraZona = vivienda(TipoVivienda.APARTAMENTO, "700000", "Suba", false);
+        ViviendaEntity pocoSobrePresupuesto = vivienda(TipoVivienda.APARTAMENTO, "1050000", "Chapinero", false);
+        vivienda(TipoVivienda.APARTAMENTO, "1200000", "Chapinero", false);
+        vivienda(TipoVivienda.HABITACION, "500000", "Chapinero", false);
+        preferencias(1_000_000, "chapinero", false, "Apartamento");
+
+        List<RecomendacionDTO> recomendaciones = recomendacionService.recomendar(estudiante.getId(), null);
+
+        assertEquals(List.of(enZonaBarata.getId(), enZonaCara.getId(), pocoSobrePresupuesto.getId(),
+                otraZona.getId()), ids(recomendaciones));
+        assertTrue(recomendaciones.get(0).getPuntaje() > recomendaciones.get(1).getPuntaje());
+        assertEquals(0, new BigDecimal("800000").compareTo(recomendaciones.get(0).getPrecioMensual()));
+    }
+
+    @Test
+    void recomendar_conMascotas_soloViviendasQueLasAceptan() {
+        vivienda(TipoVivienda.ESTUDIO, "600000", "Teusaquillo", false);
+        ViviendaEntity conMascotas = vivienda(TipoVivienda.ESTUDIO, "650000", "Teusaquillo", true);
+        preferencias(700_000, "Teusaquillo", true, "Estudio");
+
+        assertEquals(List.of(conMascotas.getId()), ids(recomendacionService.recomendar(estudiante.getId(), 5)));
+    }
+
+    @Test
+    void recomendar_respetaElLimiteYSinPreferenciasGanaLaMasBarata() {
+        ViviendaEntity masBarata = vivienda(TipoVivienda.CASA, "400000", "Usaquen", false);
+        ViviendaEntity segunda = vivienda(TipoVivienda.HABITACION, "450000", "Suba", false);
+        vivienda(TipoVivienda.APARTAMENTO, "900000", "Chapinero", false);
+
+        assertEquals(List.of(masBarata.getId(), segunda.getId()),
+                ids(recomendacionService.recomendar(estudiante.getId(), 2)));
+    }
+
+    @Test
+    void recomendar_reflejaCambiosDeDisponibilidad() {
+        ViviendaEntity vivienda = vivienda(TipoVivienda.HABITACION, "500000", "Centro", false);
+        assertEquals(1, indiceViviendas.tamano());
+
+        estanciaService.crearEstancia(new EstanciaEntity(estudiante, vivienda, 6));
+        assertTrue(recomendacionService.recomendar(estudiante.getId(), null).isEmpty());
+
+        viviendaService.marcarComoDisponible(vivienda.getId());
+        assertEquals(List.of(vivienda.getId()), ids(recomendacionService.recomendar(estudiante.getId(), null)));
+
+        ViviendaEntity cambios = viviendaService.obtenerViviendaPorId(vivienda.getId());
+        cambios.setTipo(TipoVivienda.CASA);
+        viviendaService.actualizarVivienda(vivienda.getId(), cambios);
+        preferencias(null, null, null, "casa");
+        assertEquals(List.of(vivienda.getId()), ids(recomendacionService.recomendar(estudiante.getId(), null)));
+    }
+
+    @Test
+    void recomendar_sinIndiceCargado_consultaLaBaseDeDatos() {
+        ViviendaEntity vivienda = vivienda(TipoVivienda.HABITACION, "500000", "Centro", false);
+        IndiceViviendas sinCargar = new IndiceViviendas();
+        RecomendacionService sinIndice = new RecomendacionService(sinCargar, viviendaRepository,
+                estudianteRepository, preferenciaRepository);
+
+        assertEquals(List.of(vivienda.getId()), ids(sinIndice.recomendar(estudiante.getId(), null)));
+    }
+
+    @Test
+    void recomendar_estudianteInexistente_lanzaExcepcion() {
+        assertThrows(IllegalArgumentException.class, () -> recomendacionService.recomendar(999999L, null));
+    }
+
+    @Test
+    void tipoVivienda_reconoceElTipoEscritoLibremente() {
+        assertEquals(TipoVivienda.HABITACION, Normalizador.tipoVivienda(" Habitación "));
+        assertEquals(TipoVivienda.APARTAMENTO, Normalizador.tipoVivienda("apartamento"));
+        assertNull(Normalizador.tipoVivienda("Finca"));
+    }
+}
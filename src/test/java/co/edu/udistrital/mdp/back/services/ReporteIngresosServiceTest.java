@@ -0,0 +1,168 @@
+package co.edu.udistrital.mdp.back.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import co.edu.udistrital.mdp.back.dto.IngresoMensualDTO;
+import co.edu.udistrital.mdp.back.entities.EstanciaEntity;
+import co.edu.udistrital.mdp.back.entities.EstudianteEntity;
+import co.edu.udistrital.mdp.back.entities.PropietarioEntity;
+import co.edu.udistrital.mdp.back.entities.TransaccionEntity;
+import co.edu.udistrital.mdp.back.entities.TransaccionEntity.EstadoTransaccion;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import co.edu.udistrital.mdp.back.repositories.EstanciaRepository;
+import co.edu.udistrital.mdp.back.repositories.EstudianteRepository;
+import co.edu.udistrital.mdp.back.repositories.PropietarioRepository;
+import co.edu.udistrital.mdp.back.repositories.TransaccionRepository;
+import co.edu.udistrital.mdp.back.repositories.ViviendaRepository;
+
+@DataJpaTest
+@Import(ReporteIngresosService.class)
+class ReporteIngresosServiceTest {
+
+    @Autowired
+    private ReporteIngresosService reporteIngresosService;
+
+    @Autowired
+    private TransaccionRepository transaccionRepository;
+
+    @Autowired
+    private EstanciaRepository estanciaRepository;
+
+    @Autowired
+    private ViviendaRepository viviendaRepository;
+
+    @Autowired
+    private PropietarioRepository propietarioRepository;
+
+    @Autowired
+    private EstudianteRepository estudianteRepository;
+
+    private EstudianteEntity estudiante;
+    private PropietarioEntity carlos;
+    private PropietarioEntity lucia;
+
+    @BeforeEach
+    void setUp() {
+        estudiante = new EstudianteEntity();
+        estudiante.setNombre("Ana");
+        estudiante.setCorreo("ana@correo.com");
+        estudiante.setTelefono("3001");
+        estudiante.setUniversidad("Distrital");
+        estudiante = estudianteRepository.save(estudiante);
+
+        carlos = propietario("Carlos", "Rojas", "1001");
+        lucia = propietario("Lucia", "Mora", "1002");
+    }
+
+    private PropietarioEntity propietario(String nombre, String apellido, String documento) {
+        PropietarioEntity p = new PropietarioEntity();
+        p.setNombre(nombre);
+        p.setApellido(apellido);
+        p.setDocumento(documento);
+        p.setEmail(documento + "@correo.com");
+        return propietarioRepository.save(p);
+    }
+
+    private EstanciaEntity estancia(PropietarioEntity propietario, String ciudad) {
+        ViviendaEntity vivienda = new ViviendaEntity();
+        vivienda.setDireccion("Calle 1");
+        vivienda.setCiudad(ciudad);
+        vivienda.setBarrio("Centro");
+        vivienda.setPrecioMensual(new BigDecimal("700000"));
+        vivienda.setNumeroHabitaciones(1);
+        vivienda.setNumeroBanos(1);
+        vivienda.setTipo(ViviendaEntity.TipoVivienda.HABITACION);
+        vivienda.setPropietario(propietario);
+        vivienda = viviendaRepository.save(vivienda);
+        return estanciaRepository.save(new EstanciaEntity(estudiante, vivienda, 6));
+    }
+
+    private void pago(EstanciaEntity estancia, String monto, EstadoTransaccion estado, LocalDateTime fecha) {
+        TransaccionEntity t = new TransaccionEntity();
+        t.setEstancia(estancia);
+        t.setMonto(new BigDecimal(monto));
+        t.setMetodoPago("PSE");
+        t.setEstado(estado);
+        t.setFechaTransaccion(fecha);
+        transaccionRepository.save(t);
+    }
+
+    private List<IngresoMensualDTO> reporte(ReporteIngresosService.Filtro filtro) {
+        List<IngresoMensualDTO> filas = new ArrayList<>();
+        long total = reporteIngresosService.recorrerIngresos(filtro, filas::add);
+        assertEquals(filas.size(), total);
+        return filas;
+    }
+
+    @Test
+    void recorrerIngresos_agrupaCompletadasPorPropietarioCiudadYMes() {
+        EstanciaEntity bogota = estancia(carlos, "Bogota");
+        EstanciaEntity bogota2 = estancia(carlos, "Bogota");
+        EstanciaEntity medellin = estancia(carlos, "Medellin");
+        EstanciaEntity deLucia = estancia(lucia, "Bogota");
+
+        pago(bogota, "100.00", EstadoTransaccion.COMPLETADA, LocalDateTime.of(2025, 3, 2, 10, 0));
+        pago(bogota2, "50.00", EstadoTransaccion.COMPLETADA, LocalDateTime.of(2025, 3, 31, 23, 0));
+        pago(bogota, "70.00", EstadoTransaccion.COMPLETADA, LocalDateTime.of(2025, 4, 1, 0, 0));
+        pago(bogota, "999.00", EstadoTransaccion.PENDIENTE, LocalDateTime.of(2025, 3, 5, 0, 0));
+        pago(bogota, "999.00", EstadoTransaccion.REEMBOLSADA, LocalDateTime.of(2025, 3, 6, 0, 0));
+        pago(medellin, "30.00", EstadoTransaccion.COMPLETADA, LocalDateTime.of(2025, 3, 10, 0, 0));
+        pago(deLucia, "20.00", EstadoTransaccion.COMPLETADA, LocalDateTime.of(2025, 4, 15, 0, 0));
+
+        List<IngresoMensualDTO> filas = reporte(new ReporteIngresosService.Filtro(null, null,
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31)));
+
+        assertEquals(List.of(
+                new IngresoMensualDTO(carlos.getId(), "Carlos Rojas", "Bogota", 2025, 3, new BigDecimal("150.00"), 2L),
+                new IngresoMensualDTO(carlos.getId(), "Carlos Rojas", "Bogota", 2025, 4, new BigDecimal("70.00"), 1L),
+                new IngresoMensualDTO(carlos.getId(), "Carlos Rojas", "Medellin", 2025, 3, new BigDecimal("30.00"), 1L),
+                new IngresoMensualDTO(lucia.getId(), "Lucia Mora", "Bogota", 2025, 4, new BigDecimal("20.00"), 1L)),
+                filas);
+    }
+
+    @Test
+    void recorrerIngresos_aplicaFiltros() {
+        EstanciaEntity bogota = estancia(carlos, "Bogota");
+        EstanciaEntity medellin = estancia(carlos, "Medellin");
+        EstanciaEntity deLucia = estancia(lucia, "Bogota");
+        pago(bogota, "100.00", EstadoTransaccion.COMPLETADA, LocalDateTime.of(2025, 3, 31, 23, 59));
+        pago(bogota, "40.00", EstadoTransaccion.COMPLETADA, LocalDateTime.of(2025, 4, 1, 0, 0));
+        pago(medellin, "30.00", EstadoTransaccion.COMPLETADA, LocalDateTime.of(2025, 3, 10, 0, 0));
+        pago(deLucia, "20.00", EstadoTransaccion.COMPLETADA, LocalDateTime.of(2025, 3, 15, 0, 0));
+
+        List<IngresoMensualDTO> filas = reporte(new ReporteIngresosService.Filtro(carlos.getId(), "Bogota",
+                LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31)));
+
+        assertEquals(1, filas.size());
+        assertEquals(0, new BigDecimal("100").compareTo(filas.get(0).getTotal()));
+        assertEquals(3, filas.get(0).getMes());
+    }
+
+    @Test
+    void filtro_sinFechas_cubreLosUltimosDoceMeses() {
+        ReporteIngresosService.Filtro filtro = new ReporteIngresosService.Filtro(null, " ", null, null);
+
+        assertEquals(LocalDate.now(), filtro.hasta());
+        assertEquals(LocalDate.now().minusMonths(12).withDayOfMonth(1), filtro.desde());
+        assertNull(filtro.ciudad());
+    }
+
+    @Test
+    void filtro_desdePosteriorAHasta_lanzaExcepcion() {
+        LocalDate hoy = LocalDate.now();
+        assertThrows(IllegalArgumentException.class,
+                () -> new ReporteIngresosService.Filtro(null, null, hoy, hoy.minusDays(1)));
+    }
+}
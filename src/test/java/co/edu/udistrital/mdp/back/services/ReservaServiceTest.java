@@ -2,18 +2,25 @@ package co.edu.udistrital.mdp.back.services;
 
 import co.edu.udistrital.mdp.back.entities.EstudianteEntity;
 import co.edu.udistrital.mdp.back.entities.ReservaEntity;
+import co.edu.udistrital.mdp.back.entities.ReservaEntity.EstadoReserva;
 import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import co.edu.udistrital.mdp.back.indices.IndiceReservas;
 import co.edu.udistrital.mdp.back.repositories.EstudianteRepository;
 import co.edu.udistrital.mdp.back.repositories.ReservaRepository;
 import co.edu.udistrital.mdp.back.repositories.ViviendaRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -37,6 +44,9 @@ class ReservaServiceTest {
     @Mock
     private EstudianteRepository estudianteRepo;
 
+    @Spy
+    private IndiceReservas indiceReservas = new IndiceReservas();
+
     @InjectMocks
     private ReservaService reservaService;
 
@@ -59,7 +69,7 @@ class ReservaServiceTest {
         reservaPersistida.setVivienda(vivienda);
         reservaPersistida.setFechaInicio(LocalDate.now());
         reservaPersistida.setFechaFin(LocalDate.now().plusDays(5));
-        reservaPersistida.setEstado("Pendiente");
+        reservaPersistida.setEstado(EstadoReserva.PENDIENTE);
 
         // Mocks comunes
         when(estudianteRepo.findById(1L)).thenReturn(Optional.of(estudiante));
@@ -81,15 +91,31 @@ class ReservaServiceTest {
         in.setVivienda(vivienda);
         in.setFechaInicio(LocalDate.now());
         in.setFechaFin(LocalDate.now().plusDays(2));
-        in.setEstado("Pendiente");
+        in.setEstado(EstadoReserva.PENDIENTE);
 
         ReservaEntity creada = reservaService.createReserva(in);
 
         assertThat(creada.getId()).isEqualTo(10L);
-        assertThat(creada.getEstado()).isEqualTo("Pendiente");
+        assertThat(creada.getEstado()).isEqualTo(EstadoReserva.PENDIENTE);
         verify(reservaRepo).save(in);
     }
 
+    @Test
+    void createReserva_bloqueaLaViviendaAntesDeValidarSolapamiento() {
+        ReservaEntity in = new ReservaEntity();
+        in.setEstudiante(estudiante);
+        in.setVivienda(vivienda);
+        in.setFechaInicio(LocalDate.now());
+        in.setFechaFin(LocalDate.now().plusDays(2));
+
+        reservaService.createReserva(in);
+
+        InOrder orden = inOrder(viviendaRepo, reservaRepo);
+        orden.verify(viviendaRepo).bloquear(2L);
+        orden.verify(reservaRepo).existeReservaActiva(1L, 2L, in.getFechaInicio(), in.getFechaFin());
+        orden.verify(reservaRepo).save(in);
+    }
+
     @Test
     void createReserva_estudianteNoExiste_throws() {
         when(estudianteRepo.findById(1L)).thenReturn(Optional.empty());
@@ -153,14 +179,38 @@ class ReservaServiceTest {
         ReservaEntity updates = new ReservaEntity();
         updates.setFechaInicio(LocalDate.now());
         updates.setFechaFin(LocalDate.now().plusDays(7));
-        updates.setEstado("Confirmada");
+        updates.setEstado(EstadoReserva.CONFIRMADA);
 
         ReservaEntity updated = reservaService.updateReserva(3L, updates);
 
-        assertThat(updated.getEstado()).isEqualTo("Confirmada");
+        assertThat(updated.getEstado()).isEqualTo(EstadoReserva.CONFIRMADA);
         verify(reservaRepo).save(reservaPersistida);
     }
 
+    @Test
+    void updateReserva_transicionNoPermitida_throws() {
+        reservaPersistida.setEstado(EstadoReserva.CANCELADA);
+        ReservaEntity updates = new ReservaEntity();
+        updates.setEstado(EstadoReserva.CONFIRMADA);
+
+        var ex = assertThrows(IllegalStateException.class, () -> reservaService.updateReserva(3L, updates));
+        assertThat(ex.getMessage()).contains("CANCELADA -> CONFIRMADA");
+        verify(reservaRepo, never()).save(any());
+    }
+
+    @Test
+    void createReserva_estadoFinal_throws() {
+        ReservaEntity in = new ReservaEntity();
+        in.setEstudiante(estudiante);
+        in.setVivienda(vivienda);
+        in.setFechaInicio(LocalDate.now());
+        in.setFechaFin(LocalDate.now().plusDays(3));
+        in.setEstado(EstadoReserva.FINALIZADA);
+
+        assertThrows(IllegalArgumentException.class, () -> reservaService.createReserva(in));
+        verify(reservaRepo, never()).save(any());
+    }
+
     @Test
     void updateReserva_fechasInvalidas_throws() {
         ReservaEntity updates = new ReservaEntity();
@@ -174,7 +224,7 @@ class ReservaServiceTest {
 
     @Test
     void deleteReserva_activa_throws() {
-        reservaPersistida.setEstado("Confirmada");
+        reservaPersistida.setEstado(EstadoReserva.CONFIRMADA);
 
         var ex = assertThrows(IllegalStateException.class, () -> reservaService.deleteReserva(3L));
         assertThat(ex.getMessage()).contains("No se puede eliminar una reserva activa");
@@ -183,7 +233,7 @@ class ReservaServiceTest {
 
     @Test
     void deleteReserva_cancelada_success() {
-        reservaPersistida.setEstado("Cancelada");
+        reservaPersistida.setEstado(EstadoReserva.CANCELADA);
 
         reservaService.deleteReserva(3L);
 
@@ -200,4 +250,149 @@ class ReservaServiceTest {
         assertThat(result.get(0).getId()).isEqualTo(3L);
         verify(reservaRepo).findAll();
     }
+
+    @Test
+    void cargarIndice_cargaReservasActivas() {
+        List<Object[]> filas = List.<Object[]>of(
+                new Object[] { 3L, 2L, 1L, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 10) });
+        when(reservaRepo.findIntervalosActivos()).thenReturn(filas);
+
+        reservaService.cargarIndice();
+
+        assertThat(indiceReservas.estaCargado()).isTrue();
+        assertThat(indiceReservas.estaLibre(2L, LocalDate.of(2025, 3, 10), LocalDate.of(2025, 3, 12))).isFalse();
+        assertThat(indiceReservas.estaLibre(2L, LocalDate.of(2025, 3, 11), LocalDate.of(2025, 3, 12))).isTrue();
+    }
+
+    @Test
+    void createReserva_conIndice_detectaSolapamientoSinConsultarBD() {
+        indiceReservas.cargar(List.of(new IndiceReservas.Intervalo(3L, 2L, 1L, LocalDate.of(2025, 3, 1),
+                LocalDate.of(2025, 3, 10))));
+
+        ReservaEntity in = new ReservaEntity();
+        in.setEstudiante(estudiante);
+        in.setVivienda(vivienda);
+        in.setFechaInicio(LocalDate.of(2025, 3, 5));
+        in.setFechaFin(LocalDate.of(2025, 3, 15));
+
+        var ex = assertThrows(IllegalArgumentException.class, () -> reservaService.createReserva(in));
+        assertThat(ex.getMessage()).contains("Ya existe una reserva activa");
+        verify(reservaRepo, never()).existeReservaActiva(anyLong(), anyLong(), any(), any());
+        verify(reservaRepo, never()).save(any());
+    }
+
+    @Test
+    void createReserva_conIndice_registraLaNuevaReserva() {
+        indiceReservas.cargar(List.of());
+
+        ReservaEntity in = new ReservaEntity();
+        in.setEstudiante(estudiante);
+        in.setVivienda(vivienda);
+        in.setFechaInicio(LocalDate.of(2025, 4, 1));
+        in.setFechaFin(LocalDate.of(2025, 4, 30));
+
+        reservaService.createReserva(in);
+
+        assertThat(reservaService.isRangoLibre(2L, LocalDate.of(2025, 4, 30), LocalDate.of(2025, 5, 5))).isFalse();
+        assertThat(reservaService.isRangoLibre(2L, LocalDate.of(2025, 5, 1), LocalDate.of(2025, 5, 5))).isTrue();
+        verify(reservaRepo, never()).existeReservaActivaEnVivienda(anyLong(), any(), any());
+    }
+
+    @Test
+    void updateReserva_cancelada_seRetiraDelIndice() {
+        indiceReservas.cargar(List.of(new IndiceReservas.Intervalo(3L, 2L, 1L, reservaPersistida.getFechaInicio(),
+                reservaPersistida.getFechaFin())));
+        ReservaEntity updates = new ReservaEntity();
+        updates.setEstado(EstadoReserva.CANCELADA);
+
+        reservaService.updateReserva(3L, updates);
+
+        assertThat(indiceReservas.estaLibre(2L, reservaPersistida.getFechaInicio(), reservaPersistida.getFechaFin()))
+                .isTrue();
+    }
+
+    @Test
+    void updateReserva_nuevasFechas_bloqueaLaViviendaAntesDeValidarSolapamiento() {
+        ReservaEntity updates = new ReservaEntity();
+        updates.setFechaInicio(LocalDate.of(2025, 6, 1));
+        updates.setFechaFin(LocalDate.of(2025, 6, 10));
+
+        reservaService.updateReserva(3L, updates);
+
+        InOrder orden = inOrder(viviendaRepo, reservaRepo);
+        orden.verify(viviendaRepo).bloquear(2L);
+        orden.verify(reservaRepo).existeOtraReservaActiva(3L, 1L, 2L, updates.getFechaInicio(), updates.getFechaFin());
+        orden.verify(reservaRepo).save(reservaPersistida);
+    }
+
+    @Test
+    void updateReserva_conIndice_fechasQueSolapanOtraReserva_throws() {
+        indiceReservas.cargar(List.of(
+                new IndiceReservas.Intervalo(3L, 2L, 1L, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 10)),
+                new IndiceReservas.Intervalo(4L, 2L, 1L, LocalDate.of(2025, 3, 20), LocalDate.of(2025, 3, 25))));
+        ReservaEntity updates = new ReservaEntity();
+        updates.setFechaInicio(LocalDate.of(2025, 3, 5));
+        updates.setFechaFin(LocalDate.of(2025, 3, 22));
+
+        var ex = assertThrows(IllegalArgumentException.class, () -> reservaService.updateReserva(3L, updates));
+        assertThat(ex.getMessage()).contains("Ya existe una reserva activa");
+        verify(reservaRepo, never()).save(any());
+    }
+
+    @Test
+    void updateReserva_conIndice_reubicaLaReservaSinChocarConsigoMisma() {
+        reservaPersistida.setFechaInicio(LocalDate.of(2025, 3, 1));
+        reservaPersistida.setFechaFin(LocalDate.of(2025, 3, 10));
+        indiceReservas.cargar(List.of(new IndiceReservas.Intervalo(3L, 2L, 1L, LocalDate.of(2025, 3, 1),
+                LocalDate.of(2025, 3, 10))));
+        ReservaEntity updates = new ReservaEntity();
+        updates.setFechaInicio(LocalDate.of(2025, 3, 5));
+        updates.setFechaFin(LocalDate.of(2025, 3, 15));
+
+        reservaService.updateReserva(3L, updates);
+
+        assertThat(indiceReservas.estaLibre(2L, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 4))).isTrue();
+        assertThat(indiceReservas.estaLibre(2L, LocalDate.of(2025, 3, 11), LocalDate.of(2025, 3, 15))).isFalse();
+        verify(reservaRepo, never()).existeOtraReservaActiva(anyLong(), anyLong(), anyLong(), any(), any());
+    }
+
+    @Test
+    void updateReserva_conIndice_siSeRevierteRestauraLasFechasAnteriores() {
+        reservaPersistida.setFechaInicio(LocalDate.of(2025, 3, 1));
+        reservaPersistida.setFechaFin(LocalDate.of(2025, 3, 10));
+        indiceReservas.cargar(List.of(new IndiceReservas.Intervalo(3L, 2L, 1L, LocalDate.of(2025, 3, 1),
+                LocalDate.of(2025, 3, 10))));
+        ReservaEntity updates = new ReservaEntity();
+        updates.setFechaInicio(LocalDate.of(2025, 4, 1));
+        updates.setFechaFin(LocalDate.of(2025, 4, 10));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            reservaService.updateReserva(3L, updates);
+            assertThat(indiceReservas.estaLibre(2L, LocalDate.of(2025, 4, 1), LocalDate.of(2025, 4, 10))).isFalse();
+
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(indiceReservas.estaLibre(2L, LocalDate.of(2025, 4, 1), LocalDate.of(2025, 4, 10))).isTrue();
+        assertThat(indiceReservas.estaLibre(2L, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 10))).isFalse();
+    }
+
+    @Test
+    void isRangoLibre_sinIndice_consultaBD() {
+        when(reservaRepo.existeReservaActivaEnVivienda(2L, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 5)))
+                .thenReturn(true);
+
+        assertThat(reservaService.isRangoLibre(2L, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 5))).isFalse();
+    }
+
+    @Test
+    void isRangoLibre_fechasInvalidas_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> reservaService.isRangoLibre(2L, LocalDate.of(2025, 1, 5), LocalDate.of(2025, 1, 1)));
+    }
 }
@@ -0,0 +1,205 @@
+package co.edu.udistrital.mdp.back.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import co.edu.udistrital.mdp.back.entities.EstudianteEntity;
+import co.edu.udistrital.mdp.back.entities.NotificacionEntity;
+import co.edu.udistrital.mdp.back.entities.PropietarioEntity;
+import co.edu.udistrital.mdp.back.entities.ReservaEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import co.edu.udistrital.mdp.back.repositories.EstudianteRepository;
+import co.edu.udistrital.mdp.back.repositories.NotificacionRepository;
+import co.edu.udistrital.mdp.back.repositories.PropietarioRepository;
+import co.edu.udistrital.mdp.back.repositories.ReservaRepository;
+import co.edu.udistrital.mdp.back.repositories.ViviendaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Cada rango se borra en su propia transacción, así que las pruebas corren sin
+ * transacción envolvente y limpian las tablas al terminar.
+ */
+@DataJpaTest(properties = { "retencion.tamano-rango=2", "retencion.pausa-ms=0",
+        "retencion.notificaciones-leidas.dias=30", "retencion.reservas-canceladas.dias=180" })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ RetencionService.class, RetencionServiceTest.Metricas.class })
+class RetencionServiceTest {
+
+    @TestConfiguration
+    static class Metricas {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private RetencionService retencionService;
+
+    @Autowired
+    private MeterRegistry registro;
+
+    @Autowired
+    private NotificacionRepository notificacionRepository;
+
+    @Autowired
+    private ReservaRepository reservaRepository;
+
+    @Autowired
+    private EstudianteRepository estudianteRepository;
+
+    @Autowired
+    private ViviendaRepository viviendaRepository;
+
+    @Autowired
+    private PropietarioRepository propietarioRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private EstudianteEntity estudiante;
+    private ViviendaEntity vivienda;
+
+    @BeforeEach
+    void setUp() {
+        estudiante = new EstudianteEntity();
+        estudiante.setNombre("Ana");
+        estudiante.setCorreo("ana@correo.com");
+        estudiante.setTelefono("3001");
+        estudiante.setUniversidad("Distrital");
+        estudiante = estudianteRepository.save(estudiante);
+
+        PropietarioEntity propietario = new PropietarioEntity();
+        propietario.setNombre("Carlos");
+        propietario.setApellido("Rojas");
+        propietario.setDocumento("1001");
+        propietario.setEmail("carlos@correo.com");
+        propietario = propietarioRepository.save(propietario);
+
+        vivienda = new ViviendaEntity();
+        vivienda.setDireccion("Calle 1");
+        vivienda.setCiudad("Bogota");
+        vivienda.setBarrio("Centro");
+        vivienda.setPrecioMensual(new BigDecimal("700000"));
+        vivienda.setNumeroHabitaciones(1);
+        vivienda.setNumeroBanos(1);
+        vivienda.setTipo(ViviendaEntity.TipoVivienda.HABITACION);
+        vivienda.setPropietario(propietario);
+        vivienda = viviendaRepository.save(vivienda);
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificacionRepository.deleteAll();
+        reservaRepository.deleteAll();
+        viviendaRepository.deleteAll();
+        propietarioRepository.deleteAll();
+        estudianteRepository.deleteAll();
+    }
+
+    /**
+     * Guarda la notificación y luego le fija la fecha de envío, que @PrePersist
+     * siempre pone en el momento actual
+     */
+    private NotificacionEntity notificacion(boolean leida, int diasAtras) {
+        NotificacionEntity n = new NotificacionEntity();
+        n.setMensaje("Aviso");
+        n.setLeida(leida);
+        n.setEstudiante(estudiante);
+        NotificacionEntity guardada = notificacionRepository.save(n);
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> entityManager
+                .createQuery("UPDATE NotificacionEntity n SET n.fechaEnvio = :fecha WHERE n.id = :id")
+                .setParameter("fecha", LocalDateTime.now().minusDays(diasAtras))
+                .setParameter("id", guardada.getId())
+                .executeUpdate());
+        return guardada;
+    }
+
+    private ReservaEntity reserva(ReservaEntity.EstadoReserva estado, int diasDesdeElFin) {
+        ReservaEntity r = new ReservaEntity();
+        r.setFechaInicio(LocalDate.now().minusDays(diasDesdeElFin + 30L));
+        r.setFechaFin(LocalDate.now().minusDays(diasDesdeElFin));
+        r.setEstado(estado);
+        r.setEstudiante(estudiante);
+        r.setVivienda(vivienda);
+        return reservaRepository.save(r);
+    }
+
+    @Test
+    void purgar_eliminaPorRangosSoloLoQueVencioSuRetencion() {
+        List<Long> conservadas = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            notificacion(true, 40);
+        }
+        conservadas.add(notificacion(false, 40).getId());
+        conservadas.add(notificacion(true, 10).getId());
+        notificacion(true, 45);
+
+        reserva(ReservaEntity.EstadoReserva.CANCELADA, 200);
+        reserva(ReservaEntity.EstadoReserva.CANCELADA, 365);
+        Long canceladaReciente = reserva(ReservaEntity.EstadoReserva.CANCELADA, 20).getId();
+        Long finalizada = reserva(ReservaEntity.EstadoReserva.FINALIZADA, 400).getId();
+
+        Map<String, Long> eliminadas = retencionService.purgar();
+
+        assertEquals(6L, eliminadas.get(RetencionService.NOTIFICACIONES_LEIDAS));
+        assertEquals(2L, eliminadas.get(RetencionService.RESERVAS_CANCELADAS));
+        assertEquals(conservadas.stream().sorted().toList(),
+                notificacionRepository.findAll().stream().map(NotificacionEntity::getId).sorted().toList());
+        assertEquals(List.of(canceladaReciente, finalizada),
+                reservaRepository.findAll().stream().map(ReservaEntity::getId).sorted().toList());
+        assertEquals(6.0, registro.get("retencion.filas.eliminadas")
+                .tag("politica", RetencionService.NOTIFICACIONES_LEIDAS).counter().count());
+        assertEquals(1, registro.get("retencion.purga")
+                .tag("politica", RetencionService.RESERVAS_CANCELADAS).timer().count());
+    }
+
+    @Test
+    void purgar_sinNadaVencido_noEliminaNada() {
+        notificacion(true, 1);
+        reserva(ReservaEntity.EstadoReserva.CANCELADA, 1);
+
+        Map<String, Long> eliminadas = retencionService.purgar();
+
+        assertEquals(0L, eliminadas.get(RetencionService.NOTIFICACIONES_LEIDAS));
+        assertEquals(0L, eliminadas.get(RetencionService.RESERVAS_CANCELADAS));
+        assertEquals(1, notificacionRepository.count());
+        assertEquals(1, reservaRepository.count());
+    }
+
+    @Test
+    void eliminarReservasCanceladasAntiguas_ejecutaElDelete() {
+        reserva(ReservaEntity.EstadoReserva.CANCELADA, 10);
+        reserva(ReservaEntity.EstadoReserva.CONFIRMADA, 10);
+
+        Integer eliminadas = new TransactionTemplate(transactionManager)
+                .execute(estado -> reservaRepository.eliminarReservasCanceladasAntiguas(LocalDate.now()));
+
+        assertEquals(1, eliminadas);
+        assertEquals(1, reservaRepository.count());
+    }
+}
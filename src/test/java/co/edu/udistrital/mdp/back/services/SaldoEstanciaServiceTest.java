@@ -0,0 +1,236 @@
+package co.edu.udistrital.mdp.back.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import co.edu.udistrital.mdp.back.dto.SaldoEstanciaDTO;
+import co.edu.udistrital.mdp.back.entities.ContratoEntity;
+import co.edu.udistrital.mdp.back.entities.EstanciaEntity;
+import co.edu.udistrital.mdp.back.entities.EstudianteEntity;
+import co.edu.udistrital.mdp.back.entities.PropietarioEntity;
+import co.edu.udistrital.mdp.back.entities.TransaccionEntity;
+import co.edu.udistrital.mdp.back.entities.TransaccionEntity.EstadoTransaccion;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import co.edu.udistrital.mdp.back.repositories.ContratoRepository;
+import co.edu.udistrital.mdp.back.repositories.EstanciaRepository;
+import co.edu.udistrital.mdp.back.repositories.EstudianteRepository;
+import co.edu.udistrital.mdp.back.repositories.PropietarioRepository;
+import co.edu.udistrital.mdp.back.repositories.SaldoEstanciaRepository;
+import co.edu.udistrital.mdp.back.repositories.TransaccionRepository;
+import co.edu.udistrital.mdp.back.repositories.ViviendaRepository;
+
+/**
+ * Cada llamada al servicio confirma su propia transacción, como en producción,
+ * así que las pruebas corren sin transacción envolvente y limpian las tablas.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ SaldoEstanciaService.class, TransaccionService.class })
+class SaldoEstanciaServiceTest {
+
+    @Autowired
+    private SaldoEstanciaService saldoEstanciaService;
+
+    @Autowired
+    private TransaccionService transaccionService;
+
+    @Autowired
+    private TransaccionRepository transaccionRepository;
+
+    @Autowired
+    private SaldoEstanciaRepository saldoRepository;
+
+    @Autowired
+    private ContratoRepository contratoRepository;
+
+    @Autowired
+    private EstanciaRepository estanciaRepository;
+
+    @Autowired
+    private ViviendaRepository viviendaRepository;
+
+    @Autowired
+    private PropietarioRepository propietarioRepository;
+
+    @Autowired
+    private EstudianteRepository estudianteRepository;
+
+    private EstanciaEntity estancia;
+
+    @BeforeEach
+    void setUp() {
+        EstudianteEntity estudiante = new EstudianteEntity();
+        estudiante.setNombre("Ana");
+        estudiante.setCorreo("ana@correo.com");
+        estudiante.setTelefono("3001");
+        estudiante.setUniversidad("Distrital");
+        estudiante = estudianteRepository.save(estudiante);
+
+        PropietarioEntity propietario = new PropietarioEntity();
+        propietario.setNombre("Carlos");
+        propietario.setApellido("Rojas");
+        propietario.setDocumento("1001");
+        propietario.setEmail("carlos@correo.com");
+        propietario = propietarioRepository.save(propietario);
+
+        ViviendaEntity vivienda = new ViviendaEntity();
+        vivienda.setDireccion("Calle 1");
+        vivienda.setCiudad("Bogota");
+        vivienda.setBarrio("Centro");
+        vivienda.setPrecioMensual(new BigDecimal("700000"));
+        vivienda.setNumeroHabitaciones(1);
+        vivienda.setNumeroBanos(1);
+        vivienda.setTipo(ViviendaEntity.TipoVivienda.HABITACION);
+        vivienda.setPropietario(propietario);
+        vivienda = viviendaRepository.save(vivienda);
+
+        estancia = estanciaRepository.save(new EstanciaEntity(estudiante, vivienda, 6));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transaccionRepository.deleteAll();
+        saldoRepository.deleteAll();
+        contratoRepository.deleteAll();
+        estanciaRepository.deleteAll();
+        viviendaRepository.deleteAll();
+        propietarioRepository.deleteAll();
+        estudianteRepository.deleteAll();
+    }
+
+    private TransaccionEntity pagar(String monto, EstadoTransaccion estado) {
+        TransaccionEntity t = new TransaccionEntity();
+        t.setEstancia(estancia);
+        t.setMonto(new BigDecimal(monto));
+        t.setMetodoPago("PSE");
+        t.setEstado(estado);
+        return transaccionService.crearTransaccion(t);
+    }
+
+    @Test
+    void obtenerSaldo_seMantieneConCadaPagoYCambioDeEstado() {
+        contratoRepository.save(new ContratoEntity("C-1", LocalDate.now(), LocalDate.now().plusMonths(6), 3000.0,
+                estancia));
+        TransaccionEntity primero = pagar("1000.00", EstadoTransaccion.PENDIENTE);
+        TransaccionEntity segundo = pagar("500.00", EstadoTransaccion.PENDIENTE);
+        pagar("250.00", EstadoTransaccion.COMPLETADA);
+
+        transaccionService.actualizarEstadoTransaccion(primero.getId(), "COMPLETADA");
+        transaccionService.actualizarEstadoTransaccion(segundo.getId(), "FALLIDA");
+
+        SaldoEstanciaDTO saldo = saldoEstanciaService.obtenerSaldo(estancia.getId());
+        assertEquals(0, new BigDecimal("1250").compareTo(saldo.getTotalCompletado()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(saldo.getTotalPendiente()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(saldo.getTotalReembolsado()));
+        assertEquals(0, new BigDecimal("1750").compareTo(saldo.getSaldoPendiente()));
+        assertNotNull(saldo.getUltimoPago());
+
+        transaccionService.actualizarEstadoTransaccion(primero.getId(), "REEMBOLSADA");
+
+        saldo = saldoEstanciaService.obtenerSaldo(estancia.getId());
+        assertEquals(0, new BigDecimal("250").compareTo(saldo.getTotalCompletado()));
+        assertEquals(0, new BigDecimal("1000").compareTo(saldo.getTotalReembolsado()));
+        assertEquals(0, new BigDecimal("2750").compareTo(saldo.getSaldoPendiente()));
+    }
+
+    @Test
+    void ultimoPago_esLaFechaDeLaTransaccionCompletada() {
+        TransaccionEntity pendiente = pagar("100.00", EstadoTransaccion.PENDIENTE);
+
+        transaccionService.actualizarEstadoTransaccion(pendiente.getId(), "COMPLETADA");
+
+        LocalDateTime fecha = transaccionRepository.findById(pendiente.getId()).orElseThrow().getFechaTransaccion();
+        assertEquals(fecha, saldoEstanciaService.obtenerSaldo(estancia.getId()).getUltimoPago());
+        saldoEstanciaService.reconstruirSaldos();
+        assertEquals(fecha, saldoEstanciaService.obtenerSaldo(estancia.getId()).getUltimoPago());
+    }
+
+    @Test
+    void pagosYCambiosConcurrentes_noDuplicanNiPierdenElSaldo() throws Exception {
+        ExecutorService hilos = Executors.newFixedThreadPool(4);
+        try {
+            // Primeros pagos de la estancia a la vez: el saldo se crea una sola vez
+            List<Future<TransaccionEntity>> pagos = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                pagos.add(hilos.submit(() -> pagar("100.00", EstadoTransaccion.PENDIENTE)));
+            }
+            for (Future<TransaccionEntity> pago : pagos) {
+                pago.get();
+            }
+            assertEquals(0, new BigDecimal("800").compareTo(
+                    saldoEstanciaService.obtenerSaldo(estancia.getId()).getTotalPendiente()));
+
+            // La misma transacción completada dos veces a la vez: solo una la suma
+            Long id = pagos.get(0).get().getId();
+            List<Future<?>> cambios = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                cambios.add(hilos.submit(() -> {
+                    try {
+                        transaccionService.actualizarEstadoTransaccion(id, "COMPLETADA");
+                    } catch (IllegalStateException yaCambiada) {
+                        // La otra petición la completó primero
+                    }
+                }));
+            }
+            for (Future<?> cambio : cambios) {
+                cambio.get();
+            }
+        } finally {
+            hilos.shutdown();
+        }
+
+        SaldoEstanciaDTO saldo = saldoEstanciaService.obtenerSaldo(estancia.getId());
+        assertEquals(0, new BigDecimal("100").compareTo(saldo.getTotalCompletado()));
+        assertEquals(0, new BigDecimal("700").compareTo(saldo.getTotalPendiente()));
+    }
+
+    @Test
+    void obtenerSaldo_sinPagosNiContrato_todoEnCero() {
+        SaldoEstanciaDTO saldo = saldoEstanciaService.obtenerSaldo(estancia.getId());
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(saldo.getTotalCompletado()));
+        assertNull(saldo.getUltimoPago());
+        assertNull(saldo.getMontoContrato());
+        assertNull(saldo.getSaldoPendiente());
+    }
+
+    @Test
+    void obtenerSaldo_estanciaInexistente_lanzaExcepcion() {
+        assertThrows(IllegalArgumentException.class, () -> saldoEstanciaService.obtenerSaldo(999999L));
+    }
+
+    @Test
+    void reconstruirSaldos_coincideConLoMantenidoIncrementalmente() {
+        TransaccionEntity pendiente = pagar("300.00", EstadoTransaccion.PENDIENTE);
+        pagar("200.00", EstadoTransaccion.COMPLETADA);
+        pagar("50.00", EstadoTransaccion.FALLIDA);
+        transaccionService.actualizarEstadoTransaccion(pendiente.getId(), "COMPLETADA");
+        SaldoEstanciaDTO incremental = saldoEstanciaService.obtenerSaldo(estancia.getId());
+        saldoRepository.deleteAll();
+
+        assertEquals(1, saldoEstanciaService.reconstruirSaldos());
+
+        SaldoEstanciaDTO reconstruido = saldoEstanciaService.obtenerSaldo(estancia.getId());
+        assertEquals(0, incremental.getTotalCompletado().compareTo(reconstruido.getTotalCompletado()));
+        assertEquals(0, incremental.getTotalPendiente().compareTo(reconstruido.getTotalPendiente()));
+        assertEquals(0, new BigDecimal("500").compareTo(reconstruido.getTotalCompletado()));
+        assertNotNull(reconstruido.getUltimoPago());
+    }
+}
@@ -0,0 +1,110 @@
+package co.edu.udistrital.mdp.back.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import co.edu.udistrital.mdp.back.entities.ServicioEntity;
+import co.edu.udistrital.mdp.back.entities.ServicioEntity.CategoriaServicio;
+import co.edu.udistrital.mdp.back.repositories.ServicioRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Verifica la caché de segundo nivel y de consultas de ServicioEntity. Cada
+ * llamada al servicio confirma su propia transacción, como en producción.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ServicioService.class)
+class ServicioCacheTest {
+
+    @Autowired
+    private ServicioService servicioService;
+
+    @Autowired
+    private ServicioRepository servicioRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estadisticas;
+
+    @BeforeEach
+    void setUp() {
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        servicioRepository.deleteAll();
+    }
+
+    private ServicioEntity crear(String nombre, CategoriaServicio categoria) {
+        ServicioEntity s = new ServicioEntity();
+        s.setNombre(nombre);
+        s.setCategoria(categoria);
+        return servicioService.crearServicio(s);
+    }
+
+    @Test
+    void obtenerServicioPorId_seSirveDesdeLaCache() {
+        Long id = crear("Wifi", CategoriaServicio.CONECTIVIDAD).getId();
+
+        estadisticas.clear();
+        servicioService.obtenerServicioPorId(id);
+        servicioService.obtenerServicioPorId(id);
+
+        assertEquals(0, estadisticas.getPrepareStatementCount());
+        assertEquals(2, estadisticas.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void actualizarServicio_invalidaLaEntradaEnCache() {
+        Long id = crear("Gimnasio", CategoriaServicio.RECREACION).getId();
+        servicioService.obtenerServicioPorId(id);
+
+        ServicioEntity cambios = new ServicioEntity();
+        cambios.setDescripcion("Abierto 24 horas");
+        servicioService.actualizarServicio(id, cambios);
+
+        assertEquals("Abierto 24 horas", servicioService.obtenerServicioPorId(id).getDescripcion());
+    }
+
+    @Test
+    void obtenerServiciosPorCategoria_usaLaCacheDeConsultasYSeInvalidaAlCrear() {
+        crear("Agua", CategoriaServicio.BASICO);
+
+        estadisticas.clear();
+        assertEquals(1, servicioService.obtenerServiciosPorCategoria(CategoriaServicio.BASICO).size());
+        assertEquals(1, servicioService.obtenerServiciosPorCategoria(CategoriaServicio.BASICO).size());
+        assertEquals(1, estadisticas.getQueryCacheHitCount());
+        assertEquals(1, estadisticas.getPrepareStatementCount());
+
+        crear("Luz", CategoriaServicio.BASICO);
+
+        List<ServicioEntity> basicos = servicioService.obtenerServiciosPorCategoria(CategoriaServicio.BASICO);
+        assertEquals(2, basicos.size());
+    }
+
+    @Test
+    void eliminarServicio_loRetiraDeLaCache() {
+        Long id = crear("Portería", CategoriaServicio.SEGURIDAD).getId();
+        servicioService.obtenerServicioPorId(id);
+
+        servicioService.eliminarServicio(id);
+
+        assertThrows(IllegalArgumentException.class, () -> servicioService.obtenerServicioPorId(id));
+        assertTrue(servicioService.obtenerTodosLosServicios().isEmpty());
+    }
+}
@@ -0,0 +1,76 @@
+package co.edu.udistrital.mdp.back.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas de las acciones atadas a la transacción")
+class SincronizacionTransaccionTest {
+
+    private final List<List<String>> lotes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(this);
+    }
+
+    private void agregar(String elemento) {
+        SincronizacionTransaccion.despuesDelCommitAgrupado(this, elemento, lotes::add);
+    }
+
+    private static void completar(int estado) {
+        List<TransactionSynchronization> sincronizaciones = TransactionSynchronizationManager.getSynchronizations();
+        if (estado == TransactionSynchronization.STATUS_COMMITTED) {
+            TransactionSynchronizationUtils.invokeAfterCommit(sincronizaciones);
+        }
+        TransactionSynchronizationUtils.invokeAfterCompletion(sincronizaciones, estado);
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("Agrupado - sin transacción ejecuta de inmediato con un solo elemento")
+    void agrupado_sinTransaccion() {
+        agregar("a");
+        agregar("b");
+
+        assertEquals(List.of(List.of("a"), List.of("b")), lotes);
+    }
+
+    @Test
+    @DisplayName("Agrupado - ejecuta una sola vez al confirmar, con todo en orden")
+    void agrupado_unLotePorTransaccion() {
+        TransactionSynchronizationManager.initSynchronization();
+        agregar("a");
+        agregar("b");
+        agregar("c");
+        assertTrue(lotes.isEmpty());
+
+        completar(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(List.of(List.of("a", "b", "c")), lotes);
+        assertNull(TransactionSynchronizationManager.getResource(this));
+    }
+
+    @Test
+    @DisplayName("Agrupado - si la transacción se revierte no ejecuta nada")
+    void agrupado_revertida() {
+        TransactionSynchronizationManager.initSynchronization();
+        agregar("a");
+
+        completar(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertTrue(lotes.isEmpty());
+        assertNull(TransactionSynchronizationManager.getResource(this));
+    }
+}
@@ -25,6 +25,9 @@ class SitioInteresServiceTest {
     @Mock
     private ViviendaRepository viviendaRepo;
 
+    @Mock
+    private CaminabilidadService caminabilidadService;
+
     @InjectMocks
     private SitioInteresService sitioService;
 
@@ -103,6 +106,29 @@ class SitioInteresServiceTest {
 
         assertEquals("Nuevo nombre", result.getNombre());
         verify(sitioRepo).save(any(SitioInteresEntity.class));
+        verify(caminabilidadService).tiempoCambiado(1L, 10, 5);
+    }
+
+    @Test
+    void testAsociarVivienda_ActualizaCaminabilidad() {
+        ViviendaEntity vivienda = new ViviendaEntity();
+        vivienda.setId(7L);
+        when(sitioRepo.findById(1L)).thenReturn(Optional.of(sitio));
+        when(viviendaRepo.findById(7L)).thenReturn(Optional.of(vivienda));
+
+        sitioService.asociarVivienda(1L, 7L);
+
+        assertEquals(List.of(vivienda), sitio.getViviendas());
+        verify(caminabilidadService).sitioAsociado(7L, 10);
+        assertThrows(IllegalStateException.class, () -> sitioService.asociarVivienda(1L, 7L));
+    }
+
+    @Test
+    void testDesasociarVivienda_NoAsociada() {
+        when(sitioRepo.findById(1L)).thenReturn(Optional.of(sitio));
+
+        assertThrows(IllegalArgumentException.class, () -> sitioService.desasociarVivienda(1L, 7L));
+        verifyNoInteractions(caminabilidadService);
     }
 
     @Test
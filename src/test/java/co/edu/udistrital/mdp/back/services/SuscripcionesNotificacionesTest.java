@@ -0,0 +1,160 @@
+package co.edu.udistrital.mdp.back.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import co.edu.udistrital.mdp.back.entities.EstudianteEntity;
+import co.edu.udistrital.mdp.back.entities.NotificacionEntity;
+
+class SuscripcionesNotificacionesTest {
+
+    private SuscripcionesNotificaciones suscripciones;
+    private EstudianteEntity estudiante;
+
+    /**
+     * Emisor que guarda el texto de cada evento en lugar de escribirlo en una
+     * respuesta HTTP. Puede bloquear los envíos para simular un cliente lento.
+     */
+    private static class EmisorDePrueba extends SseEmitter {
+        final List<String> eventos = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch desbloqueo;
+        boolean completado;
+
+        EmisorDePrueba(boolean bloqueado) {
+            desbloqueo = new CountDownLatch(bloqueado ? 1 : 0);
+        }
+
+        @Override
+        public void send(SseEventBuilder evento) throws IOException {
+            try {
+                desbloqueo.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            StringBuilder texto = new StringBuilder();
+            for (DataWithMediaType parte : evento.build()) {
+                Object dato = parte.getData();
+                texto.append(dato instanceof String s ? s : "<dato>");
+            }
+            eventos.add(texto.toString());
+        }
+
+        @Override
+        public synchronized void complete() {
+            completado = true;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        suscripciones = new SuscripcionesNotificaciones(3, 60_000);
+        estudiante = new EstudianteEntity();
+        estudiante.setId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        suscripciones.cerrar();
+    }
+
+    private NotificacionEntity notificacion(long id) {
+        NotificacionEntity n = new NotificacionEntity();
+        n.setId(id);
+        n.setMensaje("Mensaje " + id);
+        n.setLeida(false);
+        n.setEstudiante(estudiante);
+        return n;
+    }
+
+    private static void esperar(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condicion.getAsBoolean()) {
+            assertTrue(System.nanoTime() < limite, "la condición no se cumplió a tiempo");
+            Thread.sleep(10);
+        }
+    }
+
+    private static List<String> ids(EmisorDePrueba emisor) {
+        synchronized (emisor.eventos) {
+            return emisor.eventos.stream()
+                    .filter(e -> e.startsWith("id:"))
+                    .map(e -> e.substring(3, e.indexOf('\n')))
+                    .toList();
+        }
+    }
+
+    @Test
+    void publicar_llegaATodasLasConexionesDelEstudiante() throws InterruptedException {
+        EmisorDePrueba primera = new EmisorDePrueba(false);
+        EmisorDePrueba segunda = new EmisorDePrueba(false);
+        suscripciones.suscribir(1L, primera).iniciar(List.of());
+        suscripciones.suscribir(1L, segunda).iniciar(List.of());
+
+        suscripciones.publicar(notificacion(7L));
+
+        esperar(() -> ids(primera).size() == 1 && ids(segunda).size() == 1);
+        assertEquals(List.of("7"), ids(primera));
+        assertTrue(primera.eventos.get(0).contains("event:" + SuscripcionesNotificaciones.EVENTO));
+        assertEquals(2, suscripciones.conexiones(1L));
+        assertEquals(0, suscripciones.conexiones(2L));
+    }
+
+    @Test
+    void iniciar_reenviaLasPerdidasAntesQueLasNuevasSinRepetir() throws InterruptedException {
+        EmisorDePrueba emisor = new EmisorDePrueba(false);
+        SuscripcionesNotificaciones.Suscripcion suscripcion = suscripciones.suscribir(1L, emisor);
+
+        // publicadas entre la suscripción y la consulta de las perdidas
+        suscripciones.publicar(notificacion(5L));
+        suscripciones.publicar(notificacion(6L));
+        suscripcion.iniciar(List.of(notificacion(4L), notificacion(5L)));
+
+        esperar(() -> ids(emisor).size() == 3);
+        assertEquals(List.of("4", "5", "6"), ids(emisor));
+    }
+
+    @Test
+    void colaLlena_cierraLaConexionParaQueSeReconecte() throws InterruptedException {
+        EmisorDePrueba lento = new EmisorDePrueba(true);
+        suscripciones.suscribir(1L, lento).iniciar(List.of());
+
+        // el primero queda bloqueado en el envío; los tres siguientes llenan la cola
+        for (long id = 1; id <= 5; id++) {
+            suscripciones.publicar(notificacion(id));
+            if (id == 1) {
+                Thread.sleep(50);
+            }
+        }
+
+        assertTrue(lento.completado);
+        assertEquals(0, suscripciones.conexiones(1L));
+        lento.desbloqueo.countDown();
+    }
+
+    @Test
+    void enviarLatidos_soloAConexionesIniciadas() throws InterruptedException {
+        EmisorDePrueba iniciada = new EmisorDePrueba(false);
+        EmisorDePrueba sinIniciar = new EmisorDePrueba(false);
+        suscripciones.suscribir(1L, iniciada).iniciar(List.of());
+        suscripciones.suscribir(1L, sinIniciar);
+
+        suscripciones.enviarLatidos();
+
+        esperar(() -> iniciada.eventos.size() == 1);
+        assertTrue(iniciada.eventos.get(0).startsWith(":latido"));
+        assertTrue(sinIniciar.eventos.isEmpty());
+    }
+}
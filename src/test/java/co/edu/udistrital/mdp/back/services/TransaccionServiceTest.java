@@ -6,6 +6,7 @@ import static org.mockito.Mockito.*;
 
 import co.edu.udistrital.mdp.back.entities.EstanciaEntity;
 import co.edu.udistrital.mdp.back.entities.TransaccionEntity;
+import co.edu.udistrital.mdp.back.entities.TransaccionEntity.EstadoTransaccion;
 import co.edu.udistrital.mdp.back.repositories.EstanciaRepository;
 import co.edu.udistrital.mdp.back.repositories.TransaccionRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -32,6 +33,9 @@ class TransaccionServiceTest {
     @Mock
     private EstanciaRepository estanciaRepository;
 
+    @Mock
+    private SaldoEstanciaService saldoEstanciaService;
+
     @InjectMocks
     private TransaccionService transaccionService;
 
@@ -49,7 +53,7 @@ class TransaccionServiceTest {
             TransaccionEntity transaccion = factory.manufacturePojo(TransaccionEntity.class);
             transaccion.setEstancia(estanciaValida);
             transaccion.setMonto(BigDecimal.valueOf(100.0 * (i + 1))); // Asegura monto positivo
-            transaccion.setEstado("Pendiente"); // Estado inicial
+            transaccion.setEstado(EstadoTransaccion.PENDIENTE); // Estado inicial
             transaccion.setMetodoPago("PSE"); // Asegura no vacío
             dataList.add(transaccion);
         }
@@ -63,7 +67,7 @@ class TransaccionServiceTest {
         nuevaTransaccion.setEstancia(estanciaValida);
         nuevaTransaccion.setMonto(BigDecimal.TEN);
         nuevaTransaccion.setMetodoPago("Tarjeta");
-        nuevaTransaccion.setEstado("Pendiente");
+        nuevaTransaccion.setEstado(EstadoTransaccion.PENDIENTE);
         nuevaTransaccion.setId(null);
 
         when(estanciaRepository.existsById(estanciaValida.getId())).thenReturn(true);
@@ -84,6 +88,8 @@ class TransaccionServiceTest {
 
         verify(estanciaRepository, times(1)).existsById(estanciaValida.getId());
         verify(transaccionRepository, times(1)).save(any(TransaccionEntity.class));
+        verify(saldoEstanciaService).registrar(estanciaValida.getId(), null, EstadoTransaccion.PENDIENTE,
+                BigDecimal.TEN, result.getFechaTransaccion());
     }
 
     @Test
@@ -105,7 +111,7 @@ class TransaccionServiceTest {
         transaccion.setEstancia(estanciaValida);
         transaccion.setMonto(BigDecimal.TEN);
         transaccion.setMetodoPago("PSE");
-        transaccion.setEstado("OK");
+        transaccion.setEstado(EstadoTransaccion.PENDIENTE);
 
         when(estanciaRepository.existsById(estanciaValida.getId())).thenReturn(false);
 
@@ -123,7 +129,7 @@ class TransaccionServiceTest {
         transaccion.setEstancia(estanciaValida);
         transaccion.setMonto(BigDecimal.ZERO); // Monto cero o negativo
         transaccion.setMetodoPago("PSE");
-        transaccion.setEstado("OK");
+        transaccion.setEstado(EstadoTransaccion.PENDIENTE);
 
 
         when(estanciaRepository.existsById(estanciaValida.getId())).thenReturn(true);
@@ -141,7 +147,7 @@ class TransaccionServiceTest {
         transaccion.setEstancia(estanciaValida);
         transaccion.setMonto(BigDecimal.TEN);
         transaccion.setMetodoPago(" "); // Vacío
-        transaccion.setEstado("OK");
+        transaccion.setEstado(EstadoTransaccion.PENDIENTE);
 
         when(estanciaRepository.existsById(estanciaValida.getId())).thenReturn(true);
 
@@ -218,17 +224,39 @@ class TransaccionServiceTest {
         String nuevoEstado = "Completada";
         TransaccionEntity transaccionExistente = dataList.get(0);
         transaccionExistente.setId(idTransaccion);
-        transaccionExistente.setEstado("Pendiente");
+        transaccionExistente.setEstado(EstadoTransaccion.PENDIENTE);
 
         when(transaccionRepository.findById(idTransaccion)).thenReturn(Optional.of(transaccionExistente));
-        when(transaccionRepository.save(any(TransaccionEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(transaccionRepository.cambiarEstado(idTransaccion, EstadoTransaccion.PENDIENTE,
+                EstadoTransaccion.COMPLETADA)).thenReturn(1);
 
         TransaccionEntity result = transaccionService.actualizarEstadoTransaccion(idTransaccion, nuevoEstado);
 
         assertNotNull(result);
-        assertEquals(nuevoEstado, result.getEstado());
+        assertEquals(EstadoTransaccion.COMPLETADA, result.getEstado());
         verify(transaccionRepository, times(1)).findById(idTransaccion);
-        verify(transaccionRepository, times(1)).save(transaccionExistente);
+        verify(transaccionRepository, never()).save(any());
+        verify(saldoEstanciaService).registrar(estanciaValida.getId(), EstadoTransaccion.PENDIENTE,
+                EstadoTransaccion.COMPLETADA, transaccionExistente.getMonto(),
+                transaccionExistente.getFechaTransaccion());
+    }
+
+    @Test
+    void testActualizarEstadoTransaccionCambiadaPorOtraPeticion() {
+        Long idTransaccion = 1L;
+        TransaccionEntity transaccionExistente = dataList.get(0);
+        transaccionExistente.setId(idTransaccion);
+        transaccionExistente.setEstado(EstadoTransaccion.PENDIENTE);
+
+        when(transaccionRepository.findById(idTransaccion)).thenReturn(Optional.of(transaccionExistente));
+        when(transaccionRepository.cambiarEstado(idTransaccion, EstadoTransaccion.PENDIENTE,
+                EstadoTransaccion.COMPLETADA)).thenReturn(0);
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> {
+            transaccionService.actualizarEstadoTransaccion(idTransaccion, "completada");
+        });
+        assertEquals("La transacción con ID 1 cambió de estado mientras se actualizaba.", thrown.getMessage());
+        verifyNoInteractions(saldoEstanciaService);
     }
 
     @Test
@@ -262,6 +290,37 @@ class TransaccionServiceTest {
         verify(transaccionRepository, never()).save(any());
     }
 
+    @Test
+    void testActualizarEstadoTransaccionTransicionNoPermitida() {
+        Long idTransaccion = 1L;
+        TransaccionEntity transaccionExistente = dataList.get(0);
+        transaccionExistente.setId(idTransaccion);
+        transaccionExistente.setEstado(EstadoTransaccion.FALLIDA);
+
+        when(transaccionRepository.findById(idTransaccion)).thenReturn(Optional.of(transaccionExistente));
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> {
+            transaccionService.actualizarEstadoTransaccion(idTransaccion, "completada");
+        });
+        assertEquals("Transición de estado no permitida: FALLIDA -> COMPLETADA", thrown.getMessage());
+        verify(transaccionRepository, never()).save(any());
+    }
+
+    @Test
+    void testActualizarEstadoTransaccionEstadoDesconocido() {
+        Long idTransaccion = 1L;
+        TransaccionEntity transaccionExistente = dataList.get(0);
+        transaccionExistente.setId(idTransaccion);
+
+        when(transaccionRepository.findById(idTransaccion)).thenReturn(Optional.of(transaccionExistente));
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> {
+            transaccionService.actualizarEstadoTransaccion(idTransaccion, "Aprobadísima");
+        });
+        assertTrue(thrown.getMessage().startsWith("Estado de transacción inválido"));
+        verify(transaccionRepository, never()).save(any());
+    }
+
 
     // --- Test para eliminarTransaccion (DELETE - Debe fallar) ---
     @Test
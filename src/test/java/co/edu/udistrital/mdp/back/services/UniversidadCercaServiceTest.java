@@ -15,6 +15,7 @@ import org.mockito.quality.Strictness;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -55,6 +56,16 @@ class UniversidadCercaServiceTest {
         when(universidadRepo.findById((3L))).thenReturn(Optional.of(uniPersistida)); 
     }
 
+    @Test
+    void crearUniversidad_latitudSinLongitud_throws() {
+        UniversidadCercaEntity in = new UniversidadCercaEntity();
+        in.setNombre("U Geo");
+        in.setLatitud(4.6);
+
+        assertThrows(IllegalArgumentException.class, () -> universidadService.crearUniversidad(in));
+        verify(universidadRepo, never()).save(any());
+    }
+
     @Test
     void crearUniversidad_success() {
         UniversidadCercaEntity in = new UniversidadCercaEntity();
@@ -129,6 +140,20 @@ class UniversidadCercaServiceTest {
         verify(universidadRepo).findAll();
     }
 
+    @Test
+    void viviendaIdsPorUniversidad_agrupaLasFilasDeUnaSolaConsulta() {
+        when(universidadRepo.findViviendaIdsPorUniversidad()).thenReturn(List.of(
+                new Object[] { 3L, 10L }, new Object[] { 4L, 11L }, new Object[] { 3L, 12L }));
+
+        Map<Long, List<Long>> ids = universidadService.viviendaIdsPorUniversidad();
+
+        assertThat(ids).containsOnlyKeys(3L, 4L);
+        assertThat(ids.get(3L)).containsExactly(10L, 12L);
+        assertThat(ids.get(4L)).containsExactly(11L);
+        verify(universidadRepo).findViviendaIdsPorUniversidad();
+        verify(universidadRepo, never()).findAll();
+    }
+
     @Test
     void actualizarNombre_duplicado_debeLanzar() {
         UniversidadCercaEntity updates = new UniversidadCercaEntity();
@@ -0,0 +1,186 @@
+package co.edu.udistrital.mdp.back.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Slice;
+
+import co.edu.udistrital.mdp.back.dto.BusquedaViviendaDTO;
+import co.edu.udistrital.mdp.back.dto.BusquedaViviendaDTO.OrdenVivienda;
+import co.edu.udistrital.mdp.back.entities.ComentarioEntity;
+import co.edu.udistrital.mdp.back.entities.EstudianteEntity;
+import co.edu.udistrital.mdp.back.entities.ServicioEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity.TipoVivienda;
+import jakarta.transaction.Transactional;
+
+@DataJpaTest
+@Transactional
+@Import({ ViviendaService.class, CalificacionResumenService.class })
+class ViviendaBusquedaServiceTest {
+
+    @Autowired
+    private ViviendaService viviendaService;
+
+    @Autowired
+    private CalificacionResumenService calificacionResumenService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private ServicioEntity wifi;
+    private ServicioEntity lavanderia;
+    private ViviendaEntity chapineroBarata;
+    private ViviendaEntity chapineroCara;
+    private ViviendaEntity tunjaCasa;
+
+    @BeforeEach
+    void setUp() {
+        wifi = servicio("Wifi");
+        lavanderia = servicio("Lavandería");
+
+        chapineroBarata = vivienda("Bogota", "Chapinero", "800000", 30.0, 1, TipoVivienda.HABITACION, true, List.of(wifi));
+        chapineroCara = vivienda("Bogota", "Chapinero", "2000000", 70.0, 3, TipoVivienda.APARTAMENTO, true,
+                List.of(wifi, lavanderia));
+        tunjaCasa = vivienda("Tunja", "Centro", "1500000", 120.0, 4, TipoVivienda.CASA, false, List.of(lavanderia));
+
+        EstudianteEntity autor = new EstudianteEntity();
+        autor.setNombre("Ana");
+        autor.setCorreo("ana@correo.com");
+        autor.setTelefono("3000000000");
+        autor.setUniversidad("UD");
+        entityManager.persist(autor);
+        comentario(chapineroBarata, autor, 5);
+        comentario(chapineroCara, autor, 2);
+        entityManager.flush();
+        calificacionResumenService.reconstruirResumenes();
+    }
+
+    private ServicioEntity servicio(String nombre) {
+        ServicioEntity s = new ServicioEntity();
+        s.setNombre(nombre);
+        entityManager.persist(s);
+        return s;
+    }
+
+    private ViviendaEntity vivienda(String ciudad, String barrio, String precio, Double area, int habitaciones,
+            TipoVivienda tipo, boolean disponible, List<ServicioEntity> servicios) {
+        ViviendaEntity v = new ViviendaEntity();
+        v.setDireccion("Calle " + precio);
+        v.setCiudad(ciudad);
+        v.setBarrio(barrio);
+        v.setPrecioMensual(new BigDecimal(precio));
+        v.setAreaMetrosCuadrados(area);
+        v.setNumeroHabitaciones(habitaciones);
+        v.setNumeroBanos(1);
+        v.setTipo(tipo);
+        v.setDisponible(disponible);
+        v.setServicios(new ArrayList<>(servicios));
+        entityManager.persist(v);
+        return v;
+    }
+
+    private void comentario(ViviendaEntity v, EstudianteEntity autor, int calificacion) {
+        ComentarioEntity c = new ComentarioEntity();
+        c.setContenido("Comentario");
+        c.setCalificacion(calificacion);
+        c.setVivienda(v);
+        c.setAutor(autor);
+        entityManager.persist(c);
+    }
+
+    @Test
+    void buscarViviendas_sinCriterios_retornaTodasOrdenadasPorId() {
+        Slice<ViviendaEntity> resultado = viviendaService.buscarViviendas(new BusquedaViviendaDTO(), null, null);
+
+        assertEquals(List.of(chapineroBarata, chapineroCara, tunjaCasa), resultado.getContent());
+        assertFalse(resultado.hasNext());
+    }
+
+    @Test
+    void buscarViviendas_combinaFiltros() {
+        BusquedaViviendaDTO criterios = new BusquedaViviendaDTO();
+        criterios.setCiudad("Bogota");
+        criterios.setBarrio("Chapinero");
+        criterios.setPrecioMax(new BigDecimal("1000000"));
+        criterios.setDisponible(true);
+
+        assertEquals(List.of(chapineroBarata), viviendaService.buscarViviendas(criterios, 0, 10).getContent());
+    }
+
+    @Test
+    void buscarViviendas_porTipoHabitacionesYArea() {
+        BusquedaViviendaDTO criterios = new BusquedaViviendaDTO();
+        criterios.setTipo("casa");
+        criterios.setMinHabitaciones(3);
+        criterios.setAreaMin(100.0);
+
+        assertEquals(List.of(tunjaCasa), viviendaService.buscarViviendas(criterios, 0, 10).getContent());
+    }
+
+    @Test
+    void buscarViviendas_exigeTodosLosServicios() {
+        BusquedaViviendaDTO criterios = new BusquedaViviendaDTO();
+        criterios.setServicios(List.of(wifi.getId(), lavanderia.getId()));
+
+        assertEquals(List.of(chapineroCara), viviendaService.buscarViviendas(criterios, 0, 10).getContent());
+    }
+
+    @Test
+    void buscarViviendas_ordenaPorPrecioDescendente() {
+        BusquedaViviendaDTO criterios = new BusquedaViviendaDTO();
+        criterios.setOrden(OrdenVivienda.PRECIO_DESC);
+
+        assertEquals(List.of(chapineroCara, tunjaCasa, chapineroBarata),
+                viviendaService.buscarViviendas(criterios, 0, 10).getContent());
+    }
+
+    @Test
+    void buscarViviendas_ordenaPorCalificacionSinComentariosAlFinal() {
+        BusquedaViviendaDTO criterios = new BusquedaViviendaDTO();
+        criterios.setOrden(OrdenVivienda.CALIFICACION_DESC);
+
+        assertEquals(List.of(chapineroBarata, chapineroCara, tunjaCasa),
+                viviendaService.buscarViviendas(criterios, 0, 10).getContent());
+    }
+
+    @Test
+    void buscarViviendas_paginaSinSolaparse() {
+        BusquedaViviendaDTO criterios = new BusquedaViviendaDTO();
+        criterios.setOrden(OrdenVivienda.AREA_ASC);
+
+        Slice<ViviendaEntity> primera = viviendaService.buscarViviendas(criterios, 0, 2);
+        Slice<ViviendaEntity> segunda = viviendaService.buscarViviendas(criterios, 1, 2);
+
+        assertEquals(List.of(chapineroBarata, chapineroCara), primera.getContent());
+        assertTrue(primera.hasNext());
+        assertEquals(List.of(tunjaCasa), segunda.getContent());
+        assertFalse(segunda.hasNext());
+    }
+
+    @Test
+    void buscarViviendas_rangoDePrecioInvertido_lanzaExcepcion() {
+        BusquedaViviendaDTO criterios = new BusquedaViviendaDTO();
+        criterios.setPrecioMin(new BigDecimal("2000000"));
+        criterios.setPrecioMax(new BigDecimal("1000000"));
+
+        assertThrows(IllegalArgumentException.class, () -> viviendaService.buscarViviendas(criterios, 0, 10));
+    }
+
+    @Test
+    void buscarViviendas_tipoInexistente_lanzaExcepcion() {
+        BusquedaViviendaDTO criterios = new BusquedaViviendaDTO();
+        criterios.setTipo("castillo");
+
+        assertThrows(IllegalArgumentException.class, () -> viviendaService.buscarViviendas(criterios, 0, 10));
+    }
+}
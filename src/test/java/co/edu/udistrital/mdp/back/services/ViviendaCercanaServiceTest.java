@@ -0,0 +1,139 @@
+package co.edu.udistrital.mdp.back.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import co.edu.udistrital.mdp.back.dto.ViviendaCercanaDTO;
+import co.edu.udistrital.mdp.back.entities.PropietarioEntity;
+import co.edu.udistrital.mdp.back.entities.UniversidadCercaEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import co.edu.udistrital.mdp.back.indices.IndiceGeografico;
+import co.edu.udistrital.mdp.back.repositories.PropietarioRepository;
+import co.edu.udistrital.mdp.back.repositories.UniversidadCercaRepository;
+import co.edu.udistrital.mdp.back.repositories.ViviendaRepository;
+
+/**
+ * El índice se actualiza al confirmar cada transacción, así que las pruebas
+ * corren sin transacción envolvente y limpian las tablas al terminar.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ ViviendaCercanaService.class, IndiceGeografico.class, ViviendaService.class })
+class ViviendaCercanaServiceTest {
+
+    // Universidad Distrital, sede Calle 40
+    private static final double LATITUD = 4.6282;
+    private static final double LONGITUD = -74.0655;
+
+    @Autowired
+    private ViviendaCercanaService cercanaService;
+
+    @Autowired
+    private ViviendaService viviendaService;
+
+    @Autowired
+    private ViviendaRepository viviendaRepository;
+
+    @Autowired
+    private PropietarioRepository propietarioRepository;
+
+    @Autowired
+    private UniversidadCercaRepository universidadRepository;
+
+    private PropietarioEntity propietario;
+    private UniversidadCercaEntity universidad;
+
+    @BeforeEach
+    void setUp() {
+        propietario = propietarioRepository.save(DatosPrueba.propietario());
+
+        universidad = new UniversidadCercaEntity();
+        universidad.setNombre("Distrital");
+        universidad.setCiudad("Bogota");
+        universidad.setLatitud(LATITUD);
+        universidad.setLongitud(LONGITUD);
+        universidad = universidadRepository.save(universidad);
+
+        cercanaService.cargarIndice();
+    }
+
+    @AfterEach
+    void tearDown() {
+        viviendaRepository.deleteAll();
+        universidadRepository.deleteAll();
+        propietarioRepository.deleteAll();
+    }
+
+    // Vivienda a 'kmAlNorte' kilómetros al norte de la universidad
+    private ViviendaEntity vivienda(double kmAlNorte) {
+        ViviendaEntity v = DatosPrueba.vivienda(propietario);
+        v.setDireccion("Calle " + kmAlNorte);
+        v.setBarrio("Teusaquillo");
+        v.setLatitud(LATITUD + kmAlNorte / 111.195);
+        v.setLongitud(LONGITUD);
+        return viviendaService.crearVivienda(v);
+    }
+
+    private static List<Long> ids(List<ViviendaCercanaDTO> cercanas) {
+        return cercanas.stream().map(ViviendaCercanaDTO::getViviendaId).toList();
+    }
+
+    @Test
+    void cercanasAUniversidad_ordenaPorDistanciaYRespetaRadioYK() {
+        ViviendaEntity a2km = vivienda(2);
+        ViviendaEntity a500m = vivienda(0.5);
+        ViviendaEntity a4km = vivienda(4);
+        vivienda(8);
+
+        List<ViviendaCercanaDTO> cercanas = cercanaService.cercanasAUniversidad(universidad.getId(), 5.0, null);
+
+        assertEquals(List.of(a500m.getId(), a2km.getId(), a4km.getId()), ids(cercanas));
+        assertEquals(0.5, cercanas.get(0).getDistanciaKm(), 0.01);
+        assertEquals(List.of(a500m.getId(), a2km.getId()),
+                ids(cercanaService.cercanasAUniversidad(universidad.getId(), 5.0, 2)));
+    }
+
+    @Test
+    void cercanasAUniversidad_reflejaCambiosDeDisponibilidadYUbicacion() {
+        ViviendaEntity vivienda = vivienda(1);
+        ViviendaEntity sinUbicacion = vivienda(1.5);
+        sinUbicacion.setLatitud(null);
+        sinUbicacion.setLongitud(null);
+        viviendaService.actualizarVivienda(sinUbicacion.getId(), sinUbicacion);
+
+        assertEquals(List.of(vivienda.getId()), ids(cercanaService.cercanasAUniversidad(universidad.getId(), null, null)));
+
+        viviendaService.marcarComoNoDisponible(vivienda.getId());
+        assertTrue(cercanaService.cercanasAUniversidad(universidad.getId(), null, null).isEmpty());
+    }
+
+    @Test
+    void cercanasAUniversidad_sinIndiceCargado_consultaLaBaseDeDatos() {
+        ViviendaEntity cerca = vivienda(1);
+        vivienda(20);
+        ViviendaCercanaService sinIndice = new ViviendaCercanaService(new IndiceGeografico(), viviendaRepository,
+                universidadRepository);
+
+        assertEquals(List.of(cerca.getId()), ids(sinIndice.cercanasAUniversidad(universidad.getId(), 5.0, 10)));
+    }
+
+    @Test
+    void cercanasAUniversidad_universidadSinUbicacionOInexistente_lanzaExcepcion() {
+        UniversidadCercaEntity sinUbicacion = new UniversidadCercaEntity();
+        sinUbicacion.setNombre("Sin ubicación");
+        Long id = universidadRepository.save(sinUbicacion).getId();
+
+        assertThrows(IllegalStateException.class, () -> cercanaService.cercanasAUniversidad(id, null, null));
+        assertThrows(IllegalArgumentException.class, () -> cercanaService.cercanasAUniversidad(999999L, null, null));
+    }
+}
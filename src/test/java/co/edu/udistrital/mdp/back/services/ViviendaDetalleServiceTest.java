@@ -0,0 +1,132 @@
+package co.edu.udistrital.mdp.back.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import co.edu.udistrital.mdp.back.dto.ViviendaDetailDTO;
+import co.edu.udistrital.mdp.back.entities.ComentarioEntity;
+import co.edu.udistrital.mdp.back.entities.EstudianteEntity;
+import co.edu.udistrital.mdp.back.entities.PropietarioEntity;
+import co.edu.udistrital.mdp.back.entities.ServicioEntity;
+import co.edu.udistrital.mdp.back.entities.ViviendaEntity;
+import co.edu.udistrital.mdp.back.mappers.ComentarioMapper;
+import co.edu.udistrital.mdp.back.mappers.PropietarioMapper;
+import co.edu.udistrital.mdp.back.mappers.ServicioMapper;
+import co.edu.udistrital.mdp.back.mappers.ViviendaMapper;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+@Import({ ViviendaService.class, ViviendaMapper.class, PropietarioMapper.class, ServicioMapper.class,
+        ComentarioMapper.class })
+class ViviendaDetalleServiceTest {
+
+    @Autowired
+    private ViviendaService viviendaService;
+
+    @Autowired
+    private ViviendaMapper viviendaMapper;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estadisticas;
+
+    @BeforeEach
+    void setUp() {
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private ViviendaEntity viviendaConComentarios(int cantidad) {
+        PropietarioEntity propietario = new PropietarioEntity();
+        propietario.setNombre("Carlos");
+        propietario.setApellido("Rojas");
+        propietario.setDocumento("10" + cantidad);
+        propietario.setEmail("carlos" + cantidad + "@correo.com");
+        entityManager.persist(propietario);
+
+        List<ServicioEntity> servicios = new ArrayList<>();
+        for (String nombre : List.of("Wifi", "Lavandería", "Gimnasio")) {
+            ServicioEntity s = new ServicioEntity();
+            s.setNombre(nombre + " " + cantidad);
+            entityManager.persist(s);
+            servicios.add(s);
+        }
+
+        ViviendaEntity v = new ViviendaEntity();
+        v.setDireccion("Calle " + cantidad);
+        v.setCiudad("Bogota");
+        v.setPrecioMensual(new BigDecimal("900000"));
+        v.setTipo(ViviendaEntity.TipoVivienda.APARTAMENTO);
+        v.setPropietario(propietario);
+        v.setServicios(servicios);
+        entityManager.persist(v);
+
+        for (int i = 0; i < cantidad; i++) {
+            EstudianteEntity autor = new EstudianteEntity();
+            autor.setNombre("Autor " + i);
+            autor.setCorreo("autor" + cantidad + "-" + i + "@correo.com");
+            autor.setTelefono(String.valueOf(3000000000L + cantidad * 100L + i));
+            autor.setUniversidad("UD");
+            entityManager.persist(autor);
+
+            ComentarioEntity c = new ComentarioEntity();
+            c.setContenido("Comentario " + i);
+            c.setCalificacion(1 + i % 5);
+            c.setVivienda(v);
+            c.setAutor(autor);
+            entityManager.persist(c);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return v;
+    }
+
+    private long consultasDelDetalle(Long id) {
+        estadisticas.clear();
+        ViviendaDetailDTO detalle = viviendaMapper.toDetailDTO(viviendaService.obtenerDetalleVivienda(id));
+        assertEquals(3, detalle.getServicios().size());
+        return estadisticas.getPrepareStatementCount();
+    }
+
+    @Test
+    void obtenerDetalleVivienda_cargaTodoEnDosConsultas() {
+        ViviendaEntity v = viviendaConComentarios(8);
+
+        estadisticas.clear();
+        ViviendaDetailDTO detalle = viviendaMapper.toDetailDTO(viviendaService.obtenerDetalleVivienda(v.getId()));
+
+        assertEquals("Carlos", detalle.getPropietario().getNombre());
+        assertEquals(8, detalle.getComentarios().size());
+        assertEquals(2, estadisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void obtenerDetalleVivienda_numeroDeConsultasNoCreceConLosComentarios() {
+        ViviendaEntity pocos = viviendaConComentarios(1);
+        ViviendaEntity muchos = viviendaConComentarios(25);
+
+        assertEquals(consultasDelDetalle(pocos.getId()), consultasDelDetalle(muchos.getId()));
+    }
+
+    @Test
+    void obtenerDetalleVivienda_inexistente_lanzaExcepcion() {
+        assertThrows(IllegalArgumentException.class, () -> viviendaService.obtenerDetalleVivienda(999L));
+    }
+}
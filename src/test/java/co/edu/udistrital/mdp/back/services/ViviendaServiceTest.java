@@ -13,6 +13,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 
 import java.math.BigDecimal;
@@ -37,6 +40,9 @@ class ViviendaServiceTest {
     @Mock
     private PropietarioRepository propietarioRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventos;
+
     @InjectMocks
     private ViviendaService viviendaService;
 
@@ -278,6 +284,20 @@ class ViviendaServiceTest {
         verify(viviendaRepository, never()).save(any());
     }
 
+    @Test
+    void marcarComoDisponible_publicaSoloSiNoEstabaDisponible() {
+        viviendaService.marcarComoDisponible(viviendaValidaId);
+        verify(eventos, never()).publishEvent(any(Object.class));
+
+        viviendaValida.setDisponible(false);
+        viviendaService.marcarComoDisponible(viviendaValidaId);
+
+        ArgumentCaptor<ViviendaService.ViviendaPublicada> evento =
+                ArgumentCaptor.forClass(ViviendaService.ViviendaPublicada.class);
+        verify(eventos).publishEvent(evento.capture());
+        assertThat(evento.getValue().vivienda().viviendaId()).isEqualTo(viviendaValidaId);
+    }
+
     @Test
     void eliminarVivienda_available_true_deletes() {
         ViviendaEntity v = buildValidVivienda();
@@ -457,4 +477,31 @@ class ViviendaServiceTest {
         assertThat(ex.getMessage()).contains("El propietario con ID 99 no existe");
         verify(viviendaRepository, never()).save(any());
     }
+
+    @Test
+    void obtenerViviendasPaginadas_sinCursor_iniciaDesdeElPrincipio() {
+        when(viviendaRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(viviendaValida)));
+
+        assertThat(viviendaService.obtenerViviendasPaginadas(null, 10).getContent()).containsExactly(viviendaValida);
+    }
+
+    @Test
+    void obtenerViviendasPaginadas_conCursor_continuaDespuesDelUltimoId() {
+        String cursor = ViviendaService.cursorDe(viviendaValida);
+        when(viviendaRepository.findByIdGreaterThanOrderByIdAsc(eq(viviendaValidaId), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList()));
+
+        viviendaService.obtenerViviendasPaginadas(cursor, 500);
+
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        verify(viviendaRepository).findByIdGreaterThanOrderByIdAsc(eq(viviendaValidaId), captor.capture());
+        assertThat(captor.getValue().getPageSize()).isEqualTo(CursorPaginacion.LIMITE_MAXIMO);
+    }
+
+    @Test
+    void obtenerViviendasPaginadas_cursorInvalido_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> viviendaService.obtenerViviendasPaginadas("no-es-un-cursor", 10));
+    }
 }
\ No newline at end of file